@@ -31,12 +31,17 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.SharedASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
+ * <p>
+ * The ASTs of recently active editors are kept in a bounded cache and are returned as long as
+ * their input has not been modified.
+ * </p>
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -59,6 +64,9 @@ public final class CoreASTProvider {
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
+	private long fASTStamp= SharedASTCache.UNKNOWN_STAMP;
+	private volatile long fReconcilingStamp= SharedASTCache.UNKNOWN_STAMP;
+	private final SharedASTCache fRecentASTs= new SharedASTCache();
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -132,10 +140,26 @@ public final class CoreASTProvider {
 		if (progressMonitor != null && progressMonitor.isCanceled())
 			return null;
 
+		// don't access the Java model while holding the lock
+		long stamp= SharedASTCache.UNKNOWN_STAMP;
+		if (fAST == null || !input.equals(fActiveJavaElement))
+			stamp= SharedASTCache.getModificationStamp(input);
+
 		boolean isActiveElement;
 		synchronized (this) {
 			isActiveElement= input.equals(fActiveJavaElement);
 			if (isActiveElement) {
+				if (fAST == null && !isReconciling(input)) {
+					CompilationUnit recentAST= fRecentASTs.get(input, stamp);
+					if (recentAST != null) {
+						if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+							System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reusing recent AST:" + toString(recentAST) + " for: " + input.getElementName() + ", " + fRecentASTs); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+						fRecentASTs.remove(input);
+						fAST= recentAST;
+						fASTStamp= stamp;
+					}
+				}
 				if (fAST != null) {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -149,6 +173,14 @@ public final class CoreASTProvider {
 					return null;
 
 				}
+			} else if (waitFlag == CoreASTProvider.WAIT_YES) {
+				CompilationUnit recentAST= fRecentASTs.get(input, stamp);
+				if (recentAST != null) {
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recent AST:" + toString(recentAST) + " for: " + input.getElementName() + ", " + fRecentASTs); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+					return recentAST;
+				}
 			}
 		}
 
@@ -250,11 +282,14 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "about to reconcile: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
 
+		long stamp= SharedASTCache.getModificationStamp(javaElement);
 		synchronized (fReconcileLock) {
 			fReconcilingJavaElement= javaElement;
+			fReconcilingStamp= stamp;
 			fIsReconciling= true;
 			this.fFinishReconciling = finishReconciling;
 		}
+		fRecentASTs.remove(javaElement);
 		cache(null, javaElement);
 	}
 
@@ -337,7 +372,7 @@ public final class CoreASTProvider {
 
 				return;
 			}
-			cache(ast, javaElement);
+			cache(ast, javaElement, fReconcilingStamp);
 		}
 	}
 
@@ -357,7 +392,18 @@ public final class CoreASTProvider {
 	 * @param ast the ast
 	 * @param javaElement the java element
 	 */
-	public synchronized void cache(CompilationUnit ast, ITypeRoot javaElement) {
+	public void cache(CompilationUnit ast, ITypeRoot javaElement) {
+		cache(ast, javaElement, SharedASTCache.UNKNOWN_STAMP);
+	}
+
+	/**
+	 * Caches the given compilation unit AST for the given Java element.
+	 *
+	 * @param ast the ast
+	 * @param javaElement the java element
+	 * @param stamp the modification stamp of the Java element at the time the AST has been created
+	 */
+	private synchronized void cache(CompilationUnit ast, ITypeRoot javaElement, long stamp) {
 
 		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)) {
 			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && javaElement != null) // don't report call from disposeAST()
@@ -372,6 +418,7 @@ public final class CoreASTProvider {
 			disposeAST();
 
 		fAST= ast;
+		fASTStamp= ast != null ? stamp : SharedASTCache.UNKNOWN_STAMP;
 
 		// Signal AST change
 		synchronized (fWaitLock) {
@@ -492,9 +539,16 @@ public final class CoreASTProvider {
 
 	/**
 	 * Set the active java element that is currently active.
+	 * The AST of the previously active element is kept in the cache of recent ASTs.
 	 * @param activeJavaElement the java element.
 	 */
-	public void setActiveJavaElement (ITypeRoot activeJavaElement) {
+	public synchronized void setActiveJavaElement (ITypeRoot activeJavaElement) {
+		if (fAST != null && fActiveJavaElement != null && !fActiveJavaElement.equals(activeJavaElement)) {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "keeping recent AST: " + toString(fAST) + " for: " + toString(fActiveJavaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+			fRecentASTs.put(fActiveJavaElement, fASTStamp, fAST);
+		}
 		fActiveJavaElement = activeJavaElement;
 	}
 
@@ -26,8 +26,8 @@ import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
  * The {@link SharedASTProviderCore} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
  *
- * <p>For performance reasons, not more than one AST should be kept in memory at a time. Therefore, clients must
- * not keep any references to the shared AST or its nodes or bindings.
+ * <p>For performance reasons, only the ASTs of the active and of a few recently active editors are kept in memory.
+ * Therefore, clients must not keep any references to the shared AST or its nodes or bindings.
  * </p>
  * <p>Clients can make the following assumptions about the AST:</p>
  * <ul>
@@ -121,8 +121,8 @@ public class SharedASTProviderCore {
 	 *         element is not input of the current Java editor or no AST is available</li>
 	 *         <li>If {@link #WAIT_ACTIVE_ONLY} has been specified <code>null</code> is returned if
 	 *         the element is not input of the current Java editor</li>
-	 *         <li>If {@link #WAIT_YES} has been specified either the shared AST is returned or a
-	 *         new AST is created.</li>
+	 *         <li>If {@link #WAIT_YES} has been specified either the shared AST, the unchanged AST
+	 *         of a recently active editor or a new AST is returned.</li>
 	 *         <li><code>null</code> will be returned if the operation gets canceled.</li>
 	 *         </ul>
 	 */
@@ -14,8 +14,6 @@
 package org.eclipse.jdt.internal.common;
 
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -39,27 +37,27 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	public E dataholder;
 
 	/**
-	 * This map contains one VisitorSupplier per kind if supplied Each BiPredicate is called with
+	 * This map contains one VisitorSupplier per kind if supplied, indexed by node type. Each BiPredicate is called with
 	 * two parameters 1) ASTNode 2) your data object Call is processed when build(ASTNode) is
 	 * called.
 	 */
-	Map<VisitorEnum, BiPredicate<? extends ASTNode, E>> predicatemap;
+	NodeTypeMap<BiPredicate<? extends ASTNode, E>> predicatemap;
 
 	/**
-	 * This map contains one VisitorConsumer per kind if supplied Each BiConsumer is called with two
+	 * This map contains one VisitorConsumer per kind if supplied, indexed by node type. Each BiConsumer is called with two
 	 * parameters 1) ASTNode 2) your data object Call is processed when build(ASTNode) is called.
 	 * Because the "visitend" does not return a boolean we need a consumer instead of a supplier
 	 * here.
 	 */
-	Map<VisitorEnum, BiConsumer<? extends ASTNode, E>> consumermap;
+	NodeTypeMap<BiConsumer<? extends ASTNode, E>> consumermap;
 
 	/**
 	 * Here we store data to implement convenience methods like method visitor where the method name
 	 * can be given as parameter
 	 */
-	Map<VisitorEnum, Object> predicatedata;
+	NodeTypeMap<Object> predicatedata;
 
-	Map<VisitorEnum, Object> consumerdata;
+	NodeTypeMap<Object> consumerdata;
 
 	/**
 	 *
@@ -93,10 +91,10 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @param dataholder - HelperVisitorProvider providing this HelperVisitor
 	 */
 	public HelperVisitor(Set<ASTNode> nodesprocessed, E dataholder) {
-		this.predicatemap= new LinkedHashMap<>();
-		this.consumermap= new LinkedHashMap<>();
-		this.predicatedata= new HashMap<>();
-		this.consumerdata= new HashMap<>();
+		this.predicatemap= new NodeTypeMap<>();
+		this.consumermap= new NodeTypeMap<>();
+		this.predicatedata= new NodeTypeMap<>();
+		this.consumerdata= new NodeTypeMap<>();
 
 		this.dataholder= dataholder;
 		dataholder.setHelperVisitor(this);
@@ -124,6 +122,64 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 		return this;
 	}
 
+	/**
+	 * Calls the BiPredicate registered for the visitor kind, if any, the same way the
+	 * {@link LambdaASTVisitor} does. Used by {@link HelperVisitorGroup} to share one traversal.
+	 *
+	 * @param nodetype - node type of the node
+	 * @param node - ASTNode
+	 * @return - false if the children of the node should be skipped
+	 */
+	@SuppressWarnings("unchecked")
+	boolean testPredicate(int nodetype, ASTNode node) {
+		BiPredicate<ASTNode, E> predicate= (BiPredicate<ASTNode, E>) predicatemap.get(nodetype);
+		if (predicate == null || !matchesData(predicatedata.get(nodetype), node)) {
+			return true;
+		}
+		return predicate.test(node, dataholder);
+	}
+
+	/**
+	 * Calls the BiConsumer registered for the visitor kind, if any, the same way the
+	 * {@link LambdaASTVisitor} does. Used by {@link HelperVisitorGroup} to share one traversal.
+	 *
+	 * @param nodetype - node type of the node
+	 * @param node - ASTNode
+	 */
+	@SuppressWarnings("unchecked")
+	void acceptConsumer(int nodetype, ASTNode node) {
+		BiConsumer<ASTNode, E> consumer= (BiConsumer<ASTNode, E>) consumermap.get(nodetype);
+		if (consumer != null && matchesData(consumerdata.get(nodetype), node)) {
+			consumer.accept(node, dataholder);
+		}
+	}
+
+	/**
+	 * Applies the filters of the convenience methods taking a method name or a type.
+	 *
+	 * @param data - additional Object registered for the visitor kind or null
+	 * @param node - ASTNode
+	 * @return - true if the callback should be called for the node
+	 */
+	private static boolean matchesData(Object data, ASTNode node) {
+		if (data == null) {
+			return true;
+		}
+		switch (node.getNodeType()) {
+			case ASTNode.METHOD_INVOCATION:
+				return ((MethodInvocation) node).getName().getIdentifier().equals(data);
+			case ASTNode.VARIABLE_DECLARATION_STATEMENT:
+				VariableDeclarationFragment bli= (VariableDeclarationFragment) ((VariableDeclarationStatement) node).fragments().get(0);
+				IVariableBinding resolveBinding= bli.resolveBinding();
+				if (resolveBinding == null) {
+					return true;
+				}
+				return ((Class<?>) data).getCanonicalName().equals(resolveBinding.getType().getErasure().getQualifiedName());
+			default:
+				return true;
+		}
+	}
+
 	/**
 	 * Add BiPredicate for visitor kind
 	 *
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Javadoc;
+
+/**
+ * Runs several {@link HelperVisitor}s in one shared traversal of an AST instead of one traversal
+ * per HelperVisitor.
+ * <p>
+ * On {@link #build(ASTNode)} the registered BiPredicates and BiConsumers of all HelperVisitors are
+ * collected into fan-out tables indexed by {@link ASTNode#getNodeType()}, so a visited node only
+ * dispatches to the HelperVisitors which registered a callback for its node type. Each
+ * HelperVisitor sees exactly the callbacks it would see in its own {@link HelperVisitor#build(ASTNode)}:
+ * a BiPredicate returning <code>false</code> only skips the children of the node for that
+ * HelperVisitor, and the subtree is not traversed at all once all HelperVisitors skip it.
+ * </p>
+ * <p>
+ * Callbacks registered while the traversal is running are only called for node types which
+ * already had a callback of the same HelperVisitor when the traversal started. An exception
+ * thrown by a callback ends the traversal for all HelperVisitors of the group.
+ * </p>
+ */
+public class HelperVisitorGroup {
+
+	private final List<HelperVisitor<?, ?, ?>> helpervisitors= new ArrayList<>();
+
+	/**
+	 * Add a HelperVisitor to the shared traversal. The HelperVisitors are called in the order they
+	 * have been added.
+	 *
+	 * @param hv - HelperVisitor
+	 * @return - this HelperVisitorGroup
+	 */
+	public HelperVisitorGroup add(HelperVisitor<?, ?, ?> hv) {
+		helpervisitors.add(hv);
+		return this;
+	}
+
+	/**
+	 *
+	 * @return - number of HelperVisitors sharing the traversal
+	 */
+	public int size() {
+		return helpervisitors.size();
+	}
+
+	/**
+	 *
+	 * @param node - ASTNode
+	 * @return - HelperVisitorGroup
+	 */
+	public HelperVisitorGroup build(ASTNode node) {
+		return build(node, false);
+	}
+
+	/**
+	 *
+	 * @param node - ASTNode
+	 * @param visitjavadoc - true if Javadoc comments should be visited
+	 * @return - HelperVisitorGroup
+	 */
+	public HelperVisitorGroup build(ASTNode node, boolean visitjavadoc) {
+		if (!helpervisitors.isEmpty()) {
+			node.accept(new GroupASTVisitor(helpervisitors.toArray(new HelperVisitor<?, ?, ?>[helpervisitors.size()]), visitjavadoc));
+		}
+		return this;
+	}
+
+	private static final class GroupASTVisitor extends ASTVisitor {
+
+		private final HelperVisitor<?, ?, ?>[] helpers;
+
+		/**
+		 * Indexes of the HelperVisitors with a BiPredicate per node type
+		 */
+		private final int[][] visittable= new int[VisitorEnum.MAX_NODETYPE + 1][];
+
+		/**
+		 * Indexes of the HelperVisitors with a BiConsumer per node type
+		 */
+		private final int[][] endvisittable= new int[VisitorEnum.MAX_NODETYPE + 1][];
+
+		/**
+		 * Per HelperVisitor the node whose children it skips, null while it is active
+		 */
+		private final ASTNode[] suspendedat;
+
+		private int active;
+
+		GroupASTVisitor(HelperVisitor<?, ?, ?>[] helpers, boolean visitjavadoc) {
+			super(visitjavadoc);
+			this.helpers= helpers;
+			this.suspendedat= new ASTNode[helpers.length];
+			this.active= helpers.length;
+			for (VisitorEnum ve : VisitorEnum.values()) {
+				int nodetype= ve.getValue();
+				visittable[nodetype]= collect(ve, true);
+				endvisittable[nodetype]= collect(ve, false);
+			}
+		}
+
+		private int[] collect(VisitorEnum ve, boolean predicates) {
+			int[] result= new int[helpers.length];
+			int count= 0;
+			for (int i= 0; i < helpers.length; i++) {
+				if (predicates ? helpers[i].predicatemap.containsKey(ve) : helpers[i].consumermap.containsKey(ve)) {
+					result[count++]= i;
+				}
+			}
+			return count == 0 ? null : Arrays.copyOf(result, count);
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			int nodetype= node.getNodeType();
+			int[] fanout= nodetype <= VisitorEnum.MAX_NODETYPE ? visittable[nodetype] : null;
+			if (fanout != null) {
+				for (int i : fanout) {
+					if (suspendedat[i] == null && !helpers[i].testPredicate(nodetype, node)) {
+						suspendedat[i]= node;
+						active--;
+					}
+				}
+			}
+			// the type specific visit methods are not overridden, only prune the subtree here
+			return active > 0;
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			int nodetype= node.getNodeType();
+			if (nodetype > VisitorEnum.MAX_NODETYPE) {
+				return;
+			}
+			int[] fanout= endvisittable[nodetype];
+			if (fanout != null) {
+				for (int i : fanout) {
+					ASTNode suspended= suspendedat[i];
+					if (suspended == null || suspended == node) {
+						helpers[i].acceptConsumer(nodetype, node);
+					}
+				}
+			}
+			fanout= visittable[nodetype];
+			if (fanout != null) {
+				for (int i : fanout) {
+					if (suspendedat[i] == node) {
+						suspendedat[i]= null;
+						active++;
+					}
+				}
+			}
+		}
+
+		@Override
+		public boolean visit(Javadoc node) {
+			// like LambdaASTVisitor, Javadoc is only skipped by a BiPredicate
+			return true;
+		}
+	}
+}
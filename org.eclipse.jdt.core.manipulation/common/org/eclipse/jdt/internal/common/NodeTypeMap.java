@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+
+/**
+ * Map of visitor kinds backed by an array indexed by {@link ASTNode#getNodeType()}.
+ * <p>
+ * The visitors look up the callback of a visited node with {@link #get(int)}, which is a single
+ * array access without hashing or boxing. Entries are iterated in the order of their node types.
+ * Putting a null value removes the mapping.
+ * </p>
+ *
+ * @param <V> - type of the mapped values
+ */
+final class NodeTypeMap<V> extends AbstractMap<VisitorEnum, V> {
+
+	private final Object[] table= new Object[VisitorEnum.MAX_NODETYPE + 1];
+
+	private int size;
+
+	/**
+	 *
+	 * @param nodetype - node type
+	 * @return - value mapped for the node type or null
+	 */
+	@SuppressWarnings("unchecked")
+	V get(int nodetype) {
+		return (V) table[nodetype];
+	}
+
+	@Override
+	public V get(Object key) {
+		return key instanceof VisitorEnum ? get(((VisitorEnum) key).nodetype) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public V put(VisitorEnum key, V value) {
+		if (value == null) {
+			return remove(key);
+		}
+		V previous= get(key.nodetype);
+		table[key.nodetype]= value;
+		if (previous == null) {
+			size++;
+		}
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		V previous= get(key);
+		if (previous != null) {
+			table[((VisitorEnum) key).nodetype]= null;
+			size--;
+		}
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		for (int i= 0; i < table.length; i++) {
+			table[i]= null;
+		}
+		size= 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Entry<VisitorEnum, V>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<VisitorEnum, V>> iterator() {
+				return new Iterator<>() {
+					private int next= advance(0);
+					private int last= -1;
+
+					private int advance(int from) {
+						int i= from;
+						while (i < table.length && table[i] == null) {
+							i++;
+						}
+						return i;
+					}
+
+					@Override
+					public boolean hasNext() {
+						return next < table.length;
+					}
+
+					@Override
+					public Entry<VisitorEnum, V> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						last= next;
+						next= advance(next + 1);
+						return new SimpleEntry<>(VisitorEnum.fromNodetype(last), get(last));
+					}
+
+					@Override
+					public void remove() {
+						if (last < 0) {
+							throw new IllegalStateException();
+						}
+						NodeTypeMap.this.remove(VisitorEnum.fromNodetype(last));
+						last= -1;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+}
@@ -13,10 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.common;
 
-import java.util.Arrays;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -258,8 +254,21 @@ public enum VisitorEnum {
 		return Stream.of(VisitorEnum.values());
 	}
 
-	static final Map<Integer, VisitorEnum> values= Arrays.stream(VisitorEnum.values())
-			.collect(Collectors.toMap(VisitorEnum::getValue, Function.identity()));
+	/**
+	 * Largest node type of all visitor kinds, the size of tables indexed by node type is one more
+	 */
+	static final int MAX_NODETYPE= stream().mapToInt(VisitorEnum::getValue).max().getAsInt();
+
+	/**
+	 * Visitor kinds indexed by node type, null for node types without a visitor kind
+	 */
+	private static final VisitorEnum[] values= new VisitorEnum[MAX_NODETYPE + 1];
+
+	static {
+		for (VisitorEnum ve : values()) {
+			values[ve.nodetype]= ve;
+		}
+	}
 
 	/**
 	 *
@@ -267,7 +276,7 @@ public enum VisitorEnum {
 	 * @return - corresponding VistorEnum
 	 */
 	public static VisitorEnum fromNodetype(final int nodetype) {
-		return values.get(nodetype);
+		return nodetype >= 0 && nodetype <= MAX_NODETYPE ? values[nodetype] : null;
 	}
 
 	/**
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * A bounded LRU cache of the shared ASTs of recently active Java editors.
+ * <p>
+ * Entries are keyed by the {@link ITypeRoot} and remember the modification stamp of the
+ * underlying document at the time the AST was created. A lookup only succeeds if the stamp is
+ * still the same. The ASTs are only softly referenced, and the cache is further bounded by a
+ * number of entries and by an approximate byte budget computed with
+ * {@link CompilationUnit#subtreeBytes()}.
+ * </p>
+ * <p>
+ * The size of the cache can be configured with the system properties
+ * <code>org.eclipse.jdt.core.manipulation.sharedASTCacheSize</code> (number of entries, <code>0</code>
+ * disables the cache) and <code>org.eclipse.jdt.core.manipulation.sharedASTCacheMaxBytes</code>.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @see org.eclipse.jdt.core.manipulation.CoreASTProvider
+ */
+public final class SharedASTCache {
+
+	/**
+	 * Stamp returned by {@link #getModificationStamp(ITypeRoot)} if the stamp cannot be determined.
+	 * ASTs with an unknown stamp are never cached.
+	 */
+	public static final long UNKNOWN_STAMP= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+	private static final int DEFAULT_MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.core.manipulation.sharedASTCacheSize", 4); //$NON-NLS-1$
+
+	private static final long DEFAULT_MAX_BYTES= Long.getLong("org.eclipse.jdt.core.manipulation.sharedASTCacheMaxBytes", Runtime.getRuntime().maxMemory() / 32); //$NON-NLS-1$
+
+	private static final class Entry {
+		final SoftReference<CompilationUnit> fAST;
+		final long fStamp;
+		final long fBytes;
+
+		Entry(CompilationUnit ast, long stamp, long bytes) {
+			fAST= new SoftReference<>(ast);
+			fStamp= stamp;
+			fBytes= bytes;
+		}
+	}
+
+	private final int fMaxEntries;
+	private final long fMaxBytes;
+
+	private final LinkedHashMap<ITypeRoot, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+	private long fTotalBytes;
+
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+
+	/**
+	 * Creates a cache with the configured default limits.
+	 */
+	public SharedASTCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Creates a cache with the given limits.
+	 *
+	 * @param maxEntries the maximum number of cached ASTs, <code>0</code> disables the cache
+	 * @param maxBytes the approximate maximum number of bytes used by the cached ASTs
+	 */
+	public SharedASTCache(int maxEntries, long maxBytes) {
+		fMaxEntries= Math.max(0, maxEntries);
+		fMaxBytes= maxBytes;
+	}
+
+	/**
+	 * Returns the cached AST for the given element if the element was not modified since the AST
+	 * has been cached.
+	 *
+	 * @param typeRoot the Java element
+	 * @param stamp the current modification stamp of the element, see
+	 *            {@link #getModificationStamp(ITypeRoot)}
+	 * @return the cached AST or <code>null</code> if no valid AST is available
+	 */
+	public synchronized CompilationUnit get(ITypeRoot typeRoot, long stamp) {
+		if (fMaxEntries == 0)
+			return null;
+
+		Entry entry= fEntries.get(typeRoot);
+		if (entry != null) {
+			CompilationUnit ast= entry.fAST.get();
+			if (ast != null && stamp != UNKNOWN_STAMP && entry.fStamp == stamp) {
+				fHits++;
+				return ast;
+			}
+			removeEntry(typeRoot);
+			if (ast == null)
+				fEvictions++;
+		}
+		fMisses++;
+		return null;
+	}
+
+	/**
+	 * Adds the given AST to the cache. Evicts the least recently used entries if the cache limits
+	 * are exceeded.
+	 *
+	 * @param typeRoot the Java element
+	 * @param stamp the modification stamp of the element at the time the AST has been created
+	 * @param ast the AST
+	 */
+	public synchronized void put(ITypeRoot typeRoot, long stamp, CompilationUnit ast) {
+		if (fMaxEntries == 0 || typeRoot == null || ast == null || stamp == UNKNOWN_STAMP)
+			return;
+
+		long bytes= ast.subtreeBytes();
+		if (bytes > fMaxBytes)
+			return;
+
+		removeEntry(typeRoot);
+		fEntries.put(typeRoot, new Entry(ast, stamp, bytes));
+		fTotalBytes+= bytes;
+
+		Iterator<Map.Entry<ITypeRoot, Entry>> iter= fEntries.entrySet().iterator();
+		while (iter.hasNext() && (fEntries.size() > fMaxEntries || fTotalBytes > fMaxBytes)) {
+			Entry eldest= iter.next().getValue();
+			iter.remove();
+			fTotalBytes-= eldest.fBytes;
+			fEvictions++;
+		}
+	}
+
+	/**
+	 * Removes the AST of the given element from the cache.
+	 *
+	 * @param typeRoot the Java element
+	 */
+	public synchronized void remove(ITypeRoot typeRoot) {
+		removeEntry(typeRoot);
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fTotalBytes= 0;
+	}
+
+	private void removeEntry(ITypeRoot typeRoot) {
+		Entry entry= fEntries.remove(typeRoot);
+		if (entry != null)
+			fTotalBytes-= entry.fBytes;
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	public synchronized long getEvictionCount() {
+		return fEvictions;
+	}
+
+	/**
+	 * Returns the approximate number of bytes used by the cached ASTs.
+	 *
+	 * @return the approximate size of the cache in bytes
+	 */
+	public synchronized long getTotalBytes() {
+		return fTotalBytes;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "SharedASTCache [entries=" + fEntries.size() + ", bytes=" + fTotalBytes //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", hits=" + fHits + ", misses=" + fMisses + ", evictions=" + fEvictions + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Returns a stamp that changes whenever the contents of the given element change.
+	 * <p>
+	 * For working copies this is the modification stamp of the document connected to the file
+	 * buffer, for other compilation units the modification stamp of the resource. Class files are
+	 * considered unmodifiable.
+	 * </p>
+	 *
+	 * @param typeRoot the Java element
+	 * @return the modification stamp or {@link #UNKNOWN_STAMP} if it cannot be determined
+	 */
+	public static long getModificationStamp(ITypeRoot typeRoot) {
+		if (typeRoot == null || !typeRoot.exists())
+			return UNKNOWN_STAMP;
+
+		if (!(typeRoot instanceof ICompilationUnit))
+			return 0;
+
+		IResource resource= typeRoot.getResource();
+		if (resource == null)
+			return UNKNOWN_STAMP;
+
+		if (((ICompilationUnit) typeRoot).isWorkingCopy()) {
+			ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
+			if (buffer != null) {
+				IDocument document= buffer.getDocument();
+				if (document instanceof IDocumentExtension4)
+					return ((IDocumentExtension4) document).getModificationStamp();
+			}
+			return UNKNOWN_STAMP;
+		}
+		return resource.getModificationStamp();
+	}
+}
@@ -61,6 +61,13 @@ public abstract class AbstractCleanUp implements ICleanUp {
 		fOptions= options;
 	}
 
+	/**
+	 * @return the options that will be used or <code>null</code> if no options have been set
+	 */
+	public CleanUpOptions getOptions() {
+		return fOptions;
+	}
+
 
 	/*
 	 * @see org.eclipse.jdt.ui.cleanup.ICleanUp#getStepDescriptions()
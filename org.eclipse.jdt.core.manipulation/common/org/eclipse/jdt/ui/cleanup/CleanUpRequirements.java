@@ -37,6 +37,11 @@ public final class CleanUpRequirements {
 
 	protected final boolean fRequiresChangedRegions;
 
+	/**
+	 * @since 1.22
+	 */
+	protected final boolean fCanEnableFixes;
+
 
 	/**
 	 * Create a new instance
@@ -47,11 +52,27 @@ public final class CleanUpRequirements {
 	 * @param compilerOptions map of compiler options or <code>null</code> if no requirements
 	 */
 	public CleanUpRequirements(boolean requiresAST, boolean requiresFreshAST, boolean requiresChangedRegions, Map<String, String> compilerOptions) {
+		this(requiresAST, requiresFreshAST, requiresChangedRegions, compilerOptions, true);
+	}
+
+	/**
+	 * Create a new instance
+	 *
+	 * @param requiresAST <code>true</code> if an AST is required
+	 * @param requiresFreshAST <code>true</code> if a fresh AST is required
+	 * @param requiresChangedRegions <code>true</code> if changed regions are required
+	 * @param compilerOptions map of compiler options or <code>null</code> if no requirements
+	 * @param canEnableFixes <code>false</code> if the changes of the clean up can never enable
+	 *            fixes of other clean ups, see {@link #canEnableFixes()}
+	 * @since 1.22
+	 */
+	public CleanUpRequirements(boolean requiresAST, boolean requiresFreshAST, boolean requiresChangedRegions, Map<String, String> compilerOptions, boolean canEnableFixes) {
 		Assert.isLegal(!requiresFreshAST || requiresAST, "Must not request fresh AST if no AST is required"); //$NON-NLS-1$
 		Assert.isLegal(compilerOptions == null || requiresAST, "Must not provide options if no AST is required"); //$NON-NLS-1$
 		fRequiresAST= requiresAST;
 		fRequiresFreshAST= requiresFreshAST;
 		fRequiresChangedRegions= requiresChangedRegions;
+		fCanEnableFixes= canEnableFixes;
 
 		fCompilerOptions= compilerOptions;
 		// Make sure that compile warnings are not suppressed since some clean ups work on reported warnings
@@ -82,6 +103,21 @@ public final class CleanUpRequirements {
 		return fRequiresFreshAST;
 	}
 
+	/**
+	 * Tells whether the changes of this clean up can enable fixes of other clean ups. Clean ups
+	 * which {@link #requiresFreshAST() require a fresh AST} only wait for a new AST if a previous
+	 * clean up which can enable fixes has changed the compilation unit. Clean ups which only change
+	 * the layout of the code, e.g. the formatting or the order of members, should return
+	 * <code>false</code> such that no additional AST has to be created.
+	 *
+	 * @return <code>true</code> if the changes of this clean up can enable fixes of other clean
+	 *         ups
+	 * @since 1.22
+	 */
+	public boolean canEnableFixes() {
+		return fCanEnableFixes;
+	}
+
 	/**
 	 * Required compiler options.
 	 *
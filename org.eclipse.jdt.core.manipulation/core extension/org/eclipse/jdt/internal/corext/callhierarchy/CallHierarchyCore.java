@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.StringTokenizer;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -53,8 +54,23 @@ public class CallHierarchyCore {
     public static final String PREF_USE_IMPLEMENTORS= "PREF_USE_IMPLEMENTORS"; //$NON-NLS-1$
     public static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     public static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
+    /**
+     * Whether the callers of static methods are looked up in the {@link CallerIndex} before they
+     * are searched.
+     */
+    public static final String PREF_USE_CALLER_INDEX= "PREF_USE_CALLER_INDEX"; //$NON-NLS-1$
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
+	/**
+	 * The maximum number of threads searching for calls concurrently, can be set with the system
+	 * property <code>org.eclipse.jdt.ui.callHierarchyThreads</code>. <code>1</code> searches on
+	 * the calling thread only.
+	 */
+	public static final int PARALLELISM= Math.max(1,
+			Integer.getInteger("org.eclipse.jdt.ui.callHierarchyThreads", Math.min(4, Runtime.getRuntime().availableProcessors()))); //$NON-NLS-1$
+
+	private volatile int fPrecomputeDepth= Math.max(0, Integer.getInteger("org.eclipse.jdt.ui.callHierarchyPrecomputeDepth", 0)); //$NON-NLS-1$
+
     private static CallHierarchyCore fgInstance;
     private IJavaSearchScope fSearchScope;
     private StringMatcher[] fFilters;
@@ -83,6 +99,10 @@ public class CallHierarchyCore {
 		return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_HIDE_TEST_CODE, null));
 	}
 
+	public boolean isCallerIndexEnabled() {
+		return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_USE_CALLER_INDEX, null));
+	}
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -111,6 +131,28 @@ public class CallHierarchyCore {
         return new ArrayList<>(0);
     }
 
+    /**
+     * Returns the number of levels below an expanded method wrapper whose calls are searched in
+     * the background. The default can be set with the system property
+     * <code>org.eclipse.jdt.ui.callHierarchyPrecomputeDepth</code>.
+     *
+     * @return the number of levels, <code>0</code> if no calls are searched in the background
+     * @see MethodWrapper#getCalls(IProgressMonitor)
+     */
+    public int getPrecomputeDepth() {
+        return fPrecomputeDepth;
+    }
+
+    /**
+     * Sets the number of levels below an expanded method wrapper whose calls are searched in the
+     * background.
+     *
+     * @param depth the number of levels, <code>0</code> to search no calls in the background
+     */
+    public void setPrecomputeDepth(int depth) {
+        fPrecomputeDepth= Math.max(0, depth);
+    }
+
     public MethodWrapper[] getCallerRoots(IMember[] members) {
         return getRoots(members, true);
     }
@@ -121,6 +163,7 @@ public class CallHierarchyCore {
 
 	private MethodWrapper[] getRoots(IMember[] members, boolean callers) {
 		ArrayList<MethodWrapper> roots= new ArrayList<>();
+		MethodCache methodCache= new MethodCache();
 		for (IMember member : members) {
 			if (member instanceof IType) {
 				IType type= (IType) member;
@@ -128,29 +171,29 @@ public class CallHierarchyCore {
 					if (! type.isAnonymous()) {
 						IMethod[] constructors= JavaElementUtil.getAllConstructors(type);
 						if (constructors.length == 0) {
-							addRoot(member, roots, callers); // IType is a stand-in for the non-existing default constructor
+							addRoot(member, roots, callers, methodCache); // IType is a stand-in for the non-existing default constructor
 						} else {
 							if (type.isRecord()) {
-								addRoot(member, roots, callers);
+								addRoot(member, roots, callers, methodCache);
 							}
 							for (IMethod constructor : constructors) {
-								addRoot(constructor, roots, callers);
+								addRoot(constructor, roots, callers, methodCache);
 							}
 						}
 					} else {
-						addRoot(member, roots, callers);
+						addRoot(member, roots, callers, methodCache);
 					}
 				} catch (JavaModelException e) {
 					JavaManipulationPlugin.log(e);
 				}
 			} else {
-				addRoot(member, roots, callers);
+				addRoot(member, roots, callers, methodCache);
 			}
 		}
         return roots.toArray(new MethodWrapper[roots.size()]);
 	}
 
-	private void addRoot(IMember member, ArrayList<MethodWrapper> roots, boolean callers) {
+	private void addRoot(IMember member, ArrayList<MethodWrapper> roots, boolean callers, MethodCache methodCache) {
 		MethodCall methodCall= new MethodCall(member);
 		MethodWrapper root;
 		if (callers) {
@@ -158,6 +201,7 @@ public class CallHierarchyCore {
 		} else {
 			root= new CalleeMethodWrapper(null, methodCall);
 		}
+		root.setMethodCache(methodCache);
 		roots.add(root);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,9 +30,36 @@ class CallSearchResultCollector {
      * A map from handle identifier ({@link String}) to {@link MethodCall}.
      */
     private Map<String, MethodCall> fCalledMembers;
+    private final boolean fFiltered;
 
     public CallSearchResultCollector() {
+        this(true);
+    }
+
+    /**
+     * @param filtered whether the called members that are hidden by the call hierarchy filters
+     *            are ignored
+     */
+    CallSearchResultCollector(boolean filtered) {
         this.fCalledMembers = createCalledMethodsData();
+        this.fFiltered = filtered;
+    }
+
+    /**
+     * Returns the calls whose called members are not hidden by the call hierarchy filters.
+     *
+     * @param calls a map from handle identifier to {@link MethodCall}, as collected by an
+     *            unfiltered collector
+     * @return a new map from handle identifier to {@link MethodCall}
+     */
+    static Map<String, MethodCall> filter(Map<String, MethodCall> calls) {
+        Map<String, MethodCall> result = new HashMap<>();
+        for (Map.Entry<String, MethodCall> entry : calls.entrySet()) {
+            if (!isIgnored(entry.getValue().getMember())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
     }
 
     /**
@@ -48,7 +75,7 @@ class CallSearchResultCollector {
 
     protected void addMember(IMember member, IMember calledMember, int start, int end, int lineNumber, boolean potential) {
         if ((member != null) && (calledMember != null)) {
-            if (!isIgnored(calledMember)) {
+            if (!fFiltered || !isIgnored(calledMember)) {
                 MethodCall methodCall = fCalledMembers.get(calledMember.getHandleIdentifier());
 
                 if (methodCall == null) {
@@ -72,7 +99,7 @@ class CallSearchResultCollector {
      * Method isIgnored.
      * @return boolean
      */
-	private boolean isIgnored(IMember enclosingElement) {
+	private static boolean isIgnored(IMember enclosingElement) {
 		String fullyQualifiedName= getTypeOfElement(enclosingElement).getFullyQualifiedName();
 
 		if (CallHierarchyCore.getDefault().isShowAll()) {
@@ -102,7 +129,7 @@ class CallSearchResultCollector {
 		return null;
 	}
 
-    private IType getTypeOfElement(IMember element) {
+    private static IType getTypeOfElement(IMember element) {
         if (element.getElementType() == IJavaElement.TYPE) {
             return (IType) element;
         }
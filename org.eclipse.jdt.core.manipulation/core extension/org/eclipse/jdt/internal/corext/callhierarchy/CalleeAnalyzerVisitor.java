@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,9 +61,10 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
     private int fMethodEndPosition;
     private int fMethodStartPosition;
 	private CallLocation fCalledAt;
+	private boolean fDependsOnCalledAt;
 
     CalleeAnalyzerVisitor(CallLocation calledAt, IMember member, CompilationUnit compilationUnit, IProgressMonitor progressMonitor) {
-		fSearchResults = new CallSearchResultCollector();
+		fSearchResults = new CallSearchResultCollector(false);
         this.fCalledAt= calledAt;
         this.fMember = member;
         this.fCompilationUnit= compilationUnit;
@@ -79,12 +80,23 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
     }
 
     /**
+     * Returns the callees, including the ones hidden by the call hierarchy filters, see
+     * {@link CallSearchResultCollector#filter(Map)}.
+     *
      * @return a map from handle identifier ({@link String}) to {@link MethodCall}
      */
     public Map<String, MethodCall> getCallees() {
         return fSearchResults.getCallers();
     }
 
+    /**
+     * @return <code>true</code> if the callees include implementations of the member, whose call
+     *         locations are taken from the location the member has been called at
+     */
+    public boolean dependsOnCalledAt() {
+        return fDependsOnCalledAt;
+    }
+
     @Override
 	public boolean visit(ClassInstanceCreation node) {
         progressMonitorWorked(1);
@@ -275,6 +287,7 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
                     if (node instanceof MethodDeclaration && (calledType.isInterface() || Flags.isAbstract(calledType.getFlags()))) {
                         Collection<IJavaElement> implementingMethods= CallHierarchyCore.getDefault().getImplementingMethods(calledMethod);
                         implementationResults = true;
+                        fDependsOnCalledAt = true;
                         for (IJavaElement element : implementingMethods) {
 							if(element instanceof IMethod) {
 								if(!isIgnoredBySearchScope((IMethod) element)) {
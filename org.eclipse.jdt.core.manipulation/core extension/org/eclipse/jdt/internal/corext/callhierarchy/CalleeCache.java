@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * The callees found for members, by handle identifier, shared by all call hierarchy sessions so
+ * that expanding the callees of a member again does not parse its compilation unit again. The
+ * callees are stored before the call hierarchy filters are applied.
+ * <p>
+ * Since a change of any compilation unit can change the bindings of the calls in another one,
+ * the cache is cleared whenever a Java element changes.
+ * </p>
+ */
+public final class CalleeCache implements IElementChangedListener {
+
+	/**
+	 * The maximum number of members whose callees are cached.
+	 */
+	private static final int MAX_ENTRIES= 500;
+
+	private static CalleeCache fgDefault;
+
+	private final Map<String, Map<String, MethodCall>> fCallees= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Map<String, MethodCall>> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Incremented whenever the cache is cleared, so that callees that have been found before a
+	 * change are not added afterwards.
+	 */
+	private long fGeneration;
+
+	private CalleeCache() {
+	}
+
+	/**
+	 * Returns the callee cache. The cache starts listening to changes of Java elements when it is
+	 * first requested.
+	 *
+	 * @return the callee cache
+	 */
+	static synchronized CalleeCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CalleeCache();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops listening to changes, if the cache has been created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Returns the generation to pass to {@link #put(String, Map, long)} for callees that are
+	 * about to be searched.
+	 *
+	 * @return the current generation
+	 */
+	synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * @param key the handle identifier of the member
+	 * @return a map from handle identifier to {@link MethodCall}, must not be modified, or
+	 *         <code>null</code> if the callees of the member are not cached
+	 */
+	synchronized Map<String, MethodCall> get(String key) {
+		return fCallees.get(key);
+	}
+
+	/**
+	 * Caches the callees of a member, unless a Java element has changed since the given
+	 * generation.
+	 *
+	 * @param key the handle identifier of the member
+	 * @param callees a map from handle identifier to {@link MethodCall}, must not be modified
+	 *            afterwards
+	 * @param generation the generation returned by {@link #getGeneration()} before the callees
+	 *            have been searched
+	 */
+	synchronized void put(String key, Map<String, MethodCall> callees, long generation) {
+		if (generation == fGeneration)
+			fCallees.put(key, callees);
+	}
+
+	@Override
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		fGeneration++;
+		fCallees.clear();
+	}
+}
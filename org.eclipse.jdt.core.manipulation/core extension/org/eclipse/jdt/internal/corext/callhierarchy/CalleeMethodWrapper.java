@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,14 +16,26 @@
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 class CalleeMethodWrapper extends MethodWrapper {
     private Comparator<MethodWrapper> fMethodWrapperComparator = new MethodWrapperComparator();
@@ -83,14 +95,23 @@ class CalleeMethodWrapper extends MethodWrapper {
     }
 
 	/**
-     * Find callees called from the current method.
+     * Find callees called from the current method. The callees of a member are cached across
+     * call hierarchy sessions until a Java element changes, see {@link CalleeCache}.
 	 * @see org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper#findChildren(org.eclipse.core.runtime.IProgressMonitor)
      */
     @Override
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
     	IMember member= getMember();
 		if (member.exists()) {
-			CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
+			CalleeCache cache= CalleeCache.getDefault();
+			String key= member.getHandleIdentifier();
+			Map<String, MethodCall> callees= cache.get(key);
+			if (callees != null) {
+				return CallSearchResultCollector.filter(callees);
+			}
+
+			long generation= cache.getGeneration();
+			CompilationUnit cu= getCompilationUnitNode(member);
 		    if (progressMonitor != null) {
 		        progressMonitor.worked(5);
 		    }
@@ -99,9 +120,46 @@ class CalleeMethodWrapper extends MethodWrapper {
 				CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(this.getMethodCall().getFirstCallLocation(), member, cu, progressMonitor);
 
 				cu.accept(visitor);
-				return visitor.getCallees();
+				callees= visitor.getCallees();
+				if (!visitor.dependsOnCalledAt()) {
+					cache.put(key, Collections.unmodifiableMap(callees), generation);
+				}
+				return CallSearchResultCollector.filter(callees);
 			}
 		}
         return new HashMap<>(0);
     }
+
+	/**
+	 * Returns an AST of the compilation unit declaring the given member, with bindings. The
+	 * shared AST is used if the compilation unit is open in the active editor. Otherwise, only
+	 * the body of the method or initializer is parsed, the bodies of all other methods are
+	 * skipped.
+	 *
+	 * @param member the member
+	 * @return the AST, or <code>null</code> if the member has no source
+	 */
+	private static CompilationUnit getCompilationUnitNode(IMember member) {
+		ITypeRoot typeRoot= member.getTypeRoot();
+		CompilationUnit shared= SharedASTProviderCore.getAST(typeRoot, SharedASTProviderCore.WAIT_NO, null);
+		if (shared != null) {
+			return shared;
+		}
+		if (!(member instanceof IMethod) && !(member instanceof IInitializer)) {
+			return CallHierarchyCore.getCompilationUnitNode(member, true);
+		}
+		try {
+			ISourceRange range= member instanceof IMethod ? member.getNameRange() : member.getSourceRange();
+			if (typeRoot.exists() && typeRoot.getBuffer() != null && SourceRange.isAvailable(range)) {
+				ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+				parser.setSource(typeRoot);
+				parser.setResolveBindings(true);
+				parser.setFocalPosition(range.getOffset());
+				return (CompilationUnit) parser.createAST(null);
+			}
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		return null;
+	}
 }
@@ -0,0 +1,1011 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+/**
+ * An index from the static methods declared in source to the compilation units that call them.
+ * The index is built from the ASTs of the compilation units of the workspace, kept up to date
+ * with Java element deltas and stored per project in the state location of the plug-in. It is
+ * used by {@link CallerMethodWrapper} to search only the compilation units that call a method,
+ * if enabled with {@link CallHierarchyCore#PREF_USE_CALLER_INDEX}.
+ * <p>
+ * The index only tells which compilation units have to be searched, the call sites are still
+ * found by the search engine, so the callers are the same as without the index. Compilation
+ * units that changed are indexed again before the index is used. If too many of them are
+ * pending, e.g. while the index is built for the first time, the index is not used and the units
+ * are indexed by a background job.
+ * </p>
+ * <p>
+ * Calls in a compilation unit that did not change can resolve to another method when the
+ * declarations of another unit change, e.g. when an overload is added. Therefore an indexed unit
+ * also records the names used by its calls and the declarations it contains. When the
+ * declarations of a unit change, the units using the names of the changed declarations are
+ * indexed again.
+ * </p>
+ */
+public final class CallerIndex implements IElementChangedListener {
+
+	private static final int MAGIC= 0x4a434958; // "JCIX"
+	private static final int VERSION= 1;
+
+	/**
+	 * The maximum number of changed compilation units that are indexed while a caller query waits.
+	 */
+	private static final int MAX_PENDING_UNITS= 64;
+
+	/**
+	 * The number of compilation units that are parsed together.
+	 */
+	private static final int CHUNK_SIZE= 32;
+
+	/**
+	 * The delay in milliseconds before changed compilation units are indexed in the background.
+	 */
+	private static final long UPDATE_DELAY= 2000;
+
+	private static final String[] NO_STRINGS= new String[0];
+
+	private static CallerIndex fgDefault;
+
+	/**
+	 * The indexed state of a compilation unit.
+	 */
+	private static final class Unit {
+
+		final String fHandle;
+
+		/**
+		 * The modification stamp of the resource when the unit has been indexed, or
+		 * {@link IResource#NULL_STAMP} if it had unsaved changes.
+		 */
+		final long fStamp;
+
+		/**
+		 * The value of {@link CallerIndex#fSequence} when the unit has been parsed, <code>0</code> if
+		 * the unit has been read from disk.
+		 */
+		final long fSequence;
+
+		/**
+		 * The handle identifiers of the static methods called by the unit.
+		 */
+		final String[] fCallees;
+
+		/**
+		 * The names of all methods called by the unit and of the types declaring the static ones.
+		 */
+		final String[] fNames;
+
+		/**
+		 * The method and type declarations of the unit, see {@link CallerIndex#getNames(String)}.
+		 */
+		final String[] fDeclarations;
+
+		Unit(String handle, long stamp, long sequence, String[] callees, String[] names, String[] declarations) {
+			fHandle= handle;
+			fStamp= stamp;
+			fSequence= sequence;
+			fCallees= callees;
+			fNames= names;
+			fDeclarations= declarations;
+		}
+	}
+
+	/**
+	 * The index of the compilation units of one project.
+	 */
+	private static final class ProjectIndex {
+
+		final String fName;
+
+		final Map<String, Unit> fUnits= new HashMap<>();
+
+		/**
+		 * Maps the handle identifier of a static method to the units calling it.
+		 */
+		final Map<String, Set<String>> fCallers= new HashMap<>();
+
+		/**
+		 * Maps a name to the units using it in calls.
+		 */
+		final Map<String, Set<String>> fNameUsers= new HashMap<>();
+
+		/**
+		 * Maps the handle identifiers of the units that have to be indexed (again) to the value of
+		 * {@link CallerIndex#fSequence} when they have been changed.
+		 */
+		final Map<String, Long> fDirty= new HashMap<>();
+
+		final Map<String, String> fSymbols= new HashMap<>();
+
+		/**
+		 * Whether all compilation units of the project are known.
+		 */
+		boolean fScanned;
+
+		/**
+		 * Whether the index has been modified since it has been saved.
+		 */
+		boolean fModified;
+
+		ProjectIndex(String name) {
+			fName= name;
+		}
+
+		void add(Unit unit) {
+			fUnits.put(unit.fHandle, unit);
+			for (String callee : unit.fCallees) {
+				fCallers.computeIfAbsent(callee, k -> new HashSet<>()).add(unit.fHandle);
+			}
+			for (String name : unit.fNames) {
+				fNameUsers.computeIfAbsent(name, k -> new HashSet<>()).add(unit.fHandle);
+			}
+		}
+
+		Unit remove(String handle) {
+			Unit unit= fUnits.remove(handle);
+			if (unit != null) {
+				removeUser(fCallers, unit.fCallees, handle);
+				removeUser(fNameUsers, unit.fNames, handle);
+			}
+			return unit;
+		}
+
+		private static void removeUser(Map<String, Set<String>> map, String[] keys, String handle) {
+			for (String key : keys) {
+				Set<String> users= map.get(key);
+				if (users != null && users.remove(handle) && users.isEmpty())
+					map.remove(key);
+			}
+		}
+
+		Unit intern(Unit unit) {
+			return new Unit(intern(unit.fHandle), unit.fStamp, unit.fSequence, intern(unit.fCallees), intern(unit.fNames), unit.fDeclarations);
+		}
+
+		private String[] intern(String[] strings) {
+			for (int i= 0; i < strings.length; i++) {
+				strings[i]= intern(strings[i]);
+			}
+			return strings;
+		}
+
+		private String intern(String string) {
+			String symbol= fSymbols.putIfAbsent(string, string);
+			return symbol != null ? symbol : string;
+		}
+
+		void markDirty(String handle, long sequence) {
+			fDirty.putIfAbsent(handle, Long.valueOf(sequence));
+		}
+	}
+
+	private final Map<String, ProjectIndex> fProjects= new HashMap<>();
+
+	/**
+	 * The indexes of the projects that have been closed and still have to be saved, or
+	 * <code>null</code> for the projects that have been deleted and whose index file still has to
+	 * be deleted, by project name.
+	 */
+	private final Map<String, ProjectIndex> fRemovedProjects= new HashMap<>();
+
+	/**
+	 * Incremented when compilation units are changed and when they are parsed, to tell whether a
+	 * unit has been parsed before or after another unit changed.
+	 */
+	private final AtomicLong fSequence= new AtomicLong(1);
+
+	private final Job fUpdateJob;
+
+	private boolean fDisposed;
+
+	private CallerIndex() {
+		fUpdateJob= new Job(CallHierarchyMessages.CallerIndex_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(-1, monitor);
+					save();
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fUpdateJob.setSystem(true);
+		fUpdateJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns the caller index of the workspace. The index starts listening to changes of Java
+	 * elements when it is first requested.
+	 *
+	 * @return the caller index
+	 */
+	public static synchronized CallerIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CallerIndex();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fgDefault.fUpdateJob.schedule();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops listening to changes and saves the index, if it has been created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.fUpdateJob.cancel();
+			synchronized (fgDefault) {
+				fgDefault.fDisposed= true;
+			}
+			fgDefault.save();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Tells whether the callers of the given member can be looked up in the index. This is the
+	 * case for static methods that are declared in source and that are not private, since a call
+	 * of such a method always resolves to the method itself.
+	 *
+	 * @param member the member
+	 * @return <code>true</code> if the callers can be looked up
+	 */
+	public static boolean isIndexed(IMember member) {
+		if (!(member instanceof IMethod) || member.isBinary() || member.getCompilationUnit() == null)
+			return false;
+		try {
+			int flags= member.getFlags();
+			return Flags.isStatic(flags) && !Flags.isPrivate(flags) && !((IMethod) member).isConstructor();
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the compilation units that call the given member. The changed compilation units are
+	 * indexed first, if there are not too many of them.
+	 *
+	 * @param member the called member
+	 * @param scope the scope of the units to return
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the compilation units in the scope that call the member, or <code>null</code> if the
+	 *         callers of the member are not indexed or the index is not up to date
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public ICompilationUnit[] getCallingUnits(IMember member, IJavaSearchScope scope, IProgressMonitor monitor) {
+		if (!isIndexed(member))
+			return null;
+		if (!update(MAX_PENDING_UNITS, monitor)) {
+			fUpdateJob.schedule();
+			return null;
+		}
+
+		String handle= member.getHandleIdentifier();
+		Set<String> handles= new HashSet<>();
+		synchronized (this) {
+			for (ProjectIndex project : fProjects.values()) {
+				Set<String> callers= project.fCallers.get(handle);
+				if (callers != null)
+					handles.addAll(callers);
+				// changed in the meantime
+				handles.addAll(project.fDirty.keySet());
+			}
+		}
+		List<ICompilationUnit> units= new ArrayList<>(handles.size());
+		for (String unitHandle : handles) {
+			IJavaElement element= JavaCore.create(unitHandle);
+			if (element instanceof ICompilationUnit && scope.encloses(element))
+				units.add((ICompilationUnit) element);
+		}
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	/**
+	 * Brings the index up to date: reads the indexes of the projects that have not been read yet
+	 * and indexes the changed compilation units.
+	 *
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public void update(IProgressMonitor monitor) {
+		update(-1, monitor);
+	}
+
+	/**
+	 * Brings the index up to date.
+	 *
+	 * @param maxUnits the maximum number of compilation units to index, or <code>-1</code> to index
+	 *            all changed units and to read and scan the projects that are not known yet
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return <code>true</code> if the index is up to date, <code>false</code> if more units would
+	 *         have to be indexed or projects to be read
+	 */
+	private boolean update(int maxUnits, IProgressMonitor monitor) {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, 100);
+		try {
+			if (!loadProjects(maxUnits < 0, subMonitor.split(20)))
+				return false;
+
+			int remaining= maxUnits;
+			while (true) {
+				Map<String, Map<String, Long>> pending= new HashMap<>();
+				synchronized (this) {
+					if (fDisposed)
+						return false;
+					int count= 0;
+					for (ProjectIndex project : fProjects.values()) {
+						count+= project.fDirty.size();
+					}
+					if (count == 0)
+						return true;
+					if (maxUnits >= 0 && count > remaining)
+						return false;
+					remaining-= count;
+					for (ProjectIndex project : fProjects.values()) {
+						if (!project.fDirty.isEmpty()) {
+							pending.put(project.fName, new HashMap<>(project.fDirty));
+							project.fDirty.clear();
+						}
+					}
+				}
+				subMonitor.setWorkRemaining(100);
+				try {
+					SubMonitor loopMonitor= subMonitor.split(50).setWorkRemaining(pending.size());
+					for (Iterator<Map.Entry<String, Map<String, Long>>> iter= pending.entrySet().iterator(); iter.hasNext();) {
+						Map.Entry<String, Map<String, Long>> entry= iter.next();
+						index(entry.getKey(), entry.getValue(), loopMonitor.split(1));
+						iter.remove();
+					}
+				} finally {
+					// canceled or failed: the units that have not been indexed are still changed
+					restoreDirty(pending);
+				}
+			}
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Marks the given compilation units as changed again.
+	 *
+	 * @param pending the handle identifiers of the units mapped to the value of {@link #fSequence}
+	 *            when they have been changed, by project name
+	 */
+	private synchronized void restoreDirty(Map<String, Map<String, Long>> pending) {
+		for (Map.Entry<String, Map<String, Long>> entry : pending.entrySet()) {
+			ProjectIndex project= fProjects.get(entry.getKey());
+			if (project == null)
+				continue;
+			for (Map.Entry<String, Long> unit : entry.getValue().entrySet()) {
+				// keep the earliest change
+				project.fDirty.merge(unit.getKey(), unit.getValue(), (a, b) -> a.longValue() <= b.longValue() ? a : b);
+			}
+		}
+	}
+
+	/**
+	 * Makes sure that the indexes of all open Java projects are known.
+	 *
+	 * @param load whether the indexes that are not known yet can be read and the projects be
+	 *            scanned for their compilation units
+	 * @param monitor the progress monitor
+	 * @return <code>true</code> if all indexes are known
+	 * @throws JavaModelException if the Java projects cannot be accessed
+	 */
+	private boolean loadProjects(boolean load, IProgressMonitor monitor) throws JavaModelException {
+		IJavaProject[] javaProjects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		SubMonitor subMonitor= SubMonitor.convert(monitor, javaProjects.length);
+		for (IJavaProject javaProject : javaProjects) {
+			if (!javaProject.getProject().isOpen()) {
+				subMonitor.worked(1);
+				continue;
+			}
+			ProjectIndex project;
+			synchronized (this) {
+				project= fProjects.get(javaProject.getElementName());
+			}
+			if (project == null || !project.fScanned) {
+				if (!load)
+					return false;
+				if (project == null)
+					project= readProject(javaProject.getElementName());
+				scan(javaProject, project, subMonitor.split(1));
+			} else {
+				subMonitor.worked(1);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the compilation units of the project that are not indexed, or whose index is out of
+	 * date, as changed.
+	 *
+	 * @param javaProject the Java project
+	 * @param project the index of the project
+	 * @param monitor the progress monitor
+	 * @throws JavaModelException if the project cannot be accessed
+	 */
+	private void scan(IJavaProject javaProject, ProjectIndex project, IProgressMonitor monitor) throws JavaModelException {
+		Map<String, Long> stamps= new HashMap<>();
+		IPackageFragmentRoot[] roots= javaProject.getPackageFragmentRoots();
+		SubMonitor subMonitor= SubMonitor.convert(monitor, roots.length);
+		for (IPackageFragmentRoot root : roots) {
+			if (root.getKind() == IPackageFragmentRoot.K_SOURCE && javaProject.equals(root.getJavaProject())) {
+				for (IJavaElement child : root.getChildren()) {
+					for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+						stamps.put(unit.getHandleIdentifier(), Long.valueOf(getStamp(unit)));
+					}
+				}
+			}
+			subMonitor.split(1);
+		}
+
+		synchronized (this) {
+			ProjectIndex existing= fProjects.putIfAbsent(project.fName, project);
+			if (existing != null)
+				project= existing;
+			long sequence= fSequence.incrementAndGet();
+			for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+				Unit unit= project.fUnits.get(entry.getKey());
+				long stamp= entry.getValue().longValue();
+				if (unit == null || unit.fStamp != stamp || stamp == IResource.NULL_STAMP)
+					project.markDirty(entry.getKey(), sequence);
+			}
+			for (String handle : project.fUnits.keySet()) {
+				if (!stamps.containsKey(handle))
+					project.markDirty(handle, sequence);
+			}
+			project.fScanned= true;
+		}
+	}
+
+	private static long getStamp(ICompilationUnit unit) throws JavaModelException {
+		if (unit.isWorkingCopy() && unit.hasUnsavedChanges())
+			return IResource.NULL_STAMP;
+		IResource resource= unit.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	/**
+	 * Indexes the given compilation units of a project.
+	 *
+	 * @param projectName the name of the project
+	 * @param handles the handle identifiers of the units mapped to the value of {@link #fSequence}
+	 *            when they have been changed
+	 * @param monitor the progress monitor
+	 * @throws JavaModelException if the units cannot be accessed
+	 */
+	private void index(String projectName, Map<String, Long> handles, IProgressMonitor monitor) throws JavaModelException {
+		List<ICompilationUnit> units= new ArrayList<>(handles.size());
+		List<String> removed= new ArrayList<>();
+		for (String handle : handles.keySet()) {
+			IJavaElement element= JavaCore.create(handle);
+			if (element instanceof ICompilationUnit && element.exists())
+				units.add((ICompilationUnit) element);
+			else
+				removed.add(handle);
+		}
+
+		Map<String, Unit> indexed= new HashMap<>();
+		SubMonitor subMonitor= SubMonitor.convert(monitor, units.size());
+		for (int start= 0; start < units.size(); start+= CHUNK_SIZE) {
+			List<ICompilationUnit> chunk= units.subList(start, Math.min(units.size(), start + CHUNK_SIZE));
+			long sequence= fSequence.incrementAndGet();
+			Map<String, Long> stamps= new HashMap<>();
+			for (ICompilationUnit unit : chunk) {
+				stamps.put(unit.getHandleIdentifier(), Long.valueOf(getStamp(unit)));
+			}
+			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+			parser.setProject(chunk.get(0).getJavaProject());
+			parser.setResolveBindings(true);
+			parser.createASTs(chunk.toArray(new ICompilationUnit[chunk.size()]), NO_STRINGS, new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					String handle= source.getHandleIdentifier();
+					indexed.put(handle, createUnit(handle, stamps.get(handle).longValue(), sequence, ast));
+				}
+			}, subMonitor.split(chunk.size()));
+		}
+		apply(projectName, handles, indexed, removed);
+	}
+
+	private static Unit createUnit(String handle, long stamp, long sequence, CompilationUnit ast) {
+		Set<String> callees= new HashSet<>();
+		Set<String> names= new HashSet<>();
+		Set<String> declarations= new HashSet<>();
+		ast.accept(new ASTVisitor() {
+
+			@Override
+			public boolean visit(MethodInvocation node) {
+				addCall(node.getName(), node.resolveMethodBinding());
+				return true;
+			}
+
+			@Override
+			public boolean visit(SuperMethodInvocation node) {
+				addCall(node.getName(), node.resolveMethodBinding());
+				return true;
+			}
+
+			@Override
+			public boolean visit(ExpressionMethodReference node) {
+				addCall(node.getName(), node.resolveMethodBinding());
+				return true;
+			}
+
+			@Override
+			public boolean visit(TypeMethodReference node) {
+				addCall(node.getName(), node.resolveMethodBinding());
+				return true;
+			}
+
+			@Override
+			public boolean visit(SuperMethodReference node) {
+				addCall(node.getName(), node.resolveMethodBinding());
+				return true;
+			}
+
+			private void addCall(SimpleName name, IMethodBinding binding) {
+				names.add(name.getIdentifier());
+				if (binding == null || !Modifier.isStatic(binding.getModifiers()))
+					return;
+				IMethodBinding declaration= binding.getMethodDeclaration();
+				addName(names, declaration.getDeclaringClass());
+				IJavaElement element= declaration.getJavaElement();
+				if (element instanceof IMember && ((IMember) element).getCompilationUnit() != null)
+					callees.add(element.getHandleIdentifier());
+			}
+
+			@Override
+			public boolean visit(MethodDeclaration node) {
+				IMethodBinding binding= node.resolveBinding();
+				String name= node.getName().getIdentifier();
+				declarations.add(binding != null ? name + '\t' + binding.getModifiers() + '\t' + binding.getKey() : name);
+				return true;
+			}
+
+			@Override
+			public boolean visit(TypeDeclaration node) {
+				addType(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(EnumDeclaration node) {
+				addType(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(RecordDeclaration node) {
+				addType(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(AnnotationTypeDeclaration node) {
+				addType(node);
+				return true;
+			}
+
+			private void addType(AbstractTypeDeclaration node) {
+				ITypeBinding binding= node.resolveBinding();
+				if (binding == null) {
+					declarations.add(node.getName().getIdentifier());
+					return;
+				}
+				// a changed super type can change the methods inherited by the type
+				Set<String> typeNames= new HashSet<>();
+				addName(typeNames, binding);
+				addName(typeNames, binding.getSuperclass());
+				for (ITypeBinding superInterface : binding.getInterfaces()) {
+					addName(typeNames, superInterface);
+				}
+				declarations.add(String.join(" ", typeNames) + '\t' + binding.getModifiers() + '\t' + binding.getKey()); //$NON-NLS-1$
+			}
+		});
+		return new Unit(handle, stamp, sequence, callees.toArray(NO_STRINGS), names.toArray(NO_STRINGS), declarations.toArray(NO_STRINGS));
+	}
+
+	private static void addName(Set<String> names, ITypeBinding type) {
+		if (type != null) {
+			String name= type.getErasure().getName();
+			if (!name.isEmpty())
+				names.add(name);
+		}
+	}
+
+	/**
+	 * Returns the names of a declaration.
+	 *
+	 * @param declaration a method or type declaration of {@link Unit#fDeclarations}
+	 * @return the name of the method, or the names of the type and its super types
+	 */
+	private static String[] getNames(String declaration) {
+		int end= declaration.indexOf('\t');
+		return (end < 0 ? declaration : declaration.substring(0, end)).split(" "); //$NON-NLS-1$
+	}
+
+	private synchronized void apply(String projectName, Map<String, Long> changes, Map<String, Unit> indexed, List<String> removed) {
+		ProjectIndex project= fProjects.get(projectName);
+		if (project == null || fDisposed)
+			return;
+
+		Map<String, Long> changedNames= new HashMap<>();
+		for (Unit unit : indexed.values()) {
+			Unit old= project.remove(unit.fHandle);
+			addChangedNames(old, unit, getSequence(changes, unit.fHandle), changedNames);
+			project.add(project.intern(unit));
+		}
+		for (String handle : removed) {
+			Unit old= project.remove(handle);
+			addChangedNames(old, null, getSequence(changes, handle), changedNames);
+		}
+		project.fModified= true;
+
+		// units that have been parsed before the declarations changed must be indexed again
+		long sequence= fSequence.incrementAndGet();
+		for (Map.Entry<String, Long> entry : changedNames.entrySet()) {
+			long changed= entry.getValue().longValue();
+			for (ProjectIndex other : fProjects.values()) {
+				Set<String> users= other.fNameUsers.get(entry.getKey());
+				if (users == null)
+					continue;
+				for (String user : users) {
+					Unit unit= other.fUnits.get(user);
+					if (unit != null && unit.fSequence < changed) {
+						other.markDirty(user, sequence);
+						other.fModified= true;
+					}
+				}
+			}
+		}
+	}
+
+	private static long getSequence(Map<String, Long> changes, String handle) {
+		Long sequence= changes.get(handle);
+		return sequence != null ? sequence.longValue() : Long.MAX_VALUE;
+	}
+
+	private static void addChangedNames(Unit oldUnit, Unit newUnit, long sequence, Map<String, Long> changedNames) {
+		Set<String> oldDeclarations= oldUnit != null ? new HashSet<>(Arrays.asList(oldUnit.fDeclarations)) : new HashSet<>();
+		Set<String> newDeclarations= newUnit != null ? new HashSet<>(Arrays.asList(newUnit.fDeclarations)) : new HashSet<>();
+		for (String declaration : oldDeclarations) {
+			if (!newDeclarations.contains(declaration))
+				addChangedNames(declaration, sequence, changedNames);
+		}
+		for (String declaration : newDeclarations) {
+			if (!oldDeclarations.contains(declaration))
+				addChangedNames(declaration, sequence, changedNames);
+		}
+	}
+
+	private static void addChangedNames(String declaration, long sequence, Map<String, Long> changedNames) {
+		for (String name : getNames(declaration)) {
+			changedNames.merge(name, Long.valueOf(sequence), (s1, s2) -> Long.valueOf(Math.max(s1.longValue(), s2.longValue())));
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean changed;
+		synchronized (this) {
+			if (fDisposed)
+				return;
+			changed= processDelta(event.getDelta(), fSequence.incrementAndGet());
+		}
+		if (changed)
+			fUpdateJob.schedule(UPDATE_DELAY);
+	}
+
+	private boolean processDelta(IJavaElementDelta delta, long sequence) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return processChildren(delta, sequence);
+
+			case IJavaElement.JAVA_PROJECT: {
+				ProjectIndex project= fProjects.get(element.getElementName());
+				if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & IJavaElementDelta.F_CLOSED) != 0) {
+					if (project != null) {
+						// saved or deleted by the update job, not while holding the lock
+						fProjects.remove(project.fName);
+						fRemovedProjects.put(project.fName, delta.getKind() == IJavaElementDelta.REMOVED ? null : project);
+						return true;
+					}
+					return false;
+				}
+				if (project == null)
+					return true; // read by the next update
+				if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					invalidate((IJavaProject) element, sequence);
+					return true;
+				}
+				return processChildren(delta, sequence);
+			}
+
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if ((flags & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0) {
+					if (fProjects.containsKey(element.getJavaProject().getElementName()))
+						invalidate(element.getJavaProject(), sequence);
+					return true;
+				}
+				//$FALL-THROUGH$
+			case IJavaElement.PACKAGE_FRAGMENT: {
+				int scanFlags= IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & scanFlags) != 0) {
+					ProjectIndex project= fProjects.get(element.getJavaProject().getElementName());
+					if (project != null)
+						project.fScanned= false;
+					return true;
+				}
+				return processChildren(delta, sequence);
+			}
+
+			case IJavaElement.COMPILATION_UNIT: {
+				ICompilationUnit unit= ((ICompilationUnit) element).getPrimary();
+				ProjectIndex project= fProjects.get(unit.getJavaProject().getElementName());
+				if (project == null)
+					return false;
+				project.markDirty(unit.getHandleIdentifier(), sequence);
+				return true;
+			}
+
+			default:
+				return false;
+		}
+	}
+
+	private boolean processChildren(IJavaElementDelta delta, long sequence) {
+		boolean changed= false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			changed|= processDelta(child, sequence);
+		}
+		return changed;
+	}
+
+	/**
+	 * Marks all compilation units of the given project and of the projects requiring it as
+	 * changed, since their calls can resolve to other methods after a class path change.
+	 *
+	 * @param javaProject the Java project
+	 * @param sequence the value of {@link #fSequence} when the class path changed
+	 */
+	private void invalidate(IJavaProject javaProject, long sequence) {
+		String name= javaProject.getElementName();
+		for (ProjectIndex project : fProjects.values()) {
+			boolean requires= project.fName.equals(name);
+			if (!requires) {
+				try {
+					IJavaProject other= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getProject(project.fName));
+					requires= Arrays.asList(other.getRequiredProjectNames()).contains(name);
+				} catch (JavaModelException e) {
+					requires= true;
+				}
+			}
+			if (requires) {
+				for (String handle : project.fUnits.keySet()) {
+					project.markDirty(handle, sequence);
+				}
+				project.fScanned= false;
+			}
+		}
+	}
+
+	/**
+	 * Saves the indexes that have been modified since they have been read or saved.
+	 */
+	private void save() {
+		List<ProjectIndex> modified= new ArrayList<>();
+		Map<String, ProjectIndex> removed;
+		synchronized (this) {
+			for (ProjectIndex project : fProjects.values()) {
+				if (project.fModified)
+					modified.add(project);
+			}
+			removed= new HashMap<>(fRemovedProjects);
+			fRemovedProjects.clear();
+		}
+		for (Map.Entry<String, ProjectIndex> entry : removed.entrySet()) {
+			// no longer accessed by others
+			if (entry.getValue() != null) {
+				write(entry.getValue());
+			} else {
+				File file= getIndexFile(entry.getKey());
+				if (file != null)
+					file.delete();
+			}
+		}
+		for (ProjectIndex project : modified) {
+			synchronized (this) {
+				if (fProjects.get(project.fName) == project)
+					write(project);
+			}
+		}
+	}
+
+	private static File getIndexFile(String projectName) {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		return plugin.getStateLocation().append("callers").append(projectName + ".index").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private ProjectIndex readProject(String projectName) {
+		boolean removed;
+		ProjectIndex closed;
+		synchronized (this) {
+			removed= fRemovedProjects.containsKey(projectName);
+			closed= fRemovedProjects.remove(projectName);
+		}
+		if (closed != null)
+			return closed; // reopened before it has been saved
+		ProjectIndex project= new ProjectIndex(projectName);
+		File file= getIndexFile(projectName);
+		if (removed && file != null)
+			file.delete();
+		if (file == null || !file.isFile())
+			return project;
+
+		List<Unit> units= new ArrayList<>();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return project;
+			int count= in.readInt();
+			for (int i= 0; i < count; i++) {
+				String handle= in.readUTF();
+				long stamp= in.readLong();
+				units.add(new Unit(handle, stamp, 0, readStrings(in), readStrings(in), readStrings(in)));
+			}
+		} catch (IOException e) {
+			// build the index again
+			return project;
+		}
+		synchronized (this) {
+			for (Unit unit : units) {
+				project.add(project.intern(unit));
+			}
+		}
+		return project;
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		String[] strings= new String[in.readInt()];
+		for (int i= 0; i < strings.length; i++) {
+			strings[i]= in.readUTF();
+		}
+		return strings;
+	}
+
+	/**
+	 * Writes the index of a project. Must be called while holding the lock of the receiver, unless
+	 * the project has been removed from the index.
+	 *
+	 * @param project the index of the project
+	 */
+	private void write(ProjectIndex project) {
+		File file= getIndexFile(project.fName);
+		if (file == null)
+			return;
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			file.getParentFile().mkdirs();
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(project.fUnits.size());
+				for (Unit unit : project.fUnits.values()) {
+					out.writeUTF(unit.fHandle);
+					// changed units are indexed again when read
+					out.writeLong(project.fDirty.containsKey(unit.fHandle) ? IResource.NULL_STAMP : unit.fStamp);
+					writeStrings(out, unit.fCallees);
+					writeStrings(out, unit.fNames);
+					writeStrings(out, unit.fDeclarations);
+				}
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			project.fModified= false;
+		} catch (IOException e) {
+			tempFile.delete();
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+		out.writeInt(strings.length);
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+}
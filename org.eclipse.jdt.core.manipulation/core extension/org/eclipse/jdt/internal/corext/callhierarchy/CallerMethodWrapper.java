@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IJavaElement;
@@ -152,6 +153,15 @@ public class CallerMethodWrapper extends MethodWrapper {
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
+			if (CallHierarchyCore.getDefault().isCallerIndexEnabled() && CallerIndex.isIndexed(member)) {
+				// only search the compilation units known to call the member
+				ICompilationUnit[] units= CallerIndex.getDefault().getCallingUnits(member, searchScope, monitor.split(20));
+				if (units != null) {
+					if (units.length == 0)
+						return new HashMap<>(0);
+					searchScope= SearchEngine.createJavaSearchScope(units);
+				}
+			}
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
 			return searchRequestor.getCallers();
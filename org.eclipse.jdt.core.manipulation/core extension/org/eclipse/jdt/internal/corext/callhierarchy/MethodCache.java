@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * The calls found for the method wrappers of one call hierarchy session, i.e. of all roots that
+ * have been created together and their children. The cache can be used from several threads: a
+ * search for the calls of a member that is already running is joined instead of being started
+ * again.
+ * <p>
+ * The searches for sibling wrappers can be run concurrently on a bounded pool, and the calls of
+ * the levels below an expanded wrapper can be precomputed in the background, see
+ * {@link CallHierarchyCore#getPrecomputeDepth()}.
+ * </p>
+ */
+final class MethodCache {
+
+	/**
+	 * The maximum number of wrappers whose calls are precomputed after one expansion.
+	 */
+	private static final int MAX_PRECOMPUTED_WRAPPERS= 500;
+
+	/**
+	 * The time in milliseconds between two checks for cancellation while waiting for a search
+	 * started by another thread.
+	 */
+	private static final long WAIT_INTERVAL= 100;
+
+	private static final AtomicInteger fgThreadCount= new AtomicInteger();
+	private static ThreadPoolExecutor fgWorkers;
+
+	/**
+	 * A thread of the pool. Searches started on such a thread do not wait for other threads of
+	 * the pool, which might all be busy.
+	 */
+	private static final class SearchThread extends Thread {
+		SearchThread(Runnable runnable) {
+			super(runnable, "Call hierarchy search " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+			setDaemon(true);
+		}
+	}
+
+	private final Map<String, Map<String, MethodCall>> fCalls= new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<Map<String, MethodCall>>> fPendingCalls= new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented to cancel the background searches that have been started before.
+	 */
+	private final AtomicInteger fGeneration= new AtomicInteger();
+
+	private final Set<CompletableFuture<Void>> fBackgroundSearches= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Returns the calls of the given wrapper, searching for them if they are not cached and no
+	 * other thread is searching for them.
+	 *
+	 * @param wrapper the method wrapper
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return a map from handle identifier to {@link MethodCall}, must not be modified
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	Map<String, MethodCall> getCalls(MethodWrapper wrapper, IProgressMonitor monitor) {
+		String key= wrapper.getMethodCall().getKey();
+		while (true) {
+			Map<String, MethodCall> calls= fCalls.get(key);
+			if (calls != null)
+				return calls;
+
+			CompletableFuture<Map<String, MethodCall>> future= new CompletableFuture<>();
+			CompletableFuture<Map<String, MethodCall>> pending= fPendingCalls.putIfAbsent(key, future);
+			if (pending == null)
+				return search(wrapper, key, future, monitor);
+
+			calls= await(pending, monitor);
+			if (calls != null)
+				return calls;
+			// the other search has been canceled or failed: search again
+		}
+	}
+
+	private Map<String, MethodCall> search(MethodWrapper wrapper, String key, CompletableFuture<Map<String, MethodCall>> future, IProgressMonitor monitor) {
+		try {
+			Map<String, MethodCall> calls= fCalls.get(key);
+			if (calls == null) {
+				calls= Collections.unmodifiableMap(wrapper.searchCalls(monitor));
+				// members without calls are searched again, they might have callers by now
+				if (!calls.isEmpty())
+					fCalls.put(key, calls);
+			}
+			future.complete(calls);
+			return calls;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			fPendingCalls.remove(key, future);
+		}
+	}
+
+	private static Map<String, MethodCall> await(CompletableFuture<Map<String, MethodCall>> pending, IProgressMonitor monitor) {
+		while (true) {
+			if (monitor != null && monitor.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return pending.get(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation
+			} catch (ExecutionException e) {
+				return null;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+	}
+
+	/**
+	 * Removes the calls of the given method call from the cache.
+	 *
+	 * @param methodCall the method call
+	 */
+	void remove(MethodCall methodCall) {
+		fCalls.remove(methodCall.getKey());
+	}
+
+	/**
+	 * Returns the calls of all given wrappers. The searches run concurrently on up to
+	 * {@link CallHierarchyCore#PARALLELISM} threads, including the calling thread. If the calling
+	 * thread is a thread of the pool, the searches run on the calling thread only.
+	 *
+	 * @param wrappers the method wrappers
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the calls of each wrapper, in the order of the wrappers
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	static MethodWrapper[][] getCalls(MethodWrapper[] wrappers, IProgressMonitor monitor) {
+		MethodWrapper[][] result= new MethodWrapper[wrappers.length][];
+		SubMonitor subMonitor= SubMonitor.convert(monitor, wrappers.length);
+		int threads= Math.min(CallHierarchyCore.PARALLELISM, wrappers.length);
+		if (threads <= 1 || Thread.currentThread() instanceof SearchThread) {
+			for (int i= 0; i < wrappers.length; i++) {
+				result[i]= wrappers[i].findCalls(subMonitor.split(1));
+			}
+			return result;
+		}
+
+		AtomicInteger next= new AtomicInteger();
+		AtomicBoolean failed= new AtomicBoolean();
+		IProgressMonitor workerMonitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return failed.get() || subMonitor.isCanceled();
+			}
+		};
+		Runnable worker= () -> {
+			try {
+				int i;
+				while ((i= next.getAndIncrement()) < wrappers.length) {
+					if (workerMonitor.isCanceled())
+						throw new OperationCanceledException();
+					result[i]= wrappers[i].findCalls(workerMonitor);
+					synchronized (subMonitor) {
+						subMonitor.worked(1);
+					}
+				}
+			} catch (RuntimeException | Error e) {
+				failed.set(true);
+				throw e;
+			}
+		};
+
+		// the calling thread is one of the workers
+		List<Future<?>> futures= new ArrayList<>(threads - 1);
+		for (int i= 1; i < threads; i++) {
+			futures.add(getWorkers().submit(worker));
+		}
+		RuntimeException exception= null;
+		try {
+			worker.run();
+		} catch (RuntimeException e) {
+			exception= e;
+		}
+		for (Future<?> future : futures) {
+			// all wrappers have been taken, a worker that has not started yet is not needed
+			if (future.cancel(false))
+				continue;
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof Error)
+					throw (Error) cause;
+				if (exception == null || exception instanceof OperationCanceledException)
+					exception= cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed.set(true);
+				exception= new OperationCanceledException();
+			}
+		}
+		if (exception != null)
+			throw exception;
+		return result;
+	}
+
+	/**
+	 * Searches in the background for the calls of the given wrappers and their children, down to
+	 * the given number of levels. The wrappers of one level are searched concurrently. Stops when
+	 * {@link #cancelBackgroundSearches()} is called.
+	 *
+	 * @param wrappers the method wrappers whose calls are searched first
+	 * @param depth the number of levels to search, <code>0</code> to do nothing
+	 */
+	void precomputeCalls(MethodWrapper[] wrappers, int depth) {
+		if (depth <= 0 || wrappers.length == 0)
+			return;
+
+		int generation= fGeneration.get();
+		IProgressMonitor monitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return fGeneration.get() != generation;
+			}
+		};
+		CompletableFuture<Void> search= CompletableFuture.runAsync(() -> {
+			try {
+				MethodWrapper[] level= wrappers;
+				int remaining= MAX_PRECOMPUTED_WRAPPERS;
+				for (int i= 0; i < depth && level.length > 0 && remaining > 0 && !monitor.isCanceled(); i++) {
+					List<MethodWrapper> expandable= new ArrayList<>();
+					for (MethodWrapper wrapper : level) {
+						if (expandable.size() == remaining)
+							break;
+						if (wrapper.canHaveChildren() && !wrapper.isRecursive())
+							expandable.add(wrapper);
+					}
+					remaining-= expandable.size();
+
+					List<MethodWrapper> children= new ArrayList<>();
+					for (MethodWrapper[] calls : getCalls(expandable.toArray(new MethodWrapper[expandable.size()]), monitor)) {
+						Collections.addAll(children, calls);
+					}
+					level= children.toArray(new MethodWrapper[children.size()]);
+				}
+			} catch (OperationCanceledException e) {
+				// canceled by cancelBackgroundSearches()
+			} catch (RuntimeException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}, getWorkers());
+		fBackgroundSearches.add(search);
+		search.whenComplete((result, exception) -> fBackgroundSearches.remove(search));
+	}
+
+	/**
+	 * Waits for the background searches started by {@link #precomputeCalls(MethodWrapper[], int)}
+	 * to finish. Used for testing.
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return <code>true</code> if the searches have finished, <code>false</code> if the timeout
+	 *         has elapsed
+	 * @throws InterruptedException if the calling thread has been interrupted
+	 */
+	boolean joinBackgroundSearches(long timeout) throws InterruptedException {
+		CompletableFuture<?>[] searches= fBackgroundSearches.toArray(new CompletableFuture<?>[0]);
+		try {
+			CompletableFuture.allOf(searches).get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			return false;
+		} catch (ExecutionException e) {
+			// logged by the search
+		}
+		return true;
+	}
+
+	/**
+	 * Cancels the background searches started by {@link #precomputeCalls(MethodWrapper[], int)}.
+	 * The calls they have found so far stay in the cache.
+	 */
+	void cancelBackgroundSearches() {
+		fGeneration.incrementAndGet();
+	}
+
+	private static synchronized ThreadPoolExecutor getWorkers() {
+		if (fgWorkers == null) {
+			int threads= CallHierarchyCore.PARALLELISM;
+			fgWorkers= new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), SearchThread::new);
+			fgWorkers.allowCoreThreadTimeOut(true);
+		}
+		return fgWorkers;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
@@ -45,14 +44,14 @@ public abstract class MethodWrapper extends PlatformObject {
 		fMethodWrapperCore= core;
 	}
 
-    private Map<String, MethodCall> fElements = null;
+    private volatile Map<String, MethodCall> fElements = null;
 
     /*
-     * A cache of previously found methods. This cache should be searched
-     * before adding a "new" method object reference to the list of elements.
+     * A cache of previously found methods, shared by all wrappers of a call hierarchy
+     * session. This cache is searched before the children of a method are searched.
      * This way previously found methods won't be searched again.
      */
-    private Map<String, Map<String, MethodCall>> fMethodCache;
+    private MethodCache fMethodCache;
     private final MethodCall fMethodCall;
     private final MethodWrapper fParent;
     private int fLevel;
@@ -66,10 +65,10 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<>());
+            setMethodCache(new MethodCache());
             fLevel = 1;
         } else {
-            setMethodCache(parent.getMethodCache());
+            setMethodCache(parent.fMethodCache);
             fLevel = parent.getLevel() + 1;
         }
 
@@ -82,16 +81,44 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodWrapperCore.getAdapter(this, adapter);
 	}
 
+    /**
+     * Returns the children of this wrapper. If enabled, the children of the returned wrappers are
+     * then searched in the background, see {@link CallHierarchyCore#getPrecomputeDepth()}.
+     *
+     * @param progressMonitor a progress monitor, can be <code>null</code>
+     * @return the children of this wrapper
+     * @exception OperationCanceledException if the progress monitor has been canceled
+     */
     public MethodWrapper[] getCalls(IProgressMonitor progressMonitor) {
-        if (fElements == null) {
-            doFindChildren(progressMonitor);
+        MethodWrapper[] result = findCalls(progressMonitor);
+        fMethodCache.precomputeCalls(result, CallHierarchyCore.getDefault().getPrecomputeDepth());
+        return result;
+    }
+
+    /**
+     * Returns the children of all given wrappers. The children of the wrappers are searched
+     * concurrently on up to {@link CallHierarchyCore#PARALLELISM} threads.
+     *
+     * @param wrappers the method wrappers, typically siblings
+     * @param progressMonitor a progress monitor, can be <code>null</code>
+     * @return the children of each wrapper, in the order of the wrappers
+     * @exception OperationCanceledException if the progress monitor has been canceled
+     */
+    public static MethodWrapper[][] getCalls(MethodWrapper[] wrappers, IProgressMonitor progressMonitor) {
+        return MethodCache.getCalls(wrappers, progressMonitor);
+    }
+
+    MethodWrapper[] findCalls(IProgressMonitor progressMonitor) {
+        Map<String, MethodCall> elements = fElements;
+        if (elements == null) {
+            elements = fMethodCache.getCalls(this, progressMonitor);
+            fElements = elements;
         }
 
-        MethodWrapper[] result = new MethodWrapper[fElements.size()];
+        MethodWrapper[] result = new MethodWrapper[elements.size()];
         int i = 0;
 
-        for (String string : fElements.keySet()) {
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
+        for (MethodCall methodCall : elements.values()) {
             result[i++] = createMethodWrapper(methodCall);
         }
 
@@ -160,17 +187,18 @@ public abstract class MethodWrapper extends PlatformObject {
         return result;
     }
 
-    private void setMethodCache(Map<String, Map<String, MethodCall>> methodCache) {
+    /**
+     * Sets the cache shared with the other roots of a call hierarchy session. Must be called
+     * before the calls of the root are searched.
+     *
+     * @param methodCache the method cache
+     */
+    void setMethodCache(MethodCache methodCache) {
         fMethodCache = methodCache;
     }
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -179,28 +207,24 @@ public abstract class MethodWrapper extends PlatformObject {
 	 */
     protected abstract MethodWrapper createMethodWrapper(MethodCall methodCall);
 
-    private void doFindChildren(IProgressMonitor progressMonitor) {
-        Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
-
-        if (existingResults != null && !existingResults.isEmpty()) {
-            fElements = new HashMap<>();
-            fElements.putAll(existingResults);
-        } else {
-            initCalls();
+    /**
+     * Searches for the children of this wrapper, without looking them up in the cache.
+     *
+     * @param progressMonitor a progress monitor, can be <code>null</code>
+     * @return a map from handle identifier ({@link String}) to {@link MethodCall}
+     */
+    Map<String, MethodCall> searchCalls(IProgressMonitor progressMonitor) {
+        if (progressMonitor != null) {
+            progressMonitor.beginTask(getTaskName(), 100);
+        }
 
+        try {
+            Map<String, MethodCall> calls = findChildren(progressMonitor);
+            checkCanceled(progressMonitor);
+            return calls;
+        } finally {
             if (progressMonitor != null) {
-                progressMonitor.beginTask(getTaskName(), 100);
-            }
-
-            try {
-                performSearch(progressMonitor);
-            } catch (OperationCanceledException e){
-            	fElements= null;
-            	throw e;
-            } finally {
-                if (progressMonitor != null) {
-                    progressMonitor.done();
-                }
+                progressMonitor.done();
             }
         }
     }
@@ -242,45 +266,6 @@ public abstract class MethodWrapper extends PlatformObject {
      */
     protected abstract Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor);
 
-    private Map<String, Map<String, MethodCall>> getMethodCache() {
-        return fMethodCache;
-    }
-
-    private void initCalls() {
-        this.fElements = new HashMap<>();
-
-        initCacheForMethod();
-    }
-
-    /**
-     * Looks up a previously created search result in the "global" cache.
-     * @param methodCall the method call
-     * @return the List of previously found search results
-     */
-    private Map<String, MethodCall> lookupMethod(MethodCall methodCall) {
-        return getMethodCache().get(methodCall.getKey());
-    }
-
-    private void performSearch(IProgressMonitor progressMonitor) {
-        fElements = findChildren(progressMonitor);
-
-        for (String string : fElements.keySet()) {
-            checkCanceled(progressMonitor);
-
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
-        }
-    }
-
-    private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
-        return elements.get(key);
-    }
-
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
-    }
-
     /**
      * Checks with the progress monitor to see whether the creation of the type hierarchy
      * should be canceled. Should be regularly called
@@ -303,7 +288,28 @@ public abstract class MethodWrapper extends PlatformObject {
 	 */
 	public void removeFromCache() {
 		fElements= null;
-		fMethodCache.remove(getMethodCall().getKey());
+		fMethodCache.remove(getMethodCall());
+	}
+
+	/**
+	 * Cancels the background searches for the calls of this call hierarchy session. The calls
+	 * found so far stay in the cache.
+	 */
+	public void cancelBackgroundSearches() {
+		fMethodCache.cancelBackgroundSearches();
+	}
+
+	/**
+	 * Waits for the background searches for the calls of this call hierarchy session to finish.
+	 * Used for testing.
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return <code>true</code> if the searches have finished, <code>false</code> if the timeout
+	 *         has elapsed
+	 * @throws InterruptedException if the calling thread has been interrupted
+	 */
+	public boolean joinBackgroundSearches(long timeout) throws InterruptedException {
+		return fMethodCache.joinBackgroundSearches(timeout);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,32 +29,56 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Every type of a cached hierarchy is indexed in a concurrent map, so a lookup does not lock and
+ * does not depend on the number of cached hierarchies. A cached hierarchy is removed as soon as
+ * the Java model reports a delta affecting it, together with the {@link MethodOverrideTester}s
+ * built on it.
+ * </p>
+ * <p>
+ * The size of the cache can be configured with the system properties
+ * <code>org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheSize</code> (number of
+ * hierarchies) and <code>org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheMaxTypes</code>
+ * (total number of types in all cached hierarchies, approximating their memory). If a limit is
+ * exceeded, the least recently used hierarchies are evicted.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters= new ConcurrentHashMap<>();
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
 
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-			removeHierarchyEntryFromCache(this);
+			removeHierarchyEntryFromCache(this, false);
 		}
 
 		public ITypeHierarchy getTypeHierarchy() {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type, ITypeHierarchy hierarchy) {
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, hierarchy));
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= fgAccessClock.incrementAndGet();
 		}
 
 		public long getLastAccess() {
@@ -59,27 +86,44 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
+			fMethodOverrideTesters.clear();
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy != null ? hierarchy.getType().getElementName() : "<disposed>"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int CACHE_SIZE= Math.max(1, Integer.getInteger("org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheSize", 32).intValue()); //$NON-NLS-1$
+
+	private static final int CACHE_MAX_TYPES= Integer.getInteger("org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheMaxTypes", 20000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * All cached hierarchies. Modifications are guarded by <code>fgHierarchyCache</code>.
+	 */
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Maps every type of a cached hierarchy to the most recently added hierarchy containing it.
+	 */
+	private static final Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static final AtomicLong fgAccessClock= new AtomicLong();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static int fgCachedTypes= 0;
+
+	private static final AtomicLong fgCacheHits= new AtomicLong();
+	private static final AtomicLong fgCacheMisses= new AtomicLong();
+	private static final AtomicLong fgCacheEvictions= new AtomicLong();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +141,18 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
+		HierarchyCacheEntry entry= findEntryInCache(type);
+		if (entry != null) {
+			ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+			if (hierarchy != null) {
+				fgCacheHits.incrementAndGet();
+				return entry.getMethodOverrideTester(type, hierarchy);
 			}
 		}
+		fgCacheMisses.incrementAndGet();
+		ITypeHierarchy hierarchy= type.newSupertypeHierarchy(null);
+		entry= addTypeHierarchyToCache(hierarchy);
+		return entry.getMethodOverrideTester(type, hierarchy);
 	}
 
 	/**
@@ -138,45 +168,51 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
+		HierarchyCacheEntry entry= findEntryInCache(type);
+		if (entry != null) {
+			ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+			if (hierarchy != null) {
+				fgCacheHits.incrementAndGet();
+				return hierarchy;
+			}
 		}
+		fgCacheMisses.incrementAndGet();
+		ITypeHierarchy hierarchy= type.newSupertypeHierarchy(progressMonitor);
+		addTypeHierarchyToCache(hierarchy);
 		return hierarchy;
 	}
 
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+	private static HierarchyCacheEntry addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
 		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+			// hierarchies of super types of the new focus type are contained in the new hierarchy
+			for (IType type : newEntry.getTypes()) {
+				HierarchyCacheEntry curr= fgTypeIndex.get(type);
+				if (curr != null) {
+					ITypeHierarchy currHierarchy= curr.getTypeHierarchy();
+					if (currHierarchy == null || type.equals(currHierarchy.getType())) {
+						removeHierarchyEntryFromCache(curr, false);
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
+			}
+
+			fgHierarchyCache.add(newEntry);
+			fgCachedTypes+= newEntry.getTypes().length;
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+			}
+
+			while (fgHierarchyCache.size() > 1 && (fgHierarchyCache.size() > CACHE_SIZE || fgCachedTypes > CACHE_MAX_TYPES)) {
+				HierarchyCacheEntry oldest= null;
+				for (HierarchyCacheEntry entry : fgHierarchyCache) {
+					if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
 				}
+				removeHierarchyEntryFromCache(oldest, true);
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
+		return newEntry;
 	}
 
 
@@ -186,33 +222,49 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
+	private static HierarchyCacheEntry findEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry == null) {
+			return null;
+		}
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null || !hierarchy.exists()) {
+			removeHierarchyEntryFromCache(entry, false);
+			return null;
+		}
+		entry.markAsAccessed();
+		return entry;
+	}
+
+	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry, boolean evicted) {
 		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+			if (!fgHierarchyCache.remove(entry)) {
+				return;
+			}
+			for (IType type : entry.getTypes()) {
+				fgTypeIndex.remove(type, entry);
+			}
+			fgCachedTypes-= entry.getTypes().length;
+			entry.dispose();
+			if (evicted) {
+				fgCacheEvictions.incrementAndGet();
 			}
 		}
-		return null;
 	}
 
-	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
+	/**
+	 * Removes all hierarchies from the cache.
+	 */
+	public static void clear() {
 		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
-			entry.dispose();
-			fgHierarchyCache.remove(entry);
+			List<HierarchyCacheEntry> entries= new ArrayList<>(fgHierarchyCache);
+			for (HierarchyCacheEntry entry : entries) {
+				removeHierarchyEntryFromCache(entry, false);
+			}
 		}
 	}
 
@@ -222,7 +274,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return (int) fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +282,33 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return (int) fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies removed to keep the cache within its limits.
+	 * @return the number of evicted hierarchies
+	 */
+	public static long getCacheEvictions() {
+		return fgCacheEvictions.get();
+	}
+
+	/**
+	 * Gets the number of cached hierarchies.
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * Gets the total number of types in all cached hierarchies.
+	 * @return the number of cached types
+	 */
+	public static int getCachedTypes() {
+		synchronized (fgHierarchyCache) {
+			return fgCachedTypes;
+		}
 	}
 
 	private SuperTypeHierarchyCache() {
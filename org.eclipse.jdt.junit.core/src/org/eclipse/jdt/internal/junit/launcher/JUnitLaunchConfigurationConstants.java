@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,23 @@ public class JUnitLaunchConfigurationConstants {
 
 	public static final String ATTR_PORT= JUnitCorePlugin.PLUGIN_ID+".PORT"; //$NON-NLS-1$
 
+	/**
+	 * The comma-separated ports of the test runner VMs if the tests are run in more than one VM.
+	 * This launch attribute is set before {@link #ATTR_PORT}, which is the port of the first VM.
+	 */
+	public static final String ATTR_FORK_PORTS= JUnitCorePlugin.PLUGIN_ID + ".FORK_PORTS"; //$NON-NLS-1$
+
+	/**
+	 * The number of test runner VMs among which the test classes are distributed (default: 1).
+	 */
+	public static final String ATTR_FORK_COUNT= JUnitCorePlugin.PLUGIN_ID + ".FORK_COUNT"; //$NON-NLS-1$
+
+	/**
+	 * Whether to run tests that failed in the last run of the configuration first, and the
+	 * remaining tests fastest first (default: <code>false</code>).
+	 */
+	public static final String ATTR_ORDER_BY_HISTORY= JUnitCorePlugin.PLUGIN_ID + ".ORDER_BY_HISTORY"; //$NON-NLS-1$
+
 	public static final String ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY= JUnitCorePlugin.PLUGIN_ID + ".DONT_ADD_MISSING_JUNIT5_DEPENDENCY"; //$NON-NLS-1$
 
 	/**
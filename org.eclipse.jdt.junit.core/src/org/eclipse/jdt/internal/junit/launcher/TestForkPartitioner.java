@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distributes test classes among the VMs of a forked test run, such that all VMs need about the
+ * same time. Classes are assigned longest first to the VM with the least total time so far, using
+ * the durations of a previous run. Classes that have not been run before are assumed to take the
+ * average time of the known classes.
+ */
+public class TestForkPartitioner {
+
+	private TestForkPartitioner() {
+	}
+
+	/**
+	 * @param classNames the names of the test classes
+	 * @param durations the known durations in seconds of test classes, by class name
+	 * @param forkCount the maximum number of VMs
+	 * @return the class names for each VM, no list is empty
+	 */
+	public static List<List<String>> partition(Collection<String> classNames, Map<String, Double> durations, int forkCount) {
+		double knownTotal= 0;
+		int knownCount= 0;
+		for (String className : classNames) {
+			Double duration= durations.get(className);
+			if (duration != null) {
+				knownTotal+= duration.doubleValue();
+				knownCount++;
+			}
+		}
+		double defaultDuration= knownCount == 0 ? 1 : knownTotal / knownCount;
+
+		List<String> sorted= new ArrayList<>(classNames);
+		Collections.sort(sorted);
+		double[] classDurations= new double[sorted.size()];
+		Integer[] order= new Integer[sorted.size()];
+		for (int i= 0; i < order.length; i++) {
+			Double duration= durations.get(sorted.get(i));
+			classDurations[i]= duration != null ? duration.doubleValue() : defaultDuration;
+			order[i]= Integer.valueOf(i);
+		}
+		// stable sort: classes with equal durations stay in name order
+		Arrays.sort(order, (i1, i2) -> Double.compare(classDurations[i2.intValue()], classDurations[i1.intValue()]));
+
+		int count= Math.max(1, Math.min(forkCount, sorted.size()));
+		List<List<String>> forks= new ArrayList<>(count);
+		double[] forkDurations= new double[count];
+		for (int i= 0; i < count; i++) {
+			forks.add(new ArrayList<>());
+		}
+		for (Integer index : order) {
+			int fork= 0;
+			for (int i= 1; i < count; i++) {
+				if (forkDurations[i] < forkDurations[fork])
+					fork= i;
+			}
+			forks.get(fork).add(sorted.get(index.intValue()));
+			forkDurations[fork]+= classDurations[index.intValue()];
+		}
+		if (sorted.isEmpty())
+			forks.clear();
+		return forks;
+	}
+}
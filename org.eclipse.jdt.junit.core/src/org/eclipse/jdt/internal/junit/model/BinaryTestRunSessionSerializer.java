@@ -0,0 +1,497 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.junit.BasicElementLabels;
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Reads and writes the compact binary format used to swap a {@link TestRunSession} to disk.
+ * <p>
+ * The file starts with the failures of the test elements, followed by the test tree and the
+ * offset of the tree:
+ * </p>
+ * <pre>
+ * file:    MAGIC failure* tree long:treeOffset
+ * failure: string:trace string:expected string:actual
+ * tree:    int:version counts element
+ * element: byte:kind [varint:childCount] string:namePrefix interned:nameSuffix byte:flags byte:status
+ *          double:time string:displayName varint:parameterTypeCount+1 interned:parameterType*
+ *          string:uniqueId [varint:failureOffset varint:failureLength] [element*]
+ * </pre>
+ * <p>
+ * Strings are encoded as varint length + 1 of the UTF-8 bytes, 0 encodes <code>null</code>.
+ * Interned strings are the varint index of a string read before, or 0 followed by a new string.
+ * Test names are split before the last '(', so the class name part is only stored once.
+ * </p>
+ * <p>
+ * The tree is read in one pass without XML parsing. Failures are not read with the tree: the
+ * elements only remember where their failure is stored and read it when it is requested, so
+ * swapping in a session with many failures stays cheap. XML is still used to import and export
+ * test runs, see {@link JUnitModel#exportTestRunSession(TestRunSession, File)}.
+ * </p>
+ */
+public final class BinaryTestRunSessionSerializer {
+
+	/**
+	 * The file extension of swap files.
+	 */
+	public static final String FILE_EXTENSION= ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC= 0x4A545253; // "JTRS"
+
+	private static final int VERSION= 1;
+
+	private static final byte KIND_TEST_CASE= 0;
+	private static final byte KIND_TEST_SUITE= 1;
+
+	private static final int FLAG_DYNAMIC_TEST= 1;
+	private static final int FLAG_IGNORED= 1 << 1;
+	private static final int FLAG_ASSUMPTION_FAILED= 1 << 2;
+	private static final int FLAG_FAILURE= 1 << 3;
+	private static final int FLAG_TRACE= 1 << 4;
+	private static final int FLAG_COMPARISON= 1 << 5;
+
+	private static final Status[] STATUSES= { Status.OK, Status.ERROR, Status.FAILURE, Status.RUNNING, Status.NOT_RUN, Status.RUNNING_ERROR,
+			Status.RUNNING_FAILURE };
+
+	/**
+	 * The location of the failure of a test element in a swap file. The failure is read when it
+	 * is first requested.
+	 */
+	static final class FailureReference {
+		private final File fFile;
+		private final long fOffset;
+		private final int fLength;
+		private final boolean fHasTrace;
+		private final boolean fIsComparison;
+
+		FailureReference(File file, long offset, int length, boolean hasTrace, boolean isComparison) {
+			fFile= file;
+			fOffset= offset;
+			fLength= length;
+			fHasTrace= hasTrace;
+			fIsComparison= isComparison;
+		}
+
+		boolean hasTrace() {
+			return fHasTrace;
+		}
+
+		boolean isComparison() {
+			return fIsComparison;
+		}
+
+		/**
+		 * @return the trace, expected and actual value, or <code>null</code> if the failure
+		 *         could not be read
+		 */
+		String[] read() {
+			try {
+				DataInputStream in= new DataInputStream(new ByteArrayInputStream(readBytes()));
+				return new String[] { readString(in), readString(in), readString(in) };
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+				return null;
+			}
+		}
+
+		byte[] readBytes() throws IOException {
+			try (RandomAccessFile file= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+				byte[] bytes= new byte[fLength];
+				file.seek(fOffset);
+				file.readFully(bytes);
+				return bytes;
+			}
+		}
+	}
+
+	private BinaryTestRunSessionSerializer() {
+	}
+
+	/**
+	 * Writes the given test run session to the given file.
+	 *
+	 * @param testRunSession the test run session, must be swapped in
+	 * @param file the destination, replaced when the session was written completely
+	 * @throws CoreException if an error occurred
+	 */
+	public static void write(TestRunSession testRunSession, File file) throws CoreException {
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		Writer writer= new Writer(file);
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 64 * 1024))) {
+				writer.write(testRunSession, out);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tempFile.delete();
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR, JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_write, BasicElementLabels.getPathLabel(file)), e));
+		}
+		writer.relocateFailures();
+	}
+
+	/**
+	 * Reads the test tree of the given file into the given test run session.
+	 *
+	 * @param file the file written by {@link #write(TestRunSession, File)}
+	 * @param testRunSession the test run session to read into
+	 * @throws CoreException if an error occurred
+	 */
+	public static void read(File file, TestRunSession testRunSession) throws CoreException {
+		try (RandomAccessFile raf= new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+			if (raf.length() < 12 || raf.readInt() != MAGIC)
+				throw new IOException("Not a test run swap file"); //$NON-NLS-1$
+			raf.seek(raf.length() - 8);
+			long treeOffset= raf.readLong();
+			raf.seek(treeOffset);
+			InputStream in= new BufferedInputStream(Channels.newInputStream(raf.getChannel()), 64 * 1024);
+			new Reader(file, testRunSession).read(new DataInputStream(in));
+		} catch (IOException | RuntimeException e) {
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR, JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file)), e));
+		}
+	}
+
+	private static final class Writer {
+		/**
+		 * The destination, not written before the session was written completely.
+		 */
+		private final File fFile;
+		private final HashMap<String, Integer> fInternedStrings= new HashMap<>();
+		private final ByteArrayOutputStream fTreeBytes= new ByteArrayOutputStream(64 * 1024);
+		private final DataOutputStream fTree= new DataOutputStream(fTreeBytes);
+		private final ByteArrayOutputStream fFailureBytes= new ByteArrayOutputStream(1024);
+		private final DataOutputStream fFailure= new DataOutputStream(fFailureBytes);
+
+		/**
+		 * Elements whose failure has not been read and was copied to the new file, and the
+		 * new location of their failure.
+		 */
+		private final List<TestElement> fRelocatedElements= new ArrayList<>();
+		private final List<FailureReference> fRelocatedFailures= new ArrayList<>();
+
+		Writer(File file) {
+			fFile= file;
+		}
+
+		void write(TestRunSession testRunSession, DataOutputStream out) throws IOException {
+			out.writeInt(MAGIC);
+
+			fTree.writeInt(VERSION);
+			writeVarInt(fTree, testRunSession.getTotalCount());
+			writeVarInt(fTree, testRunSession.getStartedCount());
+			writeVarInt(fTree, testRunSession.getFailureCount());
+			writeVarInt(fTree, testRunSession.getErrorCount());
+			writeVarInt(fTree, testRunSession.getIgnoredCount());
+			writeVarInt(fTree, testRunSession.getAssumptionFailureCount());
+
+			TestRoot testRoot= testRunSession.getTestRoot();
+			writeChildren(testRoot, out);
+
+			long treeOffset= out.size();
+			fTreeBytes.writeTo(out);
+			out.writeLong(treeOffset);
+		}
+
+		private void writeChildren(TestSuiteElement suite, DataOutputStream out) throws IOException {
+			List<TestElement> children= suite.getChildElements();
+			writeVarInt(fTree, children.size());
+			for (TestElement child : children) {
+				writeElement(child, out);
+			}
+		}
+
+		private void writeElement(TestElement testElement, DataOutputStream out) throws IOException {
+			boolean isSuite= testElement instanceof TestSuiteElement;
+			fTree.writeByte(isSuite ? KIND_TEST_SUITE : KIND_TEST_CASE);
+
+			String testName= testElement.getTestName();
+			int split= testName.lastIndexOf('(');
+			if (split == -1)
+				split= testName.length();
+			writeString(fTree, testName.substring(0, split));
+			writeInternedString(testName.substring(split));
+
+			FailureReference failureReference= testElement.fFailureReference;
+			String trace= null;
+			String expected= null;
+			String actual= null;
+			boolean hasFailure;
+			boolean hasTrace;
+			boolean isComparison;
+			if (failureReference != null) {
+				hasFailure= true;
+				hasTrace= failureReference.hasTrace();
+				isComparison= failureReference.isComparison();
+			} else {
+				trace= testElement.fTrace;
+				expected= testElement.fExpected;
+				actual= testElement.fActual;
+				hasFailure= trace != null || expected != null || actual != null;
+				hasTrace= trace != null;
+				isComparison= expected != null && actual != null;
+			}
+
+			int flags= 0;
+			if (testElement instanceof TestCaseElement) {
+				TestCaseElement testCaseElement= (TestCaseElement) testElement;
+				if (testCaseElement.isDynamicTest())
+					flags|= FLAG_DYNAMIC_TEST;
+				if (testCaseElement.isIgnored())
+					flags|= FLAG_IGNORED;
+			}
+			if (testElement.fAssumptionFailed)
+				flags|= FLAG_ASSUMPTION_FAILED;
+			if (hasFailure)
+				flags|= FLAG_FAILURE;
+			if (hasTrace)
+				flags|= FLAG_TRACE;
+			if (isComparison)
+				flags|= FLAG_COMPARISON;
+			fTree.writeByte(flags);
+
+			Status status= isSuite ? ((TestSuiteElement) testElement).getSuiteStatus() : testElement.getStatus();
+			fTree.writeByte(indexOf(status));
+			fTree.writeDouble(testElement.fTime);
+
+			writeString(fTree, testElement.getDisplayName());
+			String[] parameterTypes= testElement.getParameterTypes();
+			if (parameterTypes == null) {
+				writeVarInt(fTree, 0);
+			} else {
+				writeVarInt(fTree, parameterTypes.length + 1);
+				for (String parameterType : parameterTypes) {
+					writeInternedString(parameterType);
+				}
+			}
+			writeString(fTree, testElement.getUniqueId());
+
+			if (hasFailure) {
+				long offset= out.size();
+				int length;
+				if (failureReference != null) {
+					byte[] bytes= failureReference.readBytes();
+					out.write(bytes);
+					length= bytes.length;
+					fRelocatedElements.add(testElement);
+					fRelocatedFailures.add(new FailureReference(fFile, offset, length, hasTrace, isComparison));
+				} else {
+					fFailureBytes.reset();
+					writeString(fFailure, trace);
+					writeString(fFailure, expected);
+					writeString(fFailure, actual);
+					fFailureBytes.writeTo(out);
+					length= fFailureBytes.size();
+				}
+				writeVarLong(fTree, offset);
+				writeVarInt(fTree, length);
+			}
+
+			if (isSuite)
+				writeChildren((TestSuiteElement) testElement, out);
+		}
+
+		/**
+		 * Points the failures that have not been read to their location in the new file, after
+		 * it replaced the old one.
+		 */
+		void relocateFailures() {
+			for (int i= 0; i < fRelocatedElements.size(); i++) {
+				fRelocatedElements.get(i).fFailureReference= fRelocatedFailures.get(i);
+			}
+		}
+
+		private void writeInternedString(String s) throws IOException {
+			Integer index= fInternedStrings.get(s);
+			if (index != null) {
+				writeVarInt(fTree, index.intValue());
+				return;
+			}
+			fInternedStrings.put(s, Integer.valueOf(fInternedStrings.size() + 1));
+			writeVarInt(fTree, 0);
+			writeString(fTree, s);
+		}
+
+		private static int indexOf(Status status) {
+			for (int i= 0; i < STATUSES.length; i++) {
+				if (STATUSES[i] == status)
+					return i;
+			}
+			throw new IllegalArgumentException(String.valueOf(status));
+		}
+	}
+
+	private static final class Reader {
+		private final File fFile;
+		private final TestRunSession fTestRunSession;
+		private final ArrayList<String> fInternedStrings= new ArrayList<>();
+		private int fId;
+
+		Reader(File file, TestRunSession testRunSession) {
+			fFile= file;
+			fTestRunSession= testRunSession;
+		}
+
+		void read(DataInputStream in) throws IOException {
+			int version= in.readInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported version: " + version); //$NON-NLS-1$
+
+			int totalCount= readVarInt(in);
+			int startedCount= readVarInt(in);
+			int failureCount= readVarInt(in);
+			int errorCount= readVarInt(in);
+			int ignoredCount= readVarInt(in);
+			int assumptionFailureCount= readVarInt(in);
+
+			fTestRunSession.reset();
+			readChildren(fTestRunSession.getTestRoot(), in);
+
+			fTestRunSession.fTotalCount= totalCount;
+			fTestRunSession.fStartedCount= startedCount;
+			fTestRunSession.fFailureCount= failureCount;
+			fTestRunSession.fErrorCount= errorCount;
+			fTestRunSession.fIgnoredCount= ignoredCount;
+			fTestRunSession.fAssumptionFailureCount= assumptionFailureCount;
+		}
+
+		private void readChildren(TestSuiteElement parent, DataInputStream in) throws IOException {
+			int childCount= readVarInt(in);
+			for (int i= 0; i < childCount; i++) {
+				readElement(parent, in);
+			}
+		}
+
+		private void readElement(TestSuiteElement parent, DataInputStream in) throws IOException {
+			boolean isSuite= in.readByte() == KIND_TEST_SUITE;
+			String testName= readString(in) + readInternedString(in);
+			int flags= in.readByte();
+			Status status= STATUSES[in.readByte()];
+			double time= in.readDouble();
+			String displayName= readString(in);
+			int parameterTypeCount= readVarInt(in) - 1;
+			String[] parameterTypes= null;
+			if (parameterTypeCount >= 0) {
+				parameterTypes= new String[parameterTypeCount];
+				for (int i= 0; i < parameterTypeCount; i++) {
+					parameterTypes[i]= readInternedString(in);
+				}
+			}
+			String uniqueId= readString(in);
+
+			TestElement testElement= fTestRunSession.createTestElement(parent, Integer.toString(fId++), testName, isSuite, 0,
+					(flags & FLAG_DYNAMIC_TEST) != 0, displayName, parameterTypes, uniqueId);
+			if ((flags & FLAG_FAILURE) != 0) {
+				long offset= readVarLong(in);
+				int length= readVarInt(in);
+				testElement.fFailureReference= new FailureReference(fFile, offset, length, (flags & FLAG_TRACE) != 0, (flags & FLAG_COMPARISON) != 0);
+			}
+			if ((flags & FLAG_IGNORED) != 0)
+				((TestCaseElement) testElement).setIgnored(true);
+			if ((flags & FLAG_ASSUMPTION_FAILED) != 0)
+				testElement.setAssumptionFailed(true);
+
+			if (isSuite)
+				readChildren((TestSuiteElement) testElement, in);
+
+			// like the XML import, set the status after the children, the suite status is combined from them
+			if (status != Status.NOT_RUN)
+				testElement.setStatus(status);
+			testElement.fTime= time;
+		}
+
+		private String readInternedString(DataInputStream in) throws IOException {
+			int index= readVarInt(in);
+			if (index == 0) {
+				String s= readString(in);
+				fInternedStrings.add(s);
+				return s;
+			}
+			return fInternedStrings.get(index - 1);
+		}
+	}
+
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		writeVarLong(out, value & 0xFFFFFFFFL);
+	}
+
+	static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		long v= value;
+		while ((v & ~0x7FL) != 0) {
+			out.writeByte((int) ((v & 0x7F) | 0x80));
+			v>>>= 7;
+		}
+		out.writeByte((int) v);
+	}
+
+	static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			writeVarInt(out, 0);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length + 1);
+		out.write(bytes);
+	}
+
+	static int readVarInt(DataInputStream in) throws IOException {
+		return (int) readVarLong(in);
+	}
+
+	static long readVarLong(DataInputStream in) throws IOException {
+		long value= 0;
+		for (int shift= 0; shift < 64; shift+= 7) {
+			int b= in.readUnsignedByte();
+			value|= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Corrupted varint"); //$NON-NLS-1$
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		int length= readVarInt(in) - 1;
+		if (length < 0)
+			return null;
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
 
 public interface ITestRunListener2 {
@@ -64,6 +65,21 @@ public interface ITestRunListener2 {
 	 * @param testName the name of the test that ended
 	 */
 	void testEnded(String testId, String testName);
+	/**
+	 * Consecutive tests have started and ended. The default implementation calls
+	 * {@link #testStarted(String, String)} and {@link #testEnded(String, String)} for each event.
+	 *
+	 * @param batch the test starts and ends in the order they were received, must not be
+	 *            referenced after this method returns
+	 */
+	default void testBatchReceived(TestEventBatch batch) {
+		for (int i= 0; i < batch.size(); i++) {
+			if (batch.isStarted(i))
+				testStarted(batch.getTestId(i), batch.getTestName(i));
+			else
+				testEnded(batch.getTestId(i), batch.getTestName(i));
+		}
+	}
 
 
 	/**
@@ -97,6 +113,26 @@ public interface ITestRunListener2 {
 	 */
 	void testTreeEntry(String description);
 
+	/**
+	 * Information about a member of the test suite that is about to be run, as decoded from the
+	 * binary protocol. The default implementation formats the fields like described in
+	 * {@link #testTreeEntry(String)} and calls that method.
+	 *
+	 * @param testId a unique id for the test
+	 * @param testName the name of the test
+	 * @param isSuite whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the unique testId of its parent if it is a dynamic test, otherwise can be "-1"
+	 * @param displayName the display name of the test
+	 * @param parameterTypes comma-separated list of method parameter types if applicable, otherwise an empty string
+	 * @param uniqueId the unique ID of the test provided by JUnit launcher, otherwise an empty string
+	 */
+	default void testTreeEntry(String testId, String testName, boolean isSuite, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		testTreeEntry(RemoteTestRunner.formatTestTreeEntry(testId, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+	}
+
 	/**
 	 * An individual test has failed with a stack trace.
 	 *
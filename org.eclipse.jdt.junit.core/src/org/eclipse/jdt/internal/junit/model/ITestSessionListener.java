@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -65,6 +65,23 @@ public interface ITestSessionListener {
 	 * @param testCaseElement the test
 	 */
 	void testEnded(TestCaseElement testCaseElement);
+	/**
+	 * Consecutive tests have started and ended. The default implementation calls
+	 * {@link #testStarted(TestCaseElement)} and {@link #testEnded(TestCaseElement)} for each
+	 * test.
+	 *
+	 * @param testCaseElements the tests in the order they started or ended
+	 * @param started for each test, <code>true</code> if it started, <code>false</code> if it
+	 *            ended
+	 */
+	default void testsStartedAndEnded(TestCaseElement[] testCaseElements, boolean[] started) {
+		for (int i= 0; i < testCaseElements.length; i++) {
+			if (started[i])
+				testStarted(testCaseElements[i]);
+			else
+				testEnded(testCaseElements[i]);
+		}
+	}
 	/**
 	 * An individual test has failed with a stack trace.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -65,6 +70,7 @@ import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
 import org.eclipse.jdt.internal.junit.util.XmlProcessorFactoryJdtJunit;
 
 /**
@@ -126,16 +132,26 @@ public final class JUnitModel {
 			if (portStr == null)
 				return;
 			try {
-				final int port= Integer.parseInt(portStr);
+				final int[] ports;
+				String forkPortsStr= launch.getAttribute(JUnitLaunchConfigurationConstants.ATTR_FORK_PORTS);
+				if (forkPortsStr != null) {
+					String[] portStrs= forkPortsStr.split(","); //$NON-NLS-1$
+					ports= new int[portStrs.length];
+					for (int i= 0; i < portStrs.length; i++) {
+						ports[i]= Integer.parseInt(portStrs[i]);
+					}
+				} else {
+					ports= new int[] { Integer.parseInt(portStr) };
+				}
 				fTrackedLaunches.remove(launch);
-				connectTestRunner(launch, javaProject, port);
+				connectTestRunner(launch, javaProject, ports);
 			} catch (NumberFormatException e) {
 				return;
 			}
 		}
 
-		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int port) {
-			TestRunSession testRunSession= new TestRunSession(launch, javaProject, port);
+		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int[] ports) {
+			TestRunSession testRunSession= new TestRunSession(launch, javaProject, ports);
 			addTestRunSession(testRunSession);
 
 			for (TestRunListener listener : JUnitCorePlugin.getDefault().getNewTestRunListeners()) {
@@ -342,6 +358,80 @@ public final class JUnitModel {
 		return new ArrayList<>(fTestRunSessions);
 	}
 
+	/**
+	 * Returns the time that the test classes needed in the last completed run with the given name.
+	 *
+	 * @param testRunName the name of the test run, i.e. the name of the launch configuration
+	 * @return the durations in seconds by name of the top-level class, or an empty map if no such
+	 *         run is available
+	 */
+	public Map<String, Double> getTestClassDurations(String testRunName) {
+		// uses the durations collected at the end of the run, so the launch does not swap in the test tree
+		TestRunSession session= getLastCompletedRun(testRunName);
+		return session == null ? Collections.emptyMap() : session.getTestClassDurations();
+	}
+
+	/**
+	 * Writes the time and result of each test of the last completed run with the given name to a
+	 * file, which the test runner uses to run recently failed and fast tests first.
+	 *
+	 * @param testRunName the name of the test run, i.e. the name of the launch configuration
+	 * @param file the file to write, in the format of {@link TestHistory}
+	 * @return <code>true</code> if such a run is available and the file has been written
+	 * @throws IOException if writing the file failed
+	 */
+	public boolean exportTestHistory(String testRunName, File file) throws IOException {
+		List<String> lines= new ArrayList<>();
+		boolean found= visitLastCompletedRun(testRunName, testCase -> {
+			double time= testCase.getElapsedTimeInSeconds();
+			boolean failed= testCase.getStatus().isErrorOrFailure();
+			if (! Double.isNaN(time) || failed)
+				lines.add(TestHistory.toLine(testCase.getTestName(), Double.isNaN(time) ? 0 : time, failed));
+		});
+		if (! found)
+			return false;
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		return true;
+	}
+
+	/**
+	 * Visits the test cases of the most recent run with the given name that has neither been
+	 * stopped nor is still running.
+	 *
+	 * @param testRunName the name of the test run
+	 * @param visitor the visitor
+	 * @return <code>true</code> if such a run is available
+	 */
+	private boolean visitLastCompletedRun(String testRunName, Consumer<TestElement> visitor) {
+		TestRunSession session= getLastCompletedRun(testRunName);
+		if (session == null)
+			return false;
+
+		boolean swappedOut= session.isSwappedOut();
+		visitTestCases(session.getTestRoot(), visitor);
+		if (swappedOut)
+			session.swapOut();
+		return true;
+	}
+
+	private TestRunSession getLastCompletedRun(String testRunName) {
+		for (TestRunSession session : getTestRunSessions()) {
+			if (! session.isStarting() && ! session.isRunning() && ! session.isStopped() && testRunName.equals(session.getTestRunName()))
+				return session;
+		}
+		return null;
+	}
+
+	private static void visitTestCases(TestSuiteElement suite, Consumer<TestElement> visitor) {
+		for (TestElement child : suite.getChildElements()) {
+			if (child instanceof TestSuiteElement) {
+				visitTestCases((TestSuiteElement) child, visitor);
+			} else {
+				visitor.accept(child);
+			}
+		}
+	}
+
 	/**
 	 * Adds the given {@link TestRunSession} and notifies all registered
 	 * {@link ITestRunSessionListener}s.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -30,6 +33,8 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageIds;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -177,19 +182,7 @@ public class RemoteTestRunnerClient {
 	    @Override
 		ProcessingState readMessage(String message) {
 	        if (message.startsWith(MessageIds.TRACE_END)) {
-	        	// Workaround for JUnit 5 test execution stop
-	        	// triggered by user: see JUnit5TestReference
-	        	String trace = fFailedTrace.toString();
-				if(trace.startsWith("java.lang.OutOfMemoryError: Junit5 test stopped by user")) {//$NON-NLS-1$
-					// Faked JUnit5 test error, just stop the test
-					notifyTestRunStopped(0);
-				} else {
-					// default Junit4 handling
-					notifyTestFailed();
-				}
-	            fFailedTrace.setLength(0);
-	            fActualResult.setLength(0);
-	            fExpectedResult.setLength(0);
+	        	failureRead();
 	            return fDefaultState;
 	        }
 	        fFailedTrace.append(message);
@@ -237,6 +230,10 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	/**
+	 * The reader of the binary protocol, <code>null</code> if the text protocol is used
+	 */
+	private BinaryMessageReader fBinaryReader;
 	private String fLastLineDelimiter;
 	/**
 	 * The protocol version
@@ -254,9 +251,18 @@ public class RemoteTestRunnerClient {
 	 * The kind of failure of the test that is currently reported as failed
 	 */
 	private int fFailureKind;
+	/**
+	 * The test starts and ends received but not yet sent to the listeners
+	 */
+	private final TestEventBatch fEventBatch= new TestEventBatch();
 
 	private boolean fDebug= false;
 
+	/**
+	 * The maximum number of test starts and ends sent to the listeners in one batch
+	 */
+	private static final int MAX_BATCH_SIZE= 1000;
+
 	/**
 	 * Reads the message stream from the RemoteTestRunner
 	 */
@@ -275,11 +281,29 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+				InputStream in= new BufferedInputStream(fSocket.getInputStream(), 8192);
+				String message= readFirstMessage(in);
+				if (message != null && message.startsWith(MessageIds.BINARY_PROTOCOL)) {
+					if (fDebug)
+						System.out.println("Using binary protocol " + message.substring(MessageIds.MSG_HEADER_LENGTH)); //$NON-NLS-1$
+					fBinaryReader= new BinaryMessageReader(in);
+					int messageId;
+					while (fBinaryReader != null && (messageId= fBinaryReader.readFrame()) != -1) {
+						receiveBinaryMessage(messageId);
+						if (fBinaryReader != null && in.available() == 0)
+							notifyTestBatch();
+					}
+				} else if (message != null) {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
 					receiveMessage(message);
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null) {
+						receiveMessage(message);
+						if (fPushbackReader != null && !fPushbackReader.ready())
+							notifyTestBatch();
+					}
+				}
+				notifyTestBatch();
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -335,6 +359,13 @@ public class RemoteTestRunnerClient {
 			}
 		} catch(IOException e) {
 		}
+		try {
+			if (fBinaryReader != null) {
+				fBinaryReader.close();
+				fBinaryReader= null;
+			}
+		} catch(IOException e) {
+		}
 		try {
 			if (fSocket != null) {
 				fSocket.close();
@@ -383,10 +414,147 @@ public class RemoteTestRunnerClient {
 		return buf.toString();
 	}
 
+	/**
+	 * Reads the first message from the raw stream, without buffering any bytes following it. The
+	 * first message tells whether the binary protocol is used.
+	 *
+	 * @param in the input stream
+	 * @return the first message or <code>null</code> at the end of the stream
+	 * @throws IOException if reading fails
+	 */
+	private String readFirstMessage(InputStream in) throws IOException {
+		ByteArrayOutputStream buf= new ByteArrayOutputStream(128);
+		int b;
+		while ((b= in.read()) != -1) {
+			switch (b) {
+			case '\n':
+				fLastLineDelimiter= "\n"; //$NON-NLS-1$
+				return buf.toString(StandardCharsets.UTF_8);
+			case '\r':
+				in.mark(1);
+				if (in.read() == '\n') {
+					fLastLineDelimiter= "\r\n"; //$NON-NLS-1$
+				} else {
+					in.reset();
+					fLastLineDelimiter= "\r"; //$NON-NLS-1$
+				}
+				return buf.toString(StandardCharsets.UTF_8);
+			default:
+				buf.write(b);
+				break;
+			}
+		}
+		fLastLineDelimiter= null;
+		if (buf.size() == 0)
+			return null;
+		return buf.toString(StandardCharsets.UTF_8);
+	}
+
 	private void receiveMessage(String message) {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
 
+	/**
+	 * Processes a message of the binary protocol.
+	 *
+	 * @param messageId the message identifier, see {@link BinaryMessageIds}
+	 * @throws IOException if the message is corrupted
+	 */
+	private void receiveBinaryMessage(int messageId) throws IOException {
+		BinaryMessageReader reader= fBinaryReader;
+		switch (messageId) {
+		case BinaryMessageIds.TEXT:
+			fLastLineDelimiter= "\n"; //$NON-NLS-1$
+			receiveMessage(reader.readString());
+			break;
+		case BinaryMessageIds.TEST_RUN_START:
+			fVersion= "v2"; //$NON-NLS-1$
+			notifyTestRunStarted(reader.readInt());
+			break;
+		case BinaryMessageIds.TEST_TREE:
+			String testId= reader.readTestId();
+			String testName= reader.readInternedString();
+			boolean isSuite= reader.readBoolean();
+			int testCount= reader.readInt();
+			boolean isDynamicTest= reader.readBoolean();
+			String parentId= reader.readInternedString();
+			String displayName= reader.readString();
+			String parameterTypes= reader.readInternedString();
+			String uniqueId= reader.readString();
+			notifyTestTreeEntry(testId, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId);
+			break;
+		case BinaryMessageIds.TEST_START:
+			notifyTestStarted(reader.readTestId(), reader.readInternedString());
+			break;
+		case BinaryMessageIds.TEST_END:
+			notifyTestEnded(reader.readTestId(), reader.readInternedString());
+			break;
+		case BinaryMessageIds.TEST_FAILED:
+		case BinaryMessageIds.TEST_ERROR:
+			fFailedTestId= reader.readTestId();
+			fFailedTest= reader.readInternedString();
+			fFailureKind= messageId == BinaryMessageIds.TEST_ERROR ? ITestRunListener2.STATUS_ERROR : ITestRunListener2.STATUS_FAILURE;
+			readFailure(reader, fFailedTrace);
+			failureRead();
+			break;
+		case BinaryMessageIds.RERUN_FAILURE:
+			readFailure(reader, fFailedRerunTrace);
+			break;
+		case BinaryMessageIds.TEST_RERAN:
+			notifyTestReran(reader.readTestId(), reader.readInternedString(), reader.readInternedString(), reader.readString());
+			break;
+		case BinaryMessageIds.TEST_RUN_END:
+			testRunEnded(reader.readLong());
+			break;
+		case BinaryMessageIds.TEST_STOPPED:
+			notifyTestRunStopped(reader.readLong());
+			shutDown();
+			break;
+		default:
+			// ignore unknown messages of newer runners
+			break;
+		}
+	}
+
+	private void readFailure(BinaryMessageReader reader, StringBuffer trace) throws IOException {
+		trace.setLength(0);
+		trace.append(reader.readString());
+		setResult(fExpectedResult, reader.readString());
+		setResult(fActualResult, reader.readString());
+	}
+
+	/**
+	 * Sets a comparison result like the text protocol, which terminates it with a line delimiter.
+	 *
+	 * @param buffer the buffer of the comparison result
+	 * @param result the comparison result or <code>null</code>
+	 * @see #nullifyEmpty(StringBuffer)
+	 */
+	private static void setResult(StringBuffer buffer, String result) {
+		buffer.setLength(0);
+		if (result != null)
+			buffer.append(result).append('\n');
+	}
+
+	/**
+	 * Notifies about the failure read completely.
+	 */
+	private void failureRead() {
+		// Workaround for JUnit 5 test execution stop
+		// triggered by user: see JUnit5TestReference
+		String trace = fFailedTrace.toString();
+		if(trace.startsWith("java.lang.OutOfMemoryError: Junit5 test stopped by user")) {//$NON-NLS-1$
+			// Faked JUnit5 test error, just stop the test
+			notifyTestRunStopped(0);
+		} else {
+			// default Junit4 handling
+			notifyTestFailed();
+		}
+		fFailedTrace.setLength(0);
+		fActualResult.setLength(0);
+		fExpectedResult.setLength(0);
+	}
+
 	private void scanOldReranMessage(String arg) {
 		// OLD V1 format
 		// format: className" "testName" "status
@@ -467,6 +635,7 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestReran(final String testId, final String className, final String testName, final int statusCode, final String trace) {
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
@@ -480,6 +649,7 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestTreeEntry(final String treeEntry) {
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			if (!hasTestId())
 				listener.testTreeEntry(fakeTestId(treeEntry));
@@ -488,6 +658,14 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestTreeEntry(String testId, String testName, boolean isSuite, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		notifyTestBatch();
+		for (ITestRunListener2 listener : fListeners) {
+			listener.testTreeEntry(testId, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId);
+		}
+	}
+
 	private String fakeTestId(String treeEntry) {
 		// extract the test name and add it as the testId
 		int index0= treeEntry.indexOf(',');
@@ -498,6 +676,7 @@ public class RemoteTestRunnerClient {
 	private void notifyTestRunStopped(final long elapsedTime) {
 		if (JUnitCorePlugin.isStopped())
 			return;
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
@@ -511,6 +690,7 @@ public class RemoteTestRunnerClient {
 	private void testRunEnded(final long elapsedTime) {
 		if (JUnitCorePlugin.isStopped())
 			return;
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
@@ -522,36 +702,59 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestEnded(final String test) {
+		String s[]= extractTestId(test);
+		notifyTestEnded(s[0], s[1]);
+	}
+
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
-		for (ITestRunListener2 listener : fListeners) {
-			SafeRunner.run(new ListenerSafeRunnable() {
-				@Override
-				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
-				}
-			});
-		}
+		fEventBatch.add(false, testId, testName);
+		if (fEventBatch.size() >= MAX_BATCH_SIZE)
+			notifyTestBatch();
 	}
 
 	private void notifyTestStarted(final String test) {
+		String s[]= extractTestId(test);
+		notifyTestStarted(s[0], s[1]);
+	}
+
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
-		for (ITestRunListener2 listener : fListeners) {
-			SafeRunner.run(new ListenerSafeRunnable() {
-				@Override
-				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
-				}
-			});
+		fEventBatch.add(true, testId, testName);
+		if (fEventBatch.size() >= MAX_BATCH_SIZE)
+			notifyTestBatch();
+	}
+
+	/**
+	 * Sends the pending test starts and ends to the listeners. Called before any other
+	 * notification and whenever no more messages are available, so listeners see all events in
+	 * order and no later than the RemoteTestRunner flushed them.
+	 */
+	private void notifyTestBatch() {
+		if (fEventBatch.size() == 0)
+			return;
+		try {
+			if (JUnitCorePlugin.isStopped())
+				return;
+			for (ITestRunListener2 listener : fListeners) {
+				SafeRunner.run(new ListenerSafeRunnable() {
+					@Override
+					public void run() {
+						listener.testBatchReceived(fEventBatch);
+					}
+				});
+			}
+		} finally {
+			fEventBatch.clear();
 		}
 	}
 
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
@@ -565,6 +768,7 @@ public class RemoteTestRunnerClient {
 	private void notifyTestFailed() {
 		if (JUnitCorePlugin.isStopped())
 			return;
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
@@ -605,6 +809,7 @@ public class RemoteTestRunnerClient {
 		// fix for 77771 RemoteTestRunnerClient doing work after junit shutdown [JUnit]
 		if (JUnitCorePlugin.isStopped())
 			return;
+		notifyTestBatch();
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
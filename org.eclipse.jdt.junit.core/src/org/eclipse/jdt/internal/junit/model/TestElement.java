@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.jdt.junit.model.ITestRunSession;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.jdt.internal.junit.model.BinaryTestRunSessionSerializer.FailureReference;
+
 public abstract class TestElement implements ITestElement {
 	public final static class Status {
 		public static final Status RUNNING_ERROR= new Status("RUNNING_ERROR", 5); //$NON-NLS-1$
@@ -190,11 +192,17 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+	/* default */ String fTrace;
+	/* default */ String fExpected;
+	/* default */ String fActual;
+
+	/**
+	 * The failure of an element swapped in from disk which has not been read yet, or
+	 * <code>null</code>. Read by {@link #readFailure()}.
+	 */
+	/* default */ volatile FailureReference fFailureReference;
 
-	private boolean fAssumptionFailed;
+	/* default */ boolean fAssumptionFailed;
 
 	/**
 	 * Running time in seconds. Contents depend on the current {@link #getProgressState()}:
@@ -262,7 +270,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
+				|| (testResult == Result.IGNORED && hasTrace())) {
+			readFailure();
 			return new FailureTrace(fTrace, fExpected, fActual);
 		}
 		return null;
@@ -304,6 +313,7 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
+		readFailure();
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
 			fTrace= fTrace + trace;
@@ -320,21 +330,50 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
+		readFailure();
 		return fTrace;
 	}
 
 	public String getExpected() {
+		readFailure();
 		return fExpected;
 	}
 
 	public String getActual() {
+		readFailure();
 		return fActual;
 	}
 
 	public boolean isComparisonFailure() {
+		FailureReference failureReference= fFailureReference;
+		if (failureReference != null)
+			return failureReference.isComparison();
 		return fExpected != null && fActual != null;
 	}
 
+	private boolean hasTrace() {
+		FailureReference failureReference= fFailureReference;
+		if (failureReference != null)
+			return failureReference.hasTrace();
+		return fTrace != null;
+	}
+
+	/**
+	 * Reads the failure of an element swapped in from disk when it is first requested.
+	 */
+	private synchronized void readFailure() {
+		FailureReference failureReference= fFailureReference;
+		if (failureReference == null)
+			return;
+		String[] failure= failureReference.read();
+		if (failure != null) {
+			fTrace= failure[0];
+			fExpected= failure[1];
+			fActual= failure[2];
+		}
+		fFailureReference= null;
+	}
+
 	/**
 	 * @return return the class name
 	 * @see org.eclipse.jdt.internal.junit.runner.ITestIdentifier#getName()
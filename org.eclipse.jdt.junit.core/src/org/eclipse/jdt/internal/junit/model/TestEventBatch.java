@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+
+/**
+ * Consecutive test starts and ends received from the RemoteTestRunner, in the order they were
+ * received.
+ * <p>
+ * The batch is reused by the {@link RemoteTestRunnerClient}: listeners must not keep a reference
+ * to it after {@link ITestRunListener2#testBatchReceived(TestEventBatch)} returns.
+ * </p>
+ */
+public final class TestEventBatch {
+
+	private boolean[] fStarted= new boolean[64];
+	private String[] fTestIds= new String[64];
+	private String[] fTestNames= new String[64];
+	private int fSize;
+
+	/**
+	 * @return the number of events
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * @param index the index of the event
+	 * @return <code>true</code> if the test started, <code>false</code> if it ended
+	 */
+	public boolean isStarted(int index) {
+		return fStarted[index];
+	}
+
+	/**
+	 * @param index the index of the event
+	 * @return the id of the test
+	 */
+	public String getTestId(int index) {
+		return fTestIds[index];
+	}
+
+	/**
+	 * @param index the index of the event
+	 * @return the name of the test
+	 */
+	public String getTestName(int index) {
+		return fTestNames[index];
+	}
+
+	void add(boolean started, String testId, String testName) {
+		if (fSize == fStarted.length) {
+			int length= fSize * 2;
+			fStarted= Arrays.copyOf(fStarted, length);
+			fTestIds= Arrays.copyOf(fTestIds, length);
+			fTestNames= Arrays.copyOf(fTestNames, length);
+		}
+		fStarted[fSize]= started;
+		fTestIds[fSize]= testId;
+		fTestNames[fSize]= testName;
+		fSize++;
+	}
+
+	void clear() {
+		Arrays.fill(fTestIds, 0, fSize, null);
+		Arrays.fill(fTestNames, 0, fSize, null);
+		fSize= 0;
+	}
+}
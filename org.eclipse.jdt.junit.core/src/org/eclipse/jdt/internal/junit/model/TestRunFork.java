@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+/**
+ * One of the test runner VMs of a {@link TestRunSession} whose test classes are distributed among
+ * several VMs.
+ */
+public final class TestRunFork {
+
+	public enum State {
+		/** The VM has not started the test run yet. */
+		WAITING,
+		/** The VM is running tests. */
+		RUNNING,
+		/** The VM has run all its tests. */
+		ENDED,
+		/** The test run in the VM has been stopped. */
+		STOPPED,
+		/** The VM terminated before its test run ended. */
+		TERMINATED
+	}
+
+	private final int fIndex;
+	final RemoteTestRunnerClient fClient;
+
+	private volatile State fState= State.WAITING;
+	private volatile long fStartTime;
+	private volatile long fElapsedTime;
+
+	TestRunFork(int index, RemoteTestRunnerClient client) {
+		fIndex= index;
+		fClient= client;
+	}
+
+	/**
+	 * @return the 1-based index of the VM
+	 */
+	public int getIndex() {
+		return fIndex;
+	}
+
+	public State getState() {
+		return fState;
+	}
+
+	/**
+	 * @return <code>true</code> iff the test run in this VM has ended, been stopped or terminated
+	 */
+	public boolean isFinished() {
+		State state= fState;
+		return state != State.WAITING && state != State.RUNNING;
+	}
+
+	/**
+	 * @return the time in milliseconds the VM needed for its tests, or has needed so far if it
+	 *         is still running
+	 */
+	public long getElapsedTime() {
+		if (fState == State.RUNNING)
+			return System.currentTimeMillis() - fStartTime;
+		return fElapsedTime;
+	}
+
+	void started() {
+		fStartTime= System.currentTimeMillis();
+		fState= State.RUNNING;
+	}
+
+	void finished(State state, long elapsedTime) {
+		if (elapsedTime >= 0)
+			fElapsedTime= elapsedTime;
+		else if (fStartTime != 0)
+			fElapsedTime= System.currentTimeMillis() - fStartTime;
+		fState= state;
+	}
+}
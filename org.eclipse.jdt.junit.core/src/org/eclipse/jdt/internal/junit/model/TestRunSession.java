@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,9 +20,11 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElementContainer;
@@ -71,6 +73,12 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private RemoteTestRunnerClient fTestRunnerClient;
 
+	/**
+	 * The test runner VMs if the tests are distributed among several VMs, or <code>null</code>.
+	 * Events of the VMs are processed while holding the lock on this array.
+	 */
+	private TestRunFork[] fForks;
+
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
 	/**
@@ -112,6 +120,11 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private String fExcludeTags;
 
+	/**
+	 * The time of each top-level test class, or <code>null</code> if the test run has not ended.
+	 */
+	private volatile Map<String, Double> fTestClassDurations;
+
 	/**
  	 * Number of tests started during this test run.
  	 */
@@ -176,7 +189,20 @@ public class TestRunSession implements ITestRunSession {
 
 
 	public TestRunSession(ILaunch launch, IJavaProject project, int port) {
+		this(launch, project, new int[] { port });
+	}
+
+	/**
+	 * Creates a test run session for a launch whose tests are distributed among several test runner
+	 * VMs. The results of all VMs are merged into this session.
+	 *
+	 * @param launch the launch
+	 * @param project the project
+	 * @param ports the ports of the test runner VMs
+	 */
+	public TestRunSession(ILaunch launch, IJavaProject project, int[] ports) {
 		Assert.isNotNull(launch);
+		Assert.isLegal(ports.length > 0);
 
 		fLaunch= launch;
 		fProject= project;
@@ -193,26 +219,32 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
 
-		fTestRunnerClient= new RemoteTestRunnerClient();
-		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
+		if (ports.length == 1) {
+			fTestRunnerClient= new RemoteTestRunnerClient();
+			fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier(EMPTY_STRING) }, ports[0]);
+		} else {
+			fForks= new TestRunFork[ports.length];
+			for (int i= 0; i < ports.length; i++) {
+				fForks[i]= new TestRunFork(i + 1, new RemoteTestRunnerClient());
+			}
+			for (int i= 0; i < ports.length; i++) {
+				fForks[i].fClient.startListening(new ITestRunListener2[] { new ForkedTestSessionNotifier(fForks[i]) }, ports[i]);
+			}
+		}
 
 		final ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.addLaunchListener(new ILaunchesListener2() {
 			@Override
 			public void launchesTerminated(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
 			@Override
 			public void launchesRemoved(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
@@ -228,6 +260,31 @@ public class TestRunSession implements ITestRunSession {
 		addTestSessionListener(new TestRunListenerAdapter(this));
 	}
 
+	private void stopWaiting() {
+		if (fTestRunnerClient != null) {
+			fTestRunnerClient.stopWaiting();
+		}
+		if (fForks != null) {
+			for (TestRunFork fork : fForks) {
+				fork.fClient.stopWaiting();
+			}
+			// VMs that died without ending their test run don't report it:
+			for (TestRunFork fork : fForks) {
+				if (! fork.isFinished() && ! fork.fClient.isRunning()) {
+					new ForkedTestSessionNotifier(fork).testRunTerminated();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the test runner VMs if the tests are distributed among several VMs, or an empty
+	 *         array if the tests run in a single VM
+	 */
+	public TestRunFork[] getForks() {
+		return fForks == null ? new TestRunFork[0] : fForks.clone();
+	}
+
 	void reset() {
 		fStartedCount= 0;
 		fFailureCount= 0;
@@ -336,6 +393,35 @@ public class TestRunSession implements ITestRunSession {
 		return fTotalCount;
 	}
 
+	/**
+	 * Returns the time that the top-level test classes needed. The times are collected when the
+	 * test run ends, so that the test tree need not be swapped in again later.
+	 *
+	 * @return the durations in seconds by name of the top-level class, or an empty map if the test
+	 *         run has not ended in this session
+	 */
+	public Map<String, Double> getTestClassDurations() {
+		Map<String, Double> durations= fTestClassDurations;
+		return durations == null ? Collections.emptyMap() : durations;
+	}
+
+	private static void collectTestClassDurations(TestSuiteElement suite, Map<String, Double> durations) {
+		for (TestElement child : suite.getChildElements()) {
+			if (child instanceof TestSuiteElement) {
+				collectTestClassDurations((TestSuiteElement) child, durations);
+			} else {
+				double time= child.getElapsedTimeInSeconds();
+				if (! Double.isNaN(time)) {
+					String className= TestElement.extractRawClassName(child.getTestName());
+					int index= className.indexOf('$');
+					if (index > 0)
+						className= className.substring(0, index);
+					durations.merge(className, Double.valueOf(time), Double::sum);
+				}
+			}
+		}
+	}
+
 	public long getStartTime() {
 		return fStartTime;
 	}
@@ -370,7 +456,7 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			BinaryTestRunSessionSerializer.write(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
@@ -398,17 +484,24 @@ public class TestRunSession implements ITestRunSession {
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + BinaryTestRunSessionSerializer.FILE_EXTENSION;
 		return new File(historyDir, swapFileName);
 	}
 
 
+	/**
+	 * @return <code>true</code> iff the test tree has been swapped to disk
+	 */
+	synchronized boolean isSwappedOut() {
+		return fTestRoot == null;
+	}
+
 	public synchronized void swapIn() {
 		if (fTestRoot != null)
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			BinaryTestRunSessionSerializer.read(getSwapFile(), this);
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
@@ -421,6 +514,11 @@ public class TestRunSession implements ITestRunSession {
 			fIsStopped= true;
 		if (fTestRunnerClient != null)
 			fTestRunnerClient.stopTest();
+		if (fForks != null) {
+			for (TestRunFork fork : fForks) {
+				fork.fClient.stopTest();
+			}
+		}
 	}
 
 	/**
@@ -477,10 +575,10 @@ public class TestRunSession implements ITestRunSession {
 		return fIdToTest.get(id);
 	}
 
-	private TestElement addTreeEntry(String treeEntry) {
+	private TestElement addTreeEntry(String treeEntry, String idPrefix) {
 		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes","uniqueId
 		int index0= treeEntry.indexOf(',');
-		String id= treeEntry.substring(0, index0);
+		String id= idPrefix + treeEntry.substring(0, index0);
 
 		StringBuffer testNameBuffer= new StringBuffer(100);
 		int index1= scanTestName(treeEntry, index0 + 1, testNameBuffer);
@@ -516,6 +614,8 @@ public class TestRunSession implements ITestRunSession {
 			parentId= treeEntry.substring(index4 + 1, index5);
 			if ("-1".equals(parentId)) { //$NON-NLS-1$
 				parentId= null;
+			} else {
+				parentId= idPrefix + parentId;
 			}
 
 			int index6= scanTestName(treeEntry, index5 + 1, displayNameBuffer);
@@ -540,6 +640,37 @@ public class TestRunSession implements ITestRunSession {
 			}
 		}
 
+		return addTestElement(id, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId);
+	}
+
+	private TestElement addTreeEntry(String idPrefix, String testId, String testName, boolean isSuite, int testCount, boolean isDynamicTest,
+			String parentId, String displayName, String parameterTypes, String uniqueId) {
+		// same normalization as for a text entry, see addTreeEntry(String, String)
+		String name= testName.trim();
+		String display= displayName.trim();
+		if (display.equals(name)) {
+			display= null;
+		}
+		String[] types;
+		String typesString= parameterTypes.trim();
+		if (typesString.isEmpty()) {
+			types= null;
+		} else {
+			types= typesString.split(","); //$NON-NLS-1$
+			for (int i= 0; i < types.length; i++) {
+				types[i]= types[i].trim();
+			}
+		}
+		String unique= uniqueId.trim();
+		if (unique.isEmpty()) {
+			unique= null;
+		}
+		String parent= "-1".equals(parentId) ? null : idPrefix + parentId; //$NON-NLS-1$
+		return addTestElement(idPrefix + testId, name, isSuite, testCount, isDynamicTest, parent, display, types, unique);
+	}
+
+	private TestElement addTestElement(String id, String testName, boolean isSuite, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String[] parameterTypes, String uniqueId) {
 		if (isDynamicTest) {
 			if (parentId != null) {
 				for (IncompleteTestSuite suite : fFactoryTestSuites) {
@@ -625,6 +756,15 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private class TestSessionNotifier implements ITestRunListener2 {
 
+		/**
+		 * Prefix added to the ids received from the test runner.
+		 */
+		private final String fIdPrefix;
+
+		TestSessionNotifier(String idPrefix) {
+			fIdPrefix= idPrefix;
+		}
+
 		@Override
 		public void testRunStarted(int testCount) {
 			fIncompleteTestSuites= new ArrayList<>();
@@ -648,6 +788,9 @@ public class TestRunSession implements ITestRunSession {
 		@Override
 		public void testRunEnded(long elapsedTime) {
 			fIsRunning= false;
+			HashMap<String, Double> durations= new HashMap<>();
+			collectTestClassDurations(fTestRoot, durations);
+			fTestClassDurations= Collections.unmodifiableMap(durations);
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionEnded(elapsedTime);
@@ -676,18 +819,29 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testTreeEntry(String description) {
-			TestElement testElement= addTreeEntry(description);
+			testAdded(addTreeEntry(description, fIdPrefix));
+		}
 
+		@Override
+		public void testTreeEntry(String testId, String testName, boolean isSuite, int testCount, boolean isDynamicTest, String parentId,
+				String displayName, String parameterTypes, String uniqueId) {
+			testAdded(addTreeEntry(fIdPrefix, testId, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+		}
+
+		private void testAdded(TestElement testElement) {
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.testAdded(testElement);
 			}
 		}
 
 		private TestElement createUnrootedTestElement(String testId, String testName) {
+			boolean unrootedSuiteAdded= fUnrootedSuite == null;
 			TestSuiteElement unrootedSuite= getUnrootedSuite();
 			TestElement testElement= createTestElement(unrootedSuite, testId, testName, false, 1, false, testName, null, null);
 
 			for (ITestSessionListener listener : fSessionListeners) {
+				if (unrootedSuiteAdded)
+					listener.testAdded(unrootedSuite);
 				listener.testAdded(testElement);
 			}
 
@@ -701,12 +855,80 @@ public class TestRunSession implements ITestRunSession {
 					listener.runningBegins();
 				}
 			}
-			TestElement testElement= getTestElement(testId);
+			TestCaseElement testCaseElement= startTestCase(testId, testName);
+			if (testCaseElement == null)
+				return;
+
+			for (ITestSessionListener listener : fSessionListeners) {
+				listener.testStarted(testCaseElement);
+			}
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			TestCaseElement testCaseElement= endTestCase(testId, testName);
+			if (testCaseElement == null)
+				return;
+
+			for (ITestSessionListener listener : fSessionListeners) {
+				listener.testEnded(testCaseElement);
+			}
+		}
+
+		@Override
+		public void testBatchReceived(TestEventBatch batch) {
+			int size= batch.size();
+			if (fStartedCount == 0) {
+				for (int i= 0; i < size; i++) {
+					if (batch.isStarted(i)) {
+						for (ITestSessionListener listener : fSessionListeners) {
+							listener.runningBegins();
+						}
+						break;
+					}
+				}
+			}
+
+			TestCaseElement[] testCaseElements= new TestCaseElement[size];
+			boolean[] started= new boolean[size];
+			int count= 0;
+			for (int i= 0; i < size; i++) {
+				boolean isStart= batch.isStarted(i);
+				TestCaseElement testCaseElement= isStart
+						? startTestCase(batch.getTestId(i), batch.getTestName(i))
+						: endTestCase(batch.getTestId(i), batch.getTestName(i));
+				if (testCaseElement != null) {
+					testCaseElements[count]= testCaseElement;
+					started[count]= isStart;
+					count++;
+				}
+			}
+			if (count == 0)
+				return;
+			if (count < size) {
+				testCaseElements= Arrays.copyOf(testCaseElements, count);
+				started= Arrays.copyOf(started, count);
+			}
+
+			for (ITestSessionListener listener : fSessionListeners) {
+				listener.testsStartedAndEnded(testCaseElements, started);
+			}
+		}
+
+		/**
+		 * Updates the model for a started test.
+		 *
+		 * @param testId the test id
+		 * @param testName the test name
+		 * @return the started test or <code>null</code> if the id does not denote a test case
+		 */
+		private TestCaseElement startTestCase(String testId, String testName) {
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				logUnexpectedTest(testId, testElement);
-				return;
+				return null;
 			}
 			TestCaseElement testCaseElement= (TestCaseElement) testElement;
 			setStatus(testCaseElement, Status.RUNNING);
@@ -716,19 +938,22 @@ public class TestRunSession implements ITestRunSession {
 			}
 
 			fStartedCount++;
-
-			for (ITestSessionListener listener : fSessionListeners) {
-				listener.testStarted(testCaseElement);
-			}
+			return testCaseElement;
 		}
 
-		@Override
-		public void testEnded(String testId, String testName) {
+		/**
+		 * Updates the model for an ended test.
+		 *
+		 * @param testId the test id
+		 * @param testName the test name
+		 * @return the ended test or <code>null</code> if the id does not denote a test case
+		 */
+		private TestCaseElement endTestCase(String testId, String testName) {
 			boolean isIgnored= testName.startsWith(MessageIds.IGNORED_TEST_PREFIX);
 
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				if (isIgnored) {
 					testElement.setAssumptionFailed(true);
@@ -737,7 +962,7 @@ public class TestRunSession implements ITestRunSession {
 				} else {
 					logUnexpectedTest(testId, testElement);
 				}
-				return;
+				return null;
 			}
 			TestCaseElement testCaseElement= (TestCaseElement) testElement;
 			if (isIgnored) {
@@ -747,18 +972,15 @@ public class TestRunSession implements ITestRunSession {
 
 			if (testCaseElement.getStatus() == Status.RUNNING)
 				setStatus(testCaseElement, Status.OK);
-
-			for (ITestSessionListener listener : fSessionListeners) {
-				listener.testEnded(testCaseElement);
-			}
+			return testCaseElement;
 		}
 
 
 		@Override
 		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			}
 
 			Status status;
@@ -779,9 +1001,9 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				logUnexpectedTest(testId, testElement);
 				return;
@@ -802,6 +1024,127 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Merges the events of one of several test runner VMs into this session. The test ids of each
+	 * VM are prefixed with the index of the VM, and the session is only started and ended once.
+	 */
+	private final class ForkedTestSessionNotifier extends TestSessionNotifier {
+
+		private final TestRunFork fFork;
+
+		/**
+		 * The suites of this VM that are still being built, see {@link TestRunSession#fIncompleteTestSuites}.
+		 */
+		private List<IncompleteTestSuite> fForkIncompleteTestSuites= new ArrayList<>();
+
+		private List<IncompleteTestSuite> fForkFactoryTestSuites= new ArrayList<>();
+
+		ForkedTestSessionNotifier(TestRunFork fork) {
+			super(fork.getIndex() + ":"); //$NON-NLS-1$
+			fFork= fork;
+		}
+
+		private void runInFork(Runnable runnable) {
+			synchronized (fForks) {
+				fIncompleteTestSuites= fForkIncompleteTestSuites;
+				fFactoryTestSuites= fForkFactoryTestSuites;
+				try {
+					runnable.run();
+				} finally {
+					fForkIncompleteTestSuites= fIncompleteTestSuites;
+					fForkFactoryTestSuites= fFactoryTestSuites;
+				}
+			}
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			runInFork(() -> {
+				if (fFork.getState() != TestRunFork.State.WAITING)
+					return;
+				fFork.started();
+				if (fStartTime == 0) {
+					super.testRunStarted(testCount);
+				} else {
+					fTotalCount+= testCount;
+				}
+			});
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			runInFork(() -> finishFork(TestRunFork.State.ENDED, elapsedTime));
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			runInFork(() -> finishFork(TestRunFork.State.STOPPED, elapsedTime));
+		}
+
+		@Override
+		public void testRunTerminated() {
+			runInFork(() -> finishFork(TestRunFork.State.TERMINATED, -1));
+		}
+
+		private void finishFork(TestRunFork.State state, long elapsedTime) {
+			if (fFork.isFinished())
+				return;
+			fFork.finished(state, elapsedTime);
+
+			boolean stopped= false;
+			boolean terminated= false;
+			for (TestRunFork fork : fForks) {
+				if (! fork.isFinished())
+					return;
+				stopped|= fork.getState() == TestRunFork.State.STOPPED;
+				terminated|= fork.getState() == TestRunFork.State.TERMINATED;
+			}
+			if (terminated || fStartTime == 0) {
+				super.testRunTerminated();
+			} else if (stopped) {
+				super.testRunStopped(System.currentTimeMillis() - fStartTime);
+			} else {
+				super.testRunEnded(System.currentTimeMillis() - fStartTime);
+			}
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			runInFork(() -> super.testTreeEntry(description));
+		}
+
+		@Override
+		public void testTreeEntry(String testId, String testName, boolean isSuite, int testCount, boolean isDynamicTest, String parentId,
+				String displayName, String parameterTypes, String uniqueId) {
+			runInFork(() -> super.testTreeEntry(testId, testName, isSuite, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			runInFork(() -> super.testStarted(testId, testName));
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			runInFork(() -> super.testEnded(testId, testName));
+		}
+
+		@Override
+		public void testBatchReceived(TestEventBatch batch) {
+			runInFork(() -> super.testBatchReceived(batch));
+		}
+
+		@Override
+		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
+			runInFork(() -> super.testFailed(statusCode, testId, testName, trace, expected, actual));
+		}
+
+		@Override
+		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			runInFork(() -> super.testReran(testId, className, testName, statusCode, trace, expectedResult, actualResult));
+		}
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -70,7 +71,9 @@ import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
+import org.eclipse.jdt.internal.junit.launcher.TestForkPartitioner;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageIds;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -96,6 +99,8 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 	private boolean fKeepAlive= false;
 	private int fPort;
 	private IJavaElement[] fTestElements;
+	private int[] fForkPorts;
+	private IJavaElement[][] fForkTestElements;
 
 	private static final String DEFAULT= "<default>"; //$NON-NLS-1$
 
@@ -123,7 +128,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 	}
 
 	private VMRunnerConfiguration getVMRunnerConfiguration(ILaunchConfiguration configuration, ILaunch launch, String mode, IProgressMonitor monitor) throws CoreException {
-		SubMonitor subMon= SubMonitor.convert(monitor, JUnitMessages.JUnitLaunchConfigurationDelegate_verifying_attriburtes_description, 4);
+		SubMonitor subMon= SubMonitor.convert(monitor, JUnitMessages.JUnitLaunchConfigurationDelegate_verifying_attriburtes_description, 5);
 		// check for cancellation
 		if (subMon.isCanceled()) {
 			return null;
@@ -149,8 +154,6 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 
 			fKeepAlive= ILaunchManager.DEBUG_MODE.equals(mode) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
-			fPort= evaluatePort();
-			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
 			ITestKind testKind= getTestRunnerKind(configuration);
 			IJavaProject javaProject= getJavaProject(configuration);
@@ -165,103 +168,130 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 				}
 			}
 
-			String mainTypeName= verifyMainTypeName(configuration);
+			fForkTestElements= evaluateForks(configuration, testKind, subMon.newChild(1));
+			if (fForkTestElements != null) {
+				fForkPorts= new int[fForkTestElements.length];
+				StringBuilder forkPorts= new StringBuilder();
+				for (int i= 0; i < fForkPorts.length; i++) {
+					fForkPorts[i]= evaluatePort(Arrays.copyOf(fForkPorts, i));
+					if (i > 0)
+						forkPorts.append(',');
+					forkPorts.append(fForkPorts[i]);
+				}
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_FORK_PORTS, forkPorts.toString());
+				fTestElements= fForkTestElements[0];
+				fPort= fForkPorts[0];
+			} else {
+				fPort= evaluatePort();
+			}
+			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
+			VMRunnerConfiguration runConfig= createVMRunnerConfiguration(configuration, mode);
 
-			File workingDir = verifyWorkingDirectory(configuration);
-			String workingDirName = null;
-			if (workingDir != null) {
-				workingDirName= workingDir.getAbsolutePath();
+			// check for cancellation
+			if (subMon.isCanceled()) {
+				return null;
 			}
+			return runConfig;
+		} finally {
+			// done the verification phase
+			subMon.worked(1);
+		}
+	}
 
-			// Environment variables
-			String[] envp= getEnvironment(configuration);
+	/**
+	 * Creates the configuration of the VM that runs {@link #fTestElements} and connects to {@link #fPort}.
+	 */
+	private VMRunnerConfiguration createVMRunnerConfiguration(ILaunchConfiguration configuration, String mode) throws CoreException {
+		IJavaProject javaProject= getJavaProject(configuration);
+		String mainTypeName= verifyMainTypeName(configuration);
 
-			ArrayList<String> vmArguments= new ArrayList<>();
-			ArrayList<String> programArguments= new ArrayList<>();
-			collectExecutionArguments(configuration, vmArguments, programArguments);
-			vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
-			if (JavaRuntime.isModularProject(javaProject)) {
-				vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
-			}
 
-			// VM-specific attributes
-			Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+		File workingDir = verifyWorkingDirectory(configuration);
+		String workingDirName = null;
+		if (workingDir != null) {
+			workingDirName= workingDir.getAbsolutePath();
+		}
 
-			// Classpath and modulepath
-			String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
-			String[] classpath= classpathAndModulepath[0];
-			String[] modulepath= classpathAndModulepath[1];
+		// Environment variables
+		String[] envp= getEnvironment(configuration);
 
-			if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
-				if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+		ArrayList<String> vmArguments= new ArrayList<>();
+		ArrayList<String> programArguments= new ArrayList<>();
+		collectExecutionArguments(configuration, vmArguments, programArguments);
+		vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
+		if (JavaRuntime.isModularProject(javaProject)) {
+			vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+		}
+
+		// VM-specific attributes
+		Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+
+		// Classpath and modulepath
+		String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
+		String[] classpath= classpathAndModulepath[0];
+		String[] modulepath= classpathAndModulepath[1];
+
+		if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
+			if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
 				}
 			}
+		}
 
-			// Create VM config
-			VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
-			runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
-			runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
-			runConfig.setEnvironment(envp);
-			runConfig.setWorkingDirectory(workingDirName);
-			runConfig.setVMSpecificAttributesMap(vmAttributesMap);
-			runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
+		// Create VM config
+		VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
+		runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
+		runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
+		runConfig.setEnvironment(envp);
+		runConfig.setWorkingDirectory(workingDirName);
+		runConfig.setVMSpecificAttributesMap(vmAttributesMap);
+		runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
 
-			if (!JavaRuntime.isModularConfiguration(configuration)) {
-				// Bootpath
-				runConfig.setBootClassPath(getBootpath(configuration));
+		if (!JavaRuntime.isModularConfiguration(configuration)) {
+			// Bootpath
+			runConfig.setBootClassPath(getBootpath(configuration));
+		} else {
+			// module path
+			runConfig.setModulepath(modulepath);
+			if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
+				runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
 			} else {
-				// module path
-				runConfig.setModulepath(modulepath);
-				if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
-					runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
-				} else {
-					runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
-				}
-			}
-
-			// check for cancellation
-			if (subMon.isCanceled()) {
-				return null;
+				runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
 			}
-			return runConfig;
-		} finally {
-			// done the verification phase
-			subMon.worked(1);
 		}
+		return runConfig;
 	}
 
 	@Override
@@ -285,22 +315,102 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			// Launch the configuration - 1 unit of work
 			runner.run(runConfig, launch, monitor);
 
+			if (fForkTestElements != null) {
+				String vmMode= JUnitLaunchConfigurationConstants.MODE_RUN_QUIETLY_MODE.equals(mode) ? ILaunchManager.RUN_MODE : mode;
+				for (int i= 1; i < fForkTestElements.length && !monitor.isCanceled(); i++) {
+					fTestElements= fForkTestElements[i];
+					fPort= fForkPorts[i];
+					runner.run(createVMRunnerConfiguration(configuration, vmMode), launch, monitor);
+				}
+			}
+
 			// check for cancellation
 			if (monitor.isCanceled()) {
 				return;
 			}
 		} finally {
 			fTestElements= null;
+			fForkTestElements= null;
+			fForkPorts= null;
 			monitor.done();
 		}
 	}
 
 	private int evaluatePort() throws CoreException {
-		int port= SocketUtil.findFreePort();
-		if (port == -1) {
-			abort(JUnitMessages.JUnitLaunchConfigurationDelegate_error_no_socket, null, IJavaLaunchConfigurationConstants.ERR_NO_SOCKET_AVAILABLE);
+		return evaluatePort(new int[0]);
+	}
+
+	/**
+	 * @param usedPorts the ports that must not be returned
+	 * @return a free port that is not one of the given ports
+	 * @throws CoreException if no such port is available
+	 */
+	private int evaluatePort(int[] usedPorts) throws CoreException {
+		for (int attempt= 0; attempt < 10; attempt++) {
+			int port= SocketUtil.findFreePort();
+			if (port == -1)
+				break;
+			if (Arrays.stream(usedPorts).noneMatch(p -> p == port))
+				return port;
+		}
+		abort(JUnitMessages.JUnitLaunchConfigurationDelegate_error_no_socket, null, IJavaLaunchConfigurationConstants.ERR_NO_SOCKET_AVAILABLE);
+		return -1;
+	}
+
+	/**
+	 * Distributes the test classes among the number of VMs set in the launch configuration, such
+	 * that all VMs need about the same time according to the last run of the configuration. Single
+	 * tests and runs that keep the VM alive are not distributed.
+	 *
+	 * @param configuration the launch configuration
+	 * @param testKind the test kind
+	 * @param monitor the progress monitor
+	 * @return the test classes for each VM, or <code>null</code> if the tests run in a single VM
+	 * @throws CoreException if the search for tests failed
+	 */
+	private IJavaElement[][] evaluateForks(ILaunchConfiguration configuration, ITestKind testKind, IProgressMonitor monitor) throws CoreException {
+		int forkCount= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_FORK_COUNT, 1);
+		if (forkCount < 2 || fKeepAlive
+				|| configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, "").length() > 0 //$NON-NLS-1$
+				|| !configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, "").trim().isEmpty()) { //$NON-NLS-1$
+			return null;
+		}
+
+		HashSet<IType> types= new HashSet<>();
+		for (IJavaElement testElement : fTestElements) {
+			if (testElement instanceof IType) {
+				types.add((IType) testElement);
+			} else if (testElement instanceof IMethod) {
+				return null;
+			} else {
+				testKind.getFinder().findTestsInContainer(testElement, types, monitor);
+			}
+		}
+
+		// nested test classes stay in the VM of their top-level class
+		Map<String, List<IType>> typesByClassName= new HashMap<>();
+		for (IType type : types) {
+			IType topLevelType= type;
+			while (topLevelType.getDeclaringType() != null) {
+				topLevelType= topLevelType.getDeclaringType();
+			}
+			typesByClassName.computeIfAbsent(topLevelType.getFullyQualifiedName(), k -> new ArrayList<>()).add(type);
+		}
+		if (typesByClassName.size() < 2) {
+			return null;
+		}
+
+		Map<String, Double> durations= JUnitCorePlugin.getModel().getTestClassDurations(configuration.getName());
+		List<List<String>> partition= TestForkPartitioner.partition(typesByClassName.keySet(), durations, forkCount);
+		IJavaElement[][] forkTestElements= new IJavaElement[partition.size()][];
+		for (int i= 0; i < forkTestElements.length; i++) {
+			List<IType> forkTypes= new ArrayList<>();
+			for (String className : partition.get(i)) {
+				forkTypes.addAll(typesByClassName.get(className));
+			}
+			forkTestElements[i]= forkTypes.toArray(new IJavaElement[forkTypes.size()]);
 		}
-		return port;
+		return forkTestElements;
 	}
 
 	/**
@@ -435,6 +545,10 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		// runners not supporting the binary protocol ignore the argument and use the text protocol
+		programArguments.add("-binaryprotocol"); //$NON-NLS-1$
+		programArguments.add(String.valueOf(BinaryMessageIds.VERSION));
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
@@ -494,6 +608,13 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		if (testFailureNames.length() > 0) {
 			programArguments.add("-testfailures"); //$NON-NLS-1$
 			programArguments.add(testFailureNames);
+		} else if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_ORDER_BY_HISTORY, false)
+				&& !(testElements.length == 1 && testElements[0] instanceof IMethod)) {
+			String fileName= createTestHistoryFile(configuration);
+			if (fileName != null) {
+				programArguments.add("-testhistory"); //$NON-NLS-1$
+				programArguments.add(fileName);
+			}
 		}
 
 		String uniqueId= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, ""); //$NON-NLS-1$
@@ -680,6 +801,20 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		}
 	}
 
+	private String createTestHistoryFile(ILaunchConfiguration configuration) throws CoreException {
+		try {
+			File file= File.createTempFile("testHistory", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.deleteOnExit();
+			if (!JUnitCorePlugin.getModel().exportTestHistory(configuration.getName(), file)) {
+				file.delete();
+				return null;
+			}
+			return file.getAbsolutePath();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+		}
+	}
+
 	@Override
 	public String[][] getClasspathAndModulepath(ILaunchConfiguration configuration) throws CoreException {
 		String[][] cpmp= super.getClasspathAndModulepath(configuration);
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+/**
+ * Message identifiers of the binary protocol between the RemoteTestRunner and its client.
+ * <p>
+ * The binary protocol is negotiated: the client passes <code>-binaryprotocol</code> followed by
+ * the highest protocol version it understands, and a runner supporting it answers with the text
+ * message {@link MessageIds#BINARY_PROTOCOL} followed by the version it uses. All following
+ * messages are binary frames. Old runners ignore the argument and keep sending text messages.
+ * </p>
+ * <p>
+ * A frame is the length of its content as varint followed by the content: the message identifier
+ * as one byte followed by the arguments of the message. Arguments are encoded as:
+ * </p>
+ * <ul>
+ * <li>int, long: unsigned varint, 7 bits per byte, least significant group first</li>
+ * <li>boolean: one byte, 0 or 1</li>
+ * <li>string: varint length + 1 of the UTF-8 bytes followed by the bytes, a length of 0 encodes
+ * <code>null</code></li>
+ * <li>interned string: varint index of a string sent before, or 0 followed by a string which
+ * gets the next index, starting at 1</li>
+ * <li>test id: varint numeric test id + 1, or 0 followed by a string for a non-numeric id</li>
+ * </ul>
+ * <p>
+ * The client sends its requests as text messages in both protocols.
+ * </p>
+ *
+ * @see BinaryMessageSender
+ * @see BinaryMessageReader
+ */
+public class BinaryMessageIds {
+
+	/**
+	 * The version of the binary protocol.
+	 */
+	public static final int VERSION= 1;
+
+	/**
+	 * A message of the text protocol.
+	 * TEXT + string
+	 */
+	public static final int TEXT= 1;
+	/**
+	 * Notification that a test run has started.
+	 * TEST_RUN_START + int testCount
+	 */
+	public static final int TEST_RUN_START= 2;
+	/**
+	 * Notification about a test inside the test suite.
+	 * TEST_TREE + testId + interned testName + boolean isSuite + int testCount + boolean isDynamicTest
+	 * + interned parentId + string displayName + interned parameterTypes + string uniqueId
+	 * <br>
+	 * See {@link MessageIds#TEST_TREE}
+	 */
+	public static final int TEST_TREE= 3;
+	/**
+	 * Notification that a test has started.
+	 * TEST_START + testId + interned testName
+	 */
+	public static final int TEST_START= 4;
+	/**
+	 * Notification that a test has ended.
+	 * TEST_END + testId + interned testName
+	 */
+	public static final int TEST_END= 5;
+	/**
+	 * Notification that a test had a failure.
+	 * TEST_FAILED + testId + interned testName + string trace + string expected + string actual
+	 */
+	public static final int TEST_FAILED= 6;
+	/**
+	 * Notification that a test had an error.
+	 * TEST_ERROR + testId + interned testName + string trace + string expected + string actual
+	 */
+	public static final int TEST_ERROR= 7;
+	/**
+	 * Notification about the failure of a reran test, sent before {@link #TEST_RERAN}.
+	 * RERUN_FAILURE + string trace + string expected + string actual
+	 */
+	public static final int RERUN_FAILURE= 8;
+	/**
+	 * Notification that a test was reran.
+	 * TEST_RERAN + testId + interned className + interned testName + string status
+	 */
+	public static final int TEST_RERAN= 9;
+	/**
+	 * Notification that a test run has ended.
+	 * TEST_RUN_END + long elapsedTime
+	 */
+	public static final int TEST_RUN_END= 10;
+	/**
+	 * Notification that a test run was successfully stopped.
+	 * TEST_STOPPED + long elapsedTime
+	 */
+	public static final int TEST_STOPPED= 11;
+
+	private BinaryMessageIds() {
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Reads the frames of the binary protocol written by {@link BinaryMessageSender}.
+ * <p>
+ * {@link #readFrame()} reads a complete frame and returns its message identifier, the
+ * <code>read*</code> methods then decode the arguments of the message in the order they were
+ * written. Arguments not read are skipped with the next frame.
+ * </p>
+ *
+ * @see BinaryMessageIds
+ */
+public class BinaryMessageReader {
+
+	/**
+	 * The maximum length of a frame, protects against reading a corrupted stream.
+	 */
+	private static final int MAX_FRAME_LENGTH= 1 << 30;
+
+	private final InputStream fIn;
+
+	private byte[] fFrame= new byte[256];
+	private int fFrameLength;
+	private int fPosition;
+
+	private final ArrayList<String> fInternedStrings= new ArrayList<>();
+
+	/**
+	 * @param in the stream to read from, positioned after the
+	 *            {@link MessageIds#BINARY_PROTOCOL} message. Should be buffered.
+	 */
+	public BinaryMessageReader(InputStream in) {
+		fIn= in;
+	}
+
+	/**
+	 * Reads the next frame.
+	 *
+	 * @return the message identifier, see {@link BinaryMessageIds}, or <code>-1</code> at the end
+	 *         of the stream
+	 * @throws IOException if reading fails or the stream is corrupted
+	 */
+	public int readFrame() throws IOException {
+		int b= fIn.read();
+		if (b == -1)
+			return -1;
+		long length= b & 0x7F;
+		for (int shift= 7; (b & 0x80) != 0; shift+= 7) {
+			b= fIn.read();
+			if (b == -1)
+				throw new EOFException();
+			if (shift > 28)
+				throw new IOException("Corrupted frame length"); //$NON-NLS-1$
+			length|= (long) (b & 0x7F) << shift;
+		}
+		if (length == 0 || length > MAX_FRAME_LENGTH)
+			throw new IOException("Invalid frame length: " + length); //$NON-NLS-1$
+
+		int frameLength= (int) length;
+		if (frameLength > fFrame.length)
+			fFrame= new byte[Math.max(frameLength, fFrame.length * 2)];
+		int read= 0;
+		while (read < frameLength) {
+			int n= fIn.read(fFrame, read, frameLength - read);
+			if (n == -1)
+				throw new EOFException();
+			read+= n;
+		}
+		fFrameLength= frameLength;
+		fPosition= 0;
+		return readByte();
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public int readInt() throws IOException {
+		return (int) readLong();
+	}
+
+	public long readLong() throws IOException {
+		long value= 0;
+		for (int shift= 0; shift < 64; shift+= 7) {
+			int b= readByte();
+			value|= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Corrupted varint"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the string or <code>null</code>
+	 * @throws IOException if the frame is corrupted
+	 */
+	public String readString() throws IOException {
+		long length= readLong() - 1;
+		if (length < 0)
+			return null;
+		if (length > fFrameLength - fPosition)
+			throw new EOFException();
+		String s= new String(fFrame, fPosition, (int) length, StandardCharsets.UTF_8);
+		fPosition+= (int) length;
+		return s;
+	}
+
+	/**
+	 * @return the interned string
+	 * @throws IOException if the frame is corrupted
+	 */
+	public String readInternedString() throws IOException {
+		long index= readLong();
+		if (index == 0) {
+			String s= readString();
+			fInternedStrings.add(s);
+			return s;
+		}
+		if (index > fInternedStrings.size())
+			throw new IOException("Unknown string index: " + index); //$NON-NLS-1$
+		return fInternedStrings.get((int) index - 1);
+	}
+
+	/**
+	 * @return the test id
+	 * @throws IOException if the frame is corrupted
+	 */
+	public String readTestId() throws IOException {
+		long id= readLong();
+		if (id == 0)
+			return readString();
+		return Long.toString(id - 1);
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 *
+	 * @throws IOException if closing fails
+	 */
+	public void close() throws IOException {
+		fIn.close();
+	}
+
+	private int readByte() throws IOException {
+		if (fPosition >= fFrameLength)
+			throw new EOFException();
+		return fFrame[fPosition++] & 0xFF;
+	}
+}
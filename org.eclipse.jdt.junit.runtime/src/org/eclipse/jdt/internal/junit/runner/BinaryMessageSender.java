@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Sends the messages of a test run in the binary protocol.
+ * <p>
+ * Every notification is encoded into one frame, so stack traces and comparison results are sent
+ * as they are instead of line by line. Test names and class names are interned: a name is only
+ * sent the first time it is used.
+ * </p>
+ *
+ * @see BinaryMessageIds
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	private final OutputStream fOut;
+
+	/**
+	 * The content of the current frame.
+	 */
+	private byte[] fFrame= new byte[256];
+	private int fFrameLength;
+
+	private final HashMap<String, Integer> fInternedStrings= new HashMap<>();
+
+	private IOException fException;
+
+	/**
+	 * Creates a sender and announces the binary protocol with
+	 * {@link MessageIds#BINARY_PROTOCOL}.
+	 *
+	 * @param out the stream to write to
+	 */
+	public BinaryMessageSender(OutputStream out) {
+		fOut= new BufferedOutputStream(out, 8192);
+		try {
+			fOut.write((MessageIds.BINARY_PROTOCOL + BinaryMessageIds.VERSION + '\n').getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			fException= e;
+		}
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		startFrame(BinaryMessageIds.TEXT);
+		writeString(msg);
+		endFrame();
+	}
+
+	@Override
+	public synchronized void flush() {
+		if (fException != null)
+			return;
+		try {
+			fOut.flush();
+		} catch (IOException e) {
+			fException= e;
+		}
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 */
+	public synchronized void close() {
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * @return the first exception thrown by the underlying stream or <code>null</code>
+	 */
+	public synchronized IOException getException() {
+		return fException;
+	}
+
+	@Override
+	public synchronized void sendTestRunStarted(int testCount) {
+		startFrame(BinaryMessageIds.TEST_RUN_START);
+		writeVarLong(testCount);
+		endFrame();
+	}
+
+	@Override
+	public synchronized void sendTestTreeEntry(String testId, String testName, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		startFrame(BinaryMessageIds.TEST_TREE);
+		writeTestId(testId);
+		writeInternedString(testName);
+		writeBoolean(hasChildren);
+		writeVarLong(testCount);
+		writeBoolean(isDynamicTest);
+		writeInternedString(parentId);
+		writeString(displayName);
+		writeInternedString(parameterTypes);
+		writeString(uniqueId);
+		endFrame();
+	}
+
+	@Override
+	public synchronized void sendTestStarted(String testId, String testName) {
+		startFrame(BinaryMessageIds.TEST_START);
+		writeTestId(testId);
+		writeInternedString(testName);
+		endFrame();
+	}
+
+	@Override
+	public synchronized void sendTestEnded(String testId, String testName) {
+		startFrame(BinaryMessageIds.TEST_END);
+		writeTestId(testId);
+		writeInternedString(testName);
+		endFrame();
+	}
+
+	@Override
+	public synchronized void sendTestFailed(String status, String testId, String testName, String trace, FailedComparison comparison) {
+		startFrame(MessageIds.TEST_ERROR.equals(status) ? BinaryMessageIds.TEST_ERROR : BinaryMessageIds.TEST_FAILED);
+		writeTestId(testId);
+		writeInternedString(testName);
+		writeFailure(trace, comparison);
+		endFrame();
+		flush();
+	}
+
+	@Override
+	public synchronized void sendRerunFailure(String trace, FailedComparison comparison) {
+		startFrame(BinaryMessageIds.RERUN_FAILURE);
+		writeFailure(trace, comparison);
+		endFrame();
+		flush();
+	}
+
+	@Override
+	public synchronized void sendTestReran(String testId, String className, String testName, String status) {
+		startFrame(BinaryMessageIds.TEST_RERAN);
+		writeTestId(testId);
+		writeInternedString(className);
+		writeInternedString(testName);
+		writeString(status);
+		endFrame();
+		flush();
+	}
+
+	@Override
+	public synchronized void sendTestRunEnded(long elapsedTime) {
+		startFrame(BinaryMessageIds.TEST_RUN_END);
+		writeVarLong(elapsedTime);
+		endFrame();
+		flush();
+	}
+
+	@Override
+	public synchronized void sendTestRunStopped(long elapsedTime) {
+		startFrame(BinaryMessageIds.TEST_STOPPED);
+		writeVarLong(elapsedTime);
+		endFrame();
+		flush();
+	}
+
+	private void writeFailure(String trace, FailedComparison comparison) {
+		writeString(trace);
+		writeString(comparison != null ? comparison.getExpected() : null);
+		writeString(comparison != null ? comparison.getActual() : null);
+	}
+
+	private void startFrame(int messageId) {
+		fFrameLength= 0;
+		writeByte(messageId);
+	}
+
+	private void endFrame() {
+		if (fException != null)
+			return;
+		try {
+			long length= fFrameLength;
+			while ((length & ~0x7FL) != 0) {
+				fOut.write((int) ((length & 0x7F) | 0x80));
+				length>>>= 7;
+			}
+			fOut.write((int) length);
+			fOut.write(fFrame, 0, fFrameLength);
+		} catch (IOException e) {
+			fException= e;
+		}
+	}
+
+	private void ensureCapacity(int additional) {
+		int required= fFrameLength + additional;
+		if (required > fFrame.length) {
+			byte[] frame= new byte[Math.max(required, fFrame.length * 2)];
+			System.arraycopy(fFrame, 0, frame, 0, fFrameLength);
+			fFrame= frame;
+		}
+	}
+
+	private void writeByte(int b) {
+		ensureCapacity(1);
+		fFrame[fFrameLength++]= (byte) b;
+	}
+
+	private void writeBoolean(boolean b) {
+		writeByte(b ? 1 : 0);
+	}
+
+	private void writeVarLong(long value) {
+		ensureCapacity(10);
+		long v= value;
+		while ((v & ~0x7FL) != 0) {
+			fFrame[fFrameLength++]= (byte) ((v & 0x7F) | 0x80);
+			v>>>= 7;
+		}
+		fFrame[fFrameLength++]= (byte) v;
+	}
+
+	private void writeString(String s) {
+		if (s == null) {
+			writeVarLong(0);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(bytes.length + 1L);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, fFrame, fFrameLength, bytes.length);
+		fFrameLength+= bytes.length;
+	}
+
+	private void writeInternedString(String s) {
+		Integer index= fInternedStrings.get(s);
+		if (index != null) {
+			writeVarLong(index.intValue());
+			return;
+		}
+		fInternedStrings.put(s, Integer.valueOf(fInternedStrings.size() + 1));
+		writeVarLong(0);
+		writeString(s);
+	}
+
+	private void writeTestId(String testId) {
+		long id= parseTestId(testId);
+		if (id >= 0) {
+			writeVarLong(id + 1);
+		} else {
+			writeVarLong(0);
+			writeString(testId);
+		}
+	}
+
+	/**
+	 * @param testId the test id
+	 * @return the numeric value of the test id or <code>-1</code> if the id is not a canonical
+	 *         non-negative decimal number
+	 */
+	private static long parseTestId(String testId) {
+		int length= testId.length();
+		if (length == 0 || length > 18 || (length > 1 && testId.charAt(0) == '0'))
+			return -1;
+		long id= 0;
+		for (int i= 0; i < length; i++) {
+			char c= testId.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			id= id * 10 + (c - '0');
+		}
+		return id;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,41 @@
 
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Sends the test executions of the first run to the client.
+ * <p>
+ * Test starts and ends are not flushed one by one: they are flushed after
+ * {@link #MAX_PENDING_EVENTS} events or at the latest {@link #FLUSH_DELAY} milliseconds after the
+ * first pending event, so that suites with many very fast tests are not dominated by socket
+ * round-trips. Failures are flushed immediately.
+ * </p>
+ */
 public class FirstRunExecutionListener implements IListensToTestExecutions {
+
+	/**
+	 * The maximum number of test starts and ends sent without flushing.
+	 */
+	static final int MAX_PENDING_EVENTS= 200;
+
+	/**
+	 * The maximum time in milliseconds a test start or end is kept before flushing.
+	 */
+	static final long FLUSH_DELAY= 50;
+
 	protected MessageSender fSender;
 
 	private TestIdMap fIds;
 
-	FirstRunExecutionListener(MessageSender sender, TestIdMap ids) {
+	private int fPendingEvents;
+
+	private Timer fFlushTimer;
+
+	private TimerTask fFlushTask;
+
+	public FirstRunExecutionListener(MessageSender sender, TestIdMap ids) {
 		fSender = sender;
 		if (ids == null)
 			throw new NullPointerException();
@@ -29,42 +58,72 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 	}
 
 	@Override
-	public void notifyTestEnded(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_END);
-		fSender.flush();
+	public synchronized void notifyTestEnded(ITestIdentifier test) {
+		fSender.sendTestEnded(getTestId(test), test.getName());
+		eventSent();
 	}
 
 	@Override
 	public synchronized void notifyTestFailed(TestReferenceFailure failure) {
-		sendMessage(failure.getTest(), failure.getStatus());
-		sendFailure(failure, MessageIds.TRACE_START, MessageIds.TRACE_END);
-		// fSender.flush(); // flush is implicitly done by sendFailure()
+		ITestIdentifier test= failure.getTest();
+		fSender.sendTestFailed(failure.getStatus(), getTestId(test), test.getName(), failure.getTrace(), failure.getComparison());
+		// flush is implicitly done by sendTestFailed(), which also sends pending events
+		eventsFlushed();
 	}
 
 	@Override
-	public void notifyTestStarted(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_START);
+	public synchronized void notifyTestStarted(ITestIdentifier test) {
+		fSender.sendTestStarted(getTestId(test), test.getName());
+		eventSent();
+	}
+
+	/**
+	 * Flushes the pending test starts and ends and stops the flush timer.
+	 */
+	public synchronized void flush() {
 		fSender.flush();
+		eventsFlushed();
+		if (fFlushTimer != null) {
+			fFlushTimer.cancel();
+			fFlushTimer= null;
+		}
 	}
 
-	private String getTestId(ITestIdentifier test) {
-		return fIds.getTestId(test);
+	private void eventSent() {
+		if (++fPendingEvents >= MAX_PENDING_EVENTS) {
+			fSender.flush();
+			eventsFlushed();
+		} else if (fFlushTask == null) {
+			fFlushTask= new TimerTask() {
+				@Override
+				public void run() {
+					flushPendingEvents(this);
+				}
+			};
+			if (fFlushTimer == null)
+				fFlushTimer= new Timer("JUnit Event Flusher", true); //$NON-NLS-1$
+			fFlushTimer.schedule(fFlushTask, FLUSH_DELAY);
+		}
 	}
 
-	protected void sendFailure(TestReferenceFailure failure, String startTrace,
-			String endTrace) {
-		FailedComparison comparison = failure.getComparison();
-		if (comparison != null)
-			comparison.sendMessages(fSender);
+	private synchronized void flushPendingEvents(TimerTask task) {
+		if (fFlushTask == task) {
+			fSender.flush();
+			fPendingEvents= 0;
+			fFlushTask= null;
+		}
+	}
 
-		fSender.sendMessage(startTrace);
-		fSender.sendMessage(failure.getTrace());
-		fSender.sendMessage(endTrace);
-		fSender.flush();
+	private void eventsFlushed() {
+		fPendingEvents= 0;
+		if (fFlushTask != null) {
+			fFlushTask.cancel();
+			fFlushTask= null;
+		}
 	}
 
-	private void sendMessage(ITestIdentifier test, String status) {
-		fSender.sendMessage(status + getTestId(test) + ',' + RemoteTestRunner.escapeText(test.getName()));
+	private String getTestId(ITestIdentifier test) {
+		return fIds.getTestId(test);
 	}
 
 }
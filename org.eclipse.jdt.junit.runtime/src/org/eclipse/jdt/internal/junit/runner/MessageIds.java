@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -133,6 +133,14 @@ public class MessageIds {
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
 
+	/**
+	 * Notification that all following messages are sent in the binary protocol.
+	 * BINARY_PROTOCOL + version <br>
+	 * Only sent if the client requested the binary protocol with the <code>-binaryprotocol</code>
+	 * argument. See {@link BinaryMessageIds} for the message format.
+	 */
+	public static final String BINARY_PROTOCOL= "%BINARY "; //$NON-NLS-1$
+
 	/**
 	 * MessageFormat to encode test method identifiers:
 	 * testMethod(testClass)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,135 @@
 
 package org.eclipse.jdt.internal.junit.runner;
 
+/**
+ * Sends the messages of a test run to the client.
+ * <p>
+ * The <code>send*</code> methods encode the notifications in the text protocol, see
+ * {@link MessageIds}. Senders using another protocol override them.
+ * </p>
+ */
 public interface MessageSender {
 
 	void sendMessage(String msg);
 
 	void flush();
 
+	/**
+	 * Notifies that a test run has started.
+	 *
+	 * @param testCount the number of tests
+	 */
+	default void sendTestRunStarted(int testCount) {
+		sendMessage(MessageIds.TEST_RUN_START + testCount + " " + "v2"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Notifies about a test inside the test suite.
+	 *
+	 * @param testId the test id
+	 * @param testName the test name
+	 * @param hasChildren whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the id of the parent of a dynamic test, otherwise "-1"
+	 * @param displayName the display name
+	 * @param parameterTypes the comma-separated parameter types or an empty string
+	 * @param uniqueId the unique id or an empty string
+	 * @see MessageIds#TEST_TREE
+	 */
+	default void sendTestTreeEntry(String testId, String testName, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		sendMessage(MessageIds.TEST_TREE
+				+ RemoteTestRunner.formatTestTreeEntry(testId, testName, hasChildren, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+	}
+
+	/**
+	 * Notifies that a test has started.
+	 *
+	 * @param testId the test id
+	 * @param testName the test name
+	 */
+	default void sendTestStarted(String testId, String testName) {
+		sendMessage(MessageIds.TEST_START + testId + ',' + RemoteTestRunner.escapeText(testName));
+	}
+
+	/**
+	 * Notifies that a test has ended.
+	 *
+	 * @param testId the test id
+	 * @param testName the test name
+	 */
+	default void sendTestEnded(String testId, String testName) {
+		sendMessage(MessageIds.TEST_END + testId + ',' + RemoteTestRunner.escapeText(testName));
+	}
+
+	/**
+	 * Notifies that a test failed and flushes.
+	 *
+	 * @param status {@link MessageIds#TEST_FAILED} or {@link MessageIds#TEST_ERROR}
+	 * @param testId the test id
+	 * @param testName the test name
+	 * @param trace the stack trace
+	 * @param comparison the failed comparison or <code>null</code>
+	 */
+	default void sendTestFailed(String status, String testId, String testName, String trace, FailedComparison comparison) {
+		sendMessage(status + testId + ',' + RemoteTestRunner.escapeText(testName));
+		if (comparison != null)
+			comparison.sendMessages(this);
+		sendMessage(MessageIds.TRACE_START);
+		sendMessage(trace);
+		sendMessage(MessageIds.TRACE_END);
+		flush();
+	}
+
+	/**
+	 * Notifies that a reran test failed and flushes. Sent before
+	 * {@link #sendTestReran(String, String, String, String)}.
+	 *
+	 * @param trace the stack trace
+	 * @param comparison the failed comparison or <code>null</code>
+	 */
+	default void sendRerunFailure(String trace, FailedComparison comparison) {
+		if (comparison != null)
+			comparison.sendMessages(this);
+		sendMessage(MessageIds.RTRACE_START);
+		sendMessage(trace);
+		sendMessage(MessageIds.RTRACE_END);
+		flush();
+	}
+
+	/**
+	 * Notifies that a test was reran and flushes.
+	 *
+	 * @param testId the test id
+	 * @param className the test class name
+	 * @param testName the test name
+	 * @param status {@link RemoteTestRunner#RERAN_OK}, {@link RemoteTestRunner#RERAN_FAILURE} or
+	 *            {@link RemoteTestRunner#RERAN_ERROR}
+	 */
+	default void sendTestReran(String testId, String className, String testName, String status) {
+		sendMessage(MessageIds.TEST_RERAN + testId + " " + className + " " + testName + " " + status); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		flush();
+	}
+
+	/**
+	 * Notifies that a test run has ended and flushes.
+	 *
+	 * @param elapsedTime the elapsed time in milliseconds
+	 */
+	default void sendTestRunEnded(long elapsedTime) {
+		sendMessage(MessageIds.TEST_RUN_END + elapsedTime);
+		flush();
+	}
+
+	/**
+	 * Notifies that a test run was stopped and flushes.
+	 *
+	 * @param elapsedTime the elapsed time in milliseconds
+	 */
+	default void sendTestRunStopped(long elapsedTime) {
+		sendMessage(MessageIds.TEST_STOPPED + elapsedTime);
+		flush();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Vector;
 
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
@@ -131,12 +132,29 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private String[] fFailureNames;
 
+	/**
+	 * The durations and failures of a previous run, or <code>null</code> to run the tests in
+	 * their natural order.
+	 */
+	private TestHistory fTestHistory;
+
 	private ITestLoader fLoader;
 
 	private MessageSender fSender;
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * The highest version of the binary protocol understood by the client, <code>0</code> if the
+	 * client did not request the binary protocol.
+	 */
+	private int fBinaryProtocolVersion= 0;
+
+	/**
+	 * The sender of the binary protocol, <code>null</code> if the text protocol is used.
+	 */
+	private BinaryMessageSender fBinarySender;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -202,6 +220,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: the highest version of the binary protocol understood by the client
      * </pre>
      */
 	public static void main(String[] args) {
@@ -286,6 +305,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				}
 				i++;
 
+			} else if ("-testhistory".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				try {
+					fTestHistory= TestHistory.read(new File(args[i+1]));
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Cannot read testhistory file.");		 //$NON-NLS-1$
+				}
+				i++;
+
 			} else if("-port".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fPort= Integer.parseInt(args[i+1]);
 				i++;
@@ -306,6 +333,17 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 			} else if ("-junitconsole".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 			    fConsoleMode  = true;
+			} else if ("-binaryprotocol".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				// the protocol is optional: fall back to the text protocol if the version is missing or invalid
+				fBinaryProtocolVersion= 0;
+				if (i + 1 < args.length) {
+					try {
+						fBinaryProtocolVersion= Integer.parseInt(args[i + 1]);
+						i++;
+					} catch (NumberFormatException e) {
+						// not a version, use the text protocol
+					}
+				}
 			} else if ("-testloaderclass".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				String className = args[i + 1];
 				createLoader(className);
@@ -451,6 +489,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		FirstRunExecutionListener listener= firstRunExecutionListener();
 		fExecution= new TestExecution(listener, getClassifier());
 		runTests(fExecution);
+		listener.flush();
 		if (fKeepAlive)
 			waitForReruns();
 
@@ -511,6 +550,11 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param execution executor
 	 */
 	public void runTests(String[] testClassNames, String testName, TestExecution execution) {
+		if (fTestHistory != null && testClassNames != null && testClassNames.length > 1) {
+			// failed classes first, then fastest first
+			testClassNames= testClassNames.clone();
+			Arrays.sort(testClassNames, fTestHistory::compareClasses);
+		}
 		ITestReference[] suites= fLoader.loadTests(loadClasses(testClassNames), testName, fFailureNames, fPackageNames, fIncludeExcludeTags, fUniqueId, this);
 
 		// count all testMethods and inform ITestRunListeners
@@ -579,10 +623,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void visitTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
-		String treeEntry= getTestId(identifier) + ',' + escapeText(identifier.getName()) + ',' + hasChildren + ',' + testCount
-				+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(identifier.getDisplayName()) + ',' + escapeText(identifier.getParameterTypes())
-				+ ',' + escapeText(identifier.getUniqueId());
-		notifyTestTreeEntry(treeEntry);
+		notifyTestTreeEntry(getTestId(identifier), identifier.getName(), hasChildren, testCount, isDynamicTest, parentId,
+				identifier.getDisplayName(), identifier.getParameterTypes(), identifier.getUniqueId());
 	}
 
 	public static String escapeText(String s) {
@@ -649,11 +691,18 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocolVersion >= BinaryMessageIds.VERSION && fSender == this) {
+					if (fDebugMode)
+						System.out.println("RemoteTestRunner: using binary protocol"); //$NON-NLS-1$
+					fBinarySender= new BinaryMessageSender(fClientSocket.getOutputStream());
+					setMessageSender(fBinarySender);
+				} else {
+					try {
+					    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
+		            } catch (UnsupportedEncodingException e1) {
+		                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+		            }
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), StandardCharsets.UTF_8));
                 } catch (UnsupportedEncodingException e1) {
@@ -682,6 +731,11 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			fWriter.close();
 			fWriter= null;
 		}
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			setMessageSender(this);
+			fBinarySender= null;
+		}
 		try {
 			if (fReaderThread != null)   {
 				// interrupt reader thread so that we don't block on close
@@ -719,21 +773,70 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	}
 
 	protected void notifyTestRunStarted(int testCount) {
-		fSender.sendMessage(MessageIds.TEST_RUN_START + testCount + " " + "v2"); //$NON-NLS-1$ //$NON-NLS-2$
+		fSender.sendTestRunStarted(testCount);
 	}
 
 	private void notifyTestRunEnded(long elapsedTime) {
-		fSender.sendMessage(MessageIds.TEST_RUN_END + elapsedTime);
-		fSender.flush();
+		fSender.sendTestRunEnded(elapsedTime);
 		//shutDown();
 	}
 
 	protected void notifyTestRunStopped(long elapsedTime) {
-		fSender.sendMessage(MessageIds.TEST_STOPPED + elapsedTime);
-		fSender.flush();
+		fSender.sendTestRunStopped(elapsedTime);
 		//shutDown();
 	}
 
+	/**
+	 * Notifies about a test inside the test suite. With the text protocol, the entry is passed
+	 * to {@link #notifyTestTreeEntry(String)}, with the binary protocol it is sent as is.
+	 * Subclasses may override.
+	 *
+	 * @param testId the test id
+	 * @param testName the test name
+	 * @param hasChildren whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the id of the parent of a dynamic test, otherwise "-1"
+	 * @param displayName the display name
+	 * @param parameterTypes the comma-separated parameter types or an empty string
+	 * @param uniqueId the unique id or an empty string
+	 * @see MessageSender#sendTestTreeEntry(String, String, boolean, int, boolean, String, String, String, String)
+	 */
+	protected void notifyTestTreeEntry(String testId, String testName, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		if (fBinarySender != null && fSender == fBinarySender) {
+			fSender.sendTestTreeEntry(testId, testName, hasChildren, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId);
+		} else {
+			notifyTestTreeEntry(formatTestTreeEntry(testId, testName, hasChildren, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+		}
+	}
+
+	/**
+	 * Formats a tree entry for the text protocol, see {@link MessageIds#TEST_TREE}.
+	 *
+	 * @param testId the test id
+	 * @param testName the test name
+	 * @param hasChildren whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the id of the parent of a dynamic test, otherwise "-1"
+	 * @param displayName the display name
+	 * @param parameterTypes the comma-separated parameter types or an empty string
+	 * @param uniqueId the unique id or an empty string
+	 * @return the tree entry without the message id
+	 */
+	public static String formatTestTreeEntry(String testId, String testName, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		return testId + ',' + escapeText(testName) + ',' + hasChildren + ',' + testCount + ',' + isDynamicTest + ',' + parentId
+				+ ',' + escapeText(displayName) + ',' + escapeText(parameterTypes) + ',' + escapeText(uniqueId);
+	}
+
+	/**
+	 * Notifies about a test inside the test suite in the format of the text protocol. Subclasses
+	 * may override.
+	 *
+	 * @param treeEntry the tree entry, see {@link MessageIds#TEST_TREE}
+	 */
 	protected void notifyTestTreeEntry(String treeEntry) {
 		fSender.sendMessage(MessageIds.TEST_TREE + treeEntry);
 	}
@@ -744,14 +847,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 */
 	public void notifyRerunComplete(RerunRequest r, String status) {
 		if (fPort != -1) {
-			fSender.sendMessage(MessageIds.TEST_RERAN + r.fRerunTestId + " " + r.fRerunClassName + " " + r.fRerunTestName + " " + status); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-			fSender.flush();
+			fSender.sendTestReran(Integer.toString(r.fRerunTestId), r.fRerunClassName, r.fRerunTestName, status);
 		}
 	}
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		if (fWriter != null)
+			fWriter.flush();
 	}
 
 	public void runTests(TestExecution execution) {
@@ -762,6 +865,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		return fLoader;
 	}
 
+	/**
+	 * @return the durations and failures of a previous run, or <code>null</code> if the tests
+	 *         should run in their natural order
+	 */
+	public TestHistory getTestHistory() {
+		return fTestHistory;
+	}
+
 	public Class<?> loadClass(String className, RemoteTestRunner listener) {
 		Class<?> clazz= null;
 		try {
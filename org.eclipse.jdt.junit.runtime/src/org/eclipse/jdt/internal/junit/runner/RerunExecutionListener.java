@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,7 +28,7 @@ public class RerunExecutionListener extends FirstRunExecutionListener {
 
 	@Override
 	public synchronized void notifyTestFailed(TestReferenceFailure failure) {
-		sendFailure(failure, MessageIds.RTRACE_START, MessageIds.RTRACE_END);
+		fSender.sendRerunFailure(failure.getTrace(), failure.getComparison());
 
 		String status = failure.getStatus();
 		if (MessageIds.TEST_FAILED.equals(status))
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The durations and failures of the tests in a previous run, as exported by the IDE. Used to run
+ * tests that failed recently first and the remaining tests fastest first.
+ * <p>
+ * The history file has one line per test: the test name (<code>method(class)</code>), the
+ * elapsed time in seconds and <code>true</code> if the test failed, separated by tabs.
+ * </p>
+ */
+public class TestHistory {
+
+	public static final char SEPARATOR= '\t';
+
+	private File fFile;
+
+	private final Map<String, Double> fDurations= new HashMap<>();
+	private final Set<String> fFailures= new HashSet<>();
+
+	private final Map<String, Double> fClassDurations= new HashMap<>();
+	private final Set<String> fClassFailures= new HashSet<>();
+
+	public static TestHistory read(File file) throws IOException {
+		TestHistory history= new TestHistory();
+		history.fFile= file;
+		try (BufferedReader br= new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line= br.readLine()) != null) {
+				int end= line.lastIndexOf(SEPARATOR);
+				int start= line.lastIndexOf(SEPARATOR, end - 1);
+				if (start <= 0)
+					continue;
+				try {
+					double duration= Double.parseDouble(line.substring(start + 1, end));
+					history.add(line.substring(0, start), duration, Boolean.parseBoolean(line.substring(end + 1)));
+				} catch (NumberFormatException e) {
+					// skip the line
+				}
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * @param testName the test name
+	 * @param duration the elapsed time in seconds
+	 * @param failed whether the test failed
+	 * @return the line of the test in a history file
+	 */
+	public static String toLine(String testName, double duration, boolean failed) {
+		return testName + SEPARATOR + duration + SEPARATOR + failed;
+	}
+
+	/**
+	 * @return the file this history has been read from, or <code>null</code>
+	 */
+	public File getFile() {
+		return fFile;
+	}
+
+	public void add(String testName, double duration, boolean failed) {
+		fDurations.merge(testName, Double.valueOf(duration), Double::sum);
+		String className= extractClassName(testName);
+		fClassDurations.merge(className, Double.valueOf(duration), Double::sum);
+		if (failed) {
+			fFailures.add(testName);
+			fClassFailures.add(className);
+		}
+	}
+
+	private static String extractClassName(String testName) {
+		int index= testName.lastIndexOf('(');
+		if (index < 0)
+			return testName;
+		int end= testName.lastIndexOf(')');
+		return testName.substring(index + 1, end > index ? end : testName.length());
+	}
+
+	/**
+	 * @param testName the test name
+	 * @return the elapsed time in seconds, or {@link Double#NaN} if the test is not known
+	 */
+	public double getDuration(String testName) {
+		Double duration= fDurations.get(testName);
+		return duration != null ? duration.doubleValue() : Double.NaN;
+	}
+
+	public boolean hasFailed(String testName) {
+		return fFailures.contains(testName);
+	}
+
+	/**
+	 * @param className the fully qualified name of a test class
+	 * @return the elapsed time of all tests of the class in seconds, or {@link Double#NaN} if
+	 *         the class is not known
+	 */
+	public double getClassDuration(String className) {
+		Double duration= fClassDurations.get(className);
+		return duration != null ? duration.doubleValue() : Double.NaN;
+	}
+
+	public boolean hasClassFailed(String className) {
+		return fClassFailures.contains(className);
+	}
+
+	/**
+	 * Compares two tests or groups of tests: ones that failed come first, then the fastest. Tests
+	 * that are not known are assumed to be fast, since they are likely to have just been written.
+	 *
+	 * @param failed1 whether the first test failed
+	 * @param duration1 the elapsed time of the first test, or {@link Double#NaN}
+	 * @param failed2 whether the second test failed
+	 * @param duration2 the elapsed time of the second test, or {@link Double#NaN}
+	 * @return a negative number if the first test should run first, a positive number if the
+	 *         second test should run first, 0 otherwise
+	 */
+	public static int compare(boolean failed1, double duration1, boolean failed2, double duration2) {
+		if (failed1 != failed2)
+			return failed1 ? -1 : 1;
+		return Double.compare(Double.isNaN(duration1) ? 0 : duration1, Double.isNaN(duration2) ? 0 : duration2);
+	}
+
+	public int compareClasses(String className1, String className2) {
+		return compare(hasClassFailed(className1), getClassDuration(className1), hasClassFailed(className2), getClassDuration(className2));
+	}
+
+	public int compareTests(String testName1, String testName2) {
+		return compare(hasFailed(testName1), getDuration(testName1), hasFailed(testName2), getDuration(testName2));
+	}
+}
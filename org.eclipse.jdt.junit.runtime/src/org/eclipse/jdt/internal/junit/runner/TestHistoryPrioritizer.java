@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import junit.extensions.TestDecorator;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Reorders the tests of all suites such that tests that failed in the {@link TestHistory} run
+ * first, and the remaining tests fastest first. A suite failed if one of its tests failed, and
+ * takes the time of all its tests.
+ */
+public class TestHistoryPrioritizer implements ITestPrioritizer {
+
+	private final TestHistory fHistory;
+
+	private final Map<Test, Boolean> fFailed= new IdentityHashMap<>();
+	private final Map<Test, Double> fDurations= new IdentityHashMap<>();
+
+	public TestHistoryPrioritizer(TestHistory history) {
+		fHistory= history;
+	}
+
+	@Override
+	public Test prioritize(Test suite) {
+		evaluate(suite);
+		doPrioritize(suite);
+		return suite;
+	}
+
+	private void evaluate(Test test) {
+		boolean failed= false;
+		double duration= Double.NaN;
+		if (test instanceof TestCase) {
+			failed= fHistory.hasFailed(test.toString());
+			duration= fHistory.getDuration(test.toString());
+		} else if (test instanceof TestSuite) {
+			for (Enumeration<Test> e= ((TestSuite) test).tests(); e.hasMoreElements();) {
+				Test child= e.nextElement();
+				evaluate(child);
+				failed|= fFailed.get(child).booleanValue();
+				double childDuration= fDurations.get(child).doubleValue();
+				if (!Double.isNaN(childDuration))
+					duration= Double.isNaN(duration) ? childDuration : duration + childDuration;
+			}
+		} else if (test instanceof TestDecorator) {
+			Test child= ((TestDecorator) test).getTest();
+			evaluate(child);
+			failed= fFailed.get(child).booleanValue();
+			duration= fDurations.get(child).doubleValue();
+		}
+		fFailed.put(test, Boolean.valueOf(failed));
+		fDurations.put(test, Double.valueOf(duration));
+	}
+
+	private void doPrioritize(Test test) {
+		if (test instanceof TestSuite) {
+			@SuppressWarnings("unchecked")
+			Vector<Test> tests= (Vector<Test>) FailuresFirstPrioritizer.getField(test, "fTests"); //$NON-NLS-1$
+			if (tests != null) {
+				tests.sort((t1, t2) -> TestHistory.compare(
+						fFailed.get(t1).booleanValue(), fDurations.get(t1).doubleValue(),
+						fFailed.get(t2).booleanValue(), fDurations.get(t2).doubleValue()));
+				for (Test child : tests) {
+					doPrioritize(child);
+				}
+			}
+		} else if (test instanceof TestDecorator) {
+			doPrioritize(((TestDecorator) test).getTest());
+		}
+	}
+}
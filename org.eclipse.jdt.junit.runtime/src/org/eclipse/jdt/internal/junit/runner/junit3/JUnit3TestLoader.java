@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.JUnitMessages;
 import org.eclipse.jdt.internal.junit.runner.NullPrioritizer;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestHistoryPrioritizer;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -47,6 +48,8 @@ public class JUnit3TestLoader implements ITestLoader {
 
 		if (failureNames != null)
 			prioritizer= new FailuresFirstPrioritizer(failureNames);
+		else if (listener.getTestHistory() != null)
+			prioritizer= new TestHistoryPrioritizer(listener.getTestHistory());
 		else
 			prioritizer= new NullPrioritizer();
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -144,6 +144,10 @@ public final class JUnitMessages extends NLS {
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
 
+	public static String JUnitLaunchConfigurationTab_label_forkcount;
+
+	public static String JUnitLaunchConfigurationTab_label_orderbyhistory;
+
 	public static String JUnitLaunchConfigurationTab_label_method;
 
 	public static String JUnitLaunchConfigurationTab_label_oneTest;
@@ -314,6 +318,8 @@ public final class JUnitMessages extends NLS {
 	public static String TestRunnerViewPart_label_failure;
 	public static String TestRunnerViewPart_Launching;
 	public static String TestRunnerViewPart_message_finish;
+	public static String TestRunnerViewPart_message_finish_forks;
+	public static String TestRunnerViewPart_message_fork;
 	public static String TestRunnerViewPart_message_started;
 	public static String TestRunnerViewPart_message_stopped;
 	public static String TestRunnerViewPart_message_terminated;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -151,6 +151,7 @@ import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 import org.eclipse.jdt.internal.junit.model.TestCaseElement;
 import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRunFork;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
 
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
@@ -756,8 +757,19 @@ public class TestRunnerViewPart extends ViewPart {
 
 			fTestViewer.registerAutoScrollTarget(null);
 
-			String[] keys= {elapsedTimeAsString(elapsedTime)};
-			String msg= Messages.format(JUnitMessages.TestRunnerViewPart_message_finish, keys);
+			String msg;
+			TestRunFork[] forks= fTestRunSession.getForks();
+			if (forks.length > 0) {
+				String[] forkTimes= new String[forks.length];
+				for (int i= 0; i < forks.length; i++) {
+					forkTimes[i]= Messages.format(JUnitMessages.TestRunnerViewPart_message_fork, new String[] { String.valueOf(forks[i].getIndex()), elapsedTimeAsString(forks[i].getElapsedTime()) });
+				}
+				String[] keys= {elapsedTimeAsString(elapsedTime), String.join(", ", forkTimes)}; //$NON-NLS-1$
+				msg= Messages.format(JUnitMessages.TestRunnerViewPart_message_finish_forks, keys);
+			} else {
+				String[] keys= {elapsedTimeAsString(elapsedTime)};
+				msg= Messages.format(JUnitMessages.TestRunnerViewPart_message_finish, keys);
+			}
 			registerInfoMessage(msg);
 
 			postSyncRunnable(() -> {
@@ -850,6 +862,19 @@ public class TestRunnerViewPart extends ViewPart {
 			fTestViewer.registerViewerUpdate(testCaseElement);
 		}
 
+		@Override
+		public void testsStartedAndEnded(TestCaseElement[] testCaseElements, boolean[] started) {
+			TestCaseElement lastStarted= null;
+			for (int i= 0; i < testCaseElements.length; i++) {
+				fTestViewer.registerViewerUpdate(testCaseElements[i]);
+				if (started[i])
+					lastStarted= testCaseElements[i];
+			}
+			// only the last started test of the batch is visible to the user
+			if (lastStarted != null)
+				testStarted(lastStarted);
+		}
+
 		@Override
 		public void testReran(TestCaseElement testCaseElement, TestElement.Status status, String trace, String expectedResult, String actualResult) {
 			fTestViewer.registerViewerUpdate(testCaseElement); //TODO: autoExpand?
@@ -1389,7 +1414,10 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		updateNextPreviousActions();
 
-		fTestViewer.processChangesInUI();
+		if (fTestViewer.processChangesInUI() && fUpdateJob == null) {
+			// no update job anymore: process remaining changes without blocking the UI
+			getDisplay().asyncExec(this::processChangesInUI);
+		}
 	}
 
 	private void updateNextPreviousActions() {
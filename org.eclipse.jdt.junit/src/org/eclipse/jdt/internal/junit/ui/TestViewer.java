@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,11 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -87,6 +89,13 @@ import org.eclipse.jdt.internal.ui.viewsupport.SelectionProviderMediator;
 
 
 public class TestViewer {
+	/**
+	 * Maximum number of added and changed elements that are processed by one call to
+	 * {@link #processChangesInUI()}. Remaining changes are processed by the next call, so that runs
+	 * with many tests don't block the UI thread.
+	 */
+	private static final int MAX_CHANGES_PER_REFRESH= 2000;
+
 	private final class TestSelectionListener implements ISelectionChangedListener {
 		@Override
 		public void selectionChanged(SelectionChangedEvent event) {
@@ -219,7 +228,8 @@ public class TestViewer {
 
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
-	private HashSet<TestElement> fNeedUpdate;
+	private LinkedHashSet<TestElement> fNeedAdd;
+	private LinkedHashSet<TestElement> fNeedUpdate;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -250,7 +260,7 @@ public class TestViewer {
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
 		fTableContentProvider= new TestSessionTableContentProvider();
 		fTableViewer.setContentProvider(fTableContentProvider);
@@ -679,8 +689,11 @@ public class TestViewer {
 
 	/**
 	 * To be called periodically by the TestRunnerViewPart (in the UI thread).
+	 *
+	 * @return <code>true</code> iff not all changes could be processed and this method should be
+	 *         called again
 	 */
-	public void processChangesInUI() {
+	public boolean processChangesInUI() {
 		TestRoot testRoot;
 		if (fTestRunSession == null) {
 			registerViewersRefresh();
@@ -688,7 +701,7 @@ public class TestViewer {
 			fTableNeedsRefresh= false;
 			fTreeViewer.setInput(null);
 			fTableViewer.setInput(null);
-			return;
+			return false;
 		}
 
 		testRoot= fTestRunSession.getTestRoot();
@@ -700,19 +713,19 @@ public class TestViewer {
 			viewer.setInput(testRoot);
 
 		} else {
-			Object[] toUpdate;
-			synchronized (this) {
-				toUpdate= fNeedUpdate.toArray();
-				fNeedUpdate.clear();
-			}
+			TestElement[] toAdd= takeChanges(fNeedAdd, MAX_CHANGES_PER_REFRESH);
+			TestElement[] toUpdate= takeChanges(fNeedUpdate, MAX_CHANGES_PER_REFRESH - toAdd.length);
+			if (! fTreeNeedsRefresh && toAdd.length > 0)
+				addElementsToTree(toAdd);
+
 			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
 				if (fTreeHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
+					for (TestElement element : toUpdate)
+						updateElementInTree(element);
 				else {
 					HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
+					for (TestElement element : toUpdate) {
+						TestElement parent= element.getParent();
 						while (parent != null) {
 							toUpdateWithParents.add(parent);
 							parent= parent.getParent();
@@ -723,13 +736,46 @@ public class TestViewer {
 			}
 			if (! fTableNeedsRefresh && toUpdate.length > 0) {
 				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
+					for (TestElement element : toUpdate)
+						updateElementInTable(element);
 				else
 					fTableViewer.update(toUpdate, null);
 			}
 		}
 		autoScrollInUI();
+		return hasPendingChanges();
+	}
+
+	private synchronized TestElement[] takeChanges(LinkedHashSet<TestElement> changes, int max) {
+		TestElement[] taken= new TestElement[Math.min(changes.size(), max)];
+		Iterator<TestElement> iter= changes.iterator();
+		for (int i= 0; i < taken.length; i++) {
+			taken[i]= iter.next();
+			iter.remove();
+		}
+		return taken;
+	}
+
+	private synchronized boolean hasPendingChanges() {
+		return ! fNeedAdd.isEmpty() || ! fNeedUpdate.isEmpty();
+	}
+
+	private void addElementsToTree(TestElement[] toAdd) {
+		// elements are added in tree order, so siblings are usually consecutive
+		ArrayList<TestElement> siblings= new ArrayList<>();
+		TestSuiteElement parent= null;
+		for (TestElement element : toAdd) {
+			if (element.getParent() != parent) {
+				if (! siblings.isEmpty())
+					fTreeViewer.add(parent, siblings.toArray());
+				siblings.clear();
+				parent= element.getParent();
+			}
+			if (fTreeViewer.testFindItem(element) == null) // may have been shown by updateElementInTree(..)
+				siblings.add(element);
+		}
+		if (! siblings.isEmpty())
+			fTreeViewer.add(parent, siblings.toArray());
 	}
 
 	private void updateElementInTree(final TestElement testElement) {
@@ -930,6 +976,9 @@ public class TestViewer {
 	}
 
 	private void clearUpdateAndExpansion() {
+		if (fNeedAdd != null && ! fNeedAdd.isEmpty())
+			fTreeNeedsRefresh= true; // don't lose additions if only the flat list gets refreshed
+		fNeedAdd= new LinkedHashSet<>();
 		fNeedUpdate= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
@@ -939,8 +988,8 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
+		fNeedAdd.add(testElement);
+		// the flat list is virtual, so refreshing it doesn't create items for all tests:
 		fTableNeedsRefresh= true;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 import org.eclipse.core.runtime.CoreException;
@@ -143,6 +144,10 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 
 	private Button fKeepRunning;
 
+	private Spinner fForkCount;
+
+	private Button fOrderByHistory;
+
 	// Test class UI widgets
 	private Text fTestText;
 
@@ -213,6 +218,10 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		createSpacer(comp);
 
 		createKeepAliveGroup(comp);
+		createSpacer(comp);
+
+		createForkGroup(comp);
+		createOrderByHistoryGroup(comp);
 		Dialog.applyDialogFont(comp);
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getControl(), IJUnitHelpContextIds.LAUNCH_CONFIGURATION_DIALOG_JUNIT_MAIN_TAB);
 		validatePage();
@@ -463,6 +472,37 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setLayoutData(gd);
 	}
 
+	private void createForkGroup(Composite comp) {
+		GridData gd;
+		Label label= new Label(comp, SWT.NONE);
+		label.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_forkcount);
+		gd= new GridData();
+		gd.horizontalSpan= 1;
+		label.setLayoutData(gd);
+
+		fForkCount= new Spinner(comp, SWT.BORDER);
+		fForkCount.setValues(1, 1, 64, 0, 1, 4);
+		fForkCount.addModifyListener(evt -> updateLaunchConfigurationDialog());
+		gd= new GridData();
+		gd.horizontalSpan= 2;
+		fForkCount.setLayoutData(gd);
+	}
+
+	private void createOrderByHistoryGroup(Composite comp) {
+		fOrderByHistory= new Button(comp, SWT.CHECK);
+		fOrderByHistory.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+		});
+		fOrderByHistory.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_orderbyhistory);
+		GridData gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 3;
+		fOrderByHistory.setLayoutData(gd);
+	}
+
 	private static Image createImage(String path) {
 		return JUnitPlugin.getImageDescriptor(path).createImage();
 	}
@@ -485,6 +525,8 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 				updateTestTypeFromConfig(config);
 			}
 			updateKeepRunning(config);
+			updateForkCount(config);
+			updateOrderByHistory(config);
 			updateTestLoaderFromConfig(config);
 
 			calculateMethodsCache();
@@ -522,6 +564,24 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setSelection(running);
 	}
 
+	private void updateForkCount(ILaunchConfiguration config) {
+		int forkCount= 1;
+		try {
+			forkCount= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_FORK_COUNT, 1);
+		} catch (CoreException ce) {
+		}
+		fForkCount.setSelection(forkCount);
+	}
+
+	private void updateOrderByHistory(ILaunchConfiguration config) {
+		boolean orderByHistory= false;
+		try {
+			orderByHistory= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_ORDER_BY_HISTORY, false);
+		} catch (CoreException ce) {
+		}
+		fOrderByHistory.setSelection(orderByHistory);
+	}
+
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
 		String projectName= ""; //$NON-NLS-1$
 		try {
@@ -592,6 +652,10 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		// don't add the attribute to configurations that run in a single VM
+		int forkCount= fForkCount.getSelection();
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_FORK_COUNT, forkCount > 1 ? Integer.valueOf(forkCount) : null);
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_ORDER_BY_HISTORY, fOrderByHistory.getSelection() ? Boolean.TRUE : null);
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
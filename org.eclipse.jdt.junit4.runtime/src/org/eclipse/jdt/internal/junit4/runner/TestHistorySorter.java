@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit4.runner;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
+
+/**
+ * Comparator for descriptions to run tests that failed in the {@link TestHistory} first, and the
+ * remaining tests fastest first. A description with children failed if one of its children
+ * failed, and takes the time of all its children.
+ */
+public class TestHistorySorter implements Comparator<Description> {
+
+	private final TestHistory fHistory;
+
+	private final Map<Description, Boolean> fFailed= new HashMap<>();
+	private final Map<Description, Double> fDurations= new HashMap<>();
+
+	public TestHistorySorter(TestHistory history) {
+		fHistory= history;
+	}
+
+	@Override
+	public int compare(Description d1, Description d2) {
+		return TestHistory.compare(hasFailed(d1), getDuration(d1), hasFailed(d2), getDuration(d2));
+	}
+
+	private boolean hasFailed(Description d) {
+		Boolean failed= fFailed.get(d);
+		if (failed == null) {
+			boolean hasFailed= fHistory.hasFailed(d.getDisplayName());
+			for (Description child : d.getChildren()) {
+				hasFailed|= hasFailed(child);
+			}
+			failed= Boolean.valueOf(hasFailed);
+			fFailed.put(d, failed);
+		}
+		return failed.booleanValue();
+	}
+
+	private double getDuration(Description d) {
+		Double duration= fDurations.get(d);
+		if (duration == null) {
+			double time= d.isTest() ? fHistory.getDuration(d.getDisplayName()) : Double.NaN;
+			for (Description child : d.getChildren()) {
+				double childTime= getDuration(child);
+				if (!Double.isNaN(childTime))
+					time= Double.isNaN(time) ? childTime : time + childTime;
+			}
+			duration= Double.valueOf(time);
+			fDurations.put(d, duration);
+		}
+		return duration.doubleValue();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,8 @@ public class JUnit5TestLoader implements ITestLoader {
 
 	public final static String FAILURE_NAMES= "org.eclipse.jdt.junit5.runtime.failureNames"; //$NON-NLS-1$
 
+	public final static String TEST_HISTORY= "org.eclipse.jdt.junit5.runtime.testHistory"; //$NON-NLS-1$
+
 	private Launcher fLauncher= LauncherFactory.create();
 
 	private RemoteTestRunner fRemoteTestRunner;
@@ -83,6 +85,9 @@ public class JUnit5TestLoader implements ITestLoader {
 			}
 			requestBuilder.configurationParameter(FAILURE_NAMES, failureNamesString);
 			requestBuilder.configurationParameter("junit.jupiter.testmethod.order.default", FailuresFirstMethodOrderer.class.getName()); //$NON-NLS-1$
+		} else if (fRemoteTestRunner.getTestHistory() != null && fRemoteTestRunner.getTestHistory().getFile() != null) {
+			requestBuilder.configurationParameter(TEST_HISTORY, fRemoteTestRunner.getTestHistory().getFile().getAbsolutePath());
+			requestBuilder.configurationParameter("junit.jupiter.testmethod.order.default", TestHistoryMethodOrderer.class.getName()); //$NON-NLS-1$
 		}
 		LauncherDiscoveryRequest request= requestBuilder.build();
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
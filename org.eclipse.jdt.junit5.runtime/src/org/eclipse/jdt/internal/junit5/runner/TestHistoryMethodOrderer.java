@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit5.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
+
+/**
+ * Runs the test methods that failed in the {@link TestHistory} first, and the remaining methods
+ * fastest first. The history file is passed in the {@link JUnit5TestLoader#TEST_HISTORY}
+ * configuration parameter.
+ */
+public class TestHistoryMethodOrderer implements MethodOrderer {
+
+	private static TestHistory fgHistory;
+
+	public TestHistoryMethodOrderer() {
+	}
+
+	@Override
+	public void orderMethods(MethodOrdererContext context) {
+		Optional<String> historyFileParm= context.getConfigurationParameter(JUnit5TestLoader.TEST_HISTORY);
+		TestHistory history= historyFileParm.isPresent() ? getHistory(new File(historyFileParm.get())) : null;
+		if (history != null) {
+			context.getMethodDescriptors().sort((d1, d2) -> history.compareTests(getTestName(d1), getTestName(d2)));
+		}
+	}
+
+	private static synchronized TestHistory getHistory(File file) {
+		if (fgHistory == null || !file.equals(fgHistory.getFile())) {
+			try {
+				fgHistory= TestHistory.read(file);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+		return fgHistory;
+	}
+
+	private static String getTestName(MethodDescriptor d) {
+		// test names are of form METHOD_NAME(CLASS_NAME)
+		return d.getMethod().getName() + "(" + d.getMethod().getDeclaringClass().getName() + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
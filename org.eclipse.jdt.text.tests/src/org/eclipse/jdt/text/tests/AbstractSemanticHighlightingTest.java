@@ -45,6 +45,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingPresenter;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
 
 public class AbstractSemanticHighlightingTest {
@@ -153,6 +154,20 @@ public class AbstractSemanticHighlightingTest {
 		return document.getPositions(positionCategory);
 	}
 
+	protected IDocument getDocument() {
+		return fSourceViewer.getDocument();
+	}
+
+	protected SemanticHighlightingReconciler getSemanticHighlightingReconciler() {
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
+		return (SemanticHighlightingReconciler) new Accessor(manager, manager.getClass()).get("fReconciler");
+	}
+
+	protected void joinReconciler() {
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 1000, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
 	protected void setUpSemanticHighlighting(String semanticHighlighting) {
 		enableSemanticHighlighting(semanticHighlighting);
 		EditorTestHelper.forceReconcile(fSourceViewer);
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+
+/**
+ * Tests that reconciling only the method body affected by a change yields the same positions as
+ * reconciling the whole compilation unit.
+ */
+public class IncrementalSemanticHighlightingTest extends AbstractSemanticHighlightingTest {
+
+	@Rule
+	public SemanticHighlightingTestSetup shts= new SemanticHighlightingTestSetup("/SHTest/src/SHTest.java");
+
+	@Test
+	public void changeInMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		IDocument document= getDocument();
+		document.replace(document.getLineOffset(9) + 2, 0, "int added= local; added++; ");
+		joinReconciler();
+
+		SemanticHighlightingReconciler reconciler= getSemanticHighlightingReconciler();
+		assertTrue(reconciler.isLastReconcileIncremental());
+		assertTrue(reconciler.getLastReconcileDuration() >= 0);
+		Position[] incremental= getSemanticHighlightingPositions();
+
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		assertFalse(reconciler.isLastReconcileIncremental());
+		assertEqualPositions(getSemanticHighlightingPositions(), incremental);
+	}
+
+	@Test
+	public void changeOutsideMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.FIELD);
+		IDocument document= getDocument();
+		document.replace(document.getLineOffset(3) + 10, 0, "2");
+		joinReconciler();
+
+		SemanticHighlightingReconciler reconciler= getSemanticHighlightingReconciler();
+		assertFalse(reconciler.isLastReconcileIncremental());
+		Position[] afterChange= getSemanticHighlightingPositions();
+
+		setUpSemanticHighlighting(SemanticHighlightings.FIELD);
+		assertEqualPositions(getSemanticHighlightingPositions(), afterChange);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,9 @@ import org.junit.platform.suite.api.Suite;
 import org.eclipse.jdt.text.tests.codemining.CodeMiningTriggerTest;
 import org.eclipse.jdt.text.tests.codemining.ParameterNamesCodeMiningTest;
 import org.eclipse.jdt.text.tests.contentassist.ContentAssistTestSuite;
+import org.eclipse.jdt.text.tests.spelling.DefaultSpellCheckerTest;
+import org.eclipse.jdt.text.tests.spelling.JavaSpellingReconcileStrategyTest;
+import org.eclipse.jdt.text.tests.spelling.MappedSpellDictionaryTest;
 import org.eclipse.jdt.text.tests.spelling.SpellCheckEngineTestCase;
 import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 
@@ -51,9 +54,13 @@ import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 	MarkOccurrenceTest1d8.class,
 	BracketInserterTest.class,
 	SpellCheckEngineTestCase.class,
+	MappedSpellDictionaryTest.class,
+	JavaSpellingReconcileStrategyTest.class,
+	DefaultSpellCheckerTest.class,
 	SemanticHighlightingTest.class,
 	AutoboxingSemanticHighlightingTest.class,
 	Java23SemanticHighlightingTest.class,
+	IncrementalSemanticHighlightingTest.class,
 	NewForLoopJavaContextTest.class,
 	IteratorForLoopJavaContextTest.class,
 	ArrayWithTempVarForLoopJavaContextTest.class,
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultSpellChecker;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellCheckIterator;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+public class DefaultSpellCheckerTest {
+
+	/**
+	 * More words than DefaultSpellChecker.PARALLEL_THRESHOLD and BATCH_SIZE.
+	 */
+	private static final int WORD_COUNT= 10000;
+
+	private static class TestDictionary implements ISpellDictionary {
+
+		private final Set<String> fWords= Collections.synchronizedSet(new HashSet<>());
+		private int fProposalRequests;
+
+		@Override
+		public boolean acceptsWords() {
+			return true;
+		}
+
+		@Override
+		public void addWord(String word) {
+			fWords.add(word);
+		}
+
+		@Override
+		public synchronized Set<RankedWordProposal> getProposals(String word, boolean sentence) {
+			fProposalRequests++;
+			Set<RankedWordProposal> proposals= new HashSet<>();
+			proposals.add(new RankedWordProposal("proposal", 1));
+			return proposals;
+		}
+
+		@Override
+		public boolean isCorrect(String word) {
+			return fWords.contains(word);
+		}
+
+		@Override
+		public boolean isLoaded() {
+			return true;
+		}
+
+		@Override
+		public void unload() {
+		}
+
+		@Override
+		public void setStripNonLetters(boolean state) {
+		}
+
+		public synchronized int getProposalRequests() {
+			return fProposalRequests;
+		}
+	}
+
+	private static class WordIterator implements ISpellCheckIterator {
+
+		private final List<String> fWords;
+		private int fIndex= -1;
+
+		public WordIterator(List<String> words) {
+			fWords= words;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return fIndex + 1 < fWords.size();
+		}
+
+		@Override
+		public String next() {
+			return fWords.get(++fIndex);
+		}
+
+		@Override
+		public int getBegin() {
+			return fIndex * 10;
+		}
+
+		@Override
+		public int getEnd() {
+			return fIndex * 10 + fWords.get(fIndex).length() - 1;
+		}
+
+		@Override
+		public boolean startsSentence() {
+			return false;
+		}
+
+		@Override
+		public void setIgnoreSingleLetters(boolean state) {
+		}
+	}
+
+	private final IPreferenceStore fPreferences= PreferenceConstants.getPreferenceStore();
+	private TestDictionary fDictionary;
+	private DefaultSpellChecker fChecker;
+
+	@Before
+	public void setUp() {
+		fDictionary= new TestDictionary();
+		fDictionary.addWord("correct");
+		fChecker= new DefaultSpellChecker(fPreferences, Locale.US);
+		fChecker.addDictionary(fDictionary);
+	}
+
+	@After
+	public void tearDown() {
+		fPreferences.setToDefault(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+	}
+
+	/**
+	 * Returns words of which every seventh is misspelled.
+	 *
+	 * @param expectedBegins receives the begins of the misspelled words
+	 * @return the words
+	 */
+	private static List<String> createWords(List<Integer> expectedBegins) {
+		List<String> words= new ArrayList<>(WORD_COUNT);
+		for (int i= 0; i < WORD_COUNT; i++) {
+			if (i % 7 == 3) {
+				words.add("wrong");
+				expectedBegins.add(Integer.valueOf(i * 10));
+			} else {
+				words.add("correct");
+			}
+		}
+		return words;
+	}
+
+	private List<Integer> check(List<String> words) {
+		List<Integer> begins= new ArrayList<>();
+		fChecker.execute(event -> begins.add(Integer.valueOf(event.getBegin())), new WordIterator(words));
+		return begins;
+	}
+
+	@Test
+	public void problemsAreReportedInOrder() {
+		fPreferences.setValue(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD, WORD_COUNT);
+		List<Integer> expected= new ArrayList<>();
+		List<String> words= createWords(expected);
+
+		assertEquals(expected, check(words));
+	}
+
+	@Test
+	public void problemsThresholdIsRespected() {
+		int threshold= 500;
+		fPreferences.setValue(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD, threshold);
+		List<Integer> expected= new ArrayList<>();
+		List<String> words= createWords(expected);
+
+		// the problem exceeding the threshold is reported as well
+		assertEquals(expected.subList(0, threshold + 1), check(words));
+	}
+
+	@Test
+	public void changedWordsDropCachedProposals() {
+		fChecker.getProposals("wrong", false);
+		fChecker.getProposals("wrong", false);
+		assertEquals(1, fDictionary.getProposalRequests());
+
+		fChecker.addWord("added");
+		fChecker.getProposals("wrong", false);
+		assertEquals(2, fDictionary.getProposalRequests());
+
+		TestDictionary other= new TestDictionary();
+		fChecker.addDictionary(other);
+		fChecker.getProposals("wrong", false);
+		assertEquals(3, fDictionary.getProposalRequests());
+		assertEquals(1, other.getProposalRequests());
+	}
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+import org.eclipse.ui.editors.text.EditorsUI;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.compiler.IProblem;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.spelling.JavaSpellingReconcileStrategy;
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+
+/**
+ * Tests that the spelling reconcile strategy only checks the changed partitions again and
+ * carries over the problems of the other partitions.
+ */
+public class JavaSpellingReconcileStrategyTest {
+
+	private static final String FIRST= "qwertzuiop";
+	private static final String SECOND= "asdfghjkl";
+	private static final String THIRD= "yxcvbnmq";
+
+	private static class ProblemCollector extends AnnotationModel implements IProblemRequestor {
+
+		private final List<IProblem> fProblems= new ArrayList<>();
+
+		@Override
+		public void acceptProblem(IProblem problem) {
+			fProblems.add(problem);
+		}
+
+		@Override
+		public void beginReporting() {
+			fProblems.clear();
+		}
+
+		@Override
+		public void endReporting() {
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+	}
+
+	private static class TestSpellingReconcileStrategy extends JavaSpellingReconcileStrategy {
+
+		private final ProblemCollector fCollector= new ProblemCollector();
+
+		public TestSpellingReconcileStrategy(ISourceViewer viewer, ITextEditor editor) {
+			super(viewer, editor);
+		}
+
+		@Override
+		protected IAnnotationModel getAnnotationModel() {
+			return fCollector;
+		}
+	}
+
+	private IJavaProject fJProject;
+	private IDocument fDocument;
+	private TestSpellingReconcileStrategy fStrategy;
+	private ISpellChecker fChecker;
+
+	@Before
+	public void setUp() throws Exception {
+		EditorsUI.getPreferenceStore().setValue(SpellingService.PREFERENCE_SPELLING_ENABLED, true);
+		PreferenceConstants.getPreferenceStore().setValue(PreferenceConstants.SPELLING_LOCALE, Locale.US.toString());
+
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar18(fJProject);
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		IPackageFragment pack= sourceFolder.createPackageFragment("test", false, null);
+		String contents= """
+			package test;
+			public class E {
+			    // qwertzuiop
+			    int a;
+			    // asdfghjkl
+			    int b;
+			}
+			""";
+		ICompilationUnit cu= pack.createCompilationUnit("E.java", contents, false, null);
+
+		JavaEditor editor= (JavaEditor) JavaUI.openInEditor(cu);
+		fDocument= editor.getDocumentProvider().getDocument(editor.getEditorInput());
+		fStrategy= new TestSpellingReconcileStrategy(editor.getViewer(), editor);
+		fStrategy.setProgressMonitor(new NullProgressMonitor());
+		fStrategy.setDocument(fDocument);
+
+		fChecker= SpellCheckEngine.getInstance().getSpellChecker();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fChecker.checkWord(FIRST);
+		fChecker.checkWord(SECOND);
+		fStrategy.setDocument(null);
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fJProject);
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		store.setToDefault(PreferenceConstants.SPELLING_LOCALE);
+		EditorsUI.getPreferenceStore().setToDefault(SpellingService.PREFERENCE_SPELLING_ENABLED);
+	}
+
+	private List<String> reconcile() throws BadLocationException {
+		fStrategy.reconcile(new Region(0, fDocument.getLength()));
+		List<String> words= new ArrayList<>();
+		for (IProblem problem : fStrategy.fCollector.fProblems) {
+			words.add(fDocument.get(problem.getSourceStart(), problem.getSourceEnd() - problem.getSourceStart() + 1));
+		}
+		return words;
+	}
+
+	@Test
+	public void onlyChangedPartitionsAreChecked() throws Exception {
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+
+		// the first comment is not checked again, so its problem is carried over
+		fChecker.ignoreWord(FIRST);
+		int offset= fDocument.get().indexOf(SECOND) + SECOND.length();
+		fDocument.replace(offset, 0, " " + THIRD);
+		assertEquals(Arrays.asList(FIRST, SECOND, THIRD), reconcile());
+
+		fDocument.replace(offset, THIRD.length() + 1, "");
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+	}
+
+	@Test
+	public void carriedProblemsFollowChanges() throws Exception {
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+
+		fChecker.ignoreWord(FIRST);
+		fChecker.ignoreWord(SECOND);
+		fDocument.replace(fDocument.get().indexOf('{') + 1, 0, " int c;");
+		fDocument.replace(fDocument.get().indexOf("int b;"), 0, "int d; ");
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+	}
+
+	@Test
+	public void changedWordsCheckWholeDocument() throws Exception {
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+
+		fChecker.ignoreWord(FIRST);
+		assertEquals(Arrays.asList(FIRST, SECOND), reconcile());
+
+		SpellCheckEngine.wordsChanged();
+		assertEquals(Arrays.asList(SECOND), reconcile());
+	}
+}
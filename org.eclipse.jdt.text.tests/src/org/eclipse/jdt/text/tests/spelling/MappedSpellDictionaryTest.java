@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.AbstractSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.MappedSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+public class MappedSpellDictionaryTest {
+
+	private static final String WORDS= "truck\ntrack\ntrick\nlorry\nglobal\nglobe\n";
+
+	private class TestMappedDictionary extends MappedSpellDictionary {
+
+		@Override
+		protected URL getURL() throws MalformedURLException {
+			return fWordList.toURI().toURL();
+		}
+
+		@Override
+		protected File getIndexFile(URL url) {
+			return fIndexFile;
+		}
+
+		@Override
+		protected String getEncoding() {
+			return "UTF-8";
+		}
+	}
+
+	private class TestAppendableDictionary extends TestMappedDictionary {
+
+		@Override
+		protected boolean isAppendable() {
+			return true;
+		}
+	}
+
+	private class TestHashedDictionary extends AbstractSpellDictionary {
+
+		@Override
+		protected URL getURL() throws MalformedURLException {
+			return fWordList.toURI().toURL();
+		}
+
+		@Override
+		protected String getEncoding() {
+			return "UTF-8";
+		}
+	}
+
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
+	private File fWordList;
+	private File fIndexFile;
+
+	private final TestMappedDictionary fDictionary= new TestMappedDictionary();
+
+	@Before
+	public void setUp() throws IOException {
+		fWordList= fFolder.newFile("en_US.dictionary");
+		fIndexFile= new File(fFolder.getRoot(), "index/en_US.dictionary.index");
+		Files.writeString(fWordList.toPath(), WORDS, StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void tearDown() {
+		fDictionary.unload();
+	}
+
+	@Test
+	public void testIsCorrect() {
+		assertTrue(fDictionary.isCorrect("truck"));
+		assertTrue(fDictionary.isCorrect("Global"));
+		assertFalse(fDictionary.isCorrect("trunk"));
+		assertFalse(fDictionary.isCorrect("lastwagen"));
+
+		assertTrue(fDictionary.isMapped());
+		assertTrue(fIndexFile.isFile());
+	}
+
+	@Test
+	public void testSameProposalsAsHashed() {
+		TestHashedDictionary hashed= new TestHashedDictionary();
+		for (String word : new String[] { "truk", "trakc", "lory", "globl", "glob", "xyz" }) {
+			Set<RankedWordProposal> expected= hashed.getProposals(word, false);
+			Set<RankedWordProposal> actual= fDictionary.getProposals(word, false);
+			assertEquals(word, expected, actual);
+		}
+		assertTrue(fDictionary.isMapped());
+	}
+
+	@Test
+	public void testReuseIndex() {
+		assertTrue(fDictionary.isCorrect("lorry"));
+		long lastModified= fIndexFile.lastModified();
+		fDictionary.unload();
+
+		assertTrue(fDictionary.isCorrect("lorry"));
+		assertTrue(fDictionary.isMapped());
+		assertEquals(lastModified, fIndexFile.lastModified());
+	}
+
+	@Test
+	public void testRecompileChangedWordList() throws IOException {
+		assertFalse(fDictionary.isCorrect("lastwagen"));
+		fDictionary.unload();
+
+		Files.writeString(fWordList.toPath(), WORDS + "lastwagen\n", StandardCharsets.UTF_8);
+		assertTrue(fDictionary.isCorrect("lastwagen"));
+		assertTrue(fDictionary.isCorrect("truck"));
+		assertTrue(fDictionary.isMapped());
+	}
+
+	@Test
+	public void testAppendedWords() throws IOException {
+		TestAppendableDictionary dictionary= new TestAppendableDictionary();
+		assertTrue(dictionary.isCorrect("truck"));
+		assertFalse(dictionary.isCorrect("lastwagen"));
+		dictionary.unload();
+		long lastModified= fIndexFile.lastModified();
+
+		Files.writeString(fWordList.toPath(), WORDS + "lastwagen\n", StandardCharsets.UTF_8);
+		assertTrue(dictionary.isCorrect("lastwagen"));
+		assertTrue(dictionary.isCorrect("truck"));
+		assertTrue(dictionary.isMapped());
+		assertEquals(lastModified, fIndexFile.lastModified());
+		dictionary.unload();
+
+		Files.writeString(fWordList.toPath(), "lastwagen\n", StandardCharsets.UTF_8);
+		assertTrue(dictionary.isCorrect("lastwagen"));
+		assertFalse(dictionary.isCorrect("truck"));
+		dictionary.unload();
+	}
+
+	@Test
+	public void testFallBackToHashBuckets() throws IOException {
+		// a file where the index folder should be prevents writing the index
+		Files.writeString(fIndexFile.getParentFile().toPath(), "", StandardCharsets.UTF_8);
+
+		assertTrue(fDictionary.isCorrect("truck"));
+		assertFalse(fDictionary.isCorrect("trunk"));
+		assertFalse(fDictionary.isMapped());
+	}
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks.cleanup;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the clean up benchmarks inside the running workbench and reports the throughput of every
+ * clean up together with its allocation rate (<code>gc.alloc.rate.norm</code>).
+ * <p>
+ * The benchmarks need the Java model and the clean up registry, they are therefore run without
+ * forking. The run can be configured with the following system properties:
+ * </p>
+ * <ul>
+ * <li><code>jmh.include</code>: regular expression selecting the benchmarks to run</li>
+ * <li><code>jmh.cleanUps</code>: comma separated simple class names of the clean ups to measure,
+ * all registered clean ups by default</li>
+ * <li><code>jmh.corpusSize</code>: number of compilation units in the corpus</li>
+ * <li><code>jmh.warmupIterations</code>, <code>jmh.measurementIterations</code></li>
+ * <li><code>jmh.resultFile</code>: file to write the JSON results to</li>
+ * </ul>
+ */
+public class CleanUpBenchmarks {
+
+	@Test
+	public void runBenchmarks() throws RunnerException {
+		String cleanUps= System.getProperty("jmh.cleanUps");
+		String[] names= cleanUps != null ? cleanUps.split(",") : CleanUpCorpus.getCleanUpNames();
+
+		ChainedOptionsBuilder builder= new OptionsBuilder()
+				.include(System.getProperty("jmh.include", CleanUpBenchmarks.class.getPackageName() + ".*Benchmark"))
+				.param("cleanUp", names)
+				.forks(0)
+				.warmupIterations(Integer.getInteger("jmh.warmupIterations", 3).intValue())
+				.measurementIterations(Integer.getInteger("jmh.measurementIterations", 5).intValue())
+				.addProfiler(GCProfiler.class);
+
+		String resultFile= System.getProperty("jmh.resultFile");
+		if (resultFile != null)
+			builder.resultFormat(ResultFormatType.JSON).result(resultFile);
+
+		Collection<RunResult> results= new Runner(builder.build()).run();
+		assertFalse("No benchmark has been run", results.isEmpty());
+	}
+}
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks.cleanup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
+
+/**
+ * A fixed synthetic corpus of compilation units for the clean up benchmarks.
+ * <p>
+ * The corpus is generated deterministically into a Java project of the workspace. Every
+ * compilation unit contains code which can be changed by many of the registered clean ups. The
+ * number of compilation units can be configured with the system property
+ * <code>jmh.corpusSize</code>.
+ * </p>
+ */
+public final class CleanUpCorpus {
+
+	private static final String PROJECT_NAME= "CleanUpBenchmarkCorpus";
+
+	private static final int DEFAULT_SIZE= Integer.getInteger("jmh.corpusSize", 50);
+
+	private static final int UNITS_PER_PACKAGE= 10;
+
+	private static final String TEMPLATE= """
+			package %1$s;
+
+			import java.io.Serializable;
+			import java.util.ArrayList;
+			import java.util.Iterator;
+			import java.util.LinkedList;
+			import java.util.List;
+			import java.util.Map;
+
+			public class %2$s implements Serializable, Comparable<%2$s> {
+			    private int count= %3$d;
+			    private final String name;
+			    private List list= new ArrayList();
+			    private Map<String, Integer> values;
+
+			    public %2$s(String name) {
+			        this.name= name;
+			    }
+
+			    public int compareTo(%2$s other) {
+			        if (other == null) {
+			            return 1;
+			        } else {
+			            return new Integer(this.count).compareTo(new Integer(other.count));
+			        }
+			    }
+
+			    public String toString() {
+			        String result= "";
+			        for (int i= 0; i < list.size(); i++) {
+			            result= result + (String) list.get(i) + ", ";
+			        }
+			        return new String(result) + this.name;
+			    }
+
+			    public boolean hasName(String other) {
+			        if (name.equals("") == true) {
+			            return false;
+			        }
+			        return other.equals(name) ? true : false;
+			    }
+
+			    public int sum(int[] numbers) {
+			        int sum= 0;
+			        for (int i= 0; i < numbers.length; i++) {
+			            int number= numbers[i];
+			            sum= sum + number;
+			        }
+			        return sum;
+			    }
+
+			    public Integer lookup(String key) {
+			        Integer value= null;
+			        if (values.containsKey(key)) {
+			            value= values.get(key);
+			        }
+			        final Long unused= Long.valueOf(%3$d);
+			        return value;
+			    }
+
+			    public void copy(List<String> source) {
+			        Iterator<String> iter= source.iterator();
+			        while (iter.hasNext()) {
+			            String element= iter.next();
+			            if (element != null && element instanceof String) {
+			                list.add(element);
+			            }
+			        }
+			        ;
+			    }
+
+			    public Runnable task() {
+			        return new Runnable() {
+			            public void run() {
+			                StringBuffer buffer= new StringBuffer();
+			                buffer.append("task").append(%3$d);
+			                System.out.println(buffer.toString());
+			                return;
+			            }
+			        };
+			    }
+
+			    public static boolean isEmpty(String text) {
+			        return text == null || text.trim().length() == 0;
+			    }
+
+			    public double parse(String text) {
+			        double result= Double.valueOf(text).doubleValue();
+			        List<String> parts= new LinkedList<String>();
+			        parts.add(text.substring(0, text.length()));
+			        return result;
+			    }
+			}
+			""";
+
+	private CleanUpCorpus() {
+	}
+
+	/**
+	 * Returns the configured number of compilation units of the corpus.
+	 *
+	 * @return the number of compilation units
+	 */
+	public static int getSize() {
+		return DEFAULT_SIZE;
+	}
+
+	/**
+	 * Creates the corpus project, replacing an existing corpus project.
+	 *
+	 * @param size the number of compilation units
+	 * @return the corpus project
+	 * @throws CoreException if the project cannot be created
+	 */
+	public static IJavaProject create(int size) throws CoreException {
+		IProject project= ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		if (project.exists())
+			project.delete(true, true, null);
+
+		project.create(null);
+		project.open(null);
+
+		IProjectDescription description= project.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(description, null);
+
+		IFolder src= project.getFolder("src");
+		src.create(true, true, null);
+		IFolder bin= project.getFolder("bin");
+		bin.create(true, true, null);
+
+		IJavaProject javaProject= JavaCore.create(project);
+		IClasspathEntry[] classpath= new IClasspathEntry[] {
+				JavaCore.newSourceEntry(src.getFullPath()),
+				JavaRuntime.getDefaultJREContainerEntry()
+		};
+		javaProject.setRawClasspath(classpath, bin.getFullPath(), null);
+
+		Map<String, String> options= javaProject.getOptions(false);
+		JavaCore.setComplianceOptions(JavaCore.VERSION_17, options);
+		javaProject.setOptions(options);
+
+		IPackageFragmentRoot root= javaProject.getPackageFragmentRoot(src);
+		IPackageFragment pack= null;
+		for (int i= 0; i < size; i++) {
+			if (i % UNITS_PER_PACKAGE == 0)
+				pack= root.createPackageFragment("corpus.p" + (i / UNITS_PER_PACKAGE), true, null);
+
+			String typeName= "Unit" + i;
+			String source= TEMPLATE.formatted(pack.getElementName(), typeName, Integer.valueOf(i));
+			pack.createCompilationUnit(typeName + ".java", source, true, null);
+		}
+		return javaProject;
+	}
+
+	/**
+	 * Deletes the corpus project.
+	 *
+	 * @param project the corpus project
+	 * @throws CoreException if the project cannot be deleted
+	 */
+	public static void delete(IJavaProject project) throws CoreException {
+		if (project != null && project.exists())
+			project.getProject().delete(true, true, null);
+	}
+
+	public static ICompilationUnit[] getCompilationUnits(IJavaProject project) throws CoreException {
+		List<ICompilationUnit> result= new ArrayList<>();
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE)
+				continue;
+
+			for (IJavaElement element : root.getChildren()) {
+				result.addAll(List.of(((IPackageFragment) element).getCompilationUnits()));
+			}
+		}
+		return result.toArray(new ICompilationUnit[result.size()]);
+	}
+
+	/**
+	 * Creates an AST of the given compilation unit the same way the clean up refactoring does.
+	 *
+	 * @param unit the compilation unit
+	 * @param cleanUpOptions the compiler options required by the clean up, can be
+	 *            <code>null</code>
+	 * @return the AST with resolved bindings
+	 */
+	public static CompilationUnit parse(ICompilationUnit unit, Map<String, String> cleanUpOptions) {
+		ASTParser parser= CleanUpRefactoring.createCleanUpASTParser();
+		parser.setSource(unit);
+
+		Map<String, String> options= unit.getJavaProject().getOptions(true);
+		if (cleanUpOptions != null)
+			options.putAll(cleanUpOptions);
+		parser.setCompilerOptions(options);
+
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	/**
+	 * Creates all registered clean ups with all their options enabled.
+	 *
+	 * @return the clean ups
+	 */
+	public static ICleanUp[] createCleanUps() {
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		CleanUpOptions options= createAllEnabledOptions();
+		for (ICleanUp cleanUp : cleanUps) {
+			cleanUp.setOptions(options);
+		}
+		return cleanUps;
+	}
+
+	/**
+	 * Creates the registered clean up with the given simple class name, with all its options
+	 * enabled.
+	 *
+	 * @param name the simple class name of the clean up
+	 * @return the clean up
+	 */
+	public static ICleanUp createCleanUp(String name) {
+		for (ICleanUp cleanUp : createCleanUps()) {
+			if (cleanUp.getClass().getSimpleName().equals(name))
+				return cleanUp;
+		}
+		throw new IllegalArgumentException("No clean up named " + name);
+	}
+
+	/**
+	 * Returns the simple class names of all registered clean ups.
+	 *
+	 * @return the names of the clean ups
+	 */
+	public static String[] getCleanUpNames() {
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		String[] result= new String[cleanUps.length];
+		for (int i= 0; i < cleanUps.length; i++) {
+			result[i]= cleanUps[i].getClass().getSimpleName();
+		}
+		return result;
+	}
+
+	private static CleanUpOptions createAllEnabledOptions() {
+		MapCleanUpOptions options= JavaPlugin.getDefault().getCleanUpRegistry().getDefaultOptions(CleanUpConstants.DEFAULT_CLEAN_UP_OPTIONS);
+		for (String key : options.getKeys()) {
+			if (CleanUpOptions.FALSE.equals(options.getValue(key)))
+				options.setOption(key, CleanUpOptions.TRUE);
+		}
+		return options;
+	}
+}
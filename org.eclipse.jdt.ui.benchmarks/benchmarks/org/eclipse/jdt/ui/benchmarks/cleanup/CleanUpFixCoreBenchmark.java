@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks.cleanup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+
+/**
+ * Measures the fix calculation of a single clean up over the whole corpus. The ASTs are created
+ * once per trial, one operation creates the fix and its change for all compilation units of the
+ * corpus. This isolates the fix cores of the clean ups from parsing and change merging.
+ * <p>
+ * The clean up is selected by its simple class name. {@link CleanUpBenchmarks} runs all
+ * registered clean ups, the default values only cover a few common ones.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CleanUpFixCoreBenchmark {
+
+	@Param({ "CodeStyleCleanUpCore", "UnnecessaryCodeCleanUpCore", "UnusedCodeCleanUpCore", "ConvertLoopCleanUp", "Java50CleanUp", "ImportsCleanUp" })
+	public String cleanUp;
+
+	private IJavaProject fProject;
+	private ICleanUp fCleanUp;
+	private CleanUpContext[] fContexts;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException {
+		fProject= CleanUpCorpus.create(CleanUpCorpus.getSize());
+		ICompilationUnit[] units= CleanUpCorpus.getCompilationUnits(fProject);
+
+		fCleanUp= CleanUpCorpus.createCleanUp(cleanUp);
+		RefactoringStatus status= fCleanUp.checkPreConditions(fProject, units, new NullProgressMonitor());
+		if (status.hasFatalError())
+			throw new IllegalStateException(status.toString());
+
+		CleanUpRequirements requirements= fCleanUp.getRequirements();
+		fContexts= new CleanUpContext[units.length];
+		for (int i= 0; i < units.length; i++) {
+			CompilationUnit ast= requirements.requiresAST() ? CleanUpCorpus.parse(units[i], requirements.getCompilerOptions()) : null;
+			fContexts[i]= new CleanUpContext(units[i], ast);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		fCleanUp.checkPostConditions(new NullProgressMonitor());
+		CleanUpCorpus.delete(fProject);
+		fProject= null;
+		fCleanUp= null;
+		fContexts= null;
+	}
+
+	@Benchmark
+	public void createFix(Blackhole blackhole) throws CoreException {
+		for (CleanUpContext context : fContexts) {
+			ICleanUpFix fix= fCleanUp.createFix(context);
+			if (fix != null)
+				blackhole.consume(fix.createChange(null));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks.cleanup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * Measures a complete run of {@link CleanUpRefactoring} with all registered clean ups over the
+ * whole corpus. One operation calculates the change for all compilation units of the corpus. The
+ * change is not performed, the corpus therefore stays the same for all operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+public class CleanUpRefactoringBenchmark {
+
+	private IJavaProject fProject;
+	private ICompilationUnit[] fUnits;
+	private ICleanUp[] fCleanUps;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException {
+		fProject= CleanUpCorpus.create(CleanUpCorpus.getSize());
+		fUnits= CleanUpCorpus.getCompilationUnits(fProject);
+		fCleanUps= CleanUpCorpus.createCleanUps();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		CleanUpCorpus.delete(fProject);
+		fProject= null;
+		fUnits= null;
+		fCleanUps= null;
+	}
+
+	@Benchmark
+	public void cleanUpCorpus(Blackhole blackhole) throws CoreException {
+		CleanUpRefactoring refactoring= new CleanUpRefactoring();
+		for (ICompilationUnit unit : fUnits) {
+			refactoring.addCompilationUnit(unit);
+		}
+		for (ICleanUp cleanUp : fCleanUps) {
+			refactoring.addCleanUp(cleanUp);
+		}
+
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		RefactoringStatus status= refactoring.checkAllConditions(monitor);
+		if (status.hasFatalError())
+			throw new IllegalStateException(status.toString());
+
+		Change change= refactoring.createChange(monitor);
+		blackhole.consume(change);
+		change.dispose();
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks.cleanup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
+import org.eclipse.jdt.internal.common.VisitorEnum;
+
+/**
+ * Measures the dispatch cost of {@link HelperVisitor} per visited node.
+ * <p>
+ * Every benchmark traverses the ASTs of the corpus with a callback registered for every visitor
+ * kind. The auxiliary counter <code>nodes</code> reports the visited nodes per second:
+ * </p>
+ * <ul>
+ * <li><code>plainVisitor</code>: an {@link ASTVisitor} calling the callbacks directly, the lower
+ * bound of any dispatch</li>
+ * <li><code>mapDispatch</code>: the callbacks looked up with <code>containsKey</code> and
+ * <code>get</code> in maps keyed by {@link VisitorEnum}, as HelperVisitor did before its callbacks
+ * were indexed by node type</li>
+ * <li><code>helperVisitor</code>: the current HelperVisitor</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HelperVisitorBenchmark {
+
+	/**
+	 * Reports the number of visited nodes as additional throughput result.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class NodeCounter {
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes= 0;
+		}
+	}
+
+	/**
+	 * Dispatches like the map based HelperVisitor: every node looks up its visitor kind in two
+	 * maps and calls the registered callback.
+	 */
+	private static final class MapDispatchVisitor extends ASTVisitor {
+		private final Map<VisitorEnum, BiPredicate<? extends ASTNode, Object>> fPredicates= new LinkedHashMap<>();
+		private final Map<VisitorEnum, BiConsumer<? extends ASTNode, Object>> fConsumers= new LinkedHashMap<>();
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			VisitorEnum key= VisitorEnum.fromNode(node);
+			if (fPredicates.containsKey(key))
+				return ((BiPredicate<ASTNode, Object>) fPredicates.get(key)).test(node, null);
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void postVisit(ASTNode node) {
+			VisitorEnum key= VisitorEnum.fromNode(node);
+			if (fConsumers.containsKey(key))
+				((BiConsumer<ASTNode, Object>) fConsumers.get(key)).accept(node, null);
+		}
+	}
+
+	private IJavaProject fProject;
+	private CompilationUnit[] fASTs;
+	private long fNodeCount;
+
+	private long fVisits;
+	private long fEndVisits;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException {
+		fProject= CleanUpCorpus.create(CleanUpCorpus.getSize());
+		ICompilationUnit[] units= CleanUpCorpus.getCompilationUnits(fProject);
+		fASTs= new CompilationUnit[units.length];
+		for (int i= 0; i < units.length; i++) {
+			fASTs[i]= CleanUpCorpus.parse(units[i], null);
+		}
+
+		long[] count= new long[1];
+		ASTVisitor counter= new ASTVisitor() {
+			@Override
+			public void preVisit(ASTNode node) {
+				count[0]++;
+			}
+		};
+		for (CompilationUnit ast : fASTs) {
+			ast.accept(counter);
+		}
+		fNodeCount= count[0];
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		CleanUpCorpus.delete(fProject);
+		fProject= null;
+		fASTs= null;
+	}
+
+	private boolean visit(@SuppressWarnings("unused") ASTNode node, @SuppressWarnings("unused") Object data) {
+		fVisits++;
+		return true;
+	}
+
+	private void endVisit(@SuppressWarnings("unused") ASTNode node, @SuppressWarnings("unused") Object data) {
+		fEndVisits++;
+	}
+
+	@Benchmark
+	public long plainVisitor(NodeCounter counter) {
+		ASTVisitor visitor= new ASTVisitor() {
+			@Override
+			public boolean preVisit2(ASTNode node) {
+				return HelperVisitorBenchmark.this.visit(node, null);
+			}
+
+			@Override
+			public void postVisit(ASTNode node) {
+				endVisit(node, null);
+			}
+		};
+		for (CompilationUnit ast : fASTs) {
+			ast.accept(visitor);
+		}
+		counter.nodes+= fNodeCount;
+		return fVisits + fEndVisits;
+	}
+
+	@Benchmark
+	public long mapDispatch(NodeCounter counter) {
+		MapDispatchVisitor visitor= new MapDispatchVisitor();
+		for (VisitorEnum ve : VisitorEnum.values()) {
+			visitor.fPredicates.put(ve, this::visit);
+			visitor.fConsumers.put(ve, this::endVisit);
+		}
+		for (CompilationUnit ast : fASTs) {
+			ast.accept(visitor);
+		}
+		counter.nodes+= fNodeCount;
+		return fVisits + fEndVisits;
+	}
+
+	@Benchmark
+	public long helperVisitor(NodeCounter counter) {
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> hv= new HelperVisitor<>(null, new ReferenceHolder<>());
+		for (VisitorEnum ve : VisitorEnum.values()) {
+			hv.add(ve, this::visit, this::endVisit);
+		}
+		for (CompilationUnit ast : fASTs) {
+			hv.build(ast);
+		}
+		counter.nodes+= fNodeCount;
+		return fVisits + fEndVisits;
+	}
+}
@@ -13,6 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.common;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -638,6 +643,111 @@ public class VisitorTest {
 		hv.build(result2);
 	}
 
+	/**
+	 * Several HelperVisitors sharing one traversal see the same callbacks as with separate traversals,
+	 * a BiPredicate returning false only skips the subtree for its own HelperVisitor.
+	 */
+	@Test
+	public void groupTest() {
+		List<String> separate1= new ArrayList<>();
+		List<String> separate2= new ArrayList<>();
+		createPruningVisitor(separate1).build(result2);
+		createMethodInvocationVisitor(separate2).build(result2);
+
+		List<String> fused1= new ArrayList<>();
+		List<String> fused2= new ArrayList<>();
+		HelperVisitorGroup group= new HelperVisitorGroup();
+		group.add(createPruningVisitor(fused1));
+		group.add(createMethodInvocationVisitor(fused2));
+		group.build(result2);
+
+		assertFalse(separate1.isEmpty());
+		assertFalse(separate2.isEmpty());
+		assertEquals(separate1, fused1);
+		assertEquals(separate2, fused2);
+	}
+
+	@Test
+	public void nodeTypeMapTest() {
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(null, new ReferenceHolder<>());
+		BiPredicate<MethodInvocation, ReferenceHolder<String, NodeFound>> bs = this::handleMethodInvocation;
+		assertNull(hv.addMethodInvocation(bs));
+		assertEquals(bs, hv.addMethodInvocation("add", bs));
+		hv.addWhileStatement((node, holder) -> true);
+		assertEquals(2, hv.getSuppliermap().size());
+		assertEquals(List.of(VisitorEnum.MethodInvocation, VisitorEnum.WhileStatement), new ArrayList<>(hv.getSuppliermap().keySet()));
+		assertEquals(VisitorEnum.WhileStatement, VisitorEnum.fromNodetype(ASTNode.WHILE_STATEMENT));
+		assertNull(VisitorEnum.fromNodetype(-1));
+
+		hv.removeVisitor(VisitorEnum.MethodInvocation);
+		assertEquals(1, hv.getSuppliermap().size());
+		assertTrue(hv.getSuppliermap().containsKey(VisitorEnum.WhileStatement));
+		assertFalse(hv.getSuppliermap().containsKey(VisitorEnum.MethodInvocation));
+	}
+
+	/**
+	 * Method references are dispatched to their own callbacks, not to the ones of other node types.
+	 */
+	@Test
+	public void expressionMethodReferenceTest() {
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource("""
+				class M {
+					void m(java.util.List<String> l) {
+						l.forEach(System.out::println);
+						for (;;) {
+							break;
+						}
+					}
+				}""".toCharArray());
+		CompilationUnit cu= (CompilationUnit) parser.createAST(null);
+
+		List<String> trace= new ArrayList<>();
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(null, new ReferenceHolder<>());
+		hv.addExpressionMethodReference((node, holder) -> {
+			trace.add("Start " + node);
+			return true;
+		});
+		hv.addExpressionMethodReference((node, holder) -> {
+			trace.add("End   " + node);
+		});
+		hv.addBreakStatement((node, holder) -> {
+			trace.add("Break");
+			return true;
+		});
+		hv.build(cu);
+		assertEquals(List.of("Start System.out::println", "End   System.out::println", "Break"), trace);
+	}
+
+	private HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> createPruningVisitor(List<String> trace) {
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(null, new ReferenceHolder<>());
+		VisitorEnum.stream().forEach(ve -> {
+			hv.add(ve, (node, holder) -> {
+				trace.add("Start " + node.getNodeType() + " :" + node.getStartPosition());
+				return !(node instanceof WhileStatement);
+			}, (node, holder) -> {
+				trace.add("End   " + node.getNodeType() + " :" + node.getStartPosition());
+			});
+		});
+		return hv;
+	}
+
+	private HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> createMethodInvocationVisitor(List<String> trace) {
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(null, new ReferenceHolder<>());
+		hv.addMethodInvocation("println", (node, holder) -> {
+			trace.add("Start " + node);
+			return true;
+		});
+		hv.addVariableDeclarationStatement(Iterator.class, (node, holder) -> {
+			trace.add("Iterator " + node);
+			return false;
+		});
+		hv.addSimpleName((node, holder) -> {
+			trace.add("End   " + node.getIdentifier());
+		});
+		return hv;
+	}
+
 	Collection<String> getUsedVariableNames(ASTNode node) {
 		CompilationUnit root= (CompilationUnit) node.getRoot();
 		Collection<String> res= (new ScopeAnalyzer(root)).getUsedVariableNames(node.getStartPosition(), node.getLength());
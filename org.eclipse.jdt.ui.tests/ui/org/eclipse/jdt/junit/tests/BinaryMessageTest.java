@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageIds;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.FailedComparison;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.MessageSender;
+
+public class BinaryMessageTest {
+
+	private static InputStream skipAnnouncement(byte[] bytes) {
+		String announcement= MessageIds.BINARY_PROTOCOL + BinaryMessageIds.VERSION + '\n';
+		String start= new String(bytes, 0, announcement.length(), StandardCharsets.UTF_8);
+		assertEquals(announcement, start);
+		return new ByteArrayInputStream(bytes, announcement.length(), bytes.length - announcement.length());
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		sender.sendTestRunStarted(60000);
+		sender.sendTestTreeEntry("1", "pack.ATest", true, 2, false, "-1", "ATest", "", "[engine:junit-jupiter]");
+		sender.sendTestTreeEntry("2", "test(pack.ATest)", false, 1, false, "1", "t\u00e9st, with comma\nand newline", "int, java.lang.String", "");
+		sender.sendTestStarted("2", "test(pack.ATest)");
+		sender.sendTestFailed(MessageIds.TEST_FAILED, "2", "test(pack.ATest)", "java.lang.AssertionError\n\tat pack.ATest.test()\n", new FailedComparison("a", "b"));
+		sender.sendTestEnded("2", "test(pack.ATest)");
+		sender.sendMessage(MessageIds.TEST_START + "3,other");
+		sender.sendTestEnded("custom-id", "test(pack.ATest)");
+		sender.sendTestRunEnded(123456789L);
+		sender.flush();
+		assertNull(sender.getException());
+
+		BinaryMessageReader reader= new BinaryMessageReader(skipAnnouncement(out.toByteArray()));
+
+		assertEquals(BinaryMessageIds.TEST_RUN_START, reader.readFrame());
+		assertEquals(60000, reader.readInt());
+
+		assertEquals(BinaryMessageIds.TEST_TREE, reader.readFrame());
+		assertEquals("1", reader.readTestId());
+		assertEquals("pack.ATest", reader.readInternedString());
+		assertTrue(reader.readBoolean());
+		assertEquals(2, reader.readInt());
+		assertFalse(reader.readBoolean());
+		assertEquals("-1", reader.readInternedString());
+		assertEquals("ATest", reader.readString());
+		assertEquals("", reader.readInternedString());
+		assertEquals("[engine:junit-jupiter]", reader.readString());
+
+		assertEquals(BinaryMessageIds.TEST_TREE, reader.readFrame());
+		assertEquals("2", reader.readTestId());
+		assertEquals("test(pack.ATest)", reader.readInternedString());
+		assertFalse(reader.readBoolean());
+		assertEquals(1, reader.readInt());
+		assertFalse(reader.readBoolean());
+		assertEquals("1", reader.readInternedString());
+		assertEquals("t\u00e9st, with comma\nand newline", reader.readString());
+		assertEquals("int, java.lang.String", reader.readInternedString());
+		assertEquals("", reader.readString());
+
+		assertEquals(BinaryMessageIds.TEST_START, reader.readFrame());
+		assertEquals("2", reader.readTestId());
+		assertEquals("test(pack.ATest)", reader.readInternedString());
+
+		assertEquals(BinaryMessageIds.TEST_FAILED, reader.readFrame());
+		assertEquals("2", reader.readTestId());
+		assertEquals("test(pack.ATest)", reader.readInternedString());
+		assertEquals("java.lang.AssertionError\n\tat pack.ATest.test()\n", reader.readString());
+		assertEquals("a", reader.readString());
+		assertEquals("b", reader.readString());
+
+		// arguments not read are skipped
+		assertEquals(BinaryMessageIds.TEST_END, reader.readFrame());
+
+		assertEquals(BinaryMessageIds.TEXT, reader.readFrame());
+		assertEquals(MessageIds.TEST_START + "3,other", reader.readString());
+
+		assertEquals(BinaryMessageIds.TEST_END, reader.readFrame());
+		assertEquals("custom-id", reader.readTestId());
+		assertEquals("test(pack.ATest)", reader.readInternedString());
+
+		assertEquals(BinaryMessageIds.TEST_RUN_END, reader.readFrame());
+		assertEquals(123456789L, reader.readLong());
+
+		assertEquals(-1, reader.readFrame());
+	}
+
+	@Test
+	public void internedStringsAreSentOnce() throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		String name= "testWithAVeryLongName[42](org.eclipse.jdt.junit.tests.SomeParameterizedTest)";
+		sender.sendTestStarted("42", name);
+		sender.flush();
+		int first= out.size();
+		sender.sendTestEnded("42", name);
+		sender.flush();
+		assertTrue(out.size() - first < 8);
+	}
+
+	@Test
+	public void textProtocol() throws Exception {
+		List<String> messages= new ArrayList<>();
+		MessageSender sender= new MessageSender() {
+			@Override
+			public void sendMessage(String msg) {
+				messages.add(msg);
+			}
+
+			@Override
+			public void flush() {
+			}
+		};
+		sender.sendTestRunStarted(3);
+		sender.sendTestTreeEntry("2", "test(pack.ATest)", false, 1, false, "1", "a,b", "", "");
+		sender.sendTestStarted("2", "test(pack.ATest)");
+		sender.sendTestFailed(MessageIds.TEST_ERROR, "2", "test(pack.ATest)", "trace", new FailedComparison("a", "b"));
+		sender.sendTestEnded("2", "test(pack.ATest)");
+		sender.sendTestRunEnded(10);
+
+		String[] expected= {
+				MessageIds.TEST_RUN_START + "3 v2",
+				MessageIds.TEST_TREE + "2,test(pack.ATest),false,1,false,1,a\\,b,,",
+				MessageIds.TEST_START + "2,test(pack.ATest)",
+				MessageIds.TEST_ERROR + "2,test(pack.ATest)",
+				MessageIds.EXPECTED_START,
+				"a",
+				MessageIds.EXPECTED_END,
+				MessageIds.ACTUAL_START,
+				"b",
+				MessageIds.ACTUAL_END,
+				MessageIds.TRACE_START,
+				"trace",
+				MessageIds.TRACE_END,
+				MessageIds.TEST_END + "2,test(pack.ATest)",
+				MessageIds.TEST_RUN_END + "10",
+		};
+		assertEquals(List.of(expected), messages);
+	}
+}
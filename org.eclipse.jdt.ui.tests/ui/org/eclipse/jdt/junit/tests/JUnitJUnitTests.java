@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,7 +43,13 @@ JUnitTestFinderTest.class,
 JUnit4TestFinderTest16.class,
 JUnit5TestFinderJupiterTest.class,
 
-TestSorting.class
+TestSorting.class,
+BinaryMessageTest.class,
+TestEventBatchingTest.class,
+TestViewerChangesTest.class,
+TestRunSessionSwapTest.class,
+TestRunSessionForkTest.class,
+TestForkPartitionerTest.class
 //LegacyTestRunListenerTest.class
 })
 public class JUnitJUnitTests {
@@ -0,0 +1,481 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestEventBatch;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.FirstRunExecutionListener;
+import org.eclipse.jdt.internal.junit.runner.ITestIdentifier;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.MessageSender;
+import org.eclipse.jdt.internal.junit.runner.TestIdMap;
+import org.eclipse.jdt.internal.junit.runner.TestReferenceFailure;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+/**
+ * Tests that test starts and ends are batched between the test runner and the test run session
+ * without losing or reordering events.
+ */
+public class TestEventBatchingTest {
+
+	/**
+	 * FirstRunExecutionListener.MAX_PENDING_EVENTS
+	 */
+	private static final int MAX_PENDING_EVENTS= 200;
+
+	/**
+	 * RemoteTestRunnerClient.MAX_BATCH_SIZE
+	 */
+	private static final int MAX_BATCH_SIZE= 1000;
+
+	private static final long TIMEOUT= 30000;
+
+	private static class TestIdentifier implements ITestIdentifier {
+
+		private final String fName;
+
+		public TestIdentifier(String name) {
+			fName= name;
+		}
+
+		@Override
+		public String getName() {
+			return fName;
+		}
+
+		@Override
+		public String getDisplayName() {
+			return fName;
+		}
+
+		@Override
+		public String getParameterTypes() {
+			return "";
+		}
+
+		@Override
+		public String getUniqueId() {
+			return "";
+		}
+	}
+
+	private static class RecordingSender implements MessageSender {
+
+		private final List<String> fMessages= new ArrayList<>();
+		private int fFlushedCount;
+
+		@Override
+		public synchronized void sendMessage(String msg) {
+			fMessages.add(msg);
+		}
+
+		@Override
+		public synchronized void flush() {
+			fFlushedCount= fMessages.size();
+			notifyAll();
+		}
+
+		public synchronized int getMessageCount() {
+			return fMessages.size();
+		}
+
+		public synchronized int getFlushedCount() {
+			return fFlushedCount;
+		}
+
+		public synchronized void waitForFlush(int count) throws InterruptedException {
+			long end= System.currentTimeMillis() + TIMEOUT;
+			while (fFlushedCount < count && System.currentTimeMillis() < end) {
+				wait(100);
+			}
+		}
+	}
+
+	/**
+	 * Records the notifications of a test run, using the per-test callbacks only.
+	 */
+	private static class RecordingListener implements ITestRunListener2 {
+
+		protected final List<String> fEvents= new ArrayList<>();
+		private final CountDownLatch fEnded= new CountDownLatch(1);
+
+		@Override
+		public void testRunStarted(int testCount) {
+			fEvents.add("run " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEvents.add("end");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fEvents.add("start " + testId);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEvents.add("end " + testId);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("failed " + testId);
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+		}
+
+		public List<String> awaitEvents() throws InterruptedException {
+			assertTrue("test run did not end", fEnded.await(TIMEOUT, TimeUnit.MILLISECONDS));
+			return fEvents;
+		}
+	}
+
+	private static class BatchRecordingListener extends RecordingListener {
+
+		private final List<Integer> fBatchSizes= new ArrayList<>();
+
+		@Override
+		public void testBatchReceived(TestEventBatch batch) {
+			fBatchSizes.add(Integer.valueOf(batch.size()));
+			for (int i= 0; i < batch.size(); i++) {
+				fEvents.add((batch.isStarted(i) ? "start " : "end ") + batch.getTestId(i));
+			}
+		}
+	}
+
+	/**
+	 * Records the notifications of a test run session, using the per-test callbacks only.
+	 */
+	private static class RecordingSessionListener implements ITestSessionListener {
+
+		private final List<String> fEvents= new ArrayList<>();
+		private final CountDownLatch fEnded= new CountDownLatch(1);
+
+		@Override
+		public void sessionStarted() {
+		}
+
+		@Override
+		public void sessionEnded(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void sessionStopped(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void sessionTerminated() {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testAdded(TestElement testElement) {
+		}
+
+		@Override
+		public void runningBegins() {
+			fEvents.add("running");
+		}
+
+		@Override
+		public void testStarted(TestCaseElement testCaseElement) {
+			fEvents.add("start " + testCaseElement.getId());
+		}
+
+		@Override
+		public void testEnded(TestCaseElement testCaseElement) {
+			fEvents.add("end " + testCaseElement.getId());
+		}
+
+		@Override
+		public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+			fEvents.add("failed " + testElement.getId());
+		}
+
+		@Override
+		public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		}
+
+		@Override
+		public boolean acceptsSwapToDisk() {
+			return false;
+		}
+
+		public List<String> awaitEvents() throws InterruptedException {
+			assertTrue("test run did not end", fEnded.await(TIMEOUT, TimeUnit.MILLISECONDS));
+			return fEvents;
+		}
+	}
+
+	static int getFreePort() throws IOException {
+		try (ServerSocket socket= new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	static Socket connect(int port) throws IOException, InterruptedException {
+		long end= System.currentTimeMillis() + TIMEOUT;
+		while (true) {
+			try {
+				return new Socket(InetAddress.getLoopbackAddress(), port);
+			} catch (ConnectException e) {
+				if (System.currentTimeMillis() > end)
+					throw e;
+				Thread.sleep(20);
+			}
+		}
+	}
+
+	/**
+	 * Sends a test run like the RemoteTestRunner does.
+	 *
+	 * @param port the port of the client
+	 * @param testCount the number of tests
+	 * @param failedTest the index of the failing test or -1
+	 * @return the expected events
+	 * @throws Exception if sending fails
+	 */
+	private static List<String> sendTestRun(int port, int testCount, int failedTest) throws Exception {
+		List<String> expected= new ArrayList<>();
+		try (Socket socket= connect(port)) {
+			BinaryMessageSender sender= new BinaryMessageSender(new BufferedOutputStream(socket.getOutputStream()));
+			sender.sendTestRunStarted(testCount);
+			expected.add("run " + testCount);
+			sender.sendTestTreeEntry("1", "pack.ATest", true, testCount, false, "-1", "ATest", "", "");
+			for (int i= 0; i < testCount; i++) {
+				String id= String.valueOf(i + 2);
+				String name= "test" + i + "(pack.ATest)";
+				sender.sendTestTreeEntry(id, name, false, 1, false, "-1", name, "", "");
+			}
+			for (int i= 0; i < testCount; i++) {
+				String id= String.valueOf(i + 2);
+				String name= "test" + i + "(pack.ATest)";
+				sender.sendTestStarted(id, name);
+				expected.add("start " + id);
+				if (i == failedTest) {
+					sender.sendTestFailed(MessageIds.TEST_FAILED, id, name, "java.lang.AssertionError\n", null);
+					expected.add("failed " + id);
+				}
+				sender.sendTestEnded(id, name);
+				expected.add("end " + id);
+			}
+			sender.sendTestRunEnded(100);
+			expected.add("end");
+			sender.flush();
+		}
+		return expected;
+	}
+
+	@Test
+	public void runnerFlushesAfterMaxPendingEvents() throws Exception {
+		RecordingSender sender= new RecordingSender();
+		FirstRunExecutionListener listener= new FirstRunExecutionListener(sender, new TestIdMap());
+		// the flush timer cannot flush while the listener is locked
+		synchronized (listener) {
+			for (int i= 0; i < MAX_PENDING_EVENTS / 2 - 1; i++) {
+				TestIdentifier test= new TestIdentifier("test" + i);
+				listener.notifyTestStarted(test);
+				listener.notifyTestEnded(test);
+			}
+			listener.notifyTestStarted(new TestIdentifier("last"));
+			assertEquals(0, sender.getFlushedCount());
+
+			listener.notifyTestEnded(new TestIdentifier("last"));
+			assertEquals(MAX_PENDING_EVENTS, sender.getFlushedCount());
+		}
+		listener.flush();
+	}
+
+	@Test
+	public void runnerFlushesAfterDelay() throws Exception {
+		RecordingSender sender= new RecordingSender();
+		FirstRunExecutionListener listener= new FirstRunExecutionListener(sender, new TestIdMap());
+		TestIdentifier test= new TestIdentifier("test");
+		synchronized (listener) {
+			listener.notifyTestStarted(test);
+			listener.notifyTestEnded(test);
+			assertEquals(0, sender.getFlushedCount());
+		}
+		sender.waitForFlush(2);
+		assertEquals(2, sender.getFlushedCount());
+		listener.flush();
+	}
+
+	@Test
+	public void runnerFlushesOnFailureAndRunEnd() throws Exception {
+		RecordingSender sender= new RecordingSender();
+		FirstRunExecutionListener listener= new FirstRunExecutionListener(sender, new TestIdMap());
+		synchronized (listener) {
+			TestIdentifier passed= new TestIdentifier("passed");
+			listener.notifyTestStarted(passed);
+			listener.notifyTestEnded(passed);
+			TestIdentifier failed= new TestIdentifier("failed");
+			listener.notifyTestStarted(failed);
+			listener.notifyTestFailed(new TestReferenceFailure(failed, MessageIds.TEST_FAILED, "trace"));
+			assertEquals(sender.getMessageCount(), sender.getFlushedCount());
+
+			listener.notifyTestEnded(failed);
+			assertTrue(sender.getFlushedCount() < sender.getMessageCount());
+			listener.flush();
+			assertEquals(sender.getMessageCount(), sender.getFlushedCount());
+		}
+	}
+
+	@Test
+	public void clientKeepsOrderAcrossBatches() throws Exception {
+		BatchRecordingListener listener= new BatchRecordingListener();
+		int port= getFreePort();
+		new RemoteTestRunnerClient().startListening(new ITestRunListener2[] { listener }, port);
+
+		List<String> expected= sendTestRun(port, 2500, 1234);
+
+		assertEquals(expected, listener.awaitEvents());
+	}
+
+	@Test
+	public void clientSplitsLargeBatches() throws Exception {
+		BatchRecordingListener listener= new BatchRecordingListener();
+		int port= getFreePort();
+		new RemoteTestRunnerClient().startListening(new ITestRunListener2[] { listener }, port);
+
+		int testCount= 2500;
+		List<String> expected= sendTestRun(port, testCount, -1);
+
+		assertEquals(expected, listener.awaitEvents());
+		int events= 0;
+		for (Integer size : listener.fBatchSizes) {
+			assertTrue(size.toString(), size.intValue() <= MAX_BATCH_SIZE);
+			events+= size.intValue();
+		}
+		assertEquals(2 * testCount, events);
+		assertTrue(listener.fBatchSizes.size() >= 2 * testCount / MAX_BATCH_SIZE);
+	}
+
+	@Test
+	public void clientNotifiesListenersWithoutBatchSupport() throws Exception {
+		RecordingListener listener= new RecordingListener();
+		BatchRecordingListener batchListener= new BatchRecordingListener();
+		int port= getFreePort();
+		new RemoteTestRunnerClient().startListening(new ITestRunListener2[] { listener, batchListener }, port);
+
+		List<String> expected= sendTestRun(port, 1500, 700);
+
+		assertEquals(expected, listener.awaitEvents());
+		assertEquals(expected, batchListener.awaitEvents());
+	}
+
+	@Test
+	public void sessionTakesDecodedTreeEntries() throws Exception {
+		IJavaProject project= JavaProjectHelper.createJavaProject("TestEventBatchingTest", "bin");
+		try {
+			int port= getFreePort();
+			TestRunSession session= new TestRunSession(new Launch(null, ILaunchManager.RUN_MODE, null), project, port);
+			RecordingSessionListener listener= new RecordingSessionListener();
+			session.addTestSessionListener(listener);
+
+			try (Socket socket= connect(port)) {
+				BinaryMessageSender sender= new BinaryMessageSender(new BufferedOutputStream(socket.getOutputStream()));
+				sender.sendTestRunStarted(1);
+				sender.sendTestTreeEntry("1", "pack.ATest", true, 1, false, "-1", "ATest", "", "");
+				sender.sendTestTreeEntry("2", "test(pack.ATest)", false, 1, false, "-1", "a, b\\c\nd", "int, java.lang.String", "[engine:x]/[test:a,b]");
+				sender.sendTestRunEnded(100);
+				sender.flush();
+			}
+			listener.awaitEvents();
+
+			TestElement test= session.getTestElement("2");
+			assertEquals("1", test.getParent().getId());
+			assertEquals("test(pack.ATest)", test.getTestName());
+			assertEquals("a, b\\c\nd", test.getDisplayName());
+			assertArrayEquals(new String[] { "int", "java.lang.String" }, test.getParameterTypes());
+			assertEquals("[engine:x]/[test:a,b]", test.getUniqueId());
+		} finally {
+			JavaProjectHelper.delete(project);
+		}
+	}
+
+	@Test
+	public void sessionNotifiesListenersWithoutBatchSupport() throws Exception {
+		IJavaProject project= JavaProjectHelper.createJavaProject("TestEventBatchingTest", "bin");
+		try {
+			int port= getFreePort();
+			TestRunSession session= new TestRunSession(new Launch(null, ILaunchManager.RUN_MODE, null), project, port);
+			RecordingSessionListener listener= new RecordingSessionListener();
+			session.addTestSessionListener(listener);
+
+			int testCount= 1500;
+			List<String> expected= sendTestRun(port, testCount, 700);
+			expected.remove(0);
+			expected.remove(expected.size() - 1);
+			expected.add(0, "running");
+
+			assertEquals(expected, listener.awaitEvents());
+			assertEquals(testCount, session.getStartedCount());
+			assertEquals(1, session.getFailureCount());
+		} finally {
+			JavaProjectHelper.delete(project);
+		}
+	}
+}
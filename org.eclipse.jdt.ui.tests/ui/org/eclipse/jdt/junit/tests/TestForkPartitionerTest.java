@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.launcher.TestForkPartitioner;
+
+public class TestForkPartitionerTest {
+
+	@Test
+	public void longestClassesFirst() {
+		Map<String, Double> durations= new HashMap<>();
+		durations.put("p.A", Double.valueOf(10));
+		durations.put("p.B", Double.valueOf(6));
+		durations.put("p.C", Double.valueOf(5));
+		durations.put("p.D", Double.valueOf(4));
+		durations.put("p.E", Double.valueOf(1));
+
+		List<List<String>> forks= TestForkPartitioner.partition(Arrays.asList("p.E", "p.D", "p.C", "p.B", "p.A"), durations, 2);
+		assertEquals(Arrays.asList(Arrays.asList("p.A", "p.D"), Arrays.asList("p.B", "p.C", "p.E")), forks);
+	}
+
+	@Test
+	public void unknownClassesTakeAverageTime() {
+		Map<String, Double> durations= new HashMap<>();
+		durations.put("p.A", Double.valueOf(4));
+		durations.put("p.B", Double.valueOf(2));
+
+		// p.C and p.D are assumed to take 3 seconds each
+		List<List<String>> forks= TestForkPartitioner.partition(Arrays.asList("p.A", "p.B", "p.C", "p.D"), durations, 2);
+		assertEquals(Arrays.asList(Arrays.asList("p.A", "p.B"), Arrays.asList("p.C", "p.D")), forks);
+	}
+
+	@Test
+	public void noDurations() {
+		List<List<String>> forks= TestForkPartitioner.partition(Arrays.asList("p.C", "p.A", "p.B"), Collections.emptyMap(), 2);
+		assertEquals(Arrays.asList(Arrays.asList("p.A", "p.C"), Arrays.asList("p.B")), forks);
+	}
+
+	@Test
+	public void moreForksThanClasses() {
+		List<List<String>> forks= TestForkPartitioner.partition(Arrays.asList("p.A", "p.B"), Collections.emptyMap(), 4);
+		assertEquals(2, forks.size());
+		for (List<String> fork : forks) {
+			assertEquals(1, fork.size());
+		}
+
+		assertTrue(TestForkPartitioner.partition(Collections.emptyList(), Collections.emptyMap(), 4).isEmpty());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import java.util.Enumeration;
 import java.util.List;
 
 import org.eclipse.jdt.internal.junit.runner.FailuresFirstPrioritizer;
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
+import org.eclipse.jdt.internal.junit.runner.TestHistoryPrioritizer;
 
 import junit.extensions.TestDecorator;
 import junit.extensions.TestSetup;
@@ -306,6 +308,69 @@ public class TestPriorization extends TestCase {
 		}
 	}
 
+	public void testHistoryFastestFirst() {
+		TestSuite suite= createSuiteDEF();
+		TestHistory history= new TestHistory();
+		history.add("testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 3, false);
+		history.add("testE(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 2, false);
+		history.add("testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 1, false);
+		Test reordered= new TestHistoryPrioritizer(history).prioritize(suite);
+		List<String> order= new ArrayList<>();
+		collectOrder(reordered, order);
+
+		String[] expected= {
+				"testF", "testE", "testD"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testHistoryFailuresFirst() {
+		// suite
+		//		suite1
+		//			A (new)
+		//			B 1s
+		//			C 2s
+		//		decorator
+		//			suite2
+		//				D 5s*
+		//				E 1s
+		//				F 4s*
+		TestSuite suite= new TestSuite();
+		suite.addTest(createSuiteABC());
+		suite.addTest(new TestSetup(createSuiteDEF()) {
+			@Override
+			protected void setUp() throws Exception {
+			}
+		});
+		TestHistory history= new TestHistory();
+		history.add("testB(org.eclipse.jdt.junit.tests.TestPriorizationSuite1)", 1, false);
+		history.add("testC(org.eclipse.jdt.junit.tests.TestPriorizationSuite1)", 2, false);
+		history.add("testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 5, true);
+		history.add("testE(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 1, false);
+		history.add("testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 4, true);
+		Test reordered= new TestHistoryPrioritizer(history).prioritize(suite);
+		List<String> order= new ArrayList<>();
+		collectOrder(reordered, order);
+
+		String[] expected= {
+				"testF", "testD", "testE", "testA", "testB", "testC"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testHistoryClassOrder() {
+		TestHistory history= new TestHistory();
+		history.add("testA(p.Slow)", 5, false);
+		history.add("testB(p.Slow)", 5, false);
+		history.add("testA(p.Fast)", 1, false);
+		history.add("testA(p.Failed)", 3, true);
+		history.add("testB(p.Failed)", 3, false);
+
+		String[] classNames= { "p.Slow", "p.New", "p.Fast", "p.Failed" };
+		Arrays.sort(classNames, history::compareClasses);
+		assertEquals(Arrays.asList("p.Failed", "p.New", "p.Fast", "p.Slow"), Arrays.asList(classNames));
+	}
+
 	private TestSuite createSuiteDEF() {
 		// suite
 		//		D
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunFork;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+/**
+ * Tests that the test runs of several test runner VMs are merged into one test run session.
+ */
+public class TestRunSessionForkTest {
+
+	private static final long TIMEOUT= 30000;
+
+	/**
+	 * Records how the session starts and ends.
+	 */
+	private static class SessionListener implements ITestSessionListener {
+
+		private final List<String> fEvents= new ArrayList<>();
+		private final CountDownLatch fEnded= new CountDownLatch(1);
+
+		private synchronized void record(String event) {
+			fEvents.add(event);
+		}
+
+		public synchronized List<String> getEvents() {
+			return new ArrayList<>(fEvents);
+		}
+
+		@Override
+		public void sessionStarted() {
+			record("started");
+		}
+
+		@Override
+		public void sessionEnded(long elapsedTime) {
+			record("ended");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void sessionStopped(long elapsedTime) {
+			record("stopped");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void sessionTerminated() {
+			record("terminated");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testAdded(TestElement testElement) {
+		}
+
+		@Override
+		public void runningBegins() {
+		}
+
+		@Override
+		public void testStarted(TestCaseElement testCaseElement) {
+		}
+
+		@Override
+		public void testEnded(TestCaseElement testCaseElement) {
+		}
+
+		@Override
+		public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		}
+
+		@Override
+		public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		}
+
+		@Override
+		public boolean acceptsSwapToDisk() {
+			return false;
+		}
+
+		public List<String> awaitEvents() throws InterruptedException {
+			assertTrue("test run did not end", fEnded.await(TIMEOUT, TimeUnit.MILLISECONDS));
+			return getEvents();
+		}
+	}
+
+	private IJavaProject fProject;
+	private ILaunch fLaunch;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestRunSessionForkTest", "bin");
+		fLaunch= new Launch(null, ILaunchManager.RUN_MODE, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static BinaryMessageSender createSender(Socket socket) throws Exception {
+		return new BinaryMessageSender(new BufferedOutputStream(socket.getOutputStream()));
+	}
+
+	/**
+	 * Sends the tests of one class like the RemoteTestRunner does, without ending the test run.
+	 *
+	 * @param sender the sender
+	 * @param className the name of the test class
+	 * @param testCount the number of tests
+	 * @param failedTest the index of the failing test or -1
+	 */
+	private static void sendTests(BinaryMessageSender sender, String className, int testCount, int failedTest) {
+		sender.sendTestRunStarted(testCount);
+		sender.sendTestTreeEntry("1", className, true, testCount, false, "-1", className, "", "");
+		for (int i= 0; i < testCount; i++) {
+			String name= "test" + i + "(" + className + ")";
+			sender.sendTestTreeEntry(String.valueOf(i + 2), name, false, 1, false, "-1", name, "", "");
+		}
+		for (int i= 0; i < testCount; i++) {
+			String id= String.valueOf(i + 2);
+			String name= "test" + i + "(" + className + ")";
+			sender.sendTestStarted(id, name);
+			if (i == failedTest) {
+				sender.sendTestFailed(MessageIds.TEST_FAILED, id, name, "java.lang.AssertionError\n", null);
+			}
+			sender.sendTestEnded(id, name);
+		}
+		sender.flush();
+	}
+
+	private static void waitFor(String message, BooleanSupplier condition) throws InterruptedException {
+		long end= System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			assertTrue(message, System.currentTimeMillis() < end);
+			Thread.sleep(20);
+		}
+	}
+
+	private static HashSet<String> getIds(ITestElement[] elements) {
+		HashSet<String> ids= new HashSet<>();
+		for (ITestElement element : elements) {
+			ids.add(((TestElement) element).getId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void forksAreMerged() throws Exception {
+		int[] ports= { TestEventBatchingTest.getFreePort(), TestEventBatchingTest.getFreePort() };
+		TestRunSession session= new TestRunSession(fLaunch, fProject, ports);
+		SessionListener listener= new SessionListener();
+		session.addTestSessionListener(listener);
+		TestRunFork[] forks= session.getForks();
+
+		try (Socket socket1= TestEventBatchingTest.connect(ports[0]); Socket socket2= TestEventBatchingTest.connect(ports[1])) {
+			BinaryMessageSender sender1= createSender(socket1);
+			BinaryMessageSender sender2= createSender(socket2);
+			sendTests(sender1, "pack.ATest", 2, -1);
+			sendTests(sender2, "pack.BTest", 3, 1);
+
+			sender1.sendTestRunEnded(10);
+			sender1.flush();
+			waitFor("first fork did not end", () -> forks[0].isFinished());
+			// the session only ends with the last fork
+			assertEquals(Arrays.asList("started"), listener.getEvents());
+			assertTrue(session.isRunning());
+
+			sender2.sendTestRunEnded(20);
+			sender2.flush();
+			assertEquals(Arrays.asList("started", "ended"), listener.awaitEvents());
+		}
+
+		assertEquals(TestRunFork.State.ENDED, forks[0].getState());
+		assertEquals(TestRunFork.State.ENDED, forks[1].getState());
+		assertFalse(session.isRunning());
+		assertEquals(5, session.getTotalCount());
+		assertEquals(5, session.getStartedCount());
+		assertEquals(1, session.getFailureCount());
+		// collected at the end of the run for balancing the next launch
+		assertEquals(new HashSet<>(Arrays.asList("pack.ATest", "pack.BTest")), session.getTestClassDurations().keySet());
+
+		// the test ids of each fork are prefixed with the index of the fork
+		assertEquals(new HashSet<>(Arrays.asList("1:1", "2:1")), getIds(session.getTestRoot().getChildren()));
+		TestElement failed= session.getTestElement("2:3");
+		assertEquals("test1(pack.BTest)", failed.getTestName());
+		assertEquals("2:1", failed.getParent().getId());
+		assertEquals(Status.FAILURE, failed.getStatus());
+		assertEquals(new HashSet<>(Arrays.asList("1:2", "1:3")), getIds(((TestSuiteElement) session.getTestElement("1:1")).getChildren()));
+	}
+
+	@Test
+	public void stoppedForkStopsSession() throws Exception {
+		int[] ports= { TestEventBatchingTest.getFreePort(), TestEventBatchingTest.getFreePort() };
+		TestRunSession session= new TestRunSession(fLaunch, fProject, ports);
+		SessionListener listener= new SessionListener();
+		session.addTestSessionListener(listener);
+		TestRunFork[] forks= session.getForks();
+
+		try (Socket socket1= TestEventBatchingTest.connect(ports[0]); Socket socket2= TestEventBatchingTest.connect(ports[1])) {
+			BinaryMessageSender sender1= createSender(socket1);
+			BinaryMessageSender sender2= createSender(socket2);
+			sendTests(sender1, "pack.ATest", 2, -1);
+			sendTests(sender2, "pack.BTest", 2, -1);
+
+			sender1.sendTestRunStopped(10);
+			sender1.flush();
+			waitFor("first fork did not stop", () -> forks[0].isFinished());
+			assertEquals(Arrays.asList("started"), listener.getEvents());
+
+			sender2.sendTestRunEnded(20);
+			sender2.flush();
+			assertEquals(Arrays.asList("started", "stopped"), listener.awaitEvents());
+		}
+
+		assertEquals(TestRunFork.State.STOPPED, forks[0].getState());
+		assertEquals(TestRunFork.State.ENDED, forks[1].getState());
+		assertTrue(session.isStopped());
+		assertEquals(4, session.getStartedCount());
+	}
+
+	@Test
+	public void deadForkTerminatesSession() throws Exception {
+		int[] ports= { TestEventBatchingTest.getFreePort(), TestEventBatchingTest.getFreePort() };
+		TestRunSession session= new TestRunSession(fLaunch, fProject, ports);
+		SessionListener listener= new SessionListener();
+		session.addTestSessionListener(listener);
+		TestRunFork[] forks= session.getForks();
+
+		// the second VM dies before it connects
+		try (Socket socket1= TestEventBatchingTest.connect(ports[0])) {
+			BinaryMessageSender sender1= createSender(socket1);
+			sendTests(sender1, "pack.ATest", 2, -1);
+			sender1.sendTestRunEnded(10);
+			sender1.flush();
+			waitFor("first fork did not end", () -> forks[0].isFinished());
+		}
+		assertEquals(Arrays.asList("started"), listener.getEvents());
+		assertEquals(TestRunFork.State.WAITING, forks[1].getState());
+
+		// the session stops waiting for the VM when the launch terminates or is removed
+		ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
+		launchManager.addLaunch(fLaunch);
+		launchManager.removeLaunch(fLaunch);
+
+		assertEquals(Arrays.asList("started", "terminated"), listener.awaitEvents());
+		assertEquals(TestRunFork.State.ENDED, forks[0].getState());
+		assertEquals(TestRunFork.State.TERMINATED, forks[1].getState());
+		assertTrue(session.isStopped());
+		assertEquals(2, session.getStartedCount());
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRoot;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestRunSessionSwapTest {
+
+	private TestRunSession fSession;
+
+	@Before
+	public void setUp() {
+		fSession= new TestRunSession("SwapTest", null);
+		TestRoot root= fSession.getTestRoot();
+		TestSuiteElement suite= (TestSuiteElement) fSession.createTestElement(root, "1", "pack.ATest", true, 0, false, null, null, "[engine:junit-jupiter]");
+
+		TestElement failed= fSession.createTestElement(suite, "2", "testFailed(pack.ATest)", false, 0, false, "failed é", new String[] { "int", "java.lang.String" }, null);
+		fSession.registerTestFailureStatus(failed, Status.FAILURE, "java.lang.AssertionError\n\tat pack.ATest.testFailed()\n", "a", "b");
+		fSession.registerTestEnded(failed, true);
+		failed.setElapsedTimeInSeconds(0.25);
+
+		TestCaseElement ignored= (TestCaseElement) fSession.createTestElement(suite, "3", "testIgnored(pack.ATest)", false, 0, false, null, null, null);
+		ignored.setIgnored(true);
+		fSession.registerTestEnded(ignored, true);
+
+		TestElement error= fSession.createTestElement(suite, "4", "testError(pack.ATest)", false, 0, false, null, null, null);
+		fSession.registerTestFailureStatus(error, Status.ERROR, "java.lang.IllegalStateException\n", null, null);
+		fSession.registerTestEnded(error, true);
+
+		TestElement notRun= fSession.createTestElement(suite, "5", "testNotRun(pack.ATest)", false, 0, false, null, null, null);
+		fSession.registerTestEnded(notRun, false);
+		fSession.registerTestEnded(suite, true);
+	}
+
+	@After
+	public void tearDown() {
+		fSession.removeSwapFile();
+	}
+
+	@Test
+	public void swapOutAndIn() {
+		int totalCount= fSession.getTotalCount();
+		int startedCount= fSession.getStartedCount();
+
+		fSession.swapOut();
+		TestRoot root= fSession.getTestRoot();
+
+		assertEquals(totalCount, fSession.getTotalCount());
+		assertEquals(startedCount, fSession.getStartedCount());
+		assertEquals(1, fSession.getFailureCount());
+		assertEquals(1, fSession.getErrorCount());
+		assertEquals(1, fSession.getIgnoredCount());
+
+		ITestElement[] suites= root.getChildren();
+		assertEquals(1, suites.length);
+		TestSuiteElement suite= (TestSuiteElement) suites[0];
+		assertEquals("pack.ATest", suite.getTestName());
+		assertEquals("[engine:junit-jupiter]", suite.getUniqueId());
+		assertEquals(Result.ERROR, suite.getTestResult(true));
+
+		ITestElement[] children= suite.getChildren();
+		assertEquals(4, children.length);
+
+		TestCaseElement failed= (TestCaseElement) children[0];
+		assertEquals("testFailed(pack.ATest)", failed.getTestName());
+		assertEquals("failed é", failed.getDisplayName());
+		assertArrayEquals(new String[] { "int", "java.lang.String" }, failed.getParameterTypes());
+		assertEquals(Status.FAILURE, failed.getStatus());
+		assertEquals(0.25, failed.getElapsedTimeInSeconds(), 0);
+		assertTrue(failed.isComparisonFailure());
+		FailureTrace failureTrace= failed.getFailureTrace();
+		assertEquals("java.lang.AssertionError\n\tat pack.ATest.testFailed()\n", failureTrace.getTrace());
+		assertEquals("a", failureTrace.getExpected());
+		assertEquals("b", failureTrace.getActual());
+
+		TestCaseElement ignored= (TestCaseElement) children[1];
+		assertTrue(ignored.isIgnored());
+		assertNull(ignored.getFailureTrace());
+
+		TestCaseElement error= (TestCaseElement) children[2];
+		assertEquals(Status.ERROR, error.getStatus());
+		assertFalse(error.isComparisonFailure());
+		assertEquals("java.lang.IllegalStateException\n", error.getTrace());
+		assertNull(error.getExpected());
+
+		TestCaseElement notRun= (TestCaseElement) children[3];
+		assertEquals(Status.NOT_RUN, notRun.getStatus());
+	}
+
+	@Test
+	public void swapOutTwiceWithoutReadingFailures() {
+		fSession.swapOut();
+		fSession.getTestRoot();
+		fSession.swapOut();
+
+		TestSuiteElement suite= (TestSuiteElement) fSession.getTestRoot().getChildren()[0];
+		TestCaseElement failed= (TestCaseElement) suite.getChildren()[0];
+		assertEquals("java.lang.AssertionError\n\tat pack.ATest.testFailed()\n", failed.getTrace());
+		assertEquals("a", failed.getExpected());
+		assertEquals("b", failed.getActual());
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.widgets.TreeItem;
+
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.ui.IWorkbenchPage;
+
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRoot;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+import org.eclipse.jdt.internal.junit.ui.JUnitPlugin;
+import org.eclipse.jdt.internal.junit.ui.TestRunnerViewPart;
+import org.eclipse.jdt.internal.junit.ui.TestViewer;
+
+/**
+ * Tests that the test viewer applies many pending changes over several refreshes without losing
+ * any of them.
+ */
+public class TestViewerChangesTest {
+
+	/**
+	 * TestViewer.MAX_CHANGES_PER_REFRESH
+	 */
+	private static final int MAX_CHANGES_PER_REFRESH= 2000;
+
+	private TestViewer fViewer;
+
+	@Before
+	public void setUp() throws Exception {
+		IWorkbenchPage activePage= JUnitPlugin.getActivePage();
+		TestRunnerViewPart testRunnerViewPart= (TestRunnerViewPart) activePage.showView(TestRunnerViewPart.NAME);
+		fViewer= testRunnerViewPart.getTestViewer();
+		fViewer.setShowFailuresOrIgnoredOnly(false, false, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		fViewer.setShowTime(true);
+	}
+
+	@After
+	public void tearDown() {
+		fViewer.registerActiveSession(null);
+		fViewer.processChangesInUI();
+	}
+
+	/**
+	 * Processes all pending changes.
+	 *
+	 * @return the number of refreshes needed
+	 */
+	private int processChanges() {
+		int refreshes= 1;
+		while (fViewer.processChangesInUI()) {
+			refreshes++;
+		}
+		return refreshes;
+	}
+
+	@Test
+	public void manyChangesAreAppliedInSeveralRefreshes() {
+		TestRunSession session= new TestRunSession("ViewerChangesTest", null);
+		TestRoot root= session.getTestRoot();
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(root, "1", "pack.ATest", true, 0, false, null, null, null);
+
+		int count= 4501;
+		TestElement[] tests= new TestElement[count];
+		tests[0]= session.createTestElement(suite, "2", "test0(pack.ATest)", false, 0, false, null, null, null);
+
+		fViewer.registerActiveSession(session);
+		assertFalse(fViewer.processChangesInUI());
+		TreeViewer treeViewer= (TreeViewer) fViewer.getActiveViewer();
+		treeViewer.expandAll();
+		TreeItem suiteItem= (TreeItem) treeViewer.testFindItem(suite);
+		assertEquals(1, suiteItem.getItemCount());
+
+		for (int i= 1; i < count; i++) {
+			tests[i]= session.createTestElement(suite, String.valueOf(i + 2), "test" + i + "(pack.ATest)", false, 0, false, null, null, null);
+			fViewer.registerTestAdded(tests[i]);
+		}
+
+		assertTrue(fViewer.processChangesInUI());
+		assertEquals(1 + MAX_CHANGES_PER_REFRESH, suiteItem.getItemCount());
+		assertEquals(2, processChanges());
+		assertEquals(count, suiteItem.getItemCount());
+
+		String[] texts= new String[count];
+		for (int i= 0; i < count; i++) {
+			TreeItem item= (TreeItem) treeViewer.testFindItem(tests[i]);
+			assertNotNull(tests[i].getTestName(), item);
+			texts[i]= item.getText();
+
+			tests[i].setElapsedTimeInSeconds(0.5);
+			fViewer.registerViewerUpdate(tests[i]);
+		}
+
+		assertEquals(3, processChanges());
+		for (int i= 0; i < count; i++) {
+			TreeItem item= (TreeItem) treeViewer.testFindItem(tests[i]);
+			assertNotEquals(tests[i].getTestName(), texts[i], item.getText());
+		}
+	}
+}
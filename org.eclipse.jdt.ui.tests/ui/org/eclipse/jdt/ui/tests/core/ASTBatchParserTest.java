@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class ASTBatchParserTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject1;
+	private IJavaProject fJavaProject2;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject1= pts.getProject();
+		fJavaProject2= JavaProjectHelper.createJavaProject("TestProject2", "bin");
+		JavaProjectHelper.addRTJar(fJavaProject2);
+		JavaProjectHelper.addRequiredProject(fJavaProject2, fJavaProject1);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJavaProject1, pts.getDefaultClasspath());
+		JavaProjectHelper.delete(fJavaProject2);
+	}
+
+	/**
+	 * Parsing in parallel creates the same ASTs as parsing on the calling thread, with resolved
+	 * bindings across projects, and calls the requestor once per unit and never concurrently.
+	 */
+	@Test
+	public void parallelSameAsSequential() throws Exception {
+		IPackageFragment pack1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src").createPackageFragment("pack1", true, null);
+		IPackageFragmentRoot root2= JavaProjectHelper.addSourceContainer(fJavaProject2, "src");
+		IPackageFragment pack2= root2.createPackageFragment("pack2", true, null);
+
+		List<ICompilationUnit> units= new ArrayList<>();
+		units.add(pack1.createCompilationUnit("A0.java", "package pack1;\npublic class A0 {\n}\n", true, null));
+		for (int i= 1; i < 35; i++) {
+			String name= "A" + i;
+			units.add(pack1.createCompilationUnit(name + ".java", "package pack1;\npublic class " + name + " extends A" + (i - 1) + " {\n}\n", true, null));
+		}
+		for (int i= 0; i < 25; i++) {
+			String name= "B" + i;
+			units.add(pack2.createCompilationUnit(name + ".java", "package pack2;\npublic class " + name + " extends pack1.A" + i + " {\n}\n", true, null));
+		}
+		ICompilationUnit[] compilationUnits= units.toArray(new ICompilationUnit[units.size()]);
+
+		Map<ICompilationUnit, String> sequential= createASTs(new ASTBatchParser(), compilationUnits);
+		Map<ICompilationUnit, String> parallel= createASTs(new ASTBatchParser(4), compilationUnits);
+
+		assertEquals(compilationUnits.length, sequential.size());
+		assertEquals(sequential, parallel);
+		assertEquals("pack1.A4", parallel.get(pack2.getCompilationUnit("B5.java")));
+	}
+
+	/**
+	 * When the requestor fails in parallel mode, the exception is thrown after all workers have
+	 * stopped and the requestor is not called anymore.
+	 */
+	@Test
+	public void parallelFailureStopsWorkers() throws Exception {
+		IPackageFragment pack1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src").createPackageFragment("pack1", true, null);
+		ICompilationUnit[] units= new ICompilationUnit[80];
+		for (int i= 0; i < units.length; i++) {
+			units[i]= pack1.createCompilationUnit("A" + i + ".java", "package pack1;\npublic class A" + i + " {\n}\n", true, null);
+		}
+
+		IllegalStateException failure= new IllegalStateException();
+		AtomicInteger calls= new AtomicInteger();
+		AtomicBoolean returned= new AtomicBoolean();
+		AtomicBoolean lateCall= new AtomicBoolean();
+		try {
+			new ASTBatchParser(4).createASTs(units, new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					if (returned.get())
+						lateCall.set(true);
+					if (calls.incrementAndGet() == 1)
+						throw failure;
+				}
+			}, null);
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(failure, e);
+		}
+		returned.set(true);
+
+		// give a worker that would still be running the time to call the requestor
+		Thread.sleep(200);
+		assertFalse(lateCall.get());
+		assertEquals(1, calls.get());
+	}
+
+	private static Map<ICompilationUnit, String> createASTs(ASTBatchParser parser, ICompilationUnit[] compilationUnits) {
+		Map<ICompilationUnit, String> superclasses= new HashMap<>();
+		AtomicInteger active= new AtomicInteger();
+		AtomicBoolean concurrent= new AtomicBoolean();
+		parser.createASTs(compilationUnits, new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				if (active.incrementAndGet() != 1) {
+					concurrent.set(true);
+				}
+				ITypeBinding binding= ((AbstractTypeDeclaration) ast.types().get(0)).resolveBinding();
+				assertNotNull(binding);
+				assertNull(superclasses.put(source, binding.getSuperclass().getQualifiedName()));
+				active.decrementAndGet();
+			}
+		}, null);
+		assertFalse(concurrent.get());
+		return superclasses;
+	}
+}
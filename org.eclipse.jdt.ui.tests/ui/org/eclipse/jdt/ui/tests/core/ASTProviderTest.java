@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -40,10 +42,14 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.SharedASTCache;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -142,6 +148,50 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testSharedASTCache() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", "package test1;\npublic class E1 {\n}\n", false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", "package test1;\npublic class E2 {\n}\n", false, null);
+		ICompilationUnit cu3= pack1.createCompilationUnit("E3.java", "package test1;\npublic class E3 {\n}\n", false, null);
+
+		SharedASTCache cache= new SharedASTCache(2, Long.MAX_VALUE);
+
+		long stamp1= SharedASTCache.getModificationStamp(cu1);
+		CompilationUnit ast1= createAST(cu1);
+		cache.put(cu1, stamp1, ast1);
+		assertSame(ast1, cache.get(cu1, stamp1));
+		assertNull(cache.get(cu2, SharedASTCache.getModificationStamp(cu2)));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// a modified element must not return the outdated AST
+		assertNull(cache.get(cu1, stamp1 + 1));
+		assertEquals(0, cache.size());
+
+		cache.put(cu1, stamp1, ast1);
+		cache.put(cu2, SharedASTCache.getModificationStamp(cu2), createAST(cu2));
+		assertSame(ast1, cache.get(cu1, stamp1));
+
+		// E2 is the least recently used entry
+		cache.put(cu3, SharedASTCache.getModificationStamp(cu3), createAST(cu3));
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get(cu2, SharedASTCache.getModificationStamp(cu2)));
+		assertSame(ast1, cache.get(cu1, stamp1));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getTotalBytes());
+	}
+
+	private static CompilationUnit createAST(ICompilationUnit cu) {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ package org.eclipse.jdt.ui.tests.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -28,14 +30,20 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchEngine;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -157,6 +165,81 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedMethods, cachedCalls);
     }
 
+	@Test
+	public void calleesAfterChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod3();
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod1());
+        expectedMethods.add(helper.getMethod2());
+        MethodWrapper[] calls= getSingleCalleeRoot(method).getCalls(new NullProgressMonitor());
+        helper.assertCalls(expectedMethods, calls);
+
+        // callees found in an earlier session are reused
+        MethodWrapper[] cachedCalls= getSingleCalleeRoot(method).getCalls(new NullProgressMonitor());
+        helper.assertCalls(expectedMethods, cachedCalls);
+        assertEquals(calls.length, cachedCalls.length);
+        for (int i= 0; i < calls.length; i++) {
+            assertSame(calls[i].getMethodCall(), cachedCalls[i].getMethodCall());
+        }
+
+        // and found again after a change
+        method.delete(true, null);
+        method= helper.getType2().createMethod("public void method3() { method1(); }\n", null, true, null);
+        expectedMethods.remove(helper.getMethod2());
+        MethodWrapper[] changedCalls= getSingleCalleeRoot(method).getCalls(new NullProgressMonitor());
+        helper.assertCalls(expectedMethods, changedCalls);
+        assertNotSame(calls[0].getMethodCall(), changedCalls[0].getMethodCall());
+    }
+
+	@Test
+	public void callersOfSiblings() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method2= helper.getMethod2();
+
+        MethodWrapper wrapper= getSingleCallerRoot(helper.getMethod1());
+        MethodWrapper[] calls= wrapper.getCalls(new NullProgressMonitor());
+        assertEquals(2, calls.length);
+
+        MethodWrapper[][] siblingCalls= MethodWrapper.getCalls(calls, new NullProgressMonitor());
+        assertEquals(calls.length, siblingCalls.length);
+        for (int i= 0; i < calls.length; i++) {
+            Collection<IMember> expectedMethods= new ArrayList<>();
+            expectedMethods.add(method2.equals(calls[i].getMember()) ? helper.getMethod3() : helper.getMethod4());
+            helper.assertCalls(expectedMethods, siblingCalls[i]);
+
+            MethodWrapper[] cachedCalls= calls[i].getCalls(new NullProgressMonitor());
+            helper.assertCalls(expectedMethods, cachedCalls);
+        }
+    }
+
+	@Test
+	public void precomputedCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        IType type= helper.getType1().getPackageFragment().getCompilationUnit("C.java").createType(
+                "public class C { void a() {} void b() { a(); } void c() { b(); } void d() { c(); } }\n", null, true, null);
+
+        MethodWrapper[] calls;
+        CallHierarchyCore.getDefault().setPrecomputeDepth(1);
+        try {
+            MethodWrapper wrapper= getSingleCallerRoot(type.getMethod("a", EMPTY));
+            calls= wrapper.getCalls(new NullProgressMonitor());
+            assertTrue(wrapper.joinBackgroundSearches(10000));
+        } finally {
+            CallHierarchyCore.getDefault().setPrecomputeDepth(0);
+        }
+
+        // the callers of the first level have been searched before the change, those below have not
+        IMethod e= type.createMethod("void e() { b(); c(); }\n", null, true, null);
+        MethodWrapper[] callersOfB= calls[0].getCalls(new NullProgressMonitor());
+        helper.assertCalls(Arrays.<IMember>asList(type.getMethod("c", EMPTY)), callersOfB);
+        helper.assertCalls(Arrays.<IMember>asList(type.getMethod("d", EMPTY), e), callersOfB[0].getCalls(new NullProgressMonitor()));
+    }
+
 	@Test
 	public void recursiveCallers() throws Exception {
         helper.createSimpleClasses();
@@ -405,6 +488,81 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedCallers, callers);
     }
 
+	@Test
+	public void indexedCallers() throws Exception {
+        helper.createStaticInitializerClass();
+
+        IMethod someMethod= helper.getType1().getMethod("someMethod", EMPTY);
+
+        CallHierarchy.getDefault().setCallerIndexEnabled(true);
+        try {
+            CallerIndex.getDefault().update(new NullProgressMonitor());
+            ICompilationUnit[] units= CallerIndex.getDefault().getCallingUnits(someMethod, SearchEngine.createWorkspaceScope(), null);
+            assertNotNull(units);
+            assertEquals(1, units.length);
+
+            Collection<IMember> expectedCallers= new ArrayList<>();
+            expectedCallers.add(helper.getType1().getInitializer(1));
+            helper.assertCalls(expectedCallers, getSingleCallerRoot(someMethod).getCalls(new NullProgressMonitor()));
+
+            // changed compilation units are indexed again before the index is used
+            IType user= helper.getType1().getPackageFragment().getCompilationUnit("User.java").createType(
+                    "public class User { void use() { Initializer.someMethod(); } }\n", null, true, null);
+            expectedCallers.add(user.getMethod("use", EMPTY));
+            helper.assertCalls(expectedCallers, getSingleCallerRoot(someMethod).getCalls(new NullProgressMonitor()));
+        } finally {
+            CallHierarchy.getDefault().setCallerIndexEnabled(false);
+        }
+    }
+
+	@Test
+	public void indexedCallersAfterCanceledUpdate() throws Exception {
+        helper.createStaticInitializerClass();
+
+        IMethod someMethod= helper.getType1().getMethod("someMethod", EMPTY);
+
+        CallHierarchy.getDefault().setCallerIndexEnabled(true);
+        try {
+            CallerIndex.getDefault().update(new NullProgressMonitor());
+
+            IType user= helper.getType1().getPackageFragment().getCompilationUnit("User.java").createType(
+                    "public class User { void use() { Initializer.someMethod(); } }\n", null, true, null);
+
+            // canceled once the projects are loaded, i.e. while the changed units are indexed
+            IProgressMonitor monitor= new NullProgressMonitor() {
+                private boolean fWorked;
+
+                @Override
+                public void internalWorked(double work) {
+                    fWorked= true;
+                }
+
+                @Override
+                public void worked(int work) {
+                    fWorked= true;
+                }
+
+                @Override
+                public boolean isCanceled() {
+                    return fWorked;
+                }
+            };
+            try {
+                CallerIndex.getDefault().update(monitor);
+            } catch (OperationCanceledException e) {
+                // expected
+            }
+
+            // the units that have not been indexed are indexed by the next update
+            Collection<IMember> expectedCallers= new ArrayList<>();
+            expectedCallers.add(helper.getType1().getInitializer(1));
+            expectedCallers.add(user.getMethod("use", EMPTY));
+            helper.assertCalls(expectedCallers, getSingleCallerRoot(someMethod).getCalls(new NullProgressMonitor()));
+        } finally {
+            CallHierarchy.getDefault().setCallerIndexEnabled(false);
+        }
+    }
+
 	@Test
 	public void implicitConstructorCallers() throws Exception {
         helper.createSimpleClasses();
@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.ui.compare.JavaTokenComparatorTest;
 @Suite
 @SelectClasses({
 AddImportTest.class,
+ASTBatchParserTest.class,
 SourceActionTests.class,
 ASTNodesInsertTest.class,
 BindingsHierarchyTest.class,
@@ -55,6 +56,7 @@ TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
+SuperTypeHierarchyCacheTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
 ASTProviderTest.class,
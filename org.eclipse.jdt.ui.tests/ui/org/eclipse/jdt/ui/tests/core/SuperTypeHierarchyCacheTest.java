@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		SuperTypeHierarchyCache.clear();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.clear();
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void lookupAndInvalidation() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "src");
+		IPackageFragment pack= root.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cuA= pack.getCompilationUnit("A.java");
+		IType typeA= cuA.createType("public class A {\n    public void foo() {}\n}\n", null, true, null);
+		ICompilationUnit cuB= pack.getCompilationUnit("B.java");
+		IType typeB= cuB.createType("public class B extends A {\n    public void foo() {}\n}\n", null, true, null);
+
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(typeB);
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheSize());
+		assertEquals(hierarchy.getAllTypes().length, SuperTypeHierarchyCache.getCachedTypes());
+
+		// the hierarchy of the subtype also serves the super type
+		assertTrue(SuperTypeHierarchyCache.hasInCache(typeA));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(typeA));
+		assertEquals(hits + 1, SuperTypeHierarchyCache.getCacheHits());
+
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(typeB);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(typeB));
+		assertSame(hierarchy, tester.getTypeHierarchy());
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+
+		// a change of a type in the hierarchy removes the hierarchy
+		cuA.delete(true, null);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeB));
+		assertEquals(0, SuperTypeHierarchyCache.getCacheSize());
+		assertEquals(0, SuperTypeHierarchyCache.getCachedTypes());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -22,17 +34,31 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IFile;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.viewers.TreeViewer;
 
 import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IWorkbenchPage;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -41,8 +67,56 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.HierarchyViewerSorter;
+import org.eclipse.jdt.internal.ui.typehierarchy.SubTypeHierarchyViewer.SubTypeHierarchyContentProvider;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyContentProvider.MoreTypes;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
+import org.eclipse.jdt.internal.ui.util.BusyIndicatorRunnableContext;
 
 public class TypeHierarchyTest {
+
+	private static final long TIMEOUT= 30000;
+
+	/**
+	 * Holds up the background refresh of one element until it is released, and then refreshes it
+	 * with a monitor that is not canceled, like a refresh that is superseded just before it ends.
+	 */
+	private static class BlockingLifeCycle extends TypeHierarchyLifeCycle {
+
+		private final IJavaElement fBlocked;
+		final CountDownLatch fEntered= new CountDownLatch(1);
+		final CountDownLatch fRelease= new CountDownLatch(1);
+		final CountDownLatch fDone= new CountDownLatch(1);
+		volatile boolean fBlockedCanceled;
+
+		BlockingLifeCycle(TypeHierarchyViewPart part, IJavaElement blocked) {
+			super(part);
+			fBlocked= blocked;
+		}
+
+		@Override
+		public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
+			if (elements.length != 1 || !fBlocked.equals(elements[0])) {
+				super.doHierarchyRefresh(elements, pm);
+				return;
+			}
+			fEntered.countDown();
+			try {
+				if (!fRelease.await(TIMEOUT, TimeUnit.MILLISECONDS))
+					throw new OperationCanceledException();
+				super.doHierarchyRefresh(elements, new NullProgressMonitor());
+			} catch (OperationCanceledException e) {
+				fBlockedCanceled= true;
+				throw e;
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			} finally {
+				fDone.countDown();
+			}
+		}
+	}
+
 	@Rule
 	public ProjectTestSetup pts= new ProjectTestSetup();
 
@@ -268,4 +342,149 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void lifeCycleKeepsIntactHierarchy() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.getCompilationUnit("A.java").createType("public class A {\n}\n", null, true, null);
+		IType typeB= pack1.getCompilationUnit("B.java").createType("public class B extends A {\n}\n", null, true, null);
+
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		List<IType[]> changes= new ArrayList<>();
+		lifeCycle.addChangedListener((typeHierarchy, changedTypes) -> changes.add(changedTypes));
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, new BusyIndicatorRunnableContext());
+			IFile file= (IFile) typeB.getCompilationUnit().getResource();
+
+			// saving a change that keeps the supertypes only updates the changed types
+			String contents= "package pack1;\npublic class B extends A {\n\tvoid foo() {}\n}\n";
+			file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, false, null);
+			assertEquals(1, changes.size());
+			assertEquals(Arrays.asList(typeB), Arrays.asList(changes.get(0)));
+
+			// removing a subtype changes the hierarchy
+			contents= "package pack1;\npublic class B {\n\tvoid foo() {}\n}\n";
+			file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, false, null);
+			assertEquals(2, changes.size());
+			assertNull(changes.get(1));
+
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, new BusyIndicatorRunnableContext());
+			assertEquals(0, lifeCycle.getHierarchy().getAllSubtypes(typeA).length);
+		} finally {
+			lifeCycle.freeHierarchy();
+		}
+	}
+
+	@Test
+	public void supersededRefreshDoesNotSetHierarchy() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.getCompilationUnit("A.java").createType("public class A {\n}\n", null, true, null);
+		IType typeB= pack1.getCompilationUnit("B.java").createType("public class B extends A {\n}\n", null, true, null);
+
+		IWorkbenchPage page= JavaPlugin.getActivePage();
+		TypeHierarchyViewPart part= (TypeHierarchyViewPart) page.showView(JavaUI.ID_TYPE_HIERARCHY);
+		BlockingLifeCycle lifeCycle= new BlockingLifeCycle(part, typeA);
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, null);
+			assertTrue(lifeCycle.fEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+			// the second refresh starts when the first one has stopped
+			lifeCycle.ensureRefreshedTypeHierarchy(typeB, null);
+			lifeCycle.fRelease.countDown();
+			assertTrue(lifeCycle.fDone.await(TIMEOUT, TimeUnit.MILLISECONDS));
+			assertTrue(new DisplayHelper() {
+				@Override
+				protected boolean condition() {
+					return !lifeCycle.isRefreshJobRunning();
+				}
+			}.waitForCondition(Display.getCurrent(), TIMEOUT));
+
+			assertTrue(lifeCycle.fBlockedCanceled);
+			assertEquals(typeB, lifeCycle.getHierarchy().getType());
+			assertArrayEquals(new IJavaElement[] { typeB }, lifeCycle.getInputElements());
+		} finally {
+			lifeCycle.fRelease.countDown();
+			lifeCycle.freeHierarchy();
+			page.hideView(part);
+		}
+	}
+
+	@Test
+	public void freedHierarchyIsNotSetByRefresh() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.getCompilationUnit("A.java").createType("public class A {\n}\n", null, true, null);
+
+		IWorkbenchPage page= JavaPlugin.getActivePage();
+		TypeHierarchyViewPart part= (TypeHierarchyViewPart) page.showView(JavaUI.ID_TYPE_HIERARCHY);
+		BlockingLifeCycle lifeCycle= new BlockingLifeCycle(part, typeA);
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, null);
+			assertTrue(lifeCycle.fEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+			lifeCycle.freeHierarchy();
+			lifeCycle.fRelease.countDown();
+			assertTrue(lifeCycle.fDone.await(TIMEOUT, TimeUnit.MILLISECONDS));
+			DisplayHelper.driveEventQueue(Display.getCurrent());
+
+			assertTrue(lifeCycle.fBlockedCanceled);
+			assertNull(lifeCycle.getHierarchy());
+			assertNull(lifeCycle.getInputElements());
+			assertFalse(lifeCycle.isRefreshJobRunning());
+		} finally {
+			lifeCycle.fRelease.countDown();
+			lifeCycle.freeHierarchy();
+			page.hideView(part);
+		}
+	}
+
+	@Test
+	public void contentProviderPagesSubtypes() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.getCompilationUnit("A.java").createType("public class A {\n}\n", null, true, null);
+		IType typeB= pack1.getCompilationUnit("B.java").createType("public class B extends A {\n}\n", null, true, null);
+		IType typeC= pack1.getCompilationUnit("C.java").createType("public class C extends A {\n}\n", null, true, null);
+		IType typeD= pack1.getCompilationUnit("D.java").createType("public class D extends A {\n}\n", null, true, null);
+
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		Shell shell= new Shell();
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, new BusyIndicatorRunnableContext());
+			TreeViewer viewer= new TreeViewer(shell);
+			viewer.setComparator(new HierarchyViewerSorter(lifeCycle));
+			SubTypeHierarchyContentProvider contentProvider= new SubTypeHierarchyContentProvider(lifeCycle);
+			contentProvider.setPageSize(2);
+			viewer.setContentProvider(contentProvider);
+			viewer.setInput(viewer);
+
+			// the first page in the order of the viewer, followed by the remaining count
+			Object[] children= contentProvider.getChildren(typeA);
+			assertEquals(3, children.length);
+			assertEquals(Arrays.asList(typeB, typeC), Arrays.asList(children).subList(0, 2));
+			MoreTypes moreTypes= (MoreTypes) children[2];
+			assertEquals(typeA, moreTypes.getParent());
+			assertEquals(1, moreTypes.getCount());
+			assertEquals(typeA, contentProvider.getParent(moreTypes));
+
+			contentProvider.showMoreTypes(moreTypes);
+			assertEquals(Arrays.asList(typeB, typeC, typeD), Arrays.asList(contentProvider.getChildren(typeA)));
+
+			// a new input shows the first page again, plus the types that have to be revealed
+			viewer.setInput(null);
+			viewer.setInput(viewer);
+			assertEquals(3, contentProvider.getChildren(typeA).length);
+			assertTrue(contentProvider.revealType(typeD).contains(typeA));
+			assertEquals(Arrays.asList(typeB, typeC, typeD), Arrays.asList(contentProvider.getChildren(typeA)));
+		} finally {
+			shell.dispose();
+			lifeCycle.freeHierarchy();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -60,6 +60,8 @@ import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.fix.CleanUpResultCache;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
 import org.eclipse.jdt.internal.corext.fix.UpdateProperty;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -67,6 +69,7 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.Java13ProjectTestSetup;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -21793,6 +21796,133 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1}, new String[] {expected1}, null);
 	}
 
+	@Test
+	public void testResultCache() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String sample= """
+			package test1;
+			public class E1 {
+			    public int foo;
+			    public int getFoo() {
+			        return this.foo;
+			    }
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", sample, false, null);
+
+		sample= """
+			package test1;
+			public class E2 {
+			    public int bar;
+			    public int getBar() {
+			        return bar;
+			    }
+			}
+			""";
+		String expected2= sample;
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", sample, false, null);
+
+		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS);
+		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_IF_NECESSARY);
+
+		sample= """
+			package test1;
+			public class E1 {
+			    public int foo;
+			    public int getFoo() {
+			        return foo;
+			    }
+			}
+			""";
+		String expected1= sample;
+
+		CleanUpResultCache cache= new CleanUpResultCache(null, 100);
+		ICompilationUnit[] cus= new ICompilationUnit[] { cu1, cu2 };
+
+		performRefactoringWithResultCache(cus, cache);
+		assertEqualStringsIgnoreOrder(new String[] { cu1.getBuffer().getContents(), cu2.getBuffer().getContents() }, new String[] { expected1, expected2 });
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.size());
+
+		performRefactoringWithResultCache(cus, cache);
+		assertEqualStringsIgnoreOrder(new String[] { cu1.getBuffer().getContents(), cu2.getBuffer().getContents() }, new String[] { expected1, expected2 });
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(2, cache.size());
+
+		performRefactoringWithResultCache(cus, cache);
+		assertEquals(3, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+
+		disable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_IF_NECESSARY);
+		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_ALWAYS);
+
+		performRefactoringWithResultCache(cus, cache);
+		assertEquals(3, cache.getHitCount());
+		assertEquals(5, cache.getMissCount());
+		assertTrue(cu2.getBuffer().getContents().contains("return this.bar;"));
+
+		cache.invalidate();
+		assertEquals(0, cache.size());
+	}
+
+	private void performRefactoringWithResultCache(ICompilationUnit[] cus, CleanUpResultCache cache) throws CoreException {
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setResultCache(cache);
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		performRefactoring(ref, cus, cleanUps, null);
+	}
+
+	@Test
+	public void testBackgroundParsingSameAsSequential() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[12];
+		String[] samples= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			samples[i]= """
+				package test1;
+				public class E%d {
+				    public int foo;
+				    private long bar = 101l;
+				    public int getFoo() {
+				        return this.foo;
+				    }
+				}
+				""".formatted(Integer.valueOf(i));
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", samples[i], false, null);
+		}
+
+		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS);
+		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_IF_NECESSARY);
+		enable(CleanUpConstants.NUMBER_SUFFIX);
+
+		performRefactoringParsingInBackground(cus, false);
+		String[] sequential= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			sequential[i]= cus[i].getBuffer().getContents();
+			assertNotEquals(samples[i], sequential[i]);
+
+			cus[i].getBuffer().setContents(samples[i]);
+			cus[i].save(null, true);
+		}
+
+		performRefactoringParsingInBackground(cus, true);
+		for (int i= 0; i < cus.length; i++) {
+			assertEquals(sequential[i], cus[i].getBuffer().getContents());
+		}
+	}
+
+	private void performRefactoringParsingInBackground(ICompilationUnit[] cus, boolean parseInBackground) throws CoreException {
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setResultCache(null);
+		ref.setParseInBackground(parseInBackground);
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		performRefactoring(ref, cus, cleanUps, null);
+	}
+
 	@Test
 	public void testNumberSuffix() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
@@ -29229,6 +29359,36 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1}, new String[] {expected1}, null);
 	}
 
+	@Test
+	public void testSortMembersAndOrganizeImports() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test", false, null);
+		String sample= """
+			package test;
+			public class SM03 {
+			   void d() {};
+			   ArrayList c() { return null; };
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("SM03.java", sample, false, null);
+
+		enable(CleanUpConstants.SORT_MEMBERS);
+		enable(CleanUpConstants.ORGANIZE_IMPORTS);
+
+		sample= """
+			package test;
+
+			import java.util.ArrayList;
+
+			public class SM03 {
+			   ArrayList c() { return null; };
+			   void d() {};
+			}
+			""";
+		String expected1= sample;
+
+		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1}, new String[] {expected1}, null);
+	}
+
 	@Test
 	public void testSortMembersBug218542() throws Exception {
 		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.APPEARANCE_ENABLE_VISIBILITY_SORT_ORDER, true);
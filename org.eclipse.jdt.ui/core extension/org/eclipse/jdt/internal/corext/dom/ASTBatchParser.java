@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,19 +13,30 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.dom;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
@@ -34,20 +45,244 @@ import org.eclipse.jdt.internal.ui.util.Progress;
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * The size of the subsets is adapted to the observed heap usage after
+ * each subset has been parsed. In parallel mode, subsets of different
+ * projects and of the same project are parsed concurrently on a bounded
+ * number of threads. The callbacks to the {@link ASTRequestor} are always
+ * serialized.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
+	/**
+	 * The number of threads used by clients that parse in parallel mode,
+	 * can be set with the system property <code>org.eclipse.jdt.ui.astBatchParserThreads</code>.
+	 */
+	public static final int DEFAULT_PARALLELISM= Math.max(1,
+			Integer.getInteger("org.eclipse.jdt.ui.astBatchParserThreads", Math.min(4, Runtime.getRuntime().availableProcessors()))); //$NON-NLS-1$
+
+	private static final int INITIAL_AT_ONCE;
 	static {
 		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
 
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
+		if      (maxMemory >= 2000) INITIAL_AT_ONCE= 400;
+		else if (maxMemory >= 1500) INITIAL_AT_ONCE= 300;
+		else if (maxMemory >= 1000) INITIAL_AT_ONCE= 200;
+		else if (maxMemory >=  500) INITIAL_AT_ONCE= 100;
+		else                        INITIAL_AT_ONCE=  25;
+	}
+
+	private static final int MIN_AT_ONCE= 10;
+	private static final int MAX_AT_ONCE= 1000;
+
+	/**
+	 * Heap usage (used / max memory) below which the chunk size is increased.
+	 */
+	private static final double LOW_HEAP_USAGE= 0.4;
+
+	/**
+	 * Heap usage (used / max memory) above which the chunk size is decreased.
+	 */
+	private static final double HIGH_HEAP_USAGE= 0.7;
+
+	private static final AtomicInteger fgThreadCount= new AtomicInteger();
+
+	/**
+	 * Number of compilation units to parse at once. Adapted after each chunk
+	 * to the heap usage observed.
+	 */
+	private static final class ChunkSize {
+
+		private int fSize;
+
+		public ChunkSize(int initialSize) {
+			fSize= initialSize;
+		}
+
+		public synchronized int get() {
+			return fSize;
+		}
+
+		public synchronized void update() {
+			Runtime runtime= Runtime.getRuntime();
+			double usage= (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+			if (usage > HIGH_HEAP_USAGE) {
+				fSize= Math.max(MIN_AT_ONCE, fSize / 2);
+			} else if (usage < LOW_HEAP_USAGE) {
+				fSize= Math.min(MAX_AT_ONCE, fSize + fSize / 2);
+			}
+		}
+	}
+
+	/**
+	 * The compilation units still to be parsed, one queue per project.
+	 */
+	private static final class Shards {
+
+		private final ArrayDeque<ArrayDeque<ICompilationUnit>> fShards;
+
+		public Shards(ICompilationUnit[][] unitsByProject) {
+			fShards= new ArrayDeque<>(unitsByProject.length);
+			for (ICompilationUnit[] units : unitsByProject) {
+				ArrayDeque<ICompilationUnit> shard= new ArrayDeque<>(units.length);
+				for (ICompilationUnit unit : units) {
+					shard.add(unit);
+				}
+				fShards.add(shard);
+			}
+		}
+
+		/**
+		 * Removes the next chunk of at most <code>size</code> units of one project.
+		 * Chunks are taken round robin from the projects such that concurrent
+		 * workers tend to parse different projects.
+		 *
+		 * @param size the maximum size of the chunk
+		 * @return the next chunk or <code>null</code> if all units have been handed out
+		 */
+		public synchronized ICompilationUnit[] next(int size) {
+			ArrayDeque<ICompilationUnit> shard= fShards.poll();
+			if (shard == null)
+				return null;
+
+			ICompilationUnit[] chunk= new ICompilationUnit[Math.min(size, shard.size())];
+			for (int i= 0; i < chunk.length; i++) {
+				chunk[i]= shard.poll();
+			}
+			if (!shard.isEmpty())
+				fShards.add(shard);
+			return chunk;
+		}
+
+		public synchronized void clear() {
+			fShards.clear();
+		}
+	}
+
+	/**
+	 * Forwards the AST requests of concurrent parsers one at a time. Drops them once the parsing
+	 * has been aborted.
+	 */
+	private static final class SerializingRequestor extends ASTRequestor {
+
+		private final ASTRequestor fRequestor;
+		private final Object fLock;
+		private final AtomicBoolean fAborted;
+
+		public SerializingRequestor(ASTRequestor requestor, Object lock, AtomicBoolean aborted) {
+			fRequestor= requestor;
+			fLock= lock;
+			fAborted= aborted;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			synchronized (fLock) {
+				if (fAborted.get())
+					return;
+				try {
+					fRequestor.acceptAST(source, ast);
+				} catch (RuntimeException | Error e) {
+					fAborted.set(true);
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void acceptBinding(String bindingKey, IBinding binding) {
+			synchronized (fLock) {
+				if (fAborted.get())
+					return;
+				try {
+					fRequestor.acceptBinding(bindingKey, binding);
+				} catch (RuntimeException | Error e) {
+					fAborted.set(true);
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Progress monitor which can be used by concurrent parsers. Is canceled once the parsing has
+	 * been aborted.
+	 */
+	private static final class SynchronizedProgressMonitor extends ProgressMonitorWrapper {
+
+		private final Object fLock;
+		private final AtomicBoolean fAborted;
+
+		public SynchronizedProgressMonitor(IProgressMonitor monitor, Object lock, AtomicBoolean aborted) {
+			super(monitor);
+			fLock= lock;
+			fAborted= aborted;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fAborted.get() || super.isCanceled();
+		}
+
+		@Override
+		public void internalWorked(double work) {
+			synchronized (fLock) {
+				super.internalWorked(work);
+			}
+		}
+
+		@Override
+		public void worked(int work) {
+			synchronized (fLock) {
+				super.worked(work);
+			}
+		}
+
+		@Override
+		public void subTask(String name) {
+			synchronized (fLock) {
+				super.subTask(name);
+			}
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			synchronized (fLock) {
+				super.setTaskName(name);
+			}
+		}
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			// owned by the caller
+		}
+
+		@Override
+		public void done() {
+			// owned by the caller
+		}
+	}
+
+	private final int fParallelism;
+
+	/**
+	 * Creates a batch parser which parses all compilation units on the calling thread.
+	 */
+	public ASTBatchParser() {
+		this(1);
+	}
+
+	/**
+	 * Creates a batch parser.
+	 *
+	 * @param parallelism the maximum number of threads parsing concurrently, <code>1</code>
+	 *            to parse on the calling thread only
+	 */
+	public ASTBatchParser(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
 	}
 
 	/**
@@ -55,6 +290,8 @@ public class ASTBatchParser {
 	 * <p>
 	 * <code>ASTRequestor.acceptAST</code> is called in no particular order to
 	 * pass the compilation unit and the corresponding AST to <code>requestor</code>.
+	 * In parallel mode the requestor may be called from different threads, but never
+	 * concurrently, and {@link ASTRequestor#createBindings(String[])} is not supported.
 	 * </p>
 	 * <p>
 	 * The <code>bindingKeys</code> parameter specifies bindings keys
@@ -77,26 +314,106 @@ public class ASTBatchParser {
 
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
+			Shards shards= new Shards(splitByProject(compilationUnits));
+			int threads= Math.min(fParallelism, (compilationUnits.length + MIN_AT_ONCE - 1) / MIN_AT_ONCE);
+			if (threads <= 1) {
+				parseChunks(shards, new ChunkSize(INITIAL_AT_ONCE), bindingKeys, requestor, monitor);
+			} else {
+				createASTsInParallel(shards, threads, bindingKeys, requestor, monitor);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private void createASTsInParallel(Shards shards, int threads, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		Object lock= new Object();
+		AtomicBoolean aborted= new AtomicBoolean();
+		ASTRequestor serializingRequestor= new SerializingRequestor(requestor, lock, aborted);
+		IProgressMonitor synchronizedMonitor= new SynchronizedProgressMonitor(monitor, lock, aborted);
+		ChunkSize chunkSize= new ChunkSize(Math.max(MIN_AT_ONCE, INITIAL_AT_ONCE / threads));
+
+		// the calling thread is one of the workers
+		ExecutorService executor= new ThreadPoolExecutor(threads - 1, threads - 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "AST batch parser " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> workers= new ArrayList<>(threads - 1);
+			for (int i= 1; i < threads; i++) {
+				workers.add(executor.submit(() -> parseChunks(shards, chunkSize, bindingKeys, serializingRequestor, synchronizedMonitor)));
+			}
+
+			Throwable failure= null;
+			try {
+				parseChunks(shards, chunkSize, bindingKeys, serializingRequestor, synchronizedMonitor);
+			} catch (RuntimeException | Error e) {
+				failure= e;
+				abort(shards, aborted);
+			}
 
-			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, Progress.subMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							Progress.subMonitor(monitor, toParse.size()));
-						cursor= end;
+			// the workers call the requestor and the monitor, wait for them even after a failure
+			boolean interrupted= false;
+			for (Future<?> worker : workers) {
+				while (true) {
+					try {
+						worker.get();
+						break;
+					} catch (ExecutionException e) {
+						Throwable cause= e.getCause();
+						if (failure == null) {
+							failure= cause;
+							abort(shards, aborted);
+						} else if (!(cause instanceof OperationCanceledException)) {
+							failure.addSuppressed(cause);
+						}
+						break;
+					} catch (InterruptedException e) {
+						interrupted= true;
+						abort(shards, aborted);
 					}
 				}
 			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+				if (failure == null)
+					failure= new OperationCanceledException();
+			}
+
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			if (failure != null)
+				throw new IllegalStateException(failure);
 		} finally {
-			monitor.done();
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Stops the workers: no more chunks are handed out, the parsers see a canceled monitor and the
+	 * requestor is not called anymore.
+	 *
+	 * @param shards the units still to be parsed
+	 * @param aborted the flag seen by the workers
+	 */
+	private static void abort(Shards shards, AtomicBoolean aborted) {
+		shards.clear();
+		aborted.set(true);
+	}
+
+	private void parseChunks(Shards shards, ChunkSize chunkSize, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		ICompilationUnit[] chunk;
+		while ((chunk= shards.next(chunkSize.get())) != null) {
+			if (monitor.isCanceled()) {
+				shards.clear();
+				throw new OperationCanceledException();
+			}
+
+			createParser(chunk[0].getJavaProject()).createASTs(chunk, bindingKeys, requestor, Progress.subMonitor(monitor, chunk.length));
+			chunkSize.update();
 		}
 	}
 
@@ -104,7 +421,8 @@ public class ASTBatchParser {
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
 	 * <p>
-	 * Subclasses may override
+	 * Subclasses may override. In parallel mode this method is called
+	 * concurrently.
 	 * </p>
 	 *
 	 * @param project the project for which ASTs are been generated
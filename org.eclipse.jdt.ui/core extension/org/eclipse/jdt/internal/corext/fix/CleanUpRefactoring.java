@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,10 +19,14 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ICoreRunnable;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -30,6 +34,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -245,45 +250,94 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private static class CleanUpASTRequestor extends ASTRequestor {
+	/**
+	 * An AST passed from the background parse job to the thread calculating the fixes. The parse
+	 * job waits until the fixes for the AST have been calculated, since its bindings are only
+	 * valid until <code>acceptAST</code> returns.
+	 */
+	private static final class ParsedUnit {
 
-		private final List<ParseListElement> fUndoneElements;
-		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
-		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
-		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final ICompilationUnit fSource;
+		private final CompilationUnit fAST;
+		private final CountDownLatch fProcessed;
 
-		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
-			fSolutions= solutions;
-			fMonitor= monitor;
-			fUndoneElements= new ArrayList<>();
-			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
-			for (ParseListElement element : parseList) {
-				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
-			}
+		public ParsedUnit(ICompilationUnit source, CompilationUnit ast) {
+			fSource= source;
+			fAST= ast;
+			fProcessed= new CountDownLatch(1);
 		}
 
-		@Override
-		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+		public ICompilationUnit getSource() {
+			return fSource;
+		}
 
-			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+		public CompilationUnit getAST() {
+			return fAST;
+		}
 
-			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
-			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
-			CleanUpTarget target= element.getTarget();
+		public void processed() {
+			fProcessed.countDown();
+		}
 
-			CleanUpContext context;
-			if (target instanceof MultiFixTarget) {
-				context= new MultiFixContext(source, ast, ((MultiFixTarget)target).getProblems());
-			} else {
-				context= new CleanUpContext(source, ast);
+		public void awaitProcessed() {
+			boolean interrupted= false;
+			while (true) {
+				try {
+					fProcessed.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted= true;
+				}
 			}
-			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Marks the end of the parsed units of one iteration.
+	 */
+	private static final ParsedUnit END_OF_PARSED_UNITS= new ParsedUnit(null, null);
+
+	/**
+	 * Calculates the fixes for a parsed compilation unit.
+	 */
+	private interface ParsedUnitHandler {
+		void handle(ICompilationUnit source, CompilationUnit ast) throws CoreException;
+	}
+
+	/**
+	 * Passes the ASTs to the fix calculator. If a queue is given, the ASTs are passed to
+	 * the thread taking them from the queue, otherwise the fixes are calculated by the thread
+	 * creating the ASTs.
+	 */
+	private static class CleanUpASTRequestor extends ASTRequestor {
+
+		private final BlockingQueue<ParsedUnit> fParsedUnits;
+		private final ParsedUnitHandler fHandler;
+		private final IProgressMonitor fMonitor;
+
+		public CleanUpASTRequestor(BlockingQueue<ParsedUnit> parsedUnits, ParsedUnitHandler handler, IProgressMonitor monitor) {
+			fParsedUnits= parsedUnits;
+			fHandler= handler;
+			fMonitor= monitor;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			if (fMonitor.isCanceled())
+				throw new OperationCanceledException();
 
-			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
+			if (fParsedUnits == null) {
+				try {
+					fHandler.handle(source, ast);
+				} catch (CoreException e) {
+					throw new FixCalculationException(e);
+				}
 			} else {
-				fMonitor.flush();
+				ParsedUnit unit= new ParsedUnit(source, ast);
+				put(unit);
+				unit.awaitProcessed();
 			}
 		}
 
@@ -291,56 +345,96 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			acceptAST(source, null);
 		}
 
-		public List<ParseListElement> getUndoneElements() {
-			return fUndoneElements;
+		public void done() {
+			if (fParsedUnits != null)
+				put(END_OF_PARSED_UNITS);
 		}
 
-		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
-			List<ICleanUp>result= new ArrayList<>();
-			CleanUpChange solution;
-			try {
-				solution= calculateChange(context, cleanUps, result, null);
-			} catch (CoreException e) {
-				throw new FixCalculationException(e);
-			}
-
-			if (solution != null) {
-				integrateSolution(solution, context.getCompilationUnit());
+		private void put(ParsedUnit unit) {
+			// the fix calculator takes all units until the end, so this does not block forever
+			boolean interrupted= false;
+			while (true) {
+				try {
+					fParsedUnits.put(unit);
+					break;
+				} catch (InterruptedException e) {
+					interrupted= true;
+				}
 			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
 
-			return result.toArray(new ICleanUp[result.size()]);
+	/**
+	 * Creates the ASTs and passes them to the requestor, in a background job or on the calling
+	 * thread.
+	 */
+	private static final class CleanUpASTCreator implements ICoreRunnable {
+
+		private final ASTBatchParser fParser;
+		private final List<ICompilationUnit> fParseList;
+		private final List<ICompilationUnit> fSourceList;
+		private final CleanUpASTRequestor fRequestor;
+		private final IProgressMonitor fMonitor;
+		private volatile Throwable fException;
+
+		public CleanUpASTCreator(ASTBatchParser parser, List<ICompilationUnit> parseList, List<ICompilationUnit> sourceList, CleanUpASTRequestor requestor, IProgressMonitor monitor) {
+			fParser= parser;
+			fParseList= parseList;
+			fSourceList= sourceList;
+			fRequestor= requestor;
+			fMonitor= monitor;
 		}
 
-		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
-			ICompilationUnit primary= source.getPrimary();
+		@Override
+		public void run(IProgressMonitor monitor) {
+			try {
+				if (fParseList.size() > 0) {
+					ICompilationUnit[] units= fParseList.toArray(new ICompilationUnit[fParseList.size()]);
+					fParser.createASTs(units, new String[0], fRequestor, fMonitor);
+				}
 
-			List<CleanUpChange> changes= fSolutions.get(primary);
-			if (changes == null) {
-				changes= new ArrayList<>();
-				fSolutions.put(primary, changes);
+				for (ICompilationUnit cu : fSourceList) {
+					fRequestor.acceptSource(cu);
+				}
+			} catch (RuntimeException | Error e) {
+				fException= e;
+			} finally {
+				fRequestor.done();
 			}
-			changes.add(solution);
+		}
+
+		public void rethrowException() throws CoreException {
+			rethrow(fException);
 		}
 	}
 
+	private static void rethrow(Throwable exception) throws CoreException {
+		if (exception instanceof FixCalculationException)
+			throw ((FixCalculationException) exception).getException();
+		if (exception instanceof CoreException)
+			throw (CoreException) exception;
+		if (exception instanceof RuntimeException)
+			throw (RuntimeException) exception;
+		if (exception instanceof Error)
+			throw (Error) exception;
+	}
+
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
+		private final Hashtable<ICompilationUnit, String> fResultCacheKeys; // map from primary to result cache key
 		private final int fSize;
 		private int fIndex;
 
-		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+		public CleanUpFixpointIterator(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws JavaModelException {
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
-			fParseList= new ArrayList<>(targets.length);
-			for (CleanUpTarget target : targets) {
-				fParseList.add(new ParseListElement(target, cleanUps));
-			}
-
 			fCleanUpOptions= new Hashtable<>();
 			for (ICleanUp cleanUp : cleanUps) {
 				Map<String, String> currentCleanUpOption= cleanUp.getRequirements().getCompilerOptions();
@@ -348,7 +442,33 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					fCleanUpOptions.putAll(currentCleanUpOption);
 			}
 
-			fSize= targets.length;
+			fResultCacheKeys= new Hashtable<>();
+			String profileHash= null;
+			String compilerOptionsHash= null;
+			if (fResultCache != null) {
+				profileHash= CleanUpResultCache.getProfileHash(cleanUps);
+				Map<String, String> compilerOptions= RefactoringASTParser.getCompilerOptions(project);
+				compilerOptions.putAll(fCleanUpOptions);
+				compilerOptionsHash= CleanUpResultCache.getOptionsHash(compilerOptions);
+			}
+
+			fParseList= new ArrayList<>(targets.length);
+			for (CleanUpTarget target : targets) {
+				if (profileHash != null && compilerOptionsHash != null && !(target instanceof MultiFixTarget)) {
+					// the problems of a multi fix target are not part of the key
+					ICompilationUnit unit= target.getCompilationUnit();
+					String key= CleanUpResultCache.computeKey(unit.getSource(), profileHash, compilerOptionsHash);
+					if (fResultCache.isUnchanged(key)) {
+						monitor.worked(1);
+						continue;
+					}
+					if (key != null)
+						fResultCacheKeys.put(unit.getPrimary(), key);
+				}
+				fParseList.add(new ParseListElement(target, cleanUps));
+			}
+
+			fSize= fParseList.size();
 			fIndex= 1;
 		}
 
@@ -381,41 +501,185 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
-				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
-						}
-					};
+				cuMonitor.beginTask("", parseList.size() + sourceList.size()); //$NON-NLS-1$
+				NullProgressMonitor parseMonitor= new NullProgressMonitor() {
+					@Override
+					public boolean isCanceled() {
+						return super.isCanceled() || monitor.isCanceled();
+					}
+				};
+
+				FixCalculator fixCalculator= new FixCalculator(cuMonitor, parseMonitor);
+				ASTBatchParser parser= new ASTBatchParser(ASTBatchParser.DEFAULT_PARALLELISM) {
+					@Override
+					protected ASTParser createParser(IJavaProject project) {
+						ASTParser result= createCleanUpASTParser();
+						result.setProject(project);
+
+						Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+						options.putAll(fCleanUpOptions);
+						result.setCompilerOptions(options);
+						return result;
+					}
+				};
+
+				if (fParseInBackground && !Job.getJobManager().isSuspended()) {
+					// only parsing runs in the background, the fixes are calculated and merged by
+					// this thread, which holds the scheduling rule of the refactoring
+					BlockingQueue<ParsedUnit> parsedUnits= new SynchronousQueue<>();
+					CleanUpASTRequestor requestor= new CleanUpASTRequestor(parsedUnits, fixCalculator, parseMonitor);
+					CleanUpASTCreator astCreator= new CleanUpASTCreator(parser, parseList, sourceList, requestor, parseMonitor);
+					Job parseJob= Job.createSystem("Clean Up parser", astCreator); //$NON-NLS-1$
+					parseJob.schedule();
+
+					boolean interrupted= false;
 					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
-					} catch (FixCalculationException e) {
-						throw e.getException();
+						fixCalculator.processParsedUnits(parsedUnits);
+					} finally {
+						while (true) {
+							try {
+								parseJob.join();
+								break;
+							} catch (InterruptedException e) {
+								interrupted= true;
+								parseMonitor.setCanceled(true);
+							}
+						}
+						if (interrupted)
+							Thread.currentThread().interrupt();
 					}
+
+					fixCalculator.rethrowException();
+					astCreator.rethrowException();
+				} else {
+					CleanUpASTRequestor requestor= new CleanUpASTRequestor(null, fixCalculator, parseMonitor);
+					CleanUpASTCreator astCreator= new CleanUpASTCreator(parser, parseList, sourceList, requestor, parseMonitor);
+					astCreator.run(parseMonitor);
+					astCreator.rethrowException();
+				}
+				if (monitor.isCanceled() || parseMonitor.isCanceled())
+					throw new OperationCanceledException();
+
+				fParseList= fixCalculator.getUndoneElements();
+				fIndex= cuMonitor.getIndex();
+			} finally {
+			}
+		}
+
+		/**
+		 * Calculates the fixes for the parsed compilation units, integrates them into the
+		 * solutions and collects the clean ups that have to be applied in the next iteration.
+		 */
+		private final class FixCalculator implements ParsedUnitHandler {
+
+			private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
+			private final CleanUpRefactoringProgressMonitor fMonitor;
+			private final IProgressMonitor fParseMonitor;
+			private final List<ParseListElement> fUndoneElements;
+			private Throwable fException;
+
+			public FixCalculator(CleanUpRefactoringProgressMonitor monitor, IProgressMonitor parseMonitor) {
+				fMonitor= monitor;
+				fParseMonitor= parseMonitor;
+				fUndoneElements= new ArrayList<>();
+				fCompilationUnitParseElementMap= new Hashtable<>(fParseList.size());
+				for (ParseListElement element : fParseList) {
+					fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
 				}
+			}
 
-				for (ICompilationUnit cu : sourceList) {
-					monitor.worked(1);
+			@Override
+			public void handle(ICompilationUnit source, CompilationUnit ast) throws CoreException {
+				ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
+				ParseListElement element= fCompilationUnitParseElementMap.get(primary);
+				CleanUpTarget target= element.getTarget();
 
-					requestor.acceptSource(cu);
+				CleanUpContext context;
+				if (target instanceof MultiFixTarget) {
+					context= new MultiFixContext(source, ast, ((MultiFixTarget)target).getProblems());
+				} else {
+					context= new CleanUpContext(source, ast);
+				}
+
+				fMonitor.subTask(fMonitor.getSubTaskMessage(source));
 
-					if (monitor.isCanceled())
-						throw new OperationCanceledException();
+				List<ICleanUp> rejectedCleanUps= new ArrayList<>();
+				CleanUpChange solution= calculateChange(context, element.getCleanUps(), rejectedCleanUps, null);
+				if (solution != null) {
+					integrateSolution(solution, source);
+				} else if (rejectedCleanUps.isEmpty() && !fSolutions.containsKey(source.getPrimary())) {
+					String key= fResultCacheKeys.get(source.getPrimary());
+					if (key != null)
+						fResultCache.recordUnchanged(key);
 				}
 
-				fParseList= requestor.getUndoneElements();
-				fIndex= cuMonitor.getIndex();
-			} finally {
+				if (!rejectedCleanUps.isEmpty()) {
+					fUndoneElements.add(new ParseListElement(target, rejectedCleanUps.toArray(new ICleanUp[rejectedCleanUps.size()])));
+					fMonitor.reset();
+				} else {
+					fMonitor.worked(1);
+					fMonitor.flush();
+				}
+			}
+
+			/**
+			 * Calculates the fixes for the units parsed by the parse job. Always takes the
+			 * units until the end, such that the parse job never blocks. After a failure or
+			 * cancellation the remaining units are skipped.
+			 *
+			 * @param parsedUnits the units parsed by the parse job
+			 */
+			public void processParsedUnits(BlockingQueue<ParsedUnit> parsedUnits) {
+				boolean interrupted= false;
+				while (true) {
+					ParsedUnit unit;
+					try {
+						unit= parsedUnits.take();
+					} catch (InterruptedException e) {
+						interrupted= true;
+						fParseMonitor.setCanceled(true);
+						continue;
+					}
+
+					if (unit == END_OF_PARSED_UNITS)
+						break;
+
+					try {
+						if (fException == null && !fParseMonitor.isCanceled())
+							handle(unit.getSource(), unit.getAST());
+					} catch (CoreException | RuntimeException | Error e) {
+						fException= e;
+						fParseMonitor.setCanceled(true);
+					} finally {
+						unit.processed();
+					}
+				}
+
+				if (interrupted)
+					Thread.currentThread().interrupt();
+			}
+
+			public void rethrowException() throws CoreException {
+				rethrow(fException);
+			}
+
+			/**
+			 * @return the clean ups which have not been applied yet
+			 */
+			public List<ParseListElement> getUndoneElements() {
+				return fUndoneElements;
+			}
+		}
+
+		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
+			ICompilationUnit primary= source.getPrimary();
+
+			List<CleanUpChange> changes= fSolutions.get(primary);
+			if (changes == null) {
+				changes= new ArrayList<>();
+				fSolutions.put(primary, changes);
 			}
+			changes.add(solution);
 		}
 
 		public void dispose() {
@@ -509,6 +773,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private final String fName;
 
 	private boolean fUseOptionsFromProfile;
+	private CleanUpResultCache fResultCache;
+	private boolean fParseInBackground;
 
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
@@ -519,12 +785,35 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fResultCache= CleanUpResultCache.isEnabled() ? CleanUpResultCache.getDefault() : null;
+		fParseInBackground= true;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the cache used to skip compilation units which are known to not be changed by the
+	 * clean ups.
+	 *
+	 * @param resultCache the result cache or <code>null</code> to not skip any compilation unit
+	 */
+	public void setResultCache(CleanUpResultCache resultCache) {
+		fResultCache= resultCache;
+	}
+
+	/**
+	 * Sets whether the compilation units are parsed in a background job while the fixes are
+	 * calculated. The fixes are always calculated by the thread running the refactoring.
+	 *
+	 * @param parseInBackground <code>true</code> to parse in the background, <code>false</code>
+	 *            to parse and calculate the fixes one after the other
+	 */
+	public void setParseInBackground(boolean parseInBackground) {
+		fParseInBackground= parseInBackground;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -673,19 +962,21 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
-
 		IProgressMonitor subMonitor= Progress.subMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
 		subMonitor.subTask(Messages.format(FixMessages.CleanUpRefactoring_Parser_Startup_message, BasicElementLabels.getResourceName(project.getProject())));
+
+		CleanUpFixpointIterator iter= null;
 		try {
+			iter= new CleanUpFixpointIterator(project, targets, cleanUps, subMonitor);
 			while (iter.hasNext()) {
 				iter.next(subMonitor);
 			}
 
 			return iter.getResult();
 		} finally {
-			iter.dispose();
+			if (iter != null)
+				iter.dispose();
 			subMonitor.done();
 		}
 	}
@@ -760,6 +1051,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return null;
 
 		CleanUpChange solution= null;
+		boolean canEnableFixes= false; // whether the solution may enable fixes of clean ups requiring a fresh AST
 		int i= 0;
 		do {
 			ICleanUp cleanUp= cleanUps[i];
@@ -787,16 +1079,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 						copyChangeGroups(merge, current);
 
 						solution= merge;
+						canEnableFixes|= cleanUp.getRequirements().canEnableFixes();
 					}
 				} else {
 					solution= new CleanUpChange(current.getName(), context.getCompilationUnit());
 					solution.setEdit(currentEdit);
 
 					copyChangeGroups(solution, current);
+					canEnableFixes= cleanUp.getRequirements().canEnableFixes();
 				}
 			}
 			i++;
-		} while (i < cleanUps.length && (context.getAST() == null || !cleanUps[i].getRequirements().requiresFreshAST()));
+			// the AST is only outdated for the next clean up if it can be affected by the changes so far
+		} while (i < cleanUps.length && (context.getAST() == null || !canEnableFixes || !cleanUps[i].getRequirements().requiresFreshAST()));
 
 		for (; i < cleanUps.length; i++) {
 			undoneCleanUps.add(cleanUps[i]);
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
+
+/**
+ * Remembers compilation units for which a clean up run did not produce any change.
+ * <p>
+ * An entry is keyed by a digest of the contents of the compilation unit, of the options of the
+ * clean ups (the clean up profile) and of the compiler options used to parse the unit. If the key
+ * of a unit is known, the {@link CleanUpRefactoring} skips the unit without parsing it. Changing
+ * any of the three inputs results in a different key, entries are therefore never wrong for the
+ * unit itself. However, clean ups which use bindings can also depend on other compilation units,
+ * the cache is therefore only used if enabled with the system property
+ * <code>org.eclipse.jdt.ui.cleanUpResultCache</code>.
+ * </p>
+ * <p>
+ * The cache is bounded, stored in the state location of the plug-in on shutdown and invalidated
+ * whenever the clean up profiles change.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class CleanUpResultCache {
+
+	private static final boolean ENABLED= Boolean.getBoolean("org.eclipse.jdt.ui.cleanUpResultCache"); //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.ui.cleanUpResultCacheSize", 10000); //$NON-NLS-1$
+
+	private static final String FILE_NAME= "CleanUpResultCache.dat"; //$NON-NLS-1$
+
+	private static final int FILE_VERSION= 1;
+
+	private static final String DIGEST_ALGORITHM= "SHA-256"; //$NON-NLS-1$
+
+	private static CleanUpResultCache fgInstance;
+
+	private static IPreferenceChangeListener fgProfileListener;
+
+	/**
+	 * Tells whether the result cache should be used by clean up runs.
+	 *
+	 * @return <code>true</code> if the result cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Returns the shared result cache, loading it from the state location if needed.
+	 *
+	 * @return the shared result cache
+	 */
+	public static synchronized CleanUpResultCache getDefault() {
+		if (fgInstance == null) {
+			File file= JavaPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile();
+			fgInstance= new CleanUpResultCache(file, DEFAULT_MAX_ENTRIES);
+			fgInstance.load();
+
+			fgProfileListener= event -> {
+				String key= event.getKey();
+				if (CleanUpConstants.CLEANUP_PROFILES.equals(key) || CleanUpConstants.CLEANUP_PROFILE.equals(key)
+						|| CleanUpConstants.CLEANUP_ON_SAVE_PROFILE.equals(key)) {
+					invalidateDefault();
+				}
+			};
+			InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN).addPreferenceChangeListener(fgProfileListener);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Invalidates the shared result cache if it has been created. To be called when the clean up
+	 * profiles change.
+	 */
+	public static synchronized void invalidateDefault() {
+		if (fgInstance != null)
+			fgInstance.invalidate();
+	}
+
+	/**
+	 * Saves and releases the shared result cache.
+	 */
+	public static synchronized void shutdownInstance() {
+		if (fgInstance == null)
+			return;
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.removePreferenceChangeListener(fgProfileListener);
+		fgProfileListener= null;
+
+		fgInstance.save();
+		fgInstance= null;
+	}
+
+	private final File fFile;
+	private final int fMaxEntries;
+
+	private final LinkedHashMap<String, Boolean> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+	private boolean fDirty;
+
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Creates an empty result cache.
+	 *
+	 * @param file the file to store the cache in or <code>null</code> to not persist the cache
+	 * @param maxEntries the maximum number of entries
+	 */
+	public CleanUpResultCache(File file, int maxEntries) {
+		fFile= file;
+		fMaxEntries= Math.max(0, maxEntries);
+	}
+
+	/**
+	 * Tells whether a clean up run with the given key is known to not change the compilation
+	 * unit.
+	 *
+	 * @param key the key, see {@link #computeKey(String, String, String)}
+	 * @return <code>true</code> if the compilation unit can be skipped
+	 */
+	public synchronized boolean isUnchanged(String key) {
+		if (key != null && fEntries.get(key) != null) {
+			fHits++;
+			return true;
+		}
+		fMisses++;
+		return false;
+	}
+
+	/**
+	 * Records that a clean up run with the given key does not change the compilation unit.
+	 *
+	 * @param key the key, see {@link #computeKey(String, String, String)}
+	 */
+	public synchronized void recordUnchanged(String key) {
+		if (key == null || fMaxEntries == 0)
+			return;
+
+		if (fEntries.put(key, Boolean.TRUE) == null)
+			fDirty= true;
+
+		Iterator<String> iter= fEntries.keySet().iterator();
+		while (fEntries.size() > fMaxEntries && iter.hasNext()) {
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache and deletes the stored cache.
+	 */
+	public synchronized void invalidate() {
+		fEntries.clear();
+		fDirty= false;
+		if (fFile != null && fFile.exists() && !fFile.delete())
+			fDirty= true;
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the ratio of lookups which allowed to skip a compilation unit.
+	 *
+	 * @return the hit rate between <code>0</code> and <code>1</code>
+	 */
+	public synchronized double getHitRate() {
+		long lookups= fHits + fMisses;
+		return lookups == 0 ? 0 : (double) fHits / lookups;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CleanUpResultCache [entries=" + fEntries.size() + ", hits=" + fHits + ", misses=" + fMisses + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	public synchronized void load() {
+		if (fFile == null || !fFile.exists())
+			return;
+
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (in.readInt() != FILE_VERSION)
+				return;
+
+			int size= in.readInt();
+			for (int i= 0; i < size && fEntries.size() < fMaxEntries; i++) {
+				fEntries.put(in.readUTF(), Boolean.TRUE);
+			}
+		} catch (IOException e) {
+			fEntries.clear();
+			JavaPlugin.log(e);
+		}
+		fDirty= false;
+	}
+
+	public synchronized void save() {
+		if (fFile == null || !fDirty)
+			return;
+
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)))) {
+			out.writeInt(FILE_VERSION);
+			out.writeInt(fEntries.size());
+			for (String key : fEntries.keySet()) {
+				out.writeUTF(key);
+			}
+			fDirty= false;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Computes the key of a clean up run.
+	 *
+	 * @param contents the contents of the compilation unit
+	 * @param profileHash the hash of the clean up options, see {@link #getProfileHash(ICleanUp[])}
+	 * @param compilerOptionsHash the hash of the compiler options, see
+	 *            {@link #getOptionsHash(Map)}
+	 * @return the key or <code>null</code> if no key can be computed
+	 */
+	public static String computeKey(String contents, String profileHash, String compilerOptionsHash) {
+		if (contents == null || profileHash == null || compilerOptionsHash == null)
+			return null;
+
+		MessageDigest digest= createDigest();
+		if (digest == null)
+			return null;
+
+		digest.update(contents.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(profileHash.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(compilerOptionsHash.getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Computes a hash of the given clean ups and their options.
+	 *
+	 * @param cleanUps the clean ups
+	 * @return the hash or <code>null</code> if the options of a clean up are not known
+	 */
+	public static String getProfileHash(ICleanUp[] cleanUps) {
+		StringBuilder buf= new StringBuilder();
+		buf.append(JavaPlugin.getDefault().getBundle().getVersion());
+		for (ICleanUp cleanUp : cleanUps) {
+			if (!(cleanUp instanceof AbstractCleanUp))
+				return null;
+
+			CleanUpOptions options= ((AbstractCleanUp) cleanUp).getOptions();
+			if (options == null)
+				return null;
+
+			buf.append('\n').append(cleanUp.getClass().getName());
+			Map<String, String> map= new TreeMap<>();
+			for (String key : options.getKeys()) {
+				map.put(key, options.getValue(key));
+			}
+			appendOptions(buf, map);
+		}
+		return hash(buf.toString());
+	}
+
+	/**
+	 * Computes a hash of the given options.
+	 *
+	 * @param options the options
+	 * @return the hash or <code>null</code> if no hash can be computed
+	 */
+	public static String getOptionsHash(Map<String, String> options) {
+		StringBuilder buf= new StringBuilder();
+		appendOptions(buf, new TreeMap<>(options));
+		return hash(buf.toString());
+	}
+
+	private static void appendOptions(StringBuilder buf, Map<String, String> sortedOptions) {
+		for (Map.Entry<String, String> entry : sortedOptions.entrySet()) {
+			buf.append('\n').append(entry.getKey()).append('=').append(entry.getValue());
+		}
+	}
+
+	private static String hash(String string) {
+		MessageDigest digest= createDigest();
+		if (digest == null)
+			return null;
+
+		return toHex(digest.digest(string.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder buf= new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			buf.append(Character.forDigit((b >> 4) & 0xF, 16));
+			buf.append(Character.forDigit(b & 0xF, 16));
+		}
+		return buf.toString();
+	}
+}
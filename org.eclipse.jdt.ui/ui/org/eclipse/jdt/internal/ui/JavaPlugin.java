@@ -97,6 +97,7 @@ import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapperDynamic;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRegistry;
+import org.eclipse.jdt.internal.corext.fix.CleanUpResultCache;
 import org.eclipse.jdt.internal.corext.template.java.AbstractJavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaPostfixContextType;
@@ -158,6 +159,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	public static boolean DEBUG_RESULT_COLLECTOR;
 
+	public static boolean DEBUG_SEMANTIC_HIGHLIGHTING;
+
 	private static JavaPlugin fgJavaPlugin;
 
 	private static LinkedHashMap<String, Long> fgRepeatedMessages= new LinkedHashMap<>(20, 0.75f, true) {
@@ -534,6 +537,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 			SpellCheckEngine.shutdownInstance();
 
+			CleanUpResultCache.shutdownInstance();
+
 			QualifiedTypeNameHistory.getDefault().save();
 
 			// must add here to guarantee that it is the first in the listener list
@@ -1150,6 +1155,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.ui/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_BREADCRUMB_ITEM_DROP_DOWN= options.getBooleanOption("org.eclipse.jdt.ui/debug/BreadcrumbItemDropDown", false); //$NON-NLS-1$
 		DEBUG_RESULT_COLLECTOR= options.getBooleanOption("org.eclipse.jdt.ui/debug/ResultCollector", false); //$NON-NLS-1$
+		DEBUG_SEMANTIC_HIGHLIGHTING= options.getBooleanOption("org.eclipse.jdt.ui/debug/SemanticHighlighting", false); //$NON-NLS-1$
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -448,13 +448,14 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     }
 
     /**
-     * Cancel all current jobs.
+     * Cancel all current jobs, including the searches for calls in the background.
      * @param wrappers the parents to cancel jobs for
      */
     void cancelJobs(MethodWrapper[] wrappers) {
         if (fManager != null && wrappers != null) {
         	for (MethodWrapper wrapper : wrappers) {
         		fManager.cancel(wrapper);
+        		wrapper.cancelBackgroundSearches();
         	}
             if (fPart != null) {
                 fPart.setCancelEnabled(false);
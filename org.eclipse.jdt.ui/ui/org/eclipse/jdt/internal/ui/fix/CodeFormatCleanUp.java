@@ -45,7 +45,7 @@ public class CodeFormatCleanUp extends AbstractCleanUp {
 	@Override
 	public CleanUpRequirements getRequirements() {
 		boolean requiresChangedRegions= isEnabled(CleanUpConstants.FORMAT_SOURCE_CODE) && isEnabled(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
-		return new CleanUpRequirements(false, false, requiresChangedRegions, null);
+		return new CleanUpRequirements(false, false, requiresChangedRegions, null, false);
 	}
 
 	@Override
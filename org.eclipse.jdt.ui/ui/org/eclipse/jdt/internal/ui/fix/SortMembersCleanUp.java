@@ -144,7 +144,7 @@ public class SortMembersCleanUp extends AbstractCleanUp {
 
     @Override
 	public CleanUpRequirements getRequirements() {
-    	return new CleanUpRequirements(isEnabled(CleanUpConstants.SORT_MEMBERS), false, false, null);
+    	return new CleanUpRequirements(isEnabled(CleanUpConstants.SORT_MEMBERS), false, false, null, false);
     }
 
 	private static boolean containsRelevantMarkers(IFile file) throws CoreException {
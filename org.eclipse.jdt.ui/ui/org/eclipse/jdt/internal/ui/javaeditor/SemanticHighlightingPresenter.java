@@ -52,6 +52,25 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	/** The background presentation reconciler */
 	private JavaPresentationReconciler fPresentationReconciler;
 
+	/**
+	 * Start offset of the document region changed since the changed region was last taken,
+	 * <code>-1</code> if the document did not change. Guarded by the document's lock object.
+	 * @since 3.33
+	 */
+	private int fChangedRegionStart= -1;
+	/**
+	 * End offset of the document region changed since the changed region was last taken.
+	 * Guarded by the document's lock object.
+	 * @since 3.33
+	 */
+	private int fChangedRegionEnd= -1;
+	/**
+	 * <code>true</code> iff the changed region is unknown and the whole document has to be
+	 * reconciled. Guarded by the document's lock object.
+	 * @since 3.33
+	 */
+	private boolean fIsChangedRegionUnknown= true;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -321,6 +340,7 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 		setCanceled(true);
 		releaseDocument(oldInput);
 		resetState();
+		invalidateChangedRegion();
 	}
 
 	/*
@@ -344,6 +364,93 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	 */
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		int end= offset + event.getLength();
+		String text= event.getText();
+		int newEnd= offset + (text != null ? text.length() : 0);
+		int delta= newEnd - end;
+
+		synchronized (getLockObject(event.getDocument())) {
+			if (fIsChangedRegionUnknown)
+				return;
+
+			if (fChangedRegionStart == -1) {
+				fChangedRegionStart= offset;
+				fChangedRegionEnd= newEnd;
+				return;
+			}
+
+			// move the changed region into the coordinates of the changed document
+			int start= fChangedRegionStart;
+			if (start >= end)
+				start+= delta;
+			else if (start > offset)
+				start= offset;
+
+			int regionEnd= fChangedRegionEnd;
+			if (regionEnd >= end)
+				regionEnd+= delta;
+			else if (regionEnd > offset)
+				regionEnd= newEnd;
+
+			fChangedRegionStart= Math.min(start, offset);
+			fChangedRegionEnd= Math.max(regionEnd, newEnd);
+		}
+	}
+
+	/**
+	 * Returns the region of the document changed since this method was last called and starts
+	 * tracking changes anew.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the changed region in the coordinates of the current document, a region of
+	 *         length <code>-1</code> if the document did not change or <code>null</code> if the
+	 *         changes are unknown and the whole document has to be reconciled
+	 * @since 3.33
+	 */
+	public IRegion takeChangedRegion() {
+		IDocument document= fSourceViewer != null ? fSourceViewer.getDocument() : null;
+		if (document == null)
+			return null;
+
+		synchronized (getLockObject(document)) {
+			IRegion region;
+			if (fIsChangedRegionUnknown)
+				region= null;
+			else if (fChangedRegionStart == -1)
+				region= new Region(0, -1);
+			else
+				region= new Region(fChangedRegionStart, fChangedRegionEnd - fChangedRegionStart);
+			fIsChangedRegionUnknown= false;
+			fChangedRegionStart= -1;
+			fChangedRegionEnd= -1;
+			return region;
+		}
+	}
+
+	/**
+	 * Forgets the changed region, the next reconcile has to reconcile the whole document. Called
+	 * if a reconcile did not complete.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @since 3.33
+	 */
+	public void invalidateChangedRegion() {
+		IDocument document= fSourceViewer != null ? fSourceViewer.getDocument() : null;
+		if (document == null) {
+			fIsChangedRegionUnknown= true;
+			return;
+		}
+
+		synchronized (getLockObject(document)) {
+			fIsChangedRegionUnknown= true;
+			fChangedRegionStart= -1;
+			fChangedRegionEnd= -1;
+		}
 	}
 
 	/**
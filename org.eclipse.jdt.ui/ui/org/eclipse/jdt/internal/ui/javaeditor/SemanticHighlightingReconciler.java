@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -37,13 +38,17 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
@@ -376,6 +381,18 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
 
+	/**
+	 * Duration of the last completed reconcile in nanoseconds.
+	 * @since 3.33
+	 */
+	private volatile long fLastReconcileDuration= -1;
+	/**
+	 * <code>true</code> iff the last completed reconcile only revisited the subtrees affected by
+	 * the document changes.
+	 * @since 3.33
+	 */
+	private volatile boolean fIsLastReconcileIncremental;
+
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
@@ -409,32 +426,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
-			if (subtrees.length == 0)
-				return;
-
-			startReconcilingPositions();
-
-			if (!fJobPresenter.isCanceled()) {
-				fJobDeprecatedMemberHighlighting= null;
-				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
-						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
-				}
-				reconcilePositions(subtrees);
+			long start= System.nanoTime();
+			IRegion changedRegion= fJobPresenter.takeChangedRegion();
+			boolean completed= false;
+			try {
+				completed= reconcile(ast, forced ? null : changedRegion);
+			} finally {
+				if (!completed)
+					fJobPresenter.invalidateChangedRegion();
+			}
+			if (completed) {
+				fLastReconcileDuration= System.nanoTime() - start;
+				if (JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING)
+					System.out.println("SemanticHighlightingReconciler - " + (fIsLastReconcileIncremental ? "incremental" : "full") + " reconcile took " + fLastReconcileDuration + " ns"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
 			}
-
-			TextPresentation textPresentation= null;
-			if (!fJobPresenter.isCanceled())
-				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
-
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
-
-			stopReconcilingPositions();
 		} finally {
 			fJobPresenter= null;
 			fJobSemanticHighlightings= null;
@@ -447,12 +452,86 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Reconciles the positions with the given AST.
+	 *
+	 * @param ast the AST
+	 * @param changedRegion the region changed since the last reconcile as returned by
+	 *            {@link SemanticHighlightingPresenter#takeChangedRegion()}, <code>null</code> to
+	 *            reconcile the whole AST
+	 * @return <code>true</code> iff the reconcile completed without being canceled
+	 * @since 3.33
+	 */
+	private boolean reconcile(CompilationUnit ast, IRegion changedRegion) {
+		ASTNode[] subtrees= getAffectedSubtrees(ast, changedRegion);
+		if (subtrees.length == 0)
+			return false;
+
+		boolean incremental= subtrees[0] != ast;
+		if (incremental)
+			startReconcilingPositions(subtrees);
+		else
+			startReconcilingPositions();
+
+		if (!fJobPresenter.isCanceled()) {
+			fJobDeprecatedMemberHighlighting= null;
+			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
+				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
+				if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
+					fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
+					break;
+				}
+			}
+			reconcilePositions(subtrees);
+		}
+
+		TextPresentation textPresentation= null;
+		if (!fJobPresenter.isCanceled())
+			textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
+
+		if (!fJobPresenter.isCanceled())
+			updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+
+		stopReconcilingPositions();
+
+		if (fJobPresenter.isCanceled())
+			return false;
+		fIsLastReconcileIncremental= incremental;
+		return true;
+	}
+
+	/**
+	 * Returns the subtrees that may be affected by the document changes in the given region.
+	 * <p>
+	 * Changes inside the body of a method or an initializer cannot change the highlighting outside
+	 * of that body, hence only the innermost body enclosing the whole changed region is returned.
+	 * If there is no such body, the changes are unknown or the AST does not match the document,
+	 * the whole AST is returned.
+	 * </p>
+	 *
+	 * @param ast the AST
+	 * @param changedRegion the changed region, <code>null</code> if unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, IRegion changedRegion) {
+		if (changedRegion == null || changedRegion.getLength() < 0)
+			return new ASTNode[] { ast };
+
+		IDocument document= fSourceViewer != null ? fSourceViewer.getDocument() : null;
+		if (document == null || document.getLength() != ast.getStartPosition() + ast.getLength())
+			return new ASTNode[] { ast };
+
+		int start= changedRegion.getOffset();
+		int end= start + changedRegion.getLength();
+		ASTNode node= NodeFinder.perform(ast, start, changedRegion.getLength());
+		while (node != null) {
+			if (node instanceof Block && (node.getParent() instanceof MethodDeclaration || node.getParent() instanceof Initializer)) {
+				// the changed region must not touch the braces of the body
+				if (node.getStartPosition() < start && end < node.getStartPosition() + node.getLength() - 1)
+					return new ASTNode[] { node };
+			}
+			node= node.getParent();
+		}
+		return new ASTNode[] { ast };
 	}
 
 	/**
@@ -463,16 +542,25 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fNOfRemovedPositions= fRemovedPositions.size();
 	}
 
+	/**
+	 * Start reconciling the positions covered by the given subtrees, the positions outside of them
+	 * are kept.
+	 *
+	 * @param subtrees the AST subtrees
+	 * @since 3.33
+	 */
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		for (ASTNode subtree : subtrees)
+			fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		fNOfRemovedPositions= fRemovedPositions.size();
+	}
+
 	/**
 	 * Reconcile positions based on the AST subtrees
 	 *
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 		List<Position> oldPositions= fRemovedPositions;
@@ -678,6 +766,29 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		if (fPresenter != null)
+			fPresenter.invalidateChangedRegion();
 		scheduleJob();
 	}
+
+	/**
+	 * Returns the duration of the last completed reconcile.
+	 *
+	 * @return the duration in nanoseconds or <code>-1</code> if no reconcile completed yet
+	 * @since 3.33
+	 */
+	public long getLastReconcileDuration() {
+		return fLastReconcileDuration;
+	}
+
+	/**
+	 * Tells whether the last completed reconcile only revisited the subtrees affected by the
+	 * document changes instead of the whole AST.
+	 *
+	 * @return <code>true</code> iff the last reconcile was incremental
+	 * @since 3.33
+	 */
+	public boolean isLastReconcileIncremental() {
+		return fIsLastReconcileIncremental;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,6 +98,7 @@ public class AddWordProposal implements IJavaCompletionProposal {
 
 		if (checker.acceptsWords()) {
 			checker.addWord(fWord);
+			SpellCheckEngine.wordsChanged();
 			if (fContext != null && fContext.getSourceViewer() != null)
 				SpellingProblem.removeAll(fContext.getSourceViewer(), fWord);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,12 +13,25 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -37,9 +50,17 @@ import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
 
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
 
 /**
  * Reconcile strategy for spell checking comments.
+ * <p>
+ * After a first check of the whole document, only the partitions that have been changed since the
+ * last reconcile are checked again. The spelling problems of the other partitions are carried
+ * over. The whole document is checked again when the spelling preferences or the words known to
+ * the spell checker change.
+ * </p>
  *
  * @since 3.1
  */
@@ -47,8 +68,42 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 
 
 	/**
-	 * Spelling problem collector that forwards {@link SpellingProblem}s as
-	 * {@link IProblem}s to the {@link IProblemRequestor}.
+	 * A spelling problem found by a previous check, whose position is kept up to date with the
+	 * changes of the document.
+	 *
+	 * @since 3.33
+	 */
+	private static class SpellingProblemPosition extends Position {
+
+		private final String fMessage;
+		private final boolean fDictionaryMatch;
+		private final boolean fSentenceStart;
+
+		SpellingProblemPosition(SpellingProblem problem) {
+			super(problem.getOffset(), problem.getLength());
+			fMessage= problem.getMessage();
+			if (problem instanceof JavaSpellingProblem) {
+				fDictionaryMatch= ((JavaSpellingProblem) problem).isDictionaryMatch();
+				fSentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
+			} else {
+				fDictionaryMatch= false;
+				fSentenceStart= false;
+			}
+		}
+
+		SpellingProblemPosition(SpellingProblemPosition problem) {
+			super(problem.getOffset(), problem.getLength());
+			fMessage= problem.fMessage;
+			fDictionaryMatch= problem.fDictionaryMatch;
+			fSentenceStart= problem.fSentenceStart;
+		}
+	}
+
+
+	/**
+	 * Spelling problem collector that collects the {@link SpellingProblem}s of the checked
+	 * regions. They are forwarded as {@link IProblem}s to the {@link IProblemRequestor} together
+	 * with the problems carried over from the previous check.
 	 */
 	private class SpellingProblemCollector implements ISpellingProblemCollector {
 
@@ -57,27 +112,7 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void accept(SpellingProblem problem) {
-			IProblemRequestor requestor= fRequestor;
-			if (requestor != null) {
-				try {
-					int line= getDocument().getLineOfOffset(problem.getOffset()) + 1;
-					String word= getDocument().get(problem.getOffset(), problem.getLength());
-					boolean dictionaryMatch= false;
-					boolean sentenceStart= false;
-					if (problem instanceof JavaSpellingProblem) {
-						dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
-						sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
-					}
-					// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
-					IEditorInput editorInput= fEditor.getEditorInput();
-					if (editorInput != null) {
-						CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.getOffset(), problem.getOffset() + problem.getLength() - 1, line, problem.getMessage(), word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
-						requestor.acceptProblem(iProblem);
-					}
-				} catch (BadLocationException x) {
-					// drop this SpellingProblem
-				}
-			}
+			fCollectedProblems.add(new SpellingProblemPosition(problem));
 		}
 
 		/*
@@ -85,8 +120,6 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void beginCollecting() {
-			if (fRequestor != null)
-				fRequestor.beginReporting();
 		}
 
 		/*
@@ -94,8 +127,112 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void endCollecting() {
-			if (fRequestor != null)
-				fRequestor.endReporting();
+		}
+	}
+
+
+	/**
+	 * Keeps the carried over spelling problems and the dirty regions up to date with the changes
+	 * of the document and its partitioning.
+	 *
+	 * @since 3.33
+	 */
+	private class DirtyRegionTracker implements IDocumentListener, IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+		 */
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+		 */
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int length= event.getLength();
+			int textLength= event.getText() == null ? 0 : event.getText().length();
+			synchronized (fLock) {
+				fModificationCount++;
+				if (fProblems == null)
+					return;
+				int delta= textLength - length;
+				fProblems.removeIf(problem -> update(problem, offset, length, delta));
+				for (Position region : fDirtyRegions) {
+					if (update(region, offset, length, delta)) {
+						// the dirty region touches the change, it keeps the part before and after the change
+						int start= Math.min(region.getOffset(), offset);
+						int end= Math.max(region.getOffset() + region.getLength() + delta, offset);
+						region.setOffset(start);
+						region.setLength(end - start);
+					}
+				}
+				addDirtyRegion(offset, textLength);
+			}
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentPartitioningListener#documentPartitioningChanged(org.eclipse.jface.text.IDocument)
+		 */
+		@Override
+		public void documentPartitioningChanged(IDocument document) {
+			// replaced by IDocumentPartitioningListenerExtension2
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentPartitioningListenerExtension2#documentPartitioningChanged(org.eclipse.jface.text.DocumentPartitioningChangedEvent)
+		 */
+		@Override
+		public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+			IRegion region= event.getChangedRegion(IJavaPartitions.JAVA_PARTITIONING);
+			if (region != null) {
+				synchronized (fLock) {
+					if (fProblems != null)
+						addDirtyRegion(region.getOffset(), region.getLength());
+				}
+			}
+		}
+
+		/**
+		 * Updates a position after a document change.
+		 *
+		 * @param position the position
+		 * @param offset the offset of the change
+		 * @param length the length of the replaced text
+		 * @param delta the difference between the length of the new and the replaced text
+		 * @return <code>true</code> if the position touches the replaced text
+		 */
+		private boolean update(Position position, int offset, int length, int delta) {
+			if (position.getOffset() + position.getLength() < offset)
+				return false;
+			if (position.getOffset() > offset + length) {
+				position.setOffset(position.getOffset() + delta);
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Adds a dirty region and merges it with the dirty regions it touches.
+		 *
+		 * @param offset the offset of the region
+		 * @param length the length of the region
+		 */
+		private void addDirtyRegion(int offset, int length) {
+			int start= offset;
+			int end= offset + length;
+			for (Iterator<Position> iter= fDirtyRegions.iterator(); iter.hasNext();) {
+				Position region= iter.next();
+				int regionEnd= region.getOffset() + region.getLength();
+				if (regionEnd >= start && region.getOffset() <= end) {
+					start= Math.min(start, region.getOffset());
+					end= Math.max(end, regionEnd);
+					iter.remove();
+				}
+			}
+			fDirtyRegions.add(new Position(start, end - start));
 		}
 	}
 
@@ -112,6 +249,49 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	/** The problem requester. */
 	private IProblemRequestor fRequestor;
 
+	/**
+	 * The lock guarding the carried over problems and the dirty regions.
+	 * @since 3.33
+	 */
+	private final Object fLock= new Object();
+
+	/**
+	 * The spelling problems of the previous check in document order, or <code>null</code> if the
+	 * whole document has to be checked.
+	 * @since 3.33
+	 */
+	private List<SpellingProblemPosition> fProblems;
+
+	/**
+	 * The regions changed since the previous check.
+	 * @since 3.33
+	 */
+	private final List<Position> fDirtyRegions= new ArrayList<>();
+
+	/**
+	 * The number of document changes, used to detect changes during a check.
+	 * @since 3.33
+	 */
+	private int fModificationCount;
+
+	/**
+	 * The spelling modification stamp and engine of the previous check.
+	 * @since 3.33
+	 */
+	private String fSpellingStamp;
+
+	/**
+	 * The problems collected in the current check.
+	 * @since 3.33
+	 */
+	private final List<SpellingProblemPosition> fCollectedProblems= new ArrayList<>();
+
+	/**
+	 * The tracker of the document changes.
+	 * @since 3.33
+	 */
+	private final DirtyRegionTracker fDirtyRegionTracker= new DirtyRegionTracker();
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -129,8 +309,158 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void reconcile(IRegion region) {
-		if (fRequestor != null && isSpellingEnabled())
-			super.reconcile(region);
+		if (fRequestor == null)
+			return;
+		if (!isSpellingEnabled()) {
+			synchronized (fLock) {
+				fProblems= null;
+			}
+			return;
+		}
+
+		IDocument document= getDocument();
+		String spellingStamp= SpellCheckEngine.getModificationStamp() + EditorsUI.getPreferenceStore().getString(SpellingService.PREFERENCE_SPELLING_ENGINE);
+		List<SpellingProblemPosition> carriedProblems;
+		List<Position> dirtyRegions;
+		int modificationCount;
+		synchronized (fLock) {
+			modificationCount= fModificationCount;
+			if (fProblems == null || !spellingStamp.equals(fSpellingStamp)) {
+				carriedProblems= null;
+				dirtyRegions= null;
+			} else {
+				// the positions are updated by the document listener, check copies of them
+				carriedProblems= copyProblems(fProblems);
+				dirtyRegions= new ArrayList<>(fDirtyRegions.size());
+				for (Position region : fDirtyRegions)
+					dirtyRegions.add(new Position(region.getOffset(), region.getLength()));
+			}
+		}
+
+		IRegion[] regions= carriedProblems == null ? null : computeDirtyPartitions(document, dirtyRegions);
+		if (regions == null) {
+			carriedProblems= new ArrayList<>();
+			regions= new IRegion[] { new Region(0, document.getLength()) };
+		}
+
+		fCollectedProblems.clear();
+		for (IRegion dirty : regions)
+			super.reconcile(dirty);
+
+		List<SpellingProblemPosition> problems= new ArrayList<>(carriedProblems.size() + fCollectedProblems.size());
+		for (SpellingProblemPosition problem : carriedProblems) {
+			if (!overlaps(problem, regions))
+				problems.add(problem);
+		}
+		problems.addAll(fCollectedProblems);
+		problems.sort(Comparator.comparingInt(Position::getOffset));
+		fCollectedProblems.clear();
+
+		synchronized (fLock) {
+			// if the document has been changed during the check, the next reconcile starts over
+			if (modificationCount == fModificationCount) {
+				fProblems= copyProblems(problems);
+				fDirtyRegions.clear();
+				fSpellingStamp= spellingStamp;
+			} else {
+				fProblems= null;
+			}
+		}
+		reportProblems(document, problems);
+	}
+
+	/**
+	 * Computes the partitions that contain the dirty regions.
+	 *
+	 * @param document the document
+	 * @param dirtyRegions the dirty regions
+	 * @return the non-overlapping partition regions to check, or <code>null</code> if the whole
+	 *         document has to be checked
+	 * @since 3.33
+	 */
+	private static IRegion[] computeDirtyPartitions(IDocument document, List<Position> dirtyRegions) {
+		dirtyRegions.sort(Comparator.comparingInt(Position::getOffset));
+		List<IRegion> regions= new ArrayList<>(dirtyRegions.size());
+		int documentLength= document.getLength();
+		try {
+			int regionStart= -1;
+			int regionEnd= -1;
+			for (Position dirty : dirtyRegions) {
+				int start= Math.min(dirty.getOffset(), documentLength);
+				int end= Math.min(dirty.getOffset() + dirty.getLength(), documentLength);
+				IRegion first= TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, start > 0 ? start - 1 : 0, false);
+				IRegion last= TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, end, false);
+				start= first.getOffset();
+				end= Math.max(first.getOffset() + first.getLength(), last.getOffset() + last.getLength());
+				if (start > regionEnd) {
+					if (regionEnd >= 0)
+						regions.add(new Region(regionStart, regionEnd - regionStart));
+					regionStart= start;
+				}
+				regionEnd= Math.max(regionEnd, end);
+			}
+			if (regionEnd >= 0)
+				regions.add(new Region(regionStart, regionEnd - regionStart));
+		} catch (BadLocationException e) {
+			// the document has been changed in another thread
+			return null;
+		}
+		return regions.toArray(new IRegion[regions.size()]);
+	}
+
+	/**
+	 * Copies spelling problems, such that the copies are not updated by the document listener.
+	 *
+	 * @param problems the spelling problems
+	 * @return the copies of the spelling problems
+	 * @since 3.33
+	 */
+	private static List<SpellingProblemPosition> copyProblems(List<SpellingProblemPosition> problems) {
+		List<SpellingProblemPosition> copies= new ArrayList<>(problems.size());
+		for (SpellingProblemPosition problem : problems)
+			copies.add(new SpellingProblemPosition(problem));
+		return copies;
+	}
+
+	private static boolean overlaps(Position problem, IRegion[] regions) {
+		for (IRegion region : regions) {
+			if (problem.overlapsWith(region.getOffset(), region.getLength()))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Forwards the spelling problems as {@link IProblem}s to the {@link IProblemRequestor}.
+	 *
+	 * @param document the document
+	 * @param problems the spelling problems
+	 * @since 3.33
+	 */
+	private void reportProblems(IDocument document, List<SpellingProblemPosition> problems) {
+		IProblemRequestor requestor= fRequestor;
+		if (requestor == null)
+			return;
+
+		requestor.beginReporting();
+		try {
+			// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
+			IEditorInput editorInput= fEditor.getEditorInput();
+			if (editorInput == null)
+				return;
+			for (SpellingProblemPosition problem : problems) {
+				try {
+					int line= document.getLineOfOffset(problem.getOffset()) + 1;
+					String word= document.get(problem.getOffset(), problem.getLength());
+					CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.getOffset(), problem.getOffset() + problem.getLength() - 1, line, problem.fMessage, word, problem.fDictionaryMatch, problem.fSentenceStart, document, editorInput.getName());
+					requestor.acceptProblem(iProblem);
+				} catch (BadLocationException x) {
+					// drop this SpellingProblem
+				}
+			}
+		} finally {
+			requestor.endReporting();
+		}
 	}
 
 	private boolean isSpellingEnabled() {
@@ -160,8 +490,21 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void setDocument(IDocument document) {
+		IDocument oldDocument= getDocument();
+		if (oldDocument != null) {
+			oldDocument.removeDocumentListener(fDirtyRegionTracker);
+			oldDocument.removeDocumentPartitioningListener(fDirtyRegionTracker);
+		}
+		synchronized (fLock) {
+			fProblems= null;
+			fDirtyRegions.clear();
+		}
 		super.setDocument(document);
 		updateProblemRequester();
+		if (document != null) {
+			document.addDocumentListener(fDirtyRegionTracker);
+			document.addDocumentPartitioningListener(fDirtyRegionTracker);
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
@@ -72,6 +73,14 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	private static Set<Locale> fgLocalesWithInstalledDictionaries;
 
+	/**
+	 * Counts the changes of the spelling preferences and of the words accepted by the spell
+	 * checker.
+	 *
+	 * @since 3.33
+	 */
+	private static final AtomicInteger fgModificationStamp= new AtomicInteger();
+
 	/**
 	 * Returns the locales for which this
 	 * spell check engine has dictionaries in certain location.
@@ -239,6 +248,26 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		return fgEngine;
 	}
 
+	/**
+	 * Returns a stamp that changes whenever the spelling preferences or the words accepted by the
+	 * spell checker change, such that spelling problems found before are no longer valid.
+	 *
+	 * @return The modification stamp
+	 * @since 3.33
+	 */
+	public static int getModificationStamp() {
+		return fgModificationStamp.get();
+	}
+
+	/**
+	 * Tells that words have been added to or ignored by the spell checker.
+	 *
+	 * @since 3.33
+	 */
+	public static void wordsChanged() {
+		fgModificationStamp.incrementAndGet();
+	}
+
 	/**
 	 * Shuts down the singleton instance of the spell check engine.
 	 */
@@ -369,6 +398,9 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	@Override
 	public final void propertyChange(final PropertyChangeEvent event) {
+		if (event.getProperty().startsWith("spelling")) //$NON-NLS-1$
+			fgModificationStamp.incrementAndGet();
+
 		if (PreferenceConstants.SPELLING_LOCALE.equals(event.getProperty())) {
 			resetSpellChecker();
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -143,12 +144,17 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	/**
 	 * Returns all candidates with the same phonetic hash.
+	 * <p>
+	 * Subclasses that keep their words outside of the hash buckets override this method.
+	 * </p>
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return The UTF-8 encoded candidate as <code>byte[]</code>, an <code>ArrayList</code> of
+	 *         such candidates or <code>null</code> if there are no candidates for the phonetic
+	 *         hash
 	 */
-	protected final Object getCandidates(final String hash) {
+	protected Object getCandidates(final String hash) {
 		ByteArrayWrapper hashBytes;
 		try {
 			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
@@ -589,44 +595,32 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
+		try {
+			return readWords(url, this::hashWord);
+		} finally {
+			fMustLoad= false;
+		}
+	}
+
+	/**
+	 * Reads a dictionary word list from disk.
+	 *
+	 * @param url
+	 *                   The URL of the word list to read
+	 * @param consumer
+	 *                   The consumer of the words
+	 * @return <code>true</code> iff the word list could be read, <code>false</code>
+	 *               otherwise
+	 * @since 3.33
+	 */
+	protected final boolean readWords(final URL url, final Consumer<String> consumer) {
 		if (url != null) {
 			InputStream stream= null;
 			int line= 0;
 			try {
 				stream= url.openStream();
 				if (stream != null) {
-					String word= null;
-
-					// Setup a reader with a decoder in order to read over malformed input if needed.
-					CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
-					decoder.onMalformedInput(CodingErrorAction.REPORT);
-					decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-					try (final BufferedReader reader= new BufferedReader(new InputStreamReader(stream, decoder))) {
-
-						boolean doRead= true;
-						while (doRead) {
-							try {
-								word= reader.readLine();
-							} catch (MalformedInputException ex) {
-								// Tell the decoder to replace malformed input in order to read the line.
-								decoder.onMalformedInput(CodingErrorAction.REPLACE);
-								decoder.reset();
-								word= reader.readLine();
-								decoder.onMalformedInput(CodingErrorAction.REPORT);
-
-								String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError,
-										new String[] { word, decoder.replacement(), BasicElementLabels.getURLPart(url.toString()) });
-								IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, ex);
-								JavaPlugin.log(status);
-
-								doRead= word != null;
-								continue;
-							}
-							doRead= word != null;
-							if (doRead)
-								hashWord(word);
-						}
-					}
+					readWords(stream, url, consumer);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -636,7 +630,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 					JavaPlugin.log(ex);
 				else
 					try {
-						return load(new URL(lowercaseUrlString));
+						return readWords(new URL(lowercaseUrlString), consumer);
 					} catch (MalformedURLException e) {
 						JavaPlugin.log(e);
 					}
@@ -648,7 +642,6 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 				} else
 					JavaPlugin.log(exception);
 			} finally {
-				fMustLoad= false;
 				try {
 					if (stream != null)
 						stream.close();
@@ -659,6 +652,53 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Reads the words of a dictionary word list from a stream.
+	 *
+	 * @param stream
+	 *                   The stream to read, not closed by this method
+	 * @param url
+	 *                   The URL of the word list, used to report encoding errors
+	 * @param consumer
+	 *                   The consumer of the words
+	 * @throws IOException
+	 *                    if the stream could not be read
+	 * @since 3.33
+	 */
+	protected final void readWords(final InputStream stream, final URL url, final Consumer<String> consumer) throws IOException {
+		String word= null;
+
+		// Setup a reader with a decoder in order to read over malformed input if needed.
+		CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
+		decoder.onMalformedInput(CodingErrorAction.REPORT);
+		decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
+		final BufferedReader reader= new BufferedReader(new InputStreamReader(stream, decoder));
+
+		boolean doRead= true;
+		while (doRead) {
+			try {
+				word= reader.readLine();
+			} catch (MalformedInputException ex) {
+				// Tell the decoder to replace malformed input in order to read the line.
+				decoder.onMalformedInput(CodingErrorAction.REPLACE);
+				decoder.reset();
+				word= reader.readLine();
+				decoder.onMalformedInput(CodingErrorAction.REPORT);
+
+				String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError,
+						new String[] { word, decoder.replacement(), BasicElementLabels.getURLPart(url.toString()) });
+				IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, ex);
+				JavaPlugin.log(status);
+
+				doRead= word != null;
+				continue;
+			}
+			doRead= word != null;
+			if (doRead)
+				consumer.accept(word);
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
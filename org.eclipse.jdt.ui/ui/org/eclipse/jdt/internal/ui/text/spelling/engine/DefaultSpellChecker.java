@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -28,11 +38,167 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 
 /**
  * Default spell checker for standard text.
+ * <p>
+ * Long texts are checked by a pool of worker threads. The proposals for misspelled words are
+ * computed in the background and cached, such that the quick fixes are available at once.
+ * </p>
  *
  * @since 3.0
  */
 public class DefaultSpellChecker implements ISpellChecker {
 
+	/**
+	 * A word returned by the spell check iterator.
+	 *
+	 * @since 3.33
+	 */
+	private static final class Word {
+
+		final String fWord;
+		final int fBegin;
+		final int fEnd;
+		final boolean fStartsSentence;
+
+		Word(String word, int begin, int end, boolean startsSentence) {
+			fWord= word;
+			fBegin= begin;
+			fEnd= end;
+			fStartsSentence= startsSentence;
+		}
+	}
+
+	/**
+	 * Checks chunks of words in the calling thread and the worker threads.
+	 *
+	 * @since 3.33
+	 */
+	private final class ParallelCheck implements Runnable {
+
+		private final List<Word> fWords;
+		private final boolean[] fCorrect;
+		private final int fChunkCount;
+		private final AtomicInteger fNextChunk= new AtomicInteger();
+
+		/** The number of checked chunks, guarded by <code>this</code> */
+		private int fCheckedChunks;
+		/** The first error thrown by a worker, guarded by <code>this</code> */
+		private RuntimeException fError;
+
+		ParallelCheck(List<Word> words, boolean[] correct) {
+			fWords= words;
+			fCorrect= correct;
+			fChunkCount= (words.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		}
+
+		@Override
+		public void run() {
+			int chunk;
+			while ((chunk= fNextChunk.getAndIncrement()) < fChunkCount) {
+				RuntimeException error= null;
+				try {
+					int end= Math.min(fWords.size(), (chunk + 1) * CHUNK_SIZE);
+					for (int index= chunk * CHUNK_SIZE; index < end; index++)
+						fCorrect[index]= isCorrect(fWords.get(index).fWord);
+				} catch (RuntimeException e) {
+					error= e;
+				}
+				synchronized (this) {
+					if (fError == null)
+						fError= error;
+					fCheckedChunks++;
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * Checks chunks in the calling thread until all chunks are taken and waits for the
+		 * workers to finish theirs. The workers write to the result, so their chunks are waited
+		 * for even if the calling thread is interrupted.
+		 */
+		void runAndWait() {
+			run();
+			boolean interrupted= false;
+			synchronized (this) {
+				while (fCheckedChunks < fChunkCount) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						interrupted= true;
+					}
+				}
+				if (interrupted)
+					Thread.currentThread().interrupt();
+				if (fError != null)
+					throw fError;
+			}
+		}
+	}
+
+	/**
+	 * The maximum number of words read from the iterator at once.
+	 * @since 3.33
+	 */
+	private static final int BATCH_SIZE= 4096;
+
+	/**
+	 * The minimum number of words that are checked in parallel.
+	 * @since 3.33
+	 */
+	private static final int PARALLEL_THRESHOLD= 1024;
+
+	/**
+	 * The number of words a worker checks at once.
+	 * @since 3.33
+	 */
+	private static final int CHUNK_SIZE= 256;
+
+	/**
+	 * The number of cached proposal sets.
+	 * @since 3.33
+	 */
+	private static final int PROPOSAL_CACHE_SIZE= 100;
+
+	/**
+	 * The maximum number of proposal sets computed in the background at the same time.
+	 * @since 3.33
+	 */
+	private static final int MAX_PENDING_PROPOSALS= 16;
+
+	/**
+	 * The number of worker threads created so far, used to name them.
+	 * @since 3.33
+	 */
+	private static final AtomicInteger fgThreadCount= new AtomicInteger();
+
+	/**
+	 * The worker threads shared by all spell checkers, created on demand.
+	 * @since 3.33
+	 */
+	private static ExecutorService fgWorkers;
+
+	/**
+	 * Returns the worker threads shared by all spell checkers.
+	 *
+	 * @return the worker threads, or <code>null</code> if there is only one processor
+	 * @since 3.33
+	 */
+	private static synchronized ExecutorService getWorkers() {
+		if (fgWorkers == null) {
+			int threads= Runtime.getRuntime().availableProcessors() - 1;
+			if (threads < 1)
+				return null;
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Spell checker " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgWorkers= executor;
+		}
+		return fgWorkers;
+	}
+
 	/** Array of URL prefixes */
 	public static final String[] URL_PREFIXES= new String[] { "http://", "https://", "www.", "ftp://", "ftps://", "news://", "mailto://" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
 
@@ -146,6 +312,32 @@ public class DefaultSpellChecker implements ISpellChecker {
 	 */
 	private Locale fLocale;
 
+	/**
+	 * The most recently used proposal sets, by sentence flag and word. Guarded by itself.
+	 * @since 3.33
+	 */
+	private final Map<String, Set<RankedWordProposal>> fProposals= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Set<RankedWordProposal>> eldest) {
+			return size() > PROPOSAL_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * The keys of the proposal sets being computed in the background.
+	 * @since 3.33
+	 */
+	private final Set<String> fPendingProposals= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Counts the changes of the dictionaries, used to drop proposals computed before a change.
+	 * Guarded by {@link #fProposals}.
+	 * @since 3.33
+	 */
+	private int fProposalGeneration;
+
 	/**
 	 * Creates a new default spell checker.
 	 *
@@ -164,6 +356,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void addDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.add(dictionary);
+		clearProposals();
 	}
 
 	@Override
@@ -197,7 +390,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 			if (dictionary.acceptsWords())
 				dictionary.addWord(addable);
 		}
-
+		clearProposals();
 	}
 
 	@Override
@@ -224,45 +417,150 @@ public class DefaultSpellChecker implements ISpellChecker {
 		while (iter.hasNext())
 			iter.next().setStripNonLetters(ignoreNonLetters);
 
-		String word= null;
-		boolean starts= false;
+		final List<Word> words= new ArrayList<>();
 		int problemCount= 0;
 
 		while (problemCount <= problemsThreshold && iterator.hasNext()) {
 
-			word= iterator.next();
-			if (word != null) {
-
+			words.clear();
+			while (words.size() < BATCH_SIZE && iterator.hasNext()) {
+				String word= iterator.next();
 				// synchronizing is necessary as this is called inside the reconciler
-				if (!fIgnored.contains(word)) {
+				if (word != null && !fIgnored.contains(word))
+					words.add(new Word(word, iterator.getBegin(), iterator.getEnd(), iterator.startsSentence()));
+			}
+			final boolean[] correct= checkWords(words);
+
+			for (int index= 0; index < words.size() && problemCount <= problemsThreshold; index++) {
 
-					starts= iterator.startsSentence();
-					if (!isCorrect(word)) {
+				final Word word= words.get(index);
+				final boolean starts= word.fStartsSentence;
+				if (!correct[index]) {
 
-						boolean isMixed=  isMixedCase(word, true);
-						boolean isUpper= isUpperCase(word);
-						boolean isDigits= isDigits(word);
-						boolean isURL= isUrl(word);
+					boolean isMixed=  isMixedCase(word.fWord, true);
+					boolean isUpper= isUpperCase(word.fWord);
+					boolean isDigits= isDigits(word.fWord);
+					boolean isURL= isUrl(word.fWord);
 
-						if ( !ignoreMixed && isMixed || !ignoreUpper && isUpper || !ignoreDigits && isDigits || !ignoreURLS && isURL || (!isMixed && !isUpper && !isDigits && !isURL)) {
-							listener.handle(new SpellEvent(this, word, iterator.getBegin(), iterator.getEnd(), starts, false));
-							problemCount++;
-						}
+					if ( !ignoreMixed && isMixed || !ignoreUpper && isUpper || !ignoreDigits && isDigits || !ignoreURLS && isURL || (!isMixed && !isUpper && !isDigits && !isURL)) {
+						listener.handle(new SpellEvent(this, word.fWord, word.fBegin, word.fEnd, starts, false));
+						precomputeProposals(word.fWord, starts);
+						problemCount++;
+					}
 
-					} else {
+				} else {
 
-						if (!ignoreSentence && starts && Character.isLowerCase(word.charAt(0))) {
-							listener.handle(new SpellEvent(this, word, iterator.getBegin(), iterator.getEnd(), true, true));
-							problemCount++;
-						}
+					if (!ignoreSentence && starts && Character.isLowerCase(word.fWord.charAt(0))) {
+						listener.handle(new SpellEvent(this, word.fWord, word.fBegin, word.fEnd, true, true));
+						problemCount++;
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Checks the given words, in parallel if there are many of them.
+	 *
+	 * @param words the words to check
+	 * @return whether each word is correct
+	 * @since 3.33
+	 */
+	private boolean[] checkWords(final List<Word> words) {
+		final boolean[] correct= new boolean[words.size()];
+		ExecutorService workers= words.size() >= PARALLEL_THRESHOLD ? getWorkers() : null;
+		if (workers == null) {
+			for (int index= 0; index < correct.length; index++)
+				correct[index]= isCorrect(words.get(index).fWord);
+			return correct;
+		}
+
+		// loads the dictionaries before the workers use them
+		isCorrect(words.get(0).fWord);
+
+		ParallelCheck check= new ParallelCheck(words, correct);
+		int helpers= Math.min(((ThreadPoolExecutor) workers).getMaximumPoolSize(), check.fChunkCount - 1);
+		for (int i= 0; i < helpers; i++)
+			workers.execute(check);
+		check.runAndWait();
+		return correct;
+	}
+
+	/**
+	 * Computes the proposals for a misspelled word in the background, unless they are cached.
+	 *
+	 * @param word the misspelled word
+	 * @param sentence <code>true</code> iff the word starts a sentence
+	 * @since 3.33
+	 */
+	private void precomputeProposals(final String word, final boolean sentence) {
+		final String key= getProposalKey(word, sentence);
+		final int generation;
+		synchronized (fProposals) {
+			if (fProposals.containsKey(key))
+				return;
+			generation= fProposalGeneration;
+		}
+		ExecutorService workers= getWorkers();
+		if (workers == null || fPendingProposals.size() >= MAX_PENDING_PROPOSALS || !fPendingProposals.add(key))
+			return;
+		workers.execute(() -> {
+			try {
+				Set<RankedWordProposal> proposals= computeProposals(word, sentence);
+				synchronized (fProposals) {
+					if (generation == fProposalGeneration)
+						fProposals.put(key, proposals);
+				}
+			} finally {
+				fPendingProposals.remove(key);
+			}
+		});
+	}
+
+	private static String getProposalKey(final String word, final boolean sentence) {
+		return (sentence ? '+' : '-') + word;
+	}
+
+	/**
+	 * Drops the cached proposals after a change of the dictionaries.
+	 *
+	 * @since 3.33
+	 */
+	private void clearProposals() {
+		synchronized (fProposals) {
+			fProposals.clear();
+			fProposalGeneration++;
+		}
+	}
+
 	@Override
 	public Set<RankedWordProposal> getProposals(final String word, final boolean sentence) {
+		final String key= getProposalKey(word, sentence);
+		final int generation;
+		synchronized (fProposals) {
+			Set<RankedWordProposal> proposals= fProposals.get(key);
+			if (proposals != null)
+				return new HashSet<>(proposals);
+			generation= fProposalGeneration;
+		}
+
+		Set<RankedWordProposal> proposals= computeProposals(word, sentence);
+		synchronized (fProposals) {
+			if (generation == fProposalGeneration)
+				fProposals.put(key, proposals);
+		}
+		return new HashSet<>(proposals);
+	}
+
+	/**
+	 * Computes the proposals of all dictionaries for a word.
+	 *
+	 * @param word the word to compute the proposals for
+	 * @param sentence <code>true</code> iff the proposals start a new sentence
+	 * @return the proposals
+	 * @since 3.33
+	 */
+	private Set<RankedWordProposal> computeProposals(final String word, final boolean sentence) {
 
 		// synchronizing might not be needed here since getProposals is
 		// a read-only access and only called in the same thread as
@@ -308,6 +606,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void removeDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.remove(dictionary);
+		clearProposals();
 	}
 
 	@Override
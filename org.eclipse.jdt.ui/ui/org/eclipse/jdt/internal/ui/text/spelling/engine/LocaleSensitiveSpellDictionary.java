@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,10 +20,13 @@ import java.util.Locale;
 
 /**
  * Platform wide read-only locale sensitive dictionary for spell checking.
+ * <p>
+ * The word list is compiled into an index file that is memory-mapped on load.
+ * </p>
  *
  * @since 3.0
  */
-public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
+public class LocaleSensitiveSpellDictionary extends MappedSpellDictionary {
 
 	/** The locale of this dictionary */
 	private final Locale fLocale;
@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+
+/**
+ * Read-only dictionary whose word list is compiled into an index file once and memory-mapped on
+ * load, such that the words are not kept on the heap.
+ * <p>
+ * The index file contains the phonetic hashes of all words in ascending order, each followed by
+ * the words with that hash. Lookups binary search the hash in the mapped file. The index is
+ * compiled again when the word list, its encoding or the phonetic hash provider changes. If the
+ * index cannot be written or mapped, the words are loaded into the hash buckets as usual.
+ * </p>
+ * <p>
+ * The index of an {@link #isAppendable() appendable} word list covers a prefix of the list,
+ * identified by its length and checksum. Words appended to the list later are loaded into the hash
+ * buckets on top of the index, until they make up too large a part of the list.
+ * </p>
+ * <p>
+ * Dictionaries with the same index file share one mapping.
+ * </p>
+ *
+ * @since 3.33
+ */
+public abstract class MappedSpellDictionary extends AbstractSpellDictionary {
+
+	/** The magic number of an index file */
+	private static final int MAGIC= 0x4A445344;
+
+	/** The format version of an index file */
+	private static final int VERSION= 1;
+
+	/** The name of the folder in the state location that holds the index files */
+	private static final String INDEX_FOLDER= "spelling"; //$NON-NLS-1$
+
+	/** The maximum number of bytes appended to a word list that are loaded on top of its index */
+	private static final long MAX_APPENDED_LENGTH= 64 * 1024;
+
+	/** The index files mapped so far, by path, modification time and length */
+	private static final Map<String, WeakReference<ByteBuffer>> fgMappedIndexes= new HashMap<>();
+
+	/** The mapped index, or <code>null</code> if not loaded */
+	private volatile ByteBuffer fIndex;
+
+	/** Must the index be mapped? */
+	private boolean fMustMap= true;
+
+	/** The number of phonetic hashes in the mapped index */
+	private int fHashCount;
+
+	/** The position of the hash offset table in the mapped index */
+	private int fTableOffset;
+
+	/**
+	 * Returns the index file for the given word list.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @return The index file
+	 */
+	protected File getIndexFile(final URL url) {
+		String path= url.getPath();
+		String name= path.substring(path.lastIndexOf('/') + 1);
+		File folder= JavaPlugin.getDefault().getStateLocation().append(INDEX_FOLDER).toFile();
+		return new File(folder, name + '.' + Integer.toHexString(url.toExternalForm().hashCode()) + ".index"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tells whether words are appended to the word list of this dictionary.
+	 *
+	 * @return <code>true</code> iff the word list is only ever appended to
+	 */
+	protected boolean isAppendable() {
+		return false;
+	}
+
+	/**
+	 * Returns whether the index is memory-mapped.
+	 *
+	 * @return <code>true</code> iff the words are read from the mapped index,
+	 *               <code>false</code> if they are loaded into the hash buckets
+	 */
+	public final boolean isMapped() {
+		return fIndex != null;
+	}
+
+	@Override
+	protected synchronized boolean load(final URL url) {
+		if (!fMustMap || url == null)
+			return fIndex != null || super.load(url);
+		fMustMap= false;
+
+		try {
+			File file= getIndexFile(url);
+			String key= getEncoding() + ' ' + getHashProvider().getClass().getName();
+
+			ByteBuffer index= map(file);
+			if (index == null || !isValid(index, key) || !isCurrent(url, index)) {
+				index= null;
+				if (compile(url, file, key)) {
+					index= map(file);
+					if (index != null && !isValid(index, key))
+						index= null;
+				}
+			}
+			if (index != null) {
+				fHashCount= index.getInt(fTableOffset - Integer.BYTES);
+				fIndex= index;
+				if (isAppendable())
+					readAppendedWords(url, index.getLong(16));
+				return true;
+			}
+		} catch (IOException exception) {
+			JavaPlugin.log(exception);
+		}
+		return super.load(url);
+	}
+
+	/**
+	 * Maps the given index file into memory, or returns the mapping of another dictionary with
+	 * the same index file.
+	 *
+	 * @param file
+	 *                   The index file
+	 * @return The mapped index, or <code>null</code> if the file does not exist
+	 * @throws IOException
+	 *                    if the file could not be mapped
+	 */
+	private static ByteBuffer map(final File file) throws IOException {
+		if (!file.isFile())
+			return null;
+		String key= file.getAbsolutePath() + '@' + file.lastModified() + ':' + file.length();
+		synchronized (fgMappedIndexes) {
+			WeakReference<ByteBuffer> reference= fgMappedIndexes.get(key);
+			ByteBuffer index= reference != null ? reference.get() : null;
+			if (index == null) {
+				try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+					index= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				}
+				fgMappedIndexes.values().removeIf(r -> r.get() == null);
+				fgMappedIndexes.put(key, new WeakReference<>(index));
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Checks the header of the mapped index and remembers the position of the hash offset table.
+	 *
+	 * @param index
+	 *                   The mapped index
+	 * @param key
+	 *                   The encoding and hash provider the index must have been compiled with
+	 * @return <code>true</code> iff the index is well-formed and has been compiled with the given
+	 *               key
+	 */
+	private boolean isValid(final ByteBuffer index, final String key) {
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		int offset= 4 * Integer.BYTES + 2 * Long.BYTES + keyBytes.length;
+		if (index.limit() < offset || index.getInt(0) != MAGIC || index.getInt(4) != VERSION || index.getInt(24) != keyBytes.length)
+			return false;
+		byte[] stored= new byte[keyBytes.length];
+		index.get(28, stored);
+		if (!Arrays.equals(stored, keyBytes))
+			return false;
+		fTableOffset= offset;
+		return index.limit() >= offset + index.getInt(offset - Integer.BYTES) * Integer.BYTES;
+	}
+
+	/**
+	 * Checks whether the index has been compiled from the current word list. The index of a word
+	 * list that is not appendable stores the modification time and length of the list. The index
+	 * of an appendable word list stores the checksum and length of the prefix it covers.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @param index
+	 *                   The mapped index
+	 * @return <code>true</code> iff the index can be used for the word list
+	 * @throws IOException
+	 *                    if the word list could not be read
+	 */
+	private boolean isCurrent(final URL url, final ByteBuffer index) throws IOException {
+		long stamp= index.getLong(8);
+		long length= index.getLong(16);
+		if (!isAppendable()) {
+			URLConnection connection= url.openConnection();
+			return stamp == connection.getLastModified() && length == connection.getContentLengthLong();
+		}
+
+		CRC32 checksum= new CRC32();
+		byte[] buffer= new byte[8192];
+		long remaining= length;
+		try (InputStream stream= url.openStream()) {
+			while (remaining > 0) {
+				int read= stream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0)
+					return false;
+				checksum.update(buffer, 0, read);
+				remaining-= read;
+			}
+			if (checksum.getValue() != stamp)
+				return false;
+			// recompile if too many words have been appended
+			long appended= 0;
+			int read;
+			while (appended <= MAX_APPENDED_LENGTH && (read= stream.read(buffer)) >= 0)
+				appended+= read;
+			return appended <= MAX_APPENDED_LENGTH;
+		}
+	}
+
+	/**
+	 * Hashes the words appended to the word list after the index has been compiled.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @param offset
+	 *                   The length of the word list covered by the index
+	 * @throws IOException
+	 *                    if the word list could not be read
+	 */
+	private void readAppendedWords(final URL url, final long offset) throws IOException {
+		try (InputStream stream= url.openStream()) {
+			stream.skipNBytes(offset);
+			readWords(stream, url, this::hashWord);
+		}
+	}
+
+	/**
+	 * Compiles the word list into an index file.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @param file
+	 *                   The index file
+	 * @param key
+	 *                   The encoding and hash provider of this dictionary
+	 * @return <code>true</code> iff the index file has been written
+	 * @throws IOException
+	 *                    if the index file could not be written
+	 */
+	private boolean compile(final URL url, final File file, final String key) throws IOException {
+		final Map<byte[], List<byte[]>> buckets= new TreeMap<>(Arrays::compareUnsigned);
+		final IPhoneticHashProvider provider= getHashProvider();
+		Consumer<String> consumer= word -> {
+			byte[] hash= provider.getHash(word).getBytes(StandardCharsets.UTF_8);
+			byte[] bytes= word.getBytes(StandardCharsets.UTF_8);
+			if (hash.length <= 0xFFFF && bytes.length <= 0xFFFF)
+				buckets.computeIfAbsent(hash, h -> new ArrayList<>(BUCKET_CAPACITY)).add(bytes);
+		};
+
+		long stamp;
+		long length;
+		if (isAppendable()) {
+			byte[] content;
+			try (InputStream stream= url.openStream()) {
+				content= stream.readAllBytes();
+			}
+			CRC32 checksum= new CRC32();
+			checksum.update(content);
+			stamp= checksum.getValue();
+			length= content.length;
+			readWords(new ByteArrayInputStream(content), url, consumer);
+		} else {
+			URLConnection connection= url.openConnection();
+			stamp= connection.getLastModified();
+			length= connection.getContentLengthLong();
+			if (!readWords(url, consumer))
+				return false;
+		}
+
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		File folder= file.getParentFile();
+		folder.mkdirs();
+		File temp= File.createTempFile(file.getName(), null, folder);
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(stamp);
+				out.writeLong(length);
+				out.writeInt(keyBytes.length);
+				out.write(keyBytes);
+				out.writeInt(buckets.size());
+
+				int offset= out.size() + buckets.size() * Integer.BYTES;
+				for (Map.Entry<byte[], List<byte[]>> bucket : buckets.entrySet()) {
+					out.writeInt(offset);
+					offset+= Short.BYTES + bucket.getKey().length + Integer.BYTES;
+					for (byte[] word : bucket.getValue())
+						offset+= Short.BYTES + word.length;
+				}
+				for (Map.Entry<byte[], List<byte[]>> bucket : buckets.entrySet()) {
+					out.writeShort(bucket.getKey().length);
+					out.write(bucket.getKey());
+					out.writeInt(bucket.getValue().size());
+					for (byte[] word : bucket.getValue()) {
+						out.writeShort(word.length);
+						out.write(word);
+					}
+				}
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		} finally {
+			temp.delete();
+		}
+	}
+
+	@Override
+	protected Object getCandidates(final String hash) {
+		final ByteBuffer index= fIndex;
+		if (index == null)
+			return super.getCandidates(hash);
+
+		final Object mapped= getMappedCandidates(index, hash);
+		final Object hashed= super.getCandidates(hash);
+		if (hashed == null)
+			return mapped;
+		if (mapped == null)
+			return hashed;
+
+		// words appended to the word list after the index has been compiled
+		final ArrayList<byte[]> candidates= new ArrayList<>();
+		addCandidates(candidates, mapped);
+		addCandidates(candidates, hashed);
+		return candidates;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void addCandidates(final ArrayList<byte[]> candidates, final Object bucket) {
+		if (bucket instanceof byte[])
+			candidates.add((byte[]) bucket);
+		else
+			candidates.addAll((ArrayList<byte[]>) bucket);
+	}
+
+	/**
+	 * Returns the candidates with the given phonetic hash in the mapped index.
+	 *
+	 * @param index
+	 *                   The mapped index
+	 * @param hash
+	 *                   The phonetic hash
+	 * @return The UTF-8 encoded candidate as <code>byte[]</code>, an <code>ArrayList</code> of
+	 *         such candidates or <code>null</code> if there are no candidates for the phonetic
+	 *         hash
+	 */
+	private Object getMappedCandidates(final ByteBuffer index, final String hash) {
+		final byte[] key= hash.getBytes(StandardCharsets.UTF_8);
+		int low= 0;
+		int high= fHashCount - 1;
+		while (low <= high) {
+			int middle= (low + high) >>> 1;
+			int entry= index.getInt(fTableOffset + middle * Integer.BYTES);
+			int comparison= compare(index, entry, key);
+			if (comparison < 0)
+				low= middle + 1;
+			else if (comparison > 0)
+				high= middle - 1;
+			else
+				return getWords(index, entry + Short.BYTES + key.length);
+		}
+		return null;
+	}
+
+	/**
+	 * Compares the phonetic hash of an entry in the index with the given hash.
+	 *
+	 * @param index
+	 *                   The mapped index
+	 * @param entry
+	 *                   The position of the entry
+	 * @param key
+	 *                   The UTF-8 encoded hash
+	 * @return A negative number, zero or a positive number if the hash of the entry is less than,
+	 *               equal to or greater than the given hash
+	 */
+	private static int compare(final ByteBuffer index, final int entry, final byte[] key) {
+		int length= index.getShort(entry) & 0xFFFF;
+		int common= Math.min(length, key.length);
+		for (int i= 0; i < common; i++) {
+			int difference= (index.get(entry + Short.BYTES + i) & 0xFF) - (key[i] & 0xFF);
+			if (difference != 0)
+				return difference;
+		}
+		return length - key.length;
+	}
+
+	/**
+	 * Reads the words of an entry in the index.
+	 *
+	 * @param index
+	 *                   The mapped index
+	 * @param position
+	 *                   The position of the word count of the entry
+	 * @return The UTF-8 encoded word as <code>byte[]</code> if the entry has a single word, an
+	 *               <code>ArrayList</code> of the encoded words otherwise
+	 */
+	private static Object getWords(final ByteBuffer index, int position) {
+		int count= index.getInt(position);
+		position+= Integer.BYTES;
+		ArrayList<byte[]> words= new ArrayList<>(count);
+		for (int i= 0; i < count; i++) {
+			byte[] word= new byte[index.getShort(position) & 0xFFFF];
+			index.get(position + Short.BYTES, word);
+			position+= Short.BYTES + word.length;
+			words.add(word);
+		}
+		return count == 1 ? words.get(0) : words;
+	}
+
+	@Override
+	protected boolean isEmpty() {
+		if (fIndex != null && fHashCount > 0)
+			return false;
+		return super.isEmpty();
+	}
+
+	@Override
+	public synchronized void unload() {
+		fIndex= null;
+		fMustMap= true;
+		fHashCount= 0;
+		super.unload();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
@@ -25,10 +26,16 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Persistent modifiable word-list based dictionary.
+ * <p>
+ * The word list is indexed into a file next to it, named like the word list with an
+ * <code>.index</code> suffix, such that other workspaces using the same word list share the
+ * index. A word list can be shipped together with its index. Added words are appended to the word
+ * list and loaded on top of the index.
+ * </p>
  *
  * @since 3.0
  */
-public class PersistentSpellDictionary extends AbstractSpellDictionary {
+public class PersistentSpellDictionary extends MappedSpellDictionary {
 
 	/** The word list location */
 	private final URL fLocation;
@@ -83,4 +90,18 @@ public class PersistentSpellDictionary extends AbstractSpellDictionary {
 	protected final URL getURL() {
 		return fLocation;
 	}
+
+	@Override
+	protected boolean isAppendable() {
+		return true;
+	}
+
+	@Override
+	protected File getIndexFile(final URL url) {
+		File index= new File(url.getPath() + ".index"); //$NON-NLS-1$
+		File folder= index.getParentFile();
+		if (index.isFile() ? index.canRead() : folder != null && folder.canWrite())
+			return index;
+		return super.getIndexFile(url);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ public abstract class AbstractHierarchyViewerSorter extends ViewerComparator {
 	private static final int CLASS= 2;
 	private static final int INTERFACE= 3;
 	private static final int ANONYM= 4;
+	private static final int MORE_TYPES= 5;
 
 	private JavaElementComparator fNormalSorter;
 	private SourcePositionComparator fSourcePositonSorter;
@@ -55,6 +56,9 @@ public abstract class AbstractHierarchyViewerSorter extends ViewerComparator {
 
 	@Override
 	public int category(Object element) {
+		if (element instanceof TypeHierarchyContentProvider.MoreTypes) {
+			return MORE_TYPES;
+		}
 		if (element instanceof IType) {
 			IType type= (IType) element;
 			try {
@@ -82,6 +86,10 @@ public abstract class AbstractHierarchyViewerSorter extends ViewerComparator {
 
 	@Override
 	public int compare(Viewer viewer, Object e1, Object e2) {
+		if (e1 instanceof TypeHierarchyContentProvider.MoreTypes || e2 instanceof TypeHierarchyContentProvider.MoreTypes) {
+			// always after the children that are shown
+			return category(e1) - category(e2);
+		}
 		if (!isSortAlphabetically() && !isSortByDefiningType()) {
 			return fSourcePositonSorter.compare(viewer, e1, e2);
 		}
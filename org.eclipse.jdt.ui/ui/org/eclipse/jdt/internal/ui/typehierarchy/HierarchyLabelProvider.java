@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.jdt.core.Flags;
@@ -32,6 +33,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.util.Messages;
+
 import org.eclipse.jdt.ui.JavaElementImageDescriptor;
 import org.eclipse.jdt.ui.JavaElementLabels;
 
@@ -97,6 +100,27 @@ public class HierarchyLabelProvider extends AppearanceAwareLabelProvider {
 		return true;
 	}
 
+	@Override
+	public String getText(Object element) {
+		if (element instanceof TypeHierarchyContentProvider.MoreTypes) {
+			return getMoreTypesLabel((TypeHierarchyContentProvider.MoreTypes) element);
+		}
+		return super.getText(element);
+	}
+
+	@Override
+	public StyledString getStyledText(Object element) {
+		if (element instanceof TypeHierarchyContentProvider.MoreTypes) {
+			return new StyledString(getMoreTypesLabel((TypeHierarchyContentProvider.MoreTypes) element), StyledString.QUALIFIER_STYLER);
+		}
+		return super.getStyledText(element);
+	}
+
+	private static String getMoreTypesLabel(TypeHierarchyContentProvider.MoreTypes moreTypes) {
+		Object[] args= { Integer.valueOf(moreTypes.getNextCount()), Integer.valueOf(moreTypes.getCount()) };
+		return Messages.format(TypeHierarchyMessages.HierarchyLabelProvider_moreTypes_label, args);
+	}
+
 	@Override
 	public Image getImage(Object element) {
 		Image result= null;
@@ -168,7 +192,8 @@ public class HierarchyLabelProvider extends AppearanceAwareLabelProvider {
 				fSpecialColor= Display.getCurrent().getSystemColor(SWT.COLOR_DARK_BLUE);
 			}
 			return fSpecialColor;
-		} else if (element instanceof IType && isInDifferentHierarchyScope((IType) element)) {
+		} else if (element instanceof TypeHierarchyContentProvider.MoreTypes
+				|| element instanceof IType && isInDifferentHierarchyScope((IType) element)) {
 			return JFaceResources.getColorRegistry().get(JFacePreferences.QUALIFIER_COLOR);
 		}
 		return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,38 +15,81 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Control;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
 
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.util.Messages;
+
 import org.eclipse.jdt.ui.IWorkingCopyProvider;
+import org.eclipse.jdt.ui.JavaElementLabels;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Content provider used for the method view.
  * Allows also seeing methods inherited from base classes.
+ * <p>
+ * The members of the supertypes are computed in the background the first time they are needed
+ * and kept until the supertype changes. Until then, the members that are known are shown.
+ * </p>
  */
 public class MethodsContentProvider implements IStructuredContentProvider, IWorkingCopyProvider {
 
 	private static final Object[] NO_ELEMENTS = new Object[0];
 
+	private static final IMember[] NO_MEMBERS= new IMember[0];
+
 	private boolean fShowInheritedMethods;
 	private TypeHierarchyLifeCycle fHierarchyLifeCycle;
 	private TableViewer fViewer;
 
+	/**
+	 * The members of the supertypes, by type. Access is synchronized on the map.
+	 */
+	private final Map<IType, IMember[]> fInheritedMembers= new HashMap<>();
+	/**
+	 * Incremented whenever inherited members are removed, so that members that have been computed
+	 * before a change are not added afterwards. Access is synchronized on {@link #fInheritedMembers}.
+	 */
+	private int fGeneration;
+	private Job fInheritedMembersJob;
+	private ITypeHierarchyLifeCycleListener fTypeHierarchyLifeCycleListener;
+
 	public MethodsContentProvider(TypeHierarchyLifeCycle lifecycle) {
 		fHierarchyLifeCycle= lifecycle;
 		fShowInheritedMethods= false;
 		fViewer= null;
+		fTypeHierarchyLifeCycleListener= (typeHierarchy, changedTypes) -> {
+			synchronized (fInheritedMembers) {
+				fGeneration++;
+				if (changedTypes == null) {
+					fInheritedMembers.clear();
+				} else {
+					for (IType type : changedTypes) {
+						fInheritedMembers.remove(type);
+					}
+				}
+			}
+		};
+		lifecycle.addChangedListener(fTypeHierarchyLifeCycleListener);
 	}
 
 	/**
@@ -76,7 +119,7 @@ public class MethodsContentProvider implements IStructuredContentProvider, IWork
 	}
 
 
-	private void addAll(Object[] arr, List<Object> res) {
+	private static void addAll(Object[] arr, List<Object> res) {
 		if (arr != null) {
 			res.addAll(Arrays.asList(arr));
 		}
@@ -95,16 +138,22 @@ public class MethodsContentProvider implements IStructuredContentProvider, IWork
 				ITypeHierarchy hierarchy= fHierarchyLifeCycle.getHierarchy();
 				if (fShowInheritedMethods && hierarchy != null) {
 					IType[] allSupertypes= hierarchy.getAllSupertypes(type);
+					List<IType> missingSupertypes= new ArrayList<>();
 					// sort in from last to first: elements with same name
 					// will show up in hierarchy order
-					for (int i= allSupertypes.length - 1; i >= 0; i--) {
-						IType superType= allSupertypes[i];
-						if (superType.exists()) {
-							addAll(superType.getMethods(), res);
-							addAll(superType.getInitializers(), res);
-							addAll(superType.getFields(), res);
+					synchronized (fInheritedMembers) {
+						for (int i= allSupertypes.length - 1; i >= 0; i--) {
+							IMember[] members= fInheritedMembers.get(allSupertypes[i]);
+							if (members != null) {
+								addAll(members, res);
+							} else {
+								missingSupertypes.add(allSupertypes[i]);
+							}
 						}
 					}
+					if (!missingSupertypes.isEmpty()) {
+						computeInheritedMembers(type, missingSupertypes);
+					}
 				}
 				if (type.exists()) {
 					addAll(type.getMethods(), res);
@@ -119,6 +168,78 @@ public class MethodsContentProvider implements IStructuredContentProvider, IWork
 		return NO_ELEMENTS;
 	}
 
+	private static IMember[] getMembers(IType type) {
+		if (!type.exists()) {
+			return NO_MEMBERS;
+		}
+		List<Object> res= new ArrayList<>();
+		try {
+			addAll(type.getMethods(), res);
+			addAll(type.getInitializers(), res);
+			addAll(type.getFields(), res);
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+		}
+		return res.toArray(new IMember[res.size()]);
+	}
+
+	/**
+	 * Computes the members of the given supertypes in the background and refreshes the viewer
+	 * afterwards if it still shows the inherited members of the given type.
+	 *
+	 * @param input the type whose inherited members are shown
+	 * @param supertypes the supertypes whose members are not known yet
+	 */
+	private void computeInheritedMembers(final IType input, final List<IType> supertypes) {
+		if (fInheritedMembersJob != null) {
+			fInheritedMembersJob.cancel();
+		}
+		final int generation;
+		synchronized (fInheritedMembers) {
+			generation= fGeneration;
+		}
+		fInheritedMembersJob= new Job(Messages.format(TypeHierarchyMessages.MethodsContentProvider_inheritedMembers_job, JavaElementLabels.getElementLabel(input, JavaElementLabels.ALL_DEFAULT))) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				monitor.beginTask(getName(), supertypes.size());
+				try {
+					Map<IType, IMember[]> members= new HashMap<>();
+					for (IType supertype : supertypes) {
+						if (monitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						members.put(supertype, getMembers(supertype));
+						monitor.worked(1);
+					}
+					synchronized (fInheritedMembers) {
+						if (generation == fGeneration) {
+							fInheritedMembers.putAll(members);
+						}
+					}
+				} finally {
+					monitor.done();
+				}
+				refreshViewer(input);
+				return Status.OK_STATUS;
+			}
+		};
+		fInheritedMembersJob.setSystem(true);
+		fInheritedMembersJob.schedule();
+	}
+
+	private void refreshViewer(final IType input) {
+		final TableViewer viewer= fViewer;
+		final Control control= viewer != null ? viewer.getControl() : null;
+		if (control == null || control.isDisposed()) {
+			return;
+		}
+		control.getDisplay().asyncExec(() -> {
+			if (!control.isDisposed() && fShowInheritedMethods && input.equals(viewer.getInput())) {
+				viewer.refresh();
+			}
+		});
+	}
+
 
 	/*
 	 * @see IContentProvider#inputChanged
@@ -135,6 +256,11 @@ public class MethodsContentProvider implements IStructuredContentProvider, IWork
 	 */
 	@Override
 	public void dispose() {
+		fHierarchyLifeCycle.removeChangedListener(fTypeHierarchyLifeCycleListener);
+		if (fInheritedMembersJob != null) {
+			fInheritedMembersJob.cancel();
+			fInheritedMembersJob= null;
+		}
 	}
 
 }
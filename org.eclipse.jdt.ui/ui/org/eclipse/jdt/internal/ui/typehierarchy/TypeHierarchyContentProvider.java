@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,19 @@
 package org.eclipse.jdt.internal.ui.typehierarchy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.jdt.core.Flags;
@@ -40,10 +46,66 @@ import org.eclipse.jdt.ui.IWorkingCopyProvider;
  * Base class for content providers for type hierarchy viewers.
  * Implementors must override 'getTypesInHierarchy'.
  * Java delta processing is also performed by the content provider
+ * <p>
+ * When a page size is set, at most that many children are shown for a type at first, followed by
+ * a {@link MoreTypes} element that stands for the others.
+ * </p>
  */
 public abstract class TypeHierarchyContentProvider implements ITreeContentProvider, IWorkingCopyProvider {
 	protected static final Object[] NO_ELEMENTS= new Object[0];
 
+	/**
+	 * The number of children of a type that are shown at once in the type hierarchy view.
+	 */
+	public static final int PAGE_SIZE= 500;
+
+	/**
+	 * Element shown after the children of a type that are shown so far, instead of the others.
+	 */
+	public static final class MoreTypes {
+
+		private final IType fParent;
+		private final int fCount;
+		private final int fNextCount;
+
+		MoreTypes(IType parent, int count, int nextCount) {
+			fParent= parent;
+			fCount= count;
+			fNextCount= nextCount;
+		}
+
+		/**
+		 * @return the type whose children are not all shown
+		 */
+		public IType getParent() {
+			return fParent;
+		}
+
+		/**
+		 * @return the number of children that are not shown
+		 */
+		public int getCount() {
+			return fCount;
+		}
+
+		/**
+		 * @return the number of children that are shown on the next page
+		 */
+		public int getNextCount() {
+			return fNextCount;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof MoreTypes && fParent.equals(((MoreTypes) obj).fParent);
+		}
+
+		@Override
+		public int hashCode() {
+			return fParent.hashCode();
+		}
+	}
+
 	protected TypeHierarchyLifeCycle fTypeHierarchy;
 	protected IMember[] fMemberFilter;
 
@@ -53,6 +115,17 @@ public abstract class TypeHierarchyContentProvider implements ITreeContentProvid
 	private MethodOverrideTester fMethodOverrideTester;
 	private ITypeHierarchyLifeCycleListener fTypeHierarchyLifeCycleListener;
 
+	private int fPageSize;
+	/**
+	 * The number of children shown for the types whose children have been shown beyond the
+	 * first page.
+	 */
+	private final Map<IType, Integer> fShownChildren= new HashMap<>();
+	/**
+	 * Types that are shown even if they are not on the shown pages of their parent.
+	 */
+	private final Set<IType> fRevealedTypes= new HashSet<>();
+
 
 	public TypeHierarchyContentProvider(TypeHierarchyLifeCycle lifecycle) {
 		fTypeHierarchy= lifecycle;
@@ -83,6 +156,81 @@ public abstract class TypeHierarchyContentProvider implements ITreeContentProvid
 		fMemberFilter= memberFilter;
 	}
 
+	/**
+	 * Sets the number of children of a type that are shown at once. Set to <code>0</code> to show
+	 * all children.
+	 * @param pageSize the number of children shown at once
+	 */
+	public final void setPageSize(int pageSize) {
+		fPageSize= pageSize;
+	}
+
+	/**
+	 * Shows the next page of the children that the given element stands for. The parent has to be
+	 * refreshed afterwards.
+	 * @param moreTypes the element standing for the children that are not shown
+	 */
+	public void showMoreTypes(MoreTypes moreTypes) {
+		IType parent= moreTypes.getParent();
+		fShownChildren.put(parent, Integer.valueOf(getShownChildren(parent) + fPageSize));
+	}
+
+	/**
+	 * Makes sure that the given type and its parents are shown even if they are not on the shown
+	 * pages of their parents.
+	 * @param type the type to show
+	 * @return the parents that have to be refreshed to show the type
+	 */
+	public List<IType> revealType(IType type) {
+		List<IType> parents= new ArrayList<>();
+		if (fPageSize > 0) {
+			IType curr= type;
+			while (curr != null && fRevealedTypes.add(curr)) {
+				curr= getParentType(curr);
+				if (curr != null) {
+					parents.add(curr);
+				}
+			}
+		}
+		return parents;
+	}
+
+	private int getShownChildren(IType parent) {
+		Integer shown= fShownChildren.get(parent);
+		return shown != null ? shown.intValue() : fPageSize;
+	}
+
+	private Object[] getPage(IType parent, Object[] children) {
+		int shown= getShownChildren(parent);
+		if (fPageSize <= 0 || children.length <= shown) {
+			return children;
+		}
+		if (fViewer != null) {
+			// the page has to be taken from the children in the order and with the filters of the viewer
+			for (ViewerFilter filter : fViewer.getFilters()) {
+				children= filter.filter(fViewer, parent, children);
+			}
+			if (children.length <= shown) {
+				return children;
+			}
+			ViewerComparator comparator= fViewer.getComparator();
+			if (comparator != null) {
+				comparator.sort(fViewer, children);
+			}
+		}
+		List<Object> page= new ArrayList<>(Arrays.asList(children).subList(0, shown));
+		for (int i= shown; i < children.length; i++) {
+			if (fRevealedTypes.contains(children[i])) {
+				page.add(children[i]);
+			}
+		}
+		int remaining= children.length - page.size();
+		if (remaining > 0) {
+			page.add(new MoreTypes(parent, remaining, Math.min(remaining, fPageSize)));
+		}
+		return page.toArray();
+	}
+
 	private boolean initializeMethodOverrideTester(IMethod filterMethod, IType typeToFindIn) {
 		IType filterType= filterMethod.getDeclaringType();
 		ITypeHierarchy hierarchy= fTypeHierarchy.getHierarchy();
@@ -256,7 +404,7 @@ public abstract class TypeHierarchyContentProvider implements ITreeContentProvid
 
 				addTypeChildren(type, children);
 
-				return children.toArray();
+				return getPage(type, children.toArray());
 			} catch (JavaModelException e) {
 				// ignore
 			}
@@ -348,6 +496,10 @@ public abstract class TypeHierarchyContentProvider implements ITreeContentProvid
 	public void inputChanged(Viewer part, Object oldInput, Object newInput) {
 		Assert.isTrue(part instanceof TreeViewer);
 		fViewer= (TreeViewer)part;
+		if (oldInput != newInput) {
+			fShownChildren.clear();
+			fRevealedTypes.clear();
+		}
 	}
 
 	/*
@@ -364,6 +516,9 @@ public abstract class TypeHierarchyContentProvider implements ITreeContentProvid
 	 */
 	@Override
 	public Object getParent(Object element) {
+		if (element instanceof MoreTypes) {
+			return ((MoreTypes) element).getParent();
+		}
 		if (element instanceof IMember) {
 			IMember member= (IMember) element;
 			if (member.getElementType() == IJavaElement.TYPE) {
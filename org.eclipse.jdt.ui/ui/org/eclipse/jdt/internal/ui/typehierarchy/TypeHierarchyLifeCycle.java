@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,14 +16,21 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.operation.IRunnableContext;
@@ -32,11 +39,13 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IRegion;
@@ -56,7 +65,49 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
+	private static final String PERF_REFRESH_HIERARCHY= "org.eclipse.jdt.ui/perf/typehierarchy/refresh"; //$NON-NLS-1$
+
+	/**
+	 * The flags of a type that determine its implicit supertypes.
+	 */
+	private static final int KIND_FLAGS= Flags.AccInterface | Flags.AccEnum | Flags.AccAnnotation | Flags.AccRecord;
+
+	/**
+	 * The flags of a Java project, package fragment root or package fragment delta that can change
+	 * the types on the class path.
+	 */
+	private static final int CLASSPATH_FLAGS= IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_REORDER | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static final Set<String> IMPLICIT_SUPERTYPES= new HashSet<>(Arrays.asList(
+			"java.lang.Object", "java.lang.Enum", "java.lang.Record", "java.lang.annotation.Annotation")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
 	private boolean fHierarchyRefreshNeeded;
+
+	/**
+	 * Set when the type hierarchy reports a change, until the delta of the change has been
+	 * examined in {@link #elementChanged(ElementChangedEvent)}.
+	 */
+	private boolean fHierarchyChangePending;
+
+	/**
+	 * Set when the type hierarchy has reported a change that left it intact. The type hierarchy
+	 * does not report changes again until it is refreshed, so the deltas are examined here
+	 * instead.
+	 */
+	private boolean fHierarchyPatched;
+
+	/**
+	 * The source types of the hierarchy by compilation unit, computed when needed.
+	 */
+	private Map<ICompilationUnit, List<IType>> fTypesByUnit;
+
+	/**
+	 * The fully qualified names of the focus type and its subtypes, computed when needed.
+	 */
+	private Set<String> fSubtypeNames;
+
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -75,14 +126,63 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 *
 	 * @since 3.6
 	 */
-	private Job fRefreshHierarchyJob;
+	private RefreshHierarchyJob fRefreshHierarchyJob;
 
 	/**
-	 * Indicates whether the refresh job was canceled explicitly.
-	 *
-	 * @since 3.6
+	 * Serializes the refresh jobs, so that a refresh that supersedes a running one does not have
+	 * to wait for it in the UI thread.
+	 */
+	private final ISchedulingRule fRefreshRule= new ISchedulingRule() {
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule == this;
+		}
+	};
+
+	/**
+	 * The job that refreshes the type hierarchy in the background.
 	 */
-	private boolean fRefreshJobCanceledExplicitly= true;
+	private class RefreshHierarchyJob extends Job {
+
+		private final IJavaElement[] fElements;
+
+		/**
+		 * Set when the job is canceled because a newer refresh has been requested.
+		 */
+		private volatile boolean fSuperseded;
+
+		RefreshHierarchyJob(String name, IJavaElement[] elements) {
+			super(name);
+			fElements= elements;
+			setUser(true);
+			setRule(fRefreshRule);
+		}
+
+		@Override
+		public IStatus run(IProgressMonitor pm) {
+			pm.beginTask(getName(), LONG);
+			try {
+				doHierarchyRefreshBackground(fElements, pm);
+			} catch (OperationCanceledException e) {
+				fHierarchyRefreshNeeded= true;
+				if (!fSuperseded) {
+					fTypeHierarchyViewPart.showEmptyViewer();
+				}
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				fHierarchyRefreshNeeded= true;
+				return e.getStatus();
+			} finally {
+				pm.done();
+			}
+			return Status.OK_STATUS;
+		}
+	}
 
 	/**
 	 * Creates the type hierarchy life cycle.
@@ -117,19 +217,18 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	}
 
 
-	public void freeHierarchy() {
+	public synchronized void freeHierarchy() {
+		// a running refresh job does not set the hierarchy anymore once it is not the current job
+		if (fRefreshHierarchyJob != null) {
+			fRefreshHierarchyJob.cancel();
+			fRefreshHierarchyJob= null;
+		}
 		if (fHierarchy != null) {
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 			fHierarchy= null;
 			fInputElements= null;
 		}
-		synchronized (this) {
-			if (fRefreshHierarchyJob != null) {
-				fRefreshHierarchyJob.cancel();
-				fRefreshHierarchyJob= null;
-			}
-		}
 	}
 
 	public void removeChangedListener(ITypeHierarchyLifeCycleListener listener) {
@@ -173,16 +272,11 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	public void ensureRefreshedTypeHierarchy(final IJavaElement[] elements, IRunnableContext context) throws InvocationTargetException, InterruptedException {
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
+				// the new refresh job waits for the superseded one to stop
+				fRefreshHierarchyJob.fSuperseded= true;
 				fRefreshHierarchyJob.cancel();
-				fRefreshJobCanceledExplicitly= false;
-				try {
-					fRefreshHierarchyJob.join();
-				} catch (InterruptedException e) {
-					// ignore
-				} finally {
-					fRefreshHierarchyJob= null;
-					fRefreshJobCanceledExplicitly= true;
-				}
+				fRefreshHierarchyJob= null;
+				fHierarchyRefreshNeeded= true;
 			}
 		}
 		if (elements == null || elements.length == 0) {
@@ -214,30 +308,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			} else {
 				final String label= Messages.format(TypeHierarchyMessages.TypeHierarchyLifeCycle_computeInput, HistoryAction.getElementLabel(elements));
 				synchronized (this) {
-					fRefreshHierarchyJob= new Job(label) {
-						/*
-						 * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
-						 */
-						@Override
-						public IStatus run(IProgressMonitor pm) {
-							pm.beginTask(label, LONG);
-							try {
-								doHierarchyRefreshBackground(elements, pm);
-							} catch (OperationCanceledException e) {
-								if (fRefreshJobCanceledExplicitly) {
-									fTypeHierarchyViewPart.showEmptyViewer();
-								}
-								return Status.CANCEL_STATUS;
-							} catch (JavaModelException e) {
-								return e.getStatus();
-							} finally {
-								fHierarchyRefreshNeeded= true;
-								pm.done();
-							}
-							return Status.OK_STATUS;
-						}
-					};
-					fRefreshHierarchyJob.setUser(true);
+					fRefreshHierarchyJob= new RefreshHierarchyJob(label, elements);
 					IWorkbenchSiteProgressService progressService= fTypeHierarchyViewPart.getSite()
 														.getAdapter(IWorkbenchSiteProgressService.class);
 					progressService.schedule(fRefreshHierarchyJob, 0);
@@ -271,9 +342,11 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	protected void doHierarchyRefreshBackground(final IJavaElement[] elements, final IProgressMonitor pm) throws JavaModelException {
 		doHierarchyRefresh(elements, pm);
 		if (!pm.isCanceled()) {
+			final Job job= Job.getJobManager().currentJob();
 			Display.getDefault().asyncExec(() -> {
 				synchronized (TypeHierarchyLifeCycle.this) {
-					if (fRefreshHierarchyJob == null) {
+					if (fRefreshHierarchyJob == null || fRefreshHierarchyJob != job) {
+						// superseded by a newer refresh
 						return;
 					}
 					fRefreshHierarchyJob= null;
@@ -313,37 +386,81 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	}
 
 
+	/**
+	 * Creates or refreshes the type hierarchy. The time taken is reported to the performance
+	 * stats service.
+	 *
+	 * @param elements the java elements on which the hierarchy is computed
+	 * @param pm the progress monitor
+	 * @throws JavaModelException if the java element does not exist or if an exception occurs while
+	 *             accessing its corresponding resource.
+	 */
 	public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
-		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
-		// to ensure the order of the two listeners always remove / add listeners on operations
-		// on type hierarchies
-		if (fHierarchy != null) {
-			fHierarchy.removeTypeHierarchyChangedListener(this);
-			JavaCore.removeElementChangedListener(this);
-		}
-		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
-			if (pm != null && pm.isCanceled()) {
-				throw new OperationCanceledException();
+		PerformanceStats stats= PerformanceStats.getStats(PERF_REFRESH_HIERARCHY, this);
+		stats.startRun();
+		try {
+			ITypeHierarchy hierarchy= fHierarchy;
+			boolean hierachyCreationNeeded= (hierarchy == null || !Arrays.equals(elements, fInputElements));
+			// to ensure the order of the two listeners always remove / add listeners on operations
+			// on type hierarchies
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
+				JavaCore.removeElementChangedListener(this);
+			}
+			if (hierachyCreationNeeded) {
+				hierarchy= createTypeHierarchy(elements, pm);
+			} else {
+				hierarchy.refresh(pm);
 			}
-			fInputElements= elements;
-		} else {
-			fHierarchy.refresh(pm);
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
+			synchronized (this) {
+				if (isRefreshJobSuperseded())
+					throw new OperationCanceledException();
+				fHierarchy= hierarchy;
+				fInputElements= elements;
+				fHierarchyChangePending= false;
+				fHierarchyPatched= false;
+				fTypesByUnit= null;
+				fSubtypeNames= null;
+				fHierarchy.addTypeHierarchyChangedListener(this);
+				JavaCore.addElementChangedListener(this);
+			}
+			fHierarchyRefreshNeeded= false;
+		} finally {
+			stats.endRun();
 		}
-		fHierarchy.addTypeHierarchyChangedListener(this);
-		JavaCore.addElementChangedListener(this);
-		fHierarchyRefreshNeeded= false;
+	}
+
+	/**
+	 * Returns whether the current thread runs a refresh job that has been superseded by a newer
+	 * refresh or by {@link #freeHierarchy()}. Such a job must not set the hierarchy.
+	 *
+	 * @return <code>true</code> if the current refresh job is not the current one anymore
+	 */
+	private synchronized boolean isRefreshJobSuperseded() {
+		Job job= Job.getJobManager().currentJob();
+		return job instanceof RefreshHierarchyJob && (((RefreshHierarchyJob) job).fSuperseded || job != fRefreshHierarchyJob);
+	}
+
+	/**
+	 * Marks the type hierarchy to be refreshed and notifies the listeners.
+	 */
+	public void invalidateHierarchy() {
+		fHierarchyRefreshNeeded= true;
+		fireChange(null);
 	}
 
 	/*
+	 * The type hierarchy is notified about a change before this life cycle, see
+	 * doHierarchyRefresh(..). The delta is examined in elementChanged(..), since many changes
+	 * the type hierarchy reports, like saving a compilation unit, leave it intact.
+	 *
 	 * @see ITypeHierarchyChangedListener#typeHierarchyChanged
 	 */
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-	 	fHierarchyRefreshNeeded= true;
- 		fireChange(null);
+		fHierarchyChangePending= true;
 	}
 
 	/*
@@ -351,11 +468,21 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
-		if (fChangeListeners.isEmpty()) {
+		if (fHierarchyRefreshNeeded) {
 			return;
 		}
 
-		if (fHierarchyRefreshNeeded) {
+		boolean examineDelta= fHierarchyChangePending || fHierarchyPatched && event.getType() == ElementChangedEvent.POST_CHANGE;
+		fHierarchyChangePending= false;
+		if (examineDelta) {
+			if (fChangeListeners.isEmpty() || isHierarchyAffected(event.getDelta())) {
+				invalidateHierarchy();
+				return;
+			}
+			fHierarchyPatched= true;
+		}
+
+		if (fChangeListeners.isEmpty()) {
 			return;
 		} else {
 			ArrayList<IType> changedTypes= new ArrayList<>();
@@ -414,6 +541,190 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * Tells whether the given delta can change the structure of the hierarchy, i.e. add or remove
+	 * types or change the supertypes of a type in the hierarchy. The hierarchy does not have to be
+	 * refreshed for other changes.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the hierarchy might have to be refreshed
+	 */
+	private synchronized boolean isHierarchyAffected(IJavaElementDelta delta) {
+		try {
+			return isAffecting(delta);
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+			return true;
+		}
+	}
+
+	private boolean isAffecting(IJavaElementDelta delta) throws JavaModelException {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_FLAGS) != 0) {
+					return true;
+				}
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (isAffecting(child)) {
+						return true;
+					}
+				}
+				return false;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!JavaModelUtil.isPrimary(cu)) {
+					return false;
+				}
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					return getTypesByUnit().containsKey(cu);
+				}
+				return isAffectingTypes(cu);
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Compares the types of a changed compilation unit with the types of the hierarchy.
+	 *
+	 * @param cu the changed compilation unit
+	 * @return <code>true</code> if a type of the hierarchy has been removed or its supertypes have
+	 *         changed, or if a type that is not in the hierarchy has a supertype in the hierarchy
+	 * @throws JavaModelException if a type cannot be accessed
+	 */
+	private boolean isAffectingTypes(ICompilationUnit cu) throws JavaModelException {
+		List<IType> types= new ArrayList<>();
+		collectTypes(cu.getTypes(), types);
+		Set<IType> existing= new HashSet<>(types);
+		for (IType type : getTypesByUnit().getOrDefault(cu, Collections.emptyList())) {
+			if (!existing.contains(type)) {
+				return true;
+			}
+		}
+
+		for (IType type : types) {
+			Set<String> supertypes= getDeclaredSupertypeNames(type);
+			if (supertypes == null) {
+				return true;
+			}
+			if (fHierarchy.contains(type)) {
+				if ((fHierarchy.getCachedFlags(type) & KIND_FLAGS) != (type.getFlags() & KIND_FLAGS)) {
+					return true;
+				}
+				Set<String> recorded= new HashSet<>();
+				IType superclass= fHierarchy.getSuperclass(type);
+				if (superclass != null) {
+					recorded.add(superclass.getFullyQualifiedName('.'));
+				}
+				for (IType superInterface : fHierarchy.getSuperInterfaces(type)) {
+					recorded.add(superInterface.getFullyQualifiedName('.'));
+				}
+				recorded.removeAll(IMPLICIT_SUPERTYPES);
+				if (!recorded.equals(supertypes)) {
+					return true;
+				}
+			} else {
+				supertypes.add(getImplicitSupertypeName(type));
+				if (fHierarchy.getType() == null || !Collections.disjoint(supertypes, getSubtypeNames())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given types and all types declared in them to the result, including local and
+	 * anonymous types.
+	 *
+	 * @param elements the elements
+	 * @param result the list to add the types to
+	 * @throws JavaModelException if an element cannot be accessed
+	 */
+	private static void collectTypes(IJavaElement[] elements, List<IType> result) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			if (element instanceof IType) {
+				result.add((IType) element);
+			}
+			if (element instanceof IMember) {
+				collectTypes(((IMember) element).getChildren(), result);
+			}
+		}
+	}
+
+	/**
+	 * Returns the fully qualified names of the supertypes declared by the given type, without the
+	 * implicit supertypes.
+	 *
+	 * @param type the type
+	 * @return the names, or <code>null</code> if a name cannot be resolved
+	 * @throws JavaModelException if the type cannot be accessed
+	 */
+	private static Set<String> getDeclaredSupertypeNames(IType type) throws JavaModelException {
+		// local and anonymous types cannot resolve names themselves
+		IType context= type;
+		while ((context.isLocal() || context.isAnonymous()) && context.getDeclaringType() != null) {
+			context= context.getDeclaringType();
+		}
+
+		Set<String> result= new HashSet<>();
+		List<String> names= new ArrayList<>(Arrays.asList(type.getSuperInterfaceNames()));
+		String superclassName= type.getSuperclassName();
+		if (superclassName != null) {
+			names.add(superclassName);
+		}
+		for (String name : names) {
+			int index= name.indexOf('<');
+			String[][] resolved= context.resolveType(index == -1 ? name : name.substring(0, index));
+			if (resolved == null || resolved.length != 1) {
+				return null;
+			}
+			result.add(JavaModelUtil.concatenateName(resolved[0][0], resolved[0][1]));
+		}
+		result.removeAll(IMPLICIT_SUPERTYPES);
+		return result;
+	}
+
+	private static String getImplicitSupertypeName(IType type) throws JavaModelException {
+		if (type.isAnnotation()) {
+			return "java.lang.annotation.Annotation"; //$NON-NLS-1$
+		} else if (type.isEnum()) {
+			return "java.lang.Enum"; //$NON-NLS-1$
+		} else if (type.isRecord()) {
+			return "java.lang.Record"; //$NON-NLS-1$
+		}
+		return "java.lang.Object"; //$NON-NLS-1$
+	}
+
+	private Map<ICompilationUnit, List<IType>> getTypesByUnit() {
+		if (fTypesByUnit == null) {
+			fTypesByUnit= new HashMap<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				ICompilationUnit cu= type.getCompilationUnit();
+				if (cu != null) {
+					fTypesByUnit.computeIfAbsent(cu, k -> new ArrayList<>()).add(type);
+				}
+			}
+		}
+		return fTypesByUnit;
+	}
+
+	private Set<String> getSubtypeNames() {
+		if (fSubtypeNames == null) {
+			fSubtypeNames= new HashSet<>();
+			IType focus= fHierarchy.getType();
+			fSubtypeNames.add(focus.getFullyQualifiedName('.'));
+			for (IType subtype : fHierarchy.getAllSubtypes(focus)) {
+				fSubtypeNames.add(subtype.getFullyQualifiedName('.'));
+			}
+		}
+		return fSubtypeNames;
+	}
+
 	private boolean isPossibleStructuralChange(int flags) {
 		return (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT;
 	}
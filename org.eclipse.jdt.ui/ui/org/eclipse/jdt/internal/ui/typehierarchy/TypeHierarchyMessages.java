@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,6 +98,8 @@ public final class TypeHierarchyMessages extends NLS {
 	public static String HierarchyInformationControl_hierarchy_label;
 	public static String HierarchyInformationControl_toggle_traditionalhierarchy_label;
 	public static String HierarchyInformationControl_toggle_superhierarchy_label;
+	public static String HierarchyLabelProvider_moreTypes_label;
+	public static String MethodsContentProvider_inheritedMembers_job;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, TypeHierarchyMessages.class);
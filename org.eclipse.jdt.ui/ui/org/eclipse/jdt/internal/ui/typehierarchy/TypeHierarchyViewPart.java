@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -775,7 +775,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 					if (event.keyCode == SWT.F5) {
 						ITypeHierarchy hierarchy= fHierarchyLifeCycle.getHierarchy();
 						if (hierarchy != null) {
-							fHierarchyLifeCycle.typeHierarchyChanged(hierarchy);
+							fHierarchyLifeCycle.invalidateHierarchy();
 							doTypeHierarchyChangedOnViewers(null);
 						}
 						updateHierarchyViewer(false);
@@ -1621,9 +1621,9 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 		int position= bar != null ? bar.getSelection() : 0;
 		memento.putInteger(TAG_VERTICAL_SCROLL, position);
 
-		IJavaElement selection= (IJavaElement)((IStructuredSelection) getCurrentViewer().getSelection()).getFirstElement();
-		if (selection != null) {
-			memento.putString(TAG_SELECTION, selection.getHandleIdentifier());
+		Object selection= ((IStructuredSelection) getCurrentViewer().getSelection()).getFirstElement();
+		if (selection instanceof IJavaElement) {
+			memento.putString(TAG_SELECTION, ((IJavaElement) selection).getHandleIdentifier());
 		}
 
 		fWorkingSetActionGroup.saveState(memento);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.typehierarchy;
 
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Menu;
@@ -24,6 +26,7 @@ import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.ui.IWorkbenchPartSite;
@@ -54,9 +57,49 @@ public abstract class TypeHierarchyViewer extends ProblemTreeViewer {
 		setContentProvider(contentProvider);
 		setComparator(new HierarchyViewerSorter(lifeCycle));
 
+		getHierarchyContentProvider().setPageSize(TypeHierarchyContentProvider.PAGE_SIZE);
+		addOpenListener(event -> {
+			Object element= ((IStructuredSelection) event.getSelection()).getFirstElement();
+			if (element instanceof TypeHierarchyContentProvider.MoreTypes) {
+				showMoreTypes((TypeHierarchyContentProvider.MoreTypes) element);
+			}
+		});
+
 		JavaUIHelp.setHelp(this, IJavaHelpContextIds.TYPE_HIERARCHY_VIEW);
 	}
 
+	/**
+	 * Shows the next page of the children that the given element stands for.
+	 * @param moreTypes the element standing for the children that are not shown
+	 */
+	public void showMoreTypes(TypeHierarchyContentProvider.MoreTypes moreTypes) {
+		getHierarchyContentProvider().showMoreTypes(moreTypes);
+		refresh(moreTypes.getParent());
+	}
+
+	/*
+	 * Types to select that are not on the shown pages of the children of their parents are added to these pages.
+	 * @see AbstractTreeViewer#setSelectionToWidget(List, boolean)
+	 */
+	@Override
+	protected void setSelectionToWidget(List l, boolean reveal) {
+		if (l != null) {
+			for (Object element : l) {
+				if (element instanceof IType && findItem(element) == null) {
+					// refreshing the topmost shown parent also refreshes the others
+					List<IType> parents= getHierarchyContentProvider().revealType((IType) element);
+					for (int i= parents.size() - 1; i >= 0; i--) {
+						if (findItem(parents.get(i)) != null) {
+							refresh(parents.get(i));
+							break;
+						}
+					}
+				}
+			}
+		}
+		super.setSelectionToWidget(l, reveal);
+	}
+
 	public void setQualifiedTypeName(boolean on) {
 		if (on) {
 			fLabelProvider.setTextFlags(fLabelProvider.getTextFlags() | JavaElementLabels.T_POST_QUALIFIED);